@@ -1,18 +1,40 @@
 package org.batfish.e2e.isp;
 
+import static org.batfish.common.util.isp.IspModelingUtils.INTERNET_HOST_NAME;
 import static org.batfish.datamodel.matchers.AbstractRouteDecoratorMatchers.hasPrefix;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertFalse;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.batfish.common.plugin.IBatfish;
 import org.batfish.common.topology.L3Adjacencies;
+import org.batfish.common.util.BatfishObjectMapper;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.DataPlane;
+import org.batfish.datamodel.Fib;
+import org.batfish.datamodel.FibAction;
+import org.batfish.datamodel.FibEntry;
+import org.batfish.datamodel.Ip;
 import org.batfish.datamodel.Prefix;
 import org.batfish.datamodel.bgp.BgpTopology;
 import org.batfish.datamodel.collections.NodeInterfacePair;
+import org.batfish.datamodel.isp_configuration.BorderInterfaceInfo;
+import org.batfish.datamodel.isp_configuration.IspAnnouncement;
+import org.batfish.datamodel.isp_configuration.IspConfiguration;
+import org.batfish.datamodel.isp_configuration.IspFilter;
+import org.batfish.datamodel.isp_configuration.IspNodeInfo;
+import org.batfish.datamodel.isp_configuration.IspNodeInfo.Role;
 import org.batfish.main.BatfishTestUtils;
 import org.batfish.main.TestrigText;
 import org.junit.Rule;
@@ -40,6 +62,86 @@ public class IspModelingTest {
     return batfish;
   }
 
+  /**
+   * Computes the data plane of the "basic" snapshot with an ISP announcing {@code announcements} to
+   * the Internet, summarized or not.
+   */
+  private DataPlane computeDataPlaneWithAnnouncements(
+      List<Prefix> announcements, boolean summarize) throws IOException {
+    IspConfiguration ispConfiguration =
+        new IspConfiguration(
+            ImmutableList.of(
+                new BorderInterfaceInfo(NodeInterfacePair.of("border1", "GigabitEthernet0/0"))),
+            ImmutableList.of(),
+            IspFilter.ALLOW_ALL,
+            ImmutableList.of(
+                new IspNodeInfo(
+                    667,
+                    "isp",
+                    Role.TRANSIT,
+                    announcements.stream()
+                        .map(IspAnnouncement::new)
+                        .collect(ImmutableList.toImmutableList()),
+                    null,
+                    summarize)),
+            ImmutableList.of());
+    TestrigText testrigText =
+        TestrigText.builder()
+            .setConfigurationFiles(SNAPSHOTS_DIR + "/basic", ImmutableList.of("border1.cfg"))
+            .setIspConfigBytes(
+                BatfishObjectMapper.writeString(ispConfiguration)
+                    .getBytes(StandardCharsets.UTF_8))
+            .build();
+    IBatfish batfish = BatfishTestUtils.getBatfishFromTestrigText(testrigText, _folder);
+    batfish.computeDataPlane(batfish.getSnapshot());
+    return batfish.loadDataPlane(batfish.getSnapshot());
+  }
+
+  /** The forwarding actions of the Internet node for each of {@code ips}. */
+  private static Map<Ip, Set<FibAction>> internetForwarding(DataPlane dataPlane, List<Ip> ips) {
+    Fib fib =
+        dataPlane.getFibs().get(INTERNET_HOST_NAME).get(Configuration.DEFAULT_VRF_NAME);
+    return ips.stream()
+        .collect(
+            ImmutableMap.toImmutableMap(
+                ip -> ip,
+                ip ->
+                    fib.get(ip).stream()
+                        .map(FibEntry::getAction)
+                        .collect(ImmutableSet.toImmutableSet())));
+  }
+
+  @Test
+  public void testSummarizeAnnouncementsForwardsIdentically() throws IOException {
+    // the /24s of 5.0.0.0/20 but for a hole at 5.0.7.0/24, and a lone /25
+    ImmutableList.Builder<Prefix> announcements = ImmutableList.builder();
+    ImmutableList.Builder<Ip> ips = ImmutableList.builder();
+    for (long i = 0; i < 16; i++) {
+      Prefix prefix = Prefix.create(Ip.create(Ip.parse("5.0.0.0").asLong() + (i << 8)), 24);
+      if (i != 7) {
+        announcements.add(prefix);
+      }
+      ips.add(prefix.getStartIp(), prefix.getEndIp());
+    }
+    announcements.add(Prefix.parse("6.0.0.0/25"));
+    ips.add(Ip.parse("6.0.0.1"), Ip.parse("6.0.0.200"), Ip.parse("7.7.7.7"));
+
+    DataPlane unsummarized = computeDataPlaneWithAnnouncements(announcements.build(), false);
+    DataPlane summarized = computeDataPlaneWithAnnouncements(announcements.build(), true);
+
+    // the Internet learns fewer routes, but forwards every address the same way
+    assertThat(
+        summarized.getBgpRoutes().get(INTERNET_HOST_NAME, Configuration.DEFAULT_VRF_NAME).size(),
+        lessThan(
+            unsummarized
+                .getBgpRoutes()
+                .get(INTERNET_HOST_NAME, Configuration.DEFAULT_VRF_NAME)
+                .size()));
+    assertThat(
+        internetForwarding(summarized, ips.build()),
+        equalTo(internetForwarding(unsummarized, ips.build())));
+  }
+
   // TODO: higher fidelity testing in tests below versus just BGP edge counting
 
   @Test
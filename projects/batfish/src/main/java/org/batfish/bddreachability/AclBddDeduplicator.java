@@ -0,0 +1,121 @@
+package org.batfish.bddreachability;
+
+import static org.batfish.question.filterlinereachability.FilterLineReachabilityUtils.getReferencedAcls;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import net.sf.javabdd.BDD;
+import org.batfish.common.BatfishException;
+import org.batfish.common.util.NonRecursiveSupplier.NonRecursiveSupplierException;
+import org.batfish.datamodel.AclLine;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.IpAccessList;
+import org.batfish.datamodel.acl.AclLineCanonicalizer;
+import org.batfish.datamodel.acl.CanonicalAcl;
+import org.batfish.datamodel.acl.SourcesReferencedByIpAccessLists;
+
+/**
+ * Shares ACL {@link BDD BDDs} across devices that define structurally identical ACLs.
+ *
+ * <p>Two ACLs are identical if their {@link CanonicalAcl canonical forms} are equal: each ACL and
+ * all the ACLs it transitively references are compared line by line after resolving named IP space
+ * references and dropping line names and trace metadata. ACLs that match on source interfaces or
+ * on originating from the device are never shared, since their BDDs depend on the device's {@link
+ * org.batfish.common.bdd.BDDSourceManager}. Neither are ACLs with undefined or circular references.
+ *
+ * <p>All shared BDDs belong to a single {@link org.batfish.common.bdd.BDDPacket}. This class is not
+ * thread-safe, like the BDD factory itself.
+ */
+@ParametersAreNonnullByDefault
+final class AclBddDeduplicator {
+
+  private final Map<CanonicalAcl, BDD> _canonicalAclBdds = new HashMap<>();
+  private int _numConverted;
+  private int _numShared;
+  private int _numUnshareable;
+
+  /**
+   * Returns the {@link BDD} for the given ACL of the given device. If a device converted through
+   * this deduplicator has an identical ACL, its {@link BDD} is returned. Otherwise, the BDD is
+   * computed using {@code convert}.
+   */
+  BDD toBdd(Configuration config, IpAccessList acl, Supplier<BDD> convert) {
+    @Nullable CanonicalAcl key = canonicalAcl(config, acl);
+    if (key == null) {
+      _numUnshareable++;
+      return convert.get();
+    }
+    BDD bdd = _canonicalAclBdds.get(key);
+    if (bdd != null) {
+      _numShared++;
+      return bdd;
+    }
+    _numConverted++;
+    bdd = convert.get();
+    _canonicalAclBdds.put(key, bdd);
+    return bdd;
+  }
+
+  /** Returns the {@link CanonicalAcl} of the given ACL, or {@code null} if it cannot be shared. */
+  @Nullable
+  static CanonicalAcl canonicalAcl(Configuration config, IpAccessList acl) {
+    Map<String, IpAccessList> namedAcls = config.getIpAccessLists();
+    AclLineCanonicalizer canonicalizer = new AclLineCanonicalizer(config.getIpSpaces());
+    SortedMap<String, IpAccessList> dependencies = new TreeMap<>();
+    try {
+      if (!SourcesReferencedByIpAccessLists.referencedSources(namedAcls, acl).isEmpty()) {
+        return null;
+      }
+      // Collect every ACL transitively referenced by this one.
+      Deque<IpAccessList> toVisit = new ArrayDeque<>();
+      toVisit.add(acl);
+      while (!toVisit.isEmpty()) {
+        IpAccessList current = toVisit.pop();
+        for (AclLine line : current.getLines()) {
+          for (String referenced : getReferencedAcls(line)) {
+            if (referenced.equals(acl.getName()) || dependencies.containsKey(referenced)) {
+              continue;
+            }
+            IpAccessList referencedAcl = namedAcls.get(referenced);
+            assert referencedAcl != null; // referencedSources fails on undefined references
+            dependencies.put(referenced, canonicalizer.canonicalize(referencedAcl));
+            toVisit.push(referencedAcl);
+          }
+        }
+      }
+      IpAccessList canonical = canonicalizer.canonicalize(acl);
+      return new CanonicalAcl(
+          canonical, canonical, dependencies, ImmutableSet.of(), ImmutableSet.of(), ImmutableSet.of());
+    } catch (BatfishException | NonRecursiveSupplierException e) {
+      // undefined or circular reference to an ACL or IP space
+      return null;
+    }
+  }
+
+  /** Returns a summary of how many ACL conversions were avoided, for debug output. */
+  String getStats() {
+    int total = _numConverted + _numShared + _numUnshareable;
+    return MoreObjects.toStringHelper(AclBddDeduplicator.class)
+        .add("aclsConverted", total)
+        .add("distinctShareableAcls", _numConverted)
+        .add("sharedAcls", _numShared)
+        .add("unshareableAcls", _numUnshareable)
+        .add(
+            "dedupRatio",
+            String.format("%.2f", total == 0 ? 1.0 : (double) total / (total - _numShared)))
+        .toString();
+  }
+
+  int getNumShared() {
+    return _numShared;
+  }
+}
@@ -8,14 +8,18 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableTable;
 import com.google.common.collect.Table;
+import com.google.common.collect.Table.Cell;
 import java.io.IOException;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -134,10 +138,38 @@ public class BDDReachabilityAnalysis implements Serializable {
   }
 
   public Map<IngressLocation, BDD> getIngressLocationReachableBDDs() {
-    Map<StateExpr, BDD> reverseReachableStates = computeReverseReachableStates();
+    Map<StateExpr, BDD> reverseReachableStates = new HashMap<>();
+    reverseReachableStates.put(Query.INSTANCE, _queryHeaderSpaceBdd);
+    BDDReachabilityUtils.backwardFixpointTransposed(
+        transposedEdgeTableFromIngressLocations(), reverseReachableStates);
     return getIngressLocationBDDs(reverseReachableStates);
   }
 
+  /**
+   * The transposed edge table, restricted to the edges reachable from the ingress location states.
+   * The reverse reachability of a state only depends on the states reachable from it, so this
+   * leaves the results for the ingress location states unchanged, while skipping any part of the
+   * graph they cannot reach.
+   */
+  private Table<StateExpr, StateExpr, Transition> transposedEdgeTableFromIngressLocations() {
+    Set<StateExpr> reachable = new HashSet<>(_ingressLocationStates);
+    Queue<StateExpr> queue = new ArrayDeque<>(_ingressLocationStates);
+    while (!queue.isEmpty()) {
+      for (StateExpr postState : _forwardEdgeTable.row(queue.remove()).keySet()) {
+        if (reachable.add(postState)) {
+          queue.add(postState);
+        }
+      }
+    }
+    if (_forwardEdgeTable.rowKeySet().stream().allMatch(reachable::contains)) {
+      return _transposedEdgeTable.get();
+    }
+    return _forwardEdgeTable.cellSet().stream()
+        .filter(cell -> reachable.contains(cell.getRowKey()))
+        .collect(
+            ImmutableTable.toImmutableTable(Cell::getColumnKey, Cell::getRowKey, Cell::getValue));
+  }
+
   /**
    * Like {@link #getIngressLocationReachableBDDs()}, but for only the specified states (with
    * initial BDDs).
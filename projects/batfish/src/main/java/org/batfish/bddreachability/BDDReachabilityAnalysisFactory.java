@@ -3,6 +3,7 @@ package org.batfish.bddreachability;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Predicates.alwaysTrue;
 import static org.batfish.bddreachability.BDDReachabilityUtils.dispositionState;
+import static org.batfish.bddreachability.BDDReachabilityUtils.toIngressLocation;
 import static org.batfish.bddreachability.BidirectionalReachabilityReturnPassInstrumentation.instrumentReturnPassEdges;
 import static org.batfish.bddreachability.SessionInstrumentation.sessionInstrumentation;
 import static org.batfish.bddreachability.transition.Transitions.IDENTITY;
@@ -26,6 +27,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.BoundType;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
@@ -180,6 +182,9 @@ public final class BDDReachabilityAnalysisFactory {
 
   private final Map<String, BDDSourceManager> _bddSourceManagers;
   private final Map<String, IpAccessListToBdd> _aclToBdds = new HashMap<>();
+
+  // shares the BDDs of identical ACLs across nodes
+  private final AclBddDeduplicator _aclBddDeduplicator = new AclBddDeduplicator();
   private final Map<String, BDDOutgoingOriginalFlowFilterManager>
       _bddOutgoingOriginalFlowFilterManagers;
 
@@ -264,7 +269,7 @@ public final class BDDReachabilityAnalysisFactory {
     _ignoreFilters = ignoreFilters;
     _ipsRoutesOutInterfacesFactory = ipsRoutedOutInterfacesFactory;
     Map<String, Map<String, VrfForwardingBehavior>> vrfForwardingBehavior =
-        forwardingAnalysis.getVrfForwardingBehavior();
+        computeVrfForwardingBehavior(forwardingAnalysis);
     _topologyEdges =
         vrfForwardingBehavior.values().stream()
             .flatMap(m -> m.values().stream())
@@ -281,7 +286,7 @@ public final class BDDReachabilityAnalysisFactory {
     _dstIpSpaceToBDD = _bddPacket.getDstIpSpaceToBDD();
     _srcIpSpaceToBDD = _bddPacket.getSrcIpSpaceToBDD();
 
-    _aclPermitBDDs = computeAclBDDs(this::ipAccessListToBddForNode, configs);
+    _aclPermitBDDs = computeAclBDDs(this::ipAccessListToBddForNode, _aclBddDeduplicator, configs);
     _aclDenyBDDs = computeAclDenyBDDs(_aclPermitBDDs);
 
     if (_ignoreFilters) {
@@ -358,6 +363,43 @@ public final class BDDReachabilityAnalysisFactory {
             this::flowsLeavingInterface);
   }
 
+  /**
+   * Returns the forwarding behavior of every VRF in the network, computing the behaviors in
+   * parallel. The forwarding analysis computes them lazily and may evict them under memory
+   * pressure, and the constructor reads them in several passes, so they are held here until the
+   * factory has converted them to BDDs.
+   */
+  private static @Nonnull Map<String, Map<String, VrfForwardingBehavior>>
+      computeVrfForwardingBehavior(ForwardingAnalysis forwardingAnalysis) {
+    Map<String, Map<String, VrfForwardingBehavior>> lazyVrfForwardingBehavior =
+        forwardingAnalysis.getVrfForwardingBehavior();
+    Map<Entry<String, String>, VrfForwardingBehavior> vrfForwardingBehaviorByNodeVrf =
+        lazyVrfForwardingBehavior.entrySet().stream()
+            .flatMap(
+                nodeEntry ->
+                    nodeEntry.getValue().keySet().stream()
+                        .map(vrf -> Maps.immutableEntry(nodeEntry.getKey(), vrf)))
+            .collect(ImmutableList.toImmutableList())
+            .parallelStream()
+            .collect(
+                Collectors.toConcurrentMap(
+                    Function.identity(),
+                    nodeVrf ->
+                        lazyVrfForwardingBehavior
+                            .get(nodeVrf.getKey())
+                            .get(nodeVrf.getValue())));
+    return toImmutableMap(
+        lazyVrfForwardingBehavior,
+        Entry::getKey,
+        nodeEntry ->
+            toImmutableMap(
+                nodeEntry.getValue().keySet(),
+                Function.identity(),
+                vrf ->
+                    vrfForwardingBehaviorByNodeVrf.get(
+                        Maps.immutableEntry(nodeEntry.getKey(), vrf))));
+  }
+
   /**
    * Computes VRF accept BDDs based on interface accept BDDs. Each VRF's accept BDD is the union of
    * its interfaces' accept BDDs.
@@ -382,7 +424,9 @@ public final class BDDReachabilityAnalysisFactory {
    * NATs. This is simpler than trying to precompute which ACLs we actually need.
    */
   private static Map<String, Map<String, Supplier<BDD>>> computeAclBDDs(
-      Function<Configuration, IpAccessListToBdd> aclToBdds, Map<String, Configuration> configs) {
+      Function<Configuration, IpAccessListToBdd> aclToBdds,
+      AclBddDeduplicator aclBddDeduplicator,
+      Map<String, Configuration> configs) {
     return toImmutableMap(
         configs,
         Entry::getKey,
@@ -392,7 +436,13 @@ public final class BDDReachabilityAnalysisFactory {
           return toImmutableMap(
               config.getIpAccessLists(),
               Entry::getKey,
-              aclEntry -> Suppliers.memoize(() -> aclToBdd.toBdd(aclEntry.getValue())));
+              aclEntry ->
+                  Suppliers.memoize(
+                      () ->
+                          aclBddDeduplicator.toBdd(
+                              config,
+                              aclEntry.getValue(),
+                              () -> aclToBdd.toBdd(aclEntry.getValue()))));
         });
   }
 
@@ -1274,9 +1324,16 @@ public final class BDDReachabilityAnalysisFactory {
   }
 
   public BDDLoopDetectionAnalysis bddLoopDetectionAnalysis(IpSpaceAssignment srcIpSpaceAssignment) {
-    Map<StateExpr, BDD> ingressLocationStates = rootConstraints(srcIpSpaceAssignment, _one, false);
+    return bddLoopDetectionAnalysis(rootConstraints(srcIpSpaceAssignment, _one, false));
+  }
+
+  private BDDLoopDetectionAnalysis bddLoopDetectionAnalysis(
+      Map<StateExpr, BDD> ingressLocationStates) {
     Stream<Edge> edges = Stream.concat(generateEdges(), generateRootEdges(ingressLocationStates));
-    return new BDDLoopDetectionAnalysis(_bddPacket, edges, ingressLocationStates.keySet());
+    BDDLoopDetectionAnalysis analysis =
+        new BDDLoopDetectionAnalysis(_bddPacket, edges, ingressLocationStates.keySet());
+    LOGGER.debug("ACL BDD deduplication: {}", _aclBddDeduplicator.getStats());
+    return analysis;
   }
 
   /**
@@ -1299,6 +1356,30 @@ public final class BDDReachabilityAnalysisFactory {
       Set<String> requiredTransitNodes,
       Set<String> finalNodes,
       Set<FlowDisposition> actions) {
+    return getAllBDDs(
+        srcIpSpaceAssignment,
+        initialHeaderSpace,
+        forbiddenTransitNodes,
+        requiredTransitNodes,
+        finalNodes,
+        actions,
+        _configs.keySet());
+  }
+
+  /**
+   * Like {@link #getAllBDDs(IpSpaceAssignment, AclLineMatchExpr, Set, Set, Set, Set)}, but only
+   * computes the {@link BDD BDDs} of sources located at one of {@code sourceNodes}. All sources
+   * must still be compatible with {@code initialHeaderSpace}. Only the part of the graph
+   * reachable from those sources is analyzed.
+   */
+  public Map<IngressLocation, BDD> getAllBDDs(
+      IpSpaceAssignment srcIpSpaceAssignment,
+      AclLineMatchExpr initialHeaderSpace,
+      Set<String> forbiddenTransitNodes,
+      Set<String> requiredTransitNodes,
+      Set<String> finalNodes,
+      Set<FlowDisposition> actions,
+      Set<String> sourceNodes) {
     checkArgument(!actions.isEmpty(), "No actions");
     Set<FlowDisposition> nonLoopActions = EnumSet.noneOf(FlowDisposition.class);
     nonLoopActions.addAll(actions);
@@ -1306,12 +1387,22 @@ public final class BDDReachabilityAnalysisFactory {
 
     if (nonLoopActions.isEmpty()) {
       // since actions is not empty, loopIncluded must be true. Thus just detect loops
-      return bddLoopDetectionAnalysis(srcIpSpaceAssignment).detectLoops();
-    } else if (!loopIncluded) {
+      return bddLoopDetectionAnalysis(
+              rootsAtNodes(rootConstraints(srcIpSpaceAssignment, _one, false), sourceNodes))
+          .detectLoops();
+    }
+    if (!loopIncluded) {
+      checkArgument(!finalNodes.isEmpty(), "final nodes cannot be empty");
+    }
+    BDD initialHeaderSpaceBdd = computeInitialHeaderSpaceBdd(initialHeaderSpace);
+    Map<StateExpr, BDD> roots =
+        rootsAtNodes(
+            rootConstraints(srcIpSpaceAssignment, initialHeaderSpaceBdd, false), sourceNodes);
+    if (!loopIncluded) {
       // only reachability, no loop detection
       return bddReachabilityAnalysis(
-              srcIpSpaceAssignment,
-              initialHeaderSpace,
+              roots,
+              initialHeaderSpaceBdd,
               forbiddenTransitNodes,
               requiredTransitNodes,
               finalNodes,
@@ -1320,8 +1411,8 @@ public final class BDDReachabilityAnalysisFactory {
     } else {
       // both reachability and loop detection
       return bddReachabilityAndLoopDetectionAnalysis(
-              srcIpSpaceAssignment,
-              initialHeaderSpace,
+              roots,
+              initialHeaderSpaceBdd,
               forbiddenTransitNodes,
               requiredTransitNodes,
               finalNodes,
@@ -1330,16 +1421,20 @@ public final class BDDReachabilityAnalysisFactory {
     }
   }
 
+  private static Map<StateExpr, BDD> rootsAtNodes(
+      Map<StateExpr, BDD> roots, Set<String> sourceNodes) {
+    return ImmutableMap.copyOf(
+        Maps.filterKeys(roots, root -> sourceNodes.contains(toIngressLocation(root).getNode())));
+  }
+
   private BDDReachabilityAndLoopDetectionAnalysis bddReachabilityAndLoopDetectionAnalysis(
-      IpSpaceAssignment srcIpSpaceAssignment,
-      AclLineMatchExpr initialHeaderSpace,
+      Map<StateExpr, BDD> roots,
+      BDD initialHeaderSpaceBdd,
       Set<String> forbiddenTransitNodes,
       Set<String> requiredTransitNodes,
       Set<String> finalNodes,
       Set<FlowDisposition> actions) {
-    BDD initialHeaderSpaceBdd = computeInitialHeaderSpaceBdd(initialHeaderSpace);
     BDD finalHeaderSpaceBdd = computeFinalHeaderSpaceBdd(initialHeaderSpaceBdd);
-    Map<StateExpr, BDD> roots = rootConstraints(srcIpSpaceAssignment, initialHeaderSpaceBdd, false);
 
     List<Edge> sharedEdges =
         Stream.concat(generateEdges(), generateRootEdges(roots)).collect(Collectors.toList());
@@ -1414,10 +1509,23 @@ public final class BDDReachabilityAnalysisFactory {
       boolean useInterfaceRoots) {
     checkArgument(!finalNodes.isEmpty(), "final nodes cannot be empty");
     BDD initialHeaderSpaceBdd = computeInitialHeaderSpaceBdd(initialHeaderSpace);
-    BDD finalHeaderSpaceBdd = computeFinalHeaderSpaceBdd(initialHeaderSpaceBdd);
+    return bddReachabilityAnalysis(
+        rootConstraints(srcIpSpaceAssignment, initialHeaderSpaceBdd, useInterfaceRoots),
+        initialHeaderSpaceBdd,
+        forbiddenTransitNodes,
+        requiredTransitNodes,
+        finalNodes,
+        actions);
+  }
 
-    Map<StateExpr, BDD> roots =
-        rootConstraints(srcIpSpaceAssignment, initialHeaderSpaceBdd, useInterfaceRoots);
+  private BDDReachabilityAnalysis bddReachabilityAnalysis(
+      Map<StateExpr, BDD> roots,
+      BDD initialHeaderSpaceBdd,
+      Set<String> forbiddenTransitNodes,
+      Set<String> requiredTransitNodes,
+      Set<String> finalNodes,
+      Set<FlowDisposition> actions) {
+    BDD finalHeaderSpaceBdd = computeFinalHeaderSpaceBdd(initialHeaderSpaceBdd);
 
     Stream<Edge> edgeStream =
         Streams.concat(
@@ -1428,7 +1536,10 @@ public final class BDDReachabilityAnalysisFactory {
     edgeStream = instrumentForbiddenTransitNodes(forbiddenTransitNodes, edgeStream);
     edgeStream = instrumentRequiredTransitNodes(requiredTransitNodes, edgeStream);
 
-    return new BDDReachabilityAnalysis(_bddPacket, roots.keySet(), edgeStream, finalHeaderSpaceBdd);
+    BDDReachabilityAnalysis analysis =
+        new BDDReachabilityAnalysis(_bddPacket, roots.keySet(), edgeStream, finalHeaderSpaceBdd);
+    LOGGER.debug("ACL BDD deduplication: {}", _aclBddDeduplicator.getStats());
+    return analysis;
   }
 
   private BDD computeInitialHeaderSpaceBdd(AclLineMatchExpr initialHeaderSpace) {
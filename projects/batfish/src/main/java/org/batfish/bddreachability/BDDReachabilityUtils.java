@@ -5,6 +5,7 @@ import static com.google.common.collect.ImmutableTable.toImmutableTable;
 import static org.batfish.common.util.CollectionUtil.toImmutableMap;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableTable;
 import com.google.common.collect.LinkedListMultimap;
@@ -21,6 +22,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 import net.sf.javabdd.BDD;
@@ -33,7 +36,10 @@ import org.batfish.common.bdd.BDDPacket;
 import org.batfish.datamodel.Flow;
 import org.batfish.datamodel.Flow.Builder;
 import org.batfish.datamodel.FlowDisposition;
+import org.batfish.datamodel.IpSpace;
 import org.batfish.datamodel.transformation.AssignPortFromPool;
+import org.batfish.specifier.IpSpaceAssignment;
+import org.batfish.specifier.Location;
 import org.batfish.symbolic.IngressLocation;
 import org.batfish.symbolic.state.Accept;
 import org.batfish.symbolic.state.DeliveredToSubnet;
@@ -251,6 +257,57 @@ public final class BDDReachabilityUtils {
         .collect(ImmutableSet.toImmutableSet());
   }
 
+  /**
+   * Splits the source locations of {@code sources} into at most {@code numPartitions} disjoint
+   * assignments whose analyses are independent, e.g. so that they can run in parallel on separate
+   * {@link BDDPacket BDDPackets}. All locations of a node are kept in the same partition, and
+   * partitions are balanced by number of locations. Returns {@code sources} itself if it cannot be
+   * split.
+   */
+  public static List<IpSpaceAssignment> partitionSources(
+      IpSpaceAssignment sources, int numPartitions) {
+    checkArgument(numPartitions > 0, "Invalid number of source partitions: %s", numPartitions);
+    // node -> location -> source IPs. Sorted so partitioning is deterministic.
+    SortedMap<String, SortedMap<Location, IpSpace>> sourcesByNode = new TreeMap<>();
+    for (IpSpaceAssignment.Entry entry : sources.getEntries()) {
+      for (Location location : entry.getLocations()) {
+        sourcesByNode
+            .computeIfAbsent(location.getNodeName(), n -> new TreeMap<>(LOCATION_ORDER))
+            .put(location, entry.getIpSpace());
+      }
+    }
+    if (numPartitions == 1 || sourcesByNode.size() <= 1) {
+      return ImmutableList.of(sources);
+    }
+
+    // Largest nodes first, each to the partition with the fewest locations so far.
+    List<SortedMap<Location, IpSpace>> nodeSources = new ArrayList<>(sourcesByNode.values());
+    nodeSources.sort(Comparator.comparingInt(Map<Location, IpSpace>::size).reversed());
+    int numNonEmpty = Math.min(numPartitions, nodeSources.size());
+    List<IpSpaceAssignment.Builder> partitions = new ArrayList<>(numNonEmpty);
+    int[] partitionSizes = new int[numNonEmpty];
+    for (int i = 0; i < numNonEmpty; i++) {
+      partitions.add(IpSpaceAssignment.builder());
+    }
+    for (SortedMap<Location, IpSpace> locations : nodeSources) {
+      int smallest = 0;
+      for (int i = 1; i < numNonEmpty; i++) {
+        if (partitionSizes[i] < partitionSizes[smallest]) {
+          smallest = i;
+        }
+      }
+      IpSpaceAssignment.Builder partition = partitions.get(smallest);
+      locations.forEach(partition::assign);
+      partitionSizes[smallest] += locations.size();
+    }
+    return partitions.stream()
+        .map(IpSpaceAssignment.Builder::build)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  private static final Comparator<Location> LOCATION_ORDER =
+      Comparator.comparing(Location::getNodeName).thenComparing(Location::toString);
+
   /**
    * Return the {@link StateExpr} corresponding to the input {@link FlowDisposition}. Note: {@link
    * FlowDisposition#LOOP} does not have a corresponding {@link StateExpr}, so this method will
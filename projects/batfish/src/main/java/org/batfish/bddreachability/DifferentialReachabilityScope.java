@@ -0,0 +1,179 @@
+package org.batfish.bddreachability;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.DataPlane;
+import org.batfish.datamodel.Fib;
+import org.batfish.datamodel.VrfForwardingBehavior;
+import org.batfish.storage.ConfigurationFingerprints;
+
+/**
+ * The part of a network that a change from one snapshot to another can affect, for differential
+ * reachability.
+ *
+ * <p>A node is <em>changed</em> if it exists in only one of the snapshots, or if its
+ * configuration, FIBs, or forwarding behavior differ between them. Configurations are compared by
+ * their stored {@link ConfigurationFingerprints fingerprints}, plus the set of active interfaces,
+ * which post-processing of loaded configurations may change according to the snapshot's runtime
+ * data and blacklists.
+ *
+ * <p>A node is <em>affected</em> if in either snapshot it can forward traffic to a changed node,
+ * possibly through other nodes. Every node reachable from an unaffected node is unchanged, so
+ * flows from a source at an unaffected node traverse identical reachability graphs in both
+ * snapshots and have identical reachability. Only sources at affected nodes need to be analyzed.
+ * The forwarding behavior of every VRF is computed in the process, which the reachability analysis
+ * itself needs anyway.
+ */
+@ParametersAreNonnullByDefault
+public final class DifferentialReachabilityScope {
+
+  private final @Nonnull Set<String> _changedNodes;
+  private final @Nonnull Set<String> _affectedNodes;
+
+  /**
+   * Computes the scope of the change from the base to the delta snapshot.
+   *
+   * @param baseFingerprints the {@link ConfigurationFingerprints fingerprints} of {@code
+   *     baseConfigs}, keyed by hostname
+   * @param deltaFingerprints the {@link ConfigurationFingerprints fingerprints} of {@code
+   *     deltaConfigs}, keyed by hostname
+   */
+  public static @Nonnull DifferentialReachabilityScope compute(
+      Map<String, Configuration> baseConfigs,
+      Map<String, String> baseFingerprints,
+      DataPlane baseDataPlane,
+      Map<String, Configuration> deltaConfigs,
+      Map<String, String> deltaFingerprints,
+      DataPlane deltaDataPlane) {
+    Set<String> changedNodes =
+        Sets.union(baseConfigs.keySet(), deltaConfigs.keySet()).parallelStream()
+            .filter(
+                node ->
+                    !sameConfiguration(
+                            baseConfigs.get(node),
+                            baseFingerprints.get(node),
+                            deltaConfigs.get(node),
+                            deltaFingerprints.get(node))
+                        || !sameFibs(
+                            baseDataPlane.getFibs().getOrDefault(node, ImmutableMap.of()),
+                            deltaDataPlane.getFibs().getOrDefault(node, ImmutableMap.of()))
+                        || !sameForwardingBehavior(node, baseDataPlane, deltaDataPlane))
+            .collect(ImmutableSet.toImmutableSet());
+
+    // node -> nodes that can forward traffic to it, in either snapshot
+    ImmutableSetMultimap.Builder<String, String> upstreamNodes = ImmutableSetMultimap.builder();
+    addUpstreamNodes(baseDataPlane, upstreamNodes);
+    addUpstreamNodes(deltaDataPlane, upstreamNodes);
+    return new DifferentialReachabilityScope(
+        changedNodes, upstreamClosure(changedNodes, upstreamNodes.build()));
+  }
+
+  private DifferentialReachabilityScope(Set<String> changedNodes, Set<String> affectedNodes) {
+    _changedNodes = ImmutableSet.copyOf(changedNodes);
+    _affectedNodes = ImmutableSet.copyOf(affectedNodes);
+  }
+
+  /** Nodes that exist in only one snapshot, or whose forwarding may differ between them. */
+  public @Nonnull Set<String> getChangedNodes() {
+    return _changedNodes;
+  }
+
+  /**
+   * Nodes that can reach a changed node, including the changed nodes themselves. Sources at other
+   * nodes have the same reachability in both snapshots.
+   */
+  public @Nonnull Set<String> getAffectedNodes() {
+    return _affectedNodes;
+  }
+
+  private static boolean sameConfiguration(
+      @Nullable Configuration base,
+      @Nullable String baseFingerprint,
+      @Nullable Configuration delta,
+      @Nullable String deltaFingerprint) {
+    if (base == null || delta == null) {
+      return base == delta;
+    }
+    // A missing or false mismatch of fingerprints only makes the scope larger.
+    return baseFingerprint != null
+        && baseFingerprint.equals(deltaFingerprint)
+        && base.activeInterfaceNames().equals(delta.activeInterfaceNames());
+  }
+
+  private static boolean sameFibs(Map<String, Fib> base, Map<String, Fib> delta) {
+    return base.keySet().equals(delta.keySet())
+        && base.entrySet().stream()
+            .allMatch(
+                e -> e.getValue().allEntries().equals(delta.get(e.getKey()).allEntries()));
+  }
+
+  private static boolean sameForwardingBehavior(
+      String node, DataPlane baseDataPlane, DataPlane deltaDataPlane) {
+    Map<String, VrfForwardingBehavior> base =
+        baseDataPlane
+            .getForwardingAnalysis()
+            .getVrfForwardingBehavior()
+            .getOrDefault(node, ImmutableMap.of());
+    Map<String, VrfForwardingBehavior> delta =
+        deltaDataPlane
+            .getForwardingAnalysis()
+            .getVrfForwardingBehavior()
+            .getOrDefault(node, ImmutableMap.of());
+    return base.keySet().equals(delta.keySet())
+        && base.entrySet().stream()
+            .allMatch(e -> Objects.equals(e.getValue(), delta.get(e.getKey())));
+  }
+
+  private static void addUpstreamNodes(
+      DataPlane dataPlane, ImmutableSetMultimap.Builder<String, String> upstreamNodes) {
+    Map<String, Map<String, VrfForwardingBehavior>> vrfForwardingBehavior =
+        dataPlane.getForwardingAnalysis().getVrfForwardingBehavior();
+    // The forwarding behavior of each VRF is computed on first access, so access them in parallel.
+    vrfForwardingBehavior.entrySet().stream()
+        .flatMap(
+            nodeEntry ->
+                nodeEntry.getValue().keySet().stream()
+                    .map(vrf -> Maps.immutableEntry(nodeEntry.getKey(), vrf)))
+        .collect(ImmutableList.toImmutableList())
+        .parallelStream()
+        .flatMap(
+            nodeVrf -> {
+              VrfForwardingBehavior vrf =
+                  vrfForwardingBehavior.get(nodeVrf.getKey()).get(nodeVrf.getValue());
+              return vrf.getArpTrueEdge().keySet().stream();
+            })
+        .collect(ImmutableSet.toImmutableSet())
+        .forEach(edge -> upstreamNodes.put(edge.getNode2(), edge.getNode1()));
+  }
+
+  @VisibleForTesting
+  static @Nonnull Set<String> upstreamClosure(
+      Set<String> nodes, SetMultimap<String, String> upstreamNodes) {
+    Set<String> closure = new HashSet<>(nodes);
+    Queue<String> queue = new ArrayDeque<>(nodes);
+    while (!queue.isEmpty()) {
+      for (String upstream : upstreamNodes.get(queue.remove())) {
+        if (closure.add(upstream)) {
+          queue.add(upstream);
+        }
+      }
+    }
+    return closure;
+  }
+}
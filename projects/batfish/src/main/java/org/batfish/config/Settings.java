@@ -30,6 +30,8 @@ public final class Settings extends BaseSettings implements GrammarSettings {
 
   private static final String ARG_PARSE_REUSE = "parsereuse";
 
+  private static final String ARG_PARSE_REUSE_MAX_MB = "parsereusemaxmb";
+
   private static final String ARG_EXIT_ON_FIRST_ERROR = "ee";
 
   private static final String ARG_FLATTEN = "flatten";
@@ -237,6 +239,14 @@ public final class Settings extends BaseSettings implements GrammarSettings {
     return _config.getBoolean(ARG_PARSE_REUSE);
   }
 
+  /**
+   * Returns the maximum size in bytes of the parse result cache shared by all networks, beyond
+   * which least recently used parse results are evicted.
+   */
+  public long getParseReuseMaxBytes() {
+    return _config.getInt(ARG_PARSE_REUSE_MAX_MB) * 1024L * 1024L;
+  }
+
   @Override
   public int getMaxParserContextLines() {
     return _config.getInt(ARG_MAX_PARSER_CONTEXT_LINES);
@@ -394,6 +404,7 @@ public final class Settings extends BaseSettings implements GrammarSettings {
     setDefaultProperty(ARG_CHECK_BGP_REACHABILITY, true);
     setDefaultProperty(ARG_NO_SHUFFLE, false);
     setDefaultProperty(ARG_PARSE_REUSE, false);
+    setDefaultProperty(ARG_PARSE_REUSE_MAX_MB, 4096);
     setDefaultProperty(ARG_PRECOMPUTE_AUTOCOMPLETE, true);
     setDefaultProperty(ARG_PRINT_PARSE_TREES, false);
     setDefaultProperty(ARG_PRINT_PARSE_TREE_LINE_NUMS, false);
@@ -540,6 +551,11 @@ public final class Settings extends BaseSettings implements GrammarSettings {
 
     addBooleanOption(ARG_PARSE_REUSE, "reuse parse results when appropriate");
 
+    addOption(
+        ARG_PARSE_REUSE_MAX_MB,
+        "max size in megabytes of the parse results kept for reuse across networks",
+        ARGNAME_NUMBER);
+
     addBooleanOption(ARG_PRECOMPUTE_AUTOCOMPLETE, "pre-compute autocomplete results");
 
     addBooleanOption(ARG_PRINT_PARSE_TREES, "print parse trees");
@@ -702,6 +718,7 @@ public final class Settings extends BaseSettings implements GrammarSettings {
     getBooleanOptionValue(BfConsts.COMMAND_PARSE_VENDOR_SPECIFIC);
     getBooleanOptionValue(ARG_NO_SHUFFLE);
     getBooleanOptionValue(ARG_PARSE_REUSE);
+    getIntOptionValue(ARG_PARSE_REUSE_MAX_MB);
     getStringOptionValue(BfConsts.ARG_SNAPSHOT_NAME);
     getPathOptionValue(BfConsts.ARG_STORAGE_BASE);
     getStringOptionValue(BfConsts.ARG_TASK_PLUGIN);
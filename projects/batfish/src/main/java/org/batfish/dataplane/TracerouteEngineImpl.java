@@ -9,13 +9,16 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Ordering;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.function.BiConsumer;
 import org.batfish.common.plugin.TracerouteEngine;
 import org.batfish.common.traceroute.TraceDag;
 import org.batfish.datamodel.Configuration;
@@ -33,7 +36,7 @@ public final class TracerouteEngineImpl implements TracerouteEngine {
    * To prevent traceroute engine from using arbitrary amounts of memory during a trace of many
    * different flows, we chunk large requests.
    */
-  private static final int CHUNK_SIZE = 256;
+  private static final int CHUNK_SIZE = STREAMING_BATCH_SIZE;
 
   private final DataPlane _dataPlane;
   private final Topology _topology;
@@ -66,7 +69,7 @@ public final class TracerouteEngineImpl implements TracerouteEngine {
                     entry
                         .getValue()
                         .getTraces()
-                        .limit(10000)
+                        .limit(MAX_TRACES_PER_FLOW)
                         .collect(ImmutableList.toImmutableList())))
         .collect(
             ImmutableSortedMap.toImmutableSortedMap(
@@ -82,18 +85,35 @@ public final class TracerouteEngineImpl implements TracerouteEngine {
         .forEach(
             c ->
                 result.putAll(
-                    new TracerouteEngineImplContext(
-                            _dataPlane,
-                            _topology,
-                            sessions,
-                            // This copy is annoying, but should add negligible runtime overhead.
-                            // Copying is much faster than even producing a NO_ROUTE trace.
-                            ImmutableSet.copyOf(c),
-                            _dataPlane.getFibs(),
-                            ignoreFilters,
-                            _configurations,
-                            _interfacesMatchedAgainst::get)
-                        .buildTraceDags()));
+                    // This copy is annoying, but should add negligible runtime overhead.
+                    // Copying is much faster than even producing a NO_ROUTE trace.
+                    newContext(ImmutableSet.copyOf(c), sessions, ignoreFilters).buildTraceDags()));
     return result.build();
   }
+
+  @Override
+  public void computeTraceDags(
+      Iterator<Flow> flows,
+      Set<FirewallSessionTraceInfo> sessions,
+      boolean ignoreFilters,
+      BiConsumer<Flow, TraceDag> consumer) {
+    Iterators.partition(flows, CHUNK_SIZE)
+        .forEachRemaining(
+            c ->
+                newContext(ImmutableSet.copyOf(c), sessions, ignoreFilters)
+                    .forEachTraceDag(consumer));
+  }
+
+  private TracerouteEngineImplContext newContext(
+      Set<Flow> flows, Set<FirewallSessionTraceInfo> sessions, boolean ignoreFilters) {
+    return new TracerouteEngineImplContext(
+        _dataPlane,
+        _topology,
+        sessions,
+        flows,
+        _dataPlane.getFibs(),
+        ignoreFilters,
+        _configurations,
+        _interfacesMatchedAgainst::get);
+  }
 }
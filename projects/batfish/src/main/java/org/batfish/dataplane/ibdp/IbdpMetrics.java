@@ -0,0 +1,254 @@
+package org.batfish.dataplane.ibdp;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.batfish.datamodel.AbstractRoute;
+import org.batfish.datamodel.AnnotatedRoute;
+
+/**
+ * Records where the time of one data plane computation goes: wall and CPU time per phase, wall time
+ * per dependent-routes iteration, and the virtual routers whose work took longest. Once the
+ * computation ends, also records the size of every virtual router's main RIB and how many of its
+ * routes each protocol contributed. While a flight recording is running, each phase is also
+ * emitted as a JFR {@link PhaseEvent}.
+ *
+ * <p>The metrics are logged and stored with the snapshot as JSON under {@link #OBJECT_KEY}, rather
+ * than recorded in the answer, which must not depend on timing.
+ *
+ * <p>The cost is a few clock reads per phase, and two per virtual router per phase, so metrics are
+ * always on.
+ */
+@ParametersAreNonnullByDefault
+final class IbdpMetrics {
+
+  private static final Logger LOGGER = LogManager.getLogger(IbdpMetrics.class);
+
+  /** The snapshot object under which the metrics of the last data plane computation are stored. */
+  static final String OBJECT_KEY = "ibdp_metrics.json";
+
+  /** How many of the slowest virtual routers to report. */
+  @VisibleForTesting static final int SLOWEST_VIRTUAL_ROUTERS = 10;
+
+  /** How many of the virtual routers with the largest main RIBs to log. */
+  @VisibleForTesting static final int LARGEST_MAIN_RIBS = 10;
+
+  private static final String PROP_ITERATION_WALL_TIME_MILLIS = "iterationWallTimeMillis";
+  private static final String PROP_MAIN_RIB_ROUTES_BY_PROTOCOL = "mainRibRoutesByProtocol";
+  private static final String PROP_MAIN_RIB_ROUTES_BY_VIRTUAL_ROUTER =
+      "mainRibRoutesByVirtualRouter";
+  private static final String PROP_PHASE_CPU_TIME_MILLIS = "phaseCpuTimeMillis";
+  private static final String PROP_PHASE_WALL_TIME_MILLIS = "phaseWallTimeMillis";
+  private static final String PROP_SLOWEST_VIRTUAL_ROUTERS_MILLIS = "slowestVirtualRoutersMillis";
+
+  /** A phase of the data plane computation, as a JFR event. */
+  @Name("org.batfish.DataPlanePhase")
+  @Label("Data Plane Phase")
+  @Category("Batfish")
+  static final class PhaseEvent extends Event {
+    @Label("Phase")
+    String _phase;
+  }
+
+  private static final @Nullable com.sun.management.OperatingSystemMXBean OS_BEAN;
+
+  static {
+    OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+    OS_BEAN =
+        bean instanceof com.sun.management.OperatingSystemMXBean
+            ? (com.sun.management.OperatingSystemMXBean) bean
+            : null;
+  }
+
+  /** CPU time used by the whole process so far, or -1 if unavailable. */
+  private static long processCpuNanos() {
+    return OS_BEAN == null ? -1 : OS_BEAN.getProcessCpuTime();
+  }
+
+  // Phases run one at a time on the engine's thread, so only the per-router map is concurrent.
+  private final @Nonnull Map<String, Long> _phaseWallNanos = new HashMap<>();
+  private final @Nonnull Map<String, Long> _phaseCpuNanos = new HashMap<>();
+  private final @Nonnull SortedMap<Integer, Long> _iterationWallNanos = new TreeMap<>();
+  private final @Nonnull Map<VirtualRouter, LongAdder> _virtualRouterNanos =
+      new ConcurrentHashMap<>();
+  private @Nonnull SortedMap<String, Integer> _mainRibRoutesByProtocol = ImmutableSortedMap.of();
+  private @Nonnull SortedMap<String, Integer> _mainRibRoutesByVirtualRouter =
+      ImmutableSortedMap.of();
+
+  /**
+   * Runs {@code body}, adding its wall and process CPU time to those of {@code phase}. Phases must
+   * not be nested.
+   */
+  void phase(String phase, Runnable body) {
+    PhaseEvent event = new PhaseEvent();
+    event._phase = phase;
+    event.begin();
+    long cpuStart = processCpuNanos();
+    long start = System.nanoTime();
+    try {
+      body.run();
+    } finally {
+      _phaseWallNanos.merge(phase, System.nanoTime() - start, Long::sum);
+      if (cpuStart >= 0) {
+        _phaseCpuNanos.merge(phase, processCpuNanos() - cpuStart, Long::sum);
+      }
+      event.commit();
+    }
+  }
+
+  /**
+   * Runs {@code action} on each of {@code vrs} in parallel as phase {@code phase}, also adding the
+   * time of each call to that virtual router's total.
+   */
+  void forEachVr(String phase, Collection<VirtualRouter> vrs, Consumer<VirtualRouter> action) {
+    phase(
+        phase,
+        () ->
+            vrs.parallelStream()
+                .forEach(
+                    vr -> {
+                      long start = System.nanoTime();
+                      action.accept(vr);
+                      _virtualRouterNanos
+                          .computeIfAbsent(vr, v -> new LongAdder())
+                          .add(System.nanoTime() - start);
+                    }));
+  }
+
+  /** Records the wall time of dependent-routes iteration {@code iteration}. */
+  void iterationFinished(int iteration, long wallNanos) {
+    _iterationWallNanos.merge(iteration, wallNanos, Long::sum);
+  }
+
+  /** Records the size of the main RIB of each of {@code vrs}, in total and per protocol. */
+  void recordMainRibs(Collection<VirtualRouter> vrs) {
+    Map<String, Integer> byProtocol = new HashMap<>();
+    ImmutableSortedMap.Builder<String, Integer> byVirtualRouter = ImmutableSortedMap.naturalOrder();
+    for (VirtualRouter vr : vrs) {
+      Set<AnnotatedRoute<AbstractRoute>> routes = vr.getMainRib().getRoutes();
+      byVirtualRouter.put(name(vr), routes.size());
+      for (AnnotatedRoute<AbstractRoute> route : routes) {
+        byProtocol.merge(route.getAbstractRoute().getProtocol().protocolName(), 1, Integer::sum);
+      }
+    }
+    _mainRibRoutesByProtocol = ImmutableSortedMap.copyOf(byProtocol);
+    _mainRibRoutesByVirtualRouter = byVirtualRouter.build();
+  }
+
+  /** Logs the metrics so far. */
+  void log() {
+    LOGGER.info("Data plane phase wall times (ms): {}", getPhaseWallTimeMillis());
+    LOGGER.info("Data plane phase CPU times (ms): {}", getPhaseCpuTimeMillis());
+    LOGGER.info("Data plane iteration wall times (ms): {}", getIterationWallTimeMillis());
+    LOGGER.info("Slowest virtual routers (ms): {}", getSlowestVirtualRoutersMillis());
+    LOGGER.info("Main RIB routes by protocol: {}", _mainRibRoutesByProtocol);
+    LOGGER.info("Largest main RIBs: {}", getLargestMainRibs());
+  }
+
+  /** Wall time of each phase, summed over its occurrences. */
+  @JsonProperty(PROP_PHASE_WALL_TIME_MILLIS)
+  @VisibleForTesting
+  @Nonnull
+  SortedMap<String, Long> getPhaseWallTimeMillis() {
+    return toMillis(_phaseWallNanos);
+  }
+
+  /**
+   * CPU time of the whole process during each phase, summed over its occurrences. Includes the CPU
+   * time of anything else the process did meanwhile.
+   */
+  @JsonProperty(PROP_PHASE_CPU_TIME_MILLIS)
+  @VisibleForTesting
+  @Nonnull
+  SortedMap<String, Long> getPhaseCpuTimeMillis() {
+    return toMillis(_phaseCpuNanos);
+  }
+
+  /** Wall time of each dependent-routes iteration. */
+  @JsonProperty(PROP_ITERATION_WALL_TIME_MILLIS)
+  @VisibleForTesting
+  @Nonnull
+  SortedMap<Integer, Long> getIterationWallTimeMillis() {
+    return toMillis(_iterationWallNanos);
+  }
+
+  /**
+   * The total time of the {@link #SLOWEST_VIRTUAL_ROUTERS} slowest virtual routers, keyed by
+   * {@code hostname/vrf}, slowest first.
+   */
+  @JsonProperty(PROP_SLOWEST_VIRTUAL_ROUTERS_MILLIS)
+  @VisibleForTesting
+  @Nonnull
+  Map<String, Long> getSlowestVirtualRoutersMillis() {
+    ImmutableMap.Builder<String, Long> slowest = ImmutableMap.builder();
+    _virtualRouterNanos.entrySet().stream()
+        .map(e -> Map.entry(e.getKey(), e.getValue().sum()))
+        .sorted(Entry.<VirtualRouter, Long>comparingByValue(Comparator.reverseOrder()))
+        .limit(SLOWEST_VIRTUAL_ROUTERS)
+        .forEach(
+            e ->
+                slowest.put(name(e.getKey()), TimeUnit.NANOSECONDS.toMillis(e.getValue())));
+    return slowest.build();
+  }
+
+  /** The number of main RIB routes of each protocol, over all virtual routers. */
+  @JsonProperty(PROP_MAIN_RIB_ROUTES_BY_PROTOCOL)
+  @VisibleForTesting
+  @Nonnull
+  SortedMap<String, Integer> getMainRibRoutesByProtocol() {
+    return _mainRibRoutesByProtocol;
+  }
+
+  /** The number of main RIB routes of each virtual router, keyed by {@code hostname/vrf}. */
+  @JsonProperty(PROP_MAIN_RIB_ROUTES_BY_VIRTUAL_ROUTER)
+  @VisibleForTesting
+  @Nonnull
+  SortedMap<String, Integer> getMainRibRoutesByVirtualRouter() {
+    return _mainRibRoutesByVirtualRouter;
+  }
+
+  /** The {@link #LARGEST_MAIN_RIBS} largest main RIBs, largest first. */
+  private @Nonnull Map<String, Integer> getLargestMainRibs() {
+    ImmutableMap.Builder<String, Integer> largest = ImmutableMap.builder();
+    _mainRibRoutesByVirtualRouter.entrySet().stream()
+        .sorted(Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+        .limit(LARGEST_MAIN_RIBS)
+        .forEach(e -> largest.put(e.getKey(), e.getValue()));
+    return largest.build();
+  }
+
+  private static @Nonnull String name(VirtualRouter vr) {
+    return vr.getHostname() + "/" + vr.getName();
+  }
+
+  private static @Nonnull <K extends Comparable<K>> SortedMap<K, Long> toMillis(
+      Map<K, Long> nanos) {
+    ImmutableSortedMap.Builder<K, Long> millis = ImmutableSortedMap.naturalOrder();
+    nanos.forEach((key, value) -> millis.put(key, TimeUnit.NANOSECONDS.toMillis(value)));
+    return millis.build();
+  }
+}
@@ -35,6 +35,7 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import org.apache.logging.log4j.LogManager;
@@ -97,6 +98,7 @@ final class IncrementalBdpEngine {
 
   private int _numIterations;
   private final IncrementalDataPlaneSettings _settings;
+  private IbdpMetrics _metrics = new IbdpMetrics();
 
   IncrementalBdpEngine(IncrementalDataPlaneSettings settings) {
     _settings = settings;
@@ -111,9 +113,11 @@ final class IncrementalBdpEngine {
       TopologyContext currentTopologyContext,
       SortedMap<String, Node> nodes,
       List<VirtualRouter> vrs,
-      IpOwners currentIpOwners) {
+      IpOwners currentIpOwners,
+      IncrementalBdpAnswerElement ae,
+      int topologyIteration) {
     LOGGER.info("Updating dataplane");
-    computeFibs(vrs);
+    computeFibs(vrs, ae, topologyIteration);
 
     return PartialDataplane.builder()
         .setNodes(nodes)
@@ -302,8 +306,6 @@ final class IncrementalBdpEngine {
       IpOwners initialIpOwners) {
     LOGGER.info("Computing Data Plane using iBDP");
 
-    Map<Ip, Map<String, Set<String>>> initialIpVrfOwners = initialIpOwners.getIpVrfOwners();
-
     // Generate our nodes, keyed by name, sorted for determinism
     SortedMap<String, Node> nodes =
         toImmutableSortedMap(configurations.values(), Configuration::getHostname, Node::new);
@@ -313,6 +315,31 @@ final class IncrementalBdpEngine {
     // nodes by hostname. See https://github.com/batfish/batfish/pull/7054 description.
     List<VirtualRouter> vrs =
         toListInRandomOrder(nodes.values().stream().flatMap(n -> n.getVirtualRouters().stream()));
+    _metrics = new IbdpMetrics();
+    try {
+      return computeDataPlane(
+          configurations, initialTopologyContext, externalAdverts, initialIpOwners, nodes, vrs);
+    } finally {
+      // also when the computation does not converge, which is when the metrics matter most
+      _metrics.recordMainRibs(vrs);
+      _metrics.log();
+    }
+  }
+
+  /** The metrics of the last data plane computation, whether or not it completed. */
+  @Nonnull
+  IbdpMetrics getMetrics() {
+    return _metrics;
+  }
+
+  private ComputeDataPlaneResult computeDataPlane(
+      Map<String, Configuration> configurations,
+      TopologyContext initialTopologyContext,
+      Set<BgpAdvertisement> externalAdverts,
+      IpOwners initialIpOwners,
+      SortedMap<String, Node> nodes,
+      List<VirtualRouter> vrs) {
+    Map<Ip, Map<String, Set<String>>> initialIpVrfOwners = initialIpOwners.getIpVrfOwners();
     NetworkConfigurations networkConfigurations = NetworkConfigurations.of(configurations);
 
     /*
@@ -327,9 +354,10 @@ final class IncrementalBdpEngine {
     computeIgpDataPlane(nodes, vrs, initialTopologyContext, answerElement);
 
     LOGGER.info("Initialize virtual routers before topology fixed point");
-    vrs.parallelStream()
-        .forEach(
-            vr -> vr.initForEgpComputationBeforeTopologyLoop(externalAdverts, initialIpVrfOwners));
+    _metrics.forEachVr(
+        "EGP: initialize",
+        vrs,
+        vr -> vr.initForEgpComputationBeforeTopologyLoop(externalAdverts, initialIpVrfOwners));
 
     /*
      * Perform a fixed-point computation, in which every round the topology is updated based
@@ -344,7 +372,7 @@ final class IncrementalBdpEngine {
             .setVxlanTopology(VxlanTopology.EMPTY)
             .build();
     PartialDataplane currentDataplane =
-        nextDataplane(priorTopologyContext, nodes, vrs, initialIpOwners);
+        nextDataplane(priorTopologyContext, nodes, vrs, initialIpOwners, answerElement, 0);
 
     TopologyContext currentTopologyContext =
         nextTopologyContext(
@@ -393,7 +421,14 @@ final class IncrementalBdpEngine {
 
       updateLayer3Vnis(vrs);
       currentDataplane = null; // free the old one
-      currentDataplane = nextDataplane(currentTopologyContext, nodes, vrs, currentIpOwners);
+      currentDataplane =
+          nextDataplane(
+              currentTopologyContext,
+              nodes,
+              vrs,
+              currentIpOwners,
+              answerElement,
+              topologyIterations);
       TopologyContext nextTopologyContext =
           nextTopologyContext(
               currentTopologyContext,
@@ -683,7 +718,7 @@ final class IncrementalBdpEngine {
    * @param iterationLabel iteration label (for stats tracking)
    * @param allNodes all nodes in the network (for correct neighbor referencing)
    */
-  private static void computeDependentRoutesIteration(
+  private void computeDependentRoutesIteration(
       List<VirtualRouter> vrs,
       String iterationLabel,
       Map<String, Node> allNodes,
@@ -694,22 +729,24 @@ final class IncrementalBdpEngine {
 
     // Static nextHopIp routes
     LOGGER.info("{}: Recompute conditional static routes", iterationLabel);
-    vrs.parallelStream()
-        .forEach(vr -> vr.activateStaticRoutes(provider.forConfiguration(vr.getConfiguration())));
+    _metrics.forEachVr(
+        "Static routes",
+        vrs,
+        vr -> vr.activateStaticRoutes(provider.forConfiguration(vr.getConfiguration())));
 
     // Generated/aggregate routes
     LOGGER.info("{}: Recompute aggregate/generated routes", iterationLabel);
-    vrs.parallelStream().forEach(VirtualRouter::recomputeGeneratedRoutes);
+    _metrics.forEachVr("Generated routes", vrs, VirtualRouter::recomputeGeneratedRoutes);
 
     // EIGRP
     LOGGER.info("{}: Propagate EIGRP routes", iterationLabel);
-    vrs.parallelStream().forEach(vr -> vr.eigrpIteration(allNodes));
-    vrs.parallelStream().forEach(VirtualRouter::mergeEigrpRoutesToMainRib);
+    _metrics.forEachVr("EIGRP", vrs, vr -> vr.eigrpIteration(allNodes));
+    _metrics.forEachVr("EIGRP", vrs, VirtualRouter::mergeEigrpRoutesToMainRib);
 
     // Re-initialize IS-IS exports.
     LOGGER.info("{}: Recompute IS-IS routes", iterationLabel);
-    vrs.parallelStream()
-        .forEach(vr -> vr.initIsisExports(iteration, allNodes, networkConfigurations));
+    _metrics.forEachVr(
+        "IS-IS", vrs, vr -> vr.initIsisExports(iteration, allNodes, networkConfigurations));
 
     // IS-IS route propagation
     AtomicBoolean isisChanged = new AtomicBoolean(true);
@@ -718,68 +755,89 @@ final class IncrementalBdpEngine {
       isisSubIterations++;
       LOGGER.info("{}: Recompute IS-IS routes: subIteration {}", iterationLabel, isisSubIterations);
       isisChanged.set(false);
-      vrs.parallelStream()
-          .forEach(
-              vr -> {
-                Entry<RibDelta<IsisRoute>, RibDelta<IsisRoute>> p =
-                    vr.propagateIsisRoutes(networkConfigurations);
-                if (p != null
-                    && vr.unstageIsisRoutes(
-                        allNodes, networkConfigurations, p.getKey(), p.getValue())) {
-                  isisChanged.set(true);
-                }
-              });
+      _metrics.forEachVr(
+          "IS-IS",
+          vrs,
+          vr -> {
+            Entry<RibDelta<IsisRoute>, RibDelta<IsisRoute>> p =
+                vr.propagateIsisRoutes(networkConfigurations);
+            if (p != null
+                && vr.unstageIsisRoutes(
+                    allNodes, networkConfigurations, p.getKey(), p.getValue())) {
+              isisChanged.set(true);
+            }
+          });
     }
 
     LOGGER.info("{}: Propagate OSPF external", iterationLabel);
-    vrs.parallelStream().forEach(vr -> vr.ospfIteration(allNodes));
-    vrs.parallelStream().forEach(VirtualRouter::mergeOspfRoutesToMainRib);
+    _metrics.forEachVr("OSPF", vrs, vr -> vr.ospfIteration(allNodes));
+    _metrics.forEachVr("OSPF", vrs, VirtualRouter::mergeOspfRoutesToMainRib);
 
     computeIterationOfBgpRoutes(iterationLabel, allNodes, vrs);
 
     leakAcrossVrfs(vrs, iterationLabel);
 
     // Tell each VR that a BGP route computation inner round (schedule) has ended.
-    vrs.parallelStream().forEach(VirtualRouter::endOfEgpInnerRound);
+    _metrics.forEachVr("End of round", vrs, VirtualRouter::endOfEgpInnerRound);
   }
 
-  private static void updateLayer3Vnis(List<VirtualRouter> vrs) {
+  private void updateLayer3Vnis(List<VirtualRouter> vrs) {
     LOGGER.info("Update learned VTEP IPs for Layer3Vnis");
-    vrs.parallelStream().forEach(VirtualRouter::updateLayer3Vnis);
+    _metrics.forEachVr("Layer3 VNIs", vrs, VirtualRouter::updateLayer3Vnis);
   }
 
-  private static void computeIterationOfBgpRoutes(
+  private void computeIterationOfBgpRoutes(
       String iterationLabel, Map<String, Node> allNodes, List<VirtualRouter> vrs) {
     LOGGER.info("{}: Init for new BGP iteration", iterationLabel);
-    vrs.parallelStream().forEach(vr -> vr.bgpIteration(allNodes));
+    _metrics.forEachVr("BGP", vrs, vr -> vr.bgpIteration(allNodes));
     LOGGER.info("{}: Init BGP generated/aggregate routes", iterationLabel);
     // first let's initialize nodes-level generated/aggregate routes
-    vrs.parallelStream().forEach(VirtualRouter::initBgpAggregateRoutes);
+    _metrics.forEachVr("BGP", vrs, VirtualRouter::initBgpAggregateRoutes);
 
     LOGGER.info("{}: Propagate BGP v4 routes", iterationLabel);
 
     // Merge BGP routes from BGP process into the main RIB
-    vrs.parallelStream().forEach(VirtualRouter::mergeBgpRoutesToMainRib);
+    _metrics.forEachVr("BGP", vrs, VirtualRouter::mergeBgpRoutesToMainRib);
   }
 
-  private static void queueRoutesForCrossVrfLeaking(List<VirtualRouter> vrs) {
+  private void queueRoutesForCrossVrfLeaking(List<VirtualRouter> vrs) {
     LOGGER.info("Queueing routes to leak across VRFs");
-    vrs.parallelStream().forEach(VirtualRouter::queueCrossVrfImports);
+    _metrics.forEachVr("Cross-VRF leaking", vrs, VirtualRouter::queueCrossVrfImports);
   }
 
-  private static void leakAcrossVrfs(List<VirtualRouter> vrs, String iterationLabel) {
+  private void leakAcrossVrfs(List<VirtualRouter> vrs, String iterationLabel) {
     LOGGER.info("{}: Leaking routes across VRFs", iterationLabel);
-    vrs.parallelStream().forEach(VirtualRouter::processCrossVrfRoutes);
+    _metrics.forEachVr("Cross-VRF leaking", vrs, VirtualRouter::processCrossVrfRoutes);
   }
 
   /**
-   * Run {@link VirtualRouter#computeFib} on all virtual routers
+   * Run {@link VirtualRouter#computeFib} on all virtual routers, and record in {@code ae} how many
+   * FIBs were recomputed and how many were reused because their main RIB did not change.
    *
    * @param vrs all virtual routers
+   * @param ae the answer element in which to record FIB statistics
+   * @param topologyIteration the topology iteration for which FIBs are computed, 0 for the
+   *     initial FIBs
    */
-  private void computeFibs(List<VirtualRouter> vrs) {
+  private void computeFibs(
+      List<VirtualRouter> vrs, IncrementalBdpAnswerElement ae, int topologyIteration) {
     LOGGER.info("Compute FIBs");
-    vrs.parallelStream().forEach(VirtualRouter::computeFib);
+    AtomicInteger recomputedFibs = new AtomicInteger();
+    _metrics.forEachVr(
+        "FIBs",
+        vrs,
+        vr -> {
+          if (vr.computeFib()) {
+            recomputedFibs.incrementAndGet();
+          }
+        });
+    int recomputed = recomputedFibs.get();
+    LOGGER.info(
+        "Recomputed {} FIBs, reused {} FIBs with unchanged main RIBs",
+        recomputed,
+        vrs.size() - recomputed);
+    ae.getFibsRecomputedByTopologyIteration().put(topologyIteration, recomputed);
+    ae.getFibsReusedByTopologyIteration().put(topologyIteration, vrs.size() - recomputed);
   }
 
   /**
@@ -802,11 +860,13 @@ final class IncrementalBdpEngine {
      * queue outgoing messages to neighbors
      */
     LOGGER.info("Initialize for IGP computation");
-    vrs.parallelStream().forEach(vr -> vr.initForIgpComputation(topologyContext));
+    _metrics.forEachVr(
+        "IGP: initialize", vrs, vr -> vr.initForIgpComputation(topologyContext));
 
     // Apply rib-groups sequentially to avoid concurrent writes to same destination RIB
     LOGGER.info("Apply rib-groups for IGP");
-    vrs.stream().forEach(VirtualRouter::applyRibGroupsForIgp);
+    _metrics.phase(
+        "IGP: rib-groups", () -> vrs.stream().forEach(VirtualRouter::applyRibGroupsForIgp));
 
     // OSPF internal routes
     numOspfInternalIterations = initOspfInternalRoutes(nodes, topologyContext.getOspfTopology());
@@ -816,13 +876,14 @@ final class IncrementalBdpEngine {
 
     // Activate static routes
     LOGGER.info("Compute static routes post IGP convergence");
-    vrs.parallelStream()
-        .forEach(
-            vr -> {
-              importRib(vr.getMainRib(), vr._independentRib);
-              // Use static evaluator since we don't have dataplane yet
-              vr.activateStaticRoutes(new PreDataPlaneTrackMethodEvaluator(vr.getConfiguration()));
-            });
+    _metrics.forEachVr(
+        "IGP: static routes",
+        vrs,
+        vr -> {
+          importRib(vr.getMainRib(), vr._independentRib);
+          // Use static evaluator since we don't have dataplane yet
+          vr.activateStaticRoutes(new PreDataPlaneTrackMethodEvaluator(vr.getConfiguration()));
+        });
 
     // Set iteration stats in the answer
     ae.setOspfInternalIterations(numOspfInternalIterations);
@@ -851,16 +912,19 @@ final class IncrementalBdpEngine {
      * Initialize all routers and their message queues (can be done as parallel as possible)
      */
     LOGGER.info("Initialize virtual routers with updated topologies");
-    vrs.parallelStream()
-        .forEach(vr -> vr.initForEgpComputationWithNewTopology(topologyContext, provider));
+    _metrics.forEachVr(
+        "EGP: initialize",
+        vrs,
+        vr -> vr.initForEgpComputationWithNewTopology(topologyContext, provider));
 
     LOGGER.info("Compute HMM routes");
     Map<String, Map<String, Set<Ip>>> interfaceOwners = ipOwners.getInterfaceOwners(true);
-    vrs.parallelStream().forEach(vr -> vr.computeHmmRoutes(initialLayer3Topology, interfaceOwners));
+    _metrics.forEachVr(
+        "HMM routes", vrs, vr -> vr.computeHmmRoutes(initialLayer3Topology, interfaceOwners));
 
     LOGGER.info("Compute kernel routes");
-    vrs.parallelStream()
-        .forEach(vr -> vr.computeConditionalKernelRoutes(ipOwners.getIpVrfOwners()));
+    _metrics.forEachVr(
+        "Kernel routes", vrs, vr -> vr.computeConditionalKernelRoutes(ipOwners.getIpVrfOwners()));
 
     /*
      * Setup maps to track iterations. We need this for oscillation detection.
@@ -875,6 +939,7 @@ final class IncrementalBdpEngine {
     // Go into iteration mode, until the routes converge (or oscillation is detected)
     do {
       _numIterations++;
+      long iterationStart = System.nanoTime();
       LOGGER.info("Iteration {} begins", _numIterations);
       LOGGER.info("Compute schedule");
       // Compute node schedule
@@ -885,7 +950,7 @@ final class IncrementalBdpEngine {
       //  Since this is a local step, coloring not required.
 
       LOGGER.info("Re-Init for new route iteration");
-      vrs.parallelStream().forEach(VirtualRouter::reinitForNewIteration);
+      _metrics.forEachVr("Reinitialize", vrs, VirtualRouter::reinitForNewIteration);
 
       /*
       Redistribution: take all the routes merged into the main RIB during previous iteration
@@ -895,10 +960,10 @@ final class IncrementalBdpEngine {
       Since this is a local step, coloring not required.
       */
       LOGGER.info("Redistribute");
-      vrs.parallelStream().forEach(VirtualRouter::redistribute);
+      _metrics.forEachVr("Redistribute", vrs, VirtualRouter::redistribute);
 
       // Handle process-specific route resolution and cross-VRF leaking here too.
-      vrs.parallelStream().forEach(VirtualRouter::updateResolvableRoutes);
+      _metrics.forEachVr("Resolvable routes", vrs, VirtualRouter::updateResolvableRoutes);
       queueRoutesForCrossVrfLeaking(vrs);
 
       // compute dependent routes for each allowable set of nodes until we cover all nodes
@@ -916,7 +981,7 @@ final class IncrementalBdpEngine {
 
       // Tell each VR that a route computation round has ended.
       // This must be the last thing called on a VR in a routing round.
-      vrs.parallelStream().forEach(VirtualRouter::endOfEgpRound);
+      _metrics.forEachVr("End of round", vrs, VirtualRouter::endOfEgpRound);
 
       /*
        * Perform various bookkeeping at the end of the iteration:
@@ -924,7 +989,7 @@ final class IncrementalBdpEngine {
        * - Compute iteration hashcode
        * - Check for oscillations
        */
-      computeIterationStatistics(vrs, ae, _numIterations);
+      _metrics.phase("Statistics", () -> computeIterationStatistics(vrs, ae, _numIterations));
 
       // This hashcode uniquely identifies the iteration (i.e., network state)
       int iterationHashCode = computeIterationHashCode(vrs);
@@ -945,6 +1010,7 @@ final class IncrementalBdpEngine {
           return true; // Found an oscillation
         }
       }
+      _metrics.iterationFinished(_numIterations, System.nanoTime() - iterationStart);
     } while (hasNotReachedRoutingFixedPoint(vrs));
 
     ae.setDependentRoutesIterations(_numIterations);
@@ -1011,6 +1077,11 @@ final class IncrementalBdpEngine {
    * @return the number of iterations it took for internal OSPF routes to converge
    */
   private int initOspfInternalRoutes(Map<String, Node> allNodes, OspfTopology ospfTopology) {
+    if (_settings.getOspfLinkState()) {
+      LOGGER.info("OSPF internal: Computing intra-area routes with link-state SPF");
+      OspfSpf.computeIntraAreaRoutes(allNodes, ospfTopology).entrySet().parallelStream()
+          .forEach(e -> e.getKey().seedIntraAreaRoutes(e.getValue()));
+    }
     int ospfInternalIterations = 0;
     boolean dirty = true;
 
@@ -1030,9 +1101,9 @@ final class IncrementalBdpEngine {
         List<VirtualRouter> scheduleVrs =
             toListInRandomOrder(
                 scheduleNodes.values().stream().flatMap(n -> n.getVirtualRouters().stream()));
-        scheduleVrs.parallelStream()
-            .forEach(virtualRouter -> virtualRouter.ospfIteration(allNodes));
-        scheduleVrs.parallelStream().forEach(VirtualRouter::mergeOspfRoutesToMainRib);
+        _metrics.forEachVr(
+            "IGP: OSPF", scheduleVrs, virtualRouter -> virtualRouter.ospfIteration(allNodes));
+        _metrics.forEachVr("IGP: OSPF", scheduleVrs, VirtualRouter::mergeOspfRoutesToMainRib);
       }
       dirty =
           allNodes.values().parallelStream()
@@ -1053,7 +1124,7 @@ final class IncrementalBdpEngine {
    * @param nodes nodes for which to initialize the routes, keyed by name
    * @param topology network topology
    */
-  private static void initRipInternalRoutes(
+  private void initRipInternalRoutes(
       SortedMap<String, Node> nodes, List<VirtualRouter> vrs, Topology topology) {
     /*
      * Consider this method to be a simulation within a simulation. Since RIP routes are not
@@ -1066,23 +1137,25 @@ final class IncrementalBdpEngine {
       ripInternalIterations++;
       ripInternalChanged.set(false);
       LOGGER.info("RIP internal: Iteration {}", ripInternalIterations);
-      vrs.parallelStream()
-          .forEach(
-              vr -> {
-                if (vr.propagateRipInternalRoutes(nodes, topology)) {
-                  ripInternalChanged.set(true);
-                }
-              });
+      _metrics.forEachVr(
+          "IGP: RIP",
+          vrs,
+          vr -> {
+            if (vr.propagateRipInternalRoutes(nodes, topology)) {
+              ripInternalChanged.set(true);
+            }
+          });
       LOGGER.info("Unstage RIP internal: Iteration {}", ripInternalIterations);
-      vrs.parallelStream().forEach(VirtualRouter::unstageRipInternalRoutes);
+      _metrics.forEachVr("IGP: RIP", vrs, VirtualRouter::unstageRipInternalRoutes);
 
       LOGGER.info("Import RIP internal: Iteration {}", ripInternalIterations);
-      vrs.parallelStream()
-          .forEach(
-              vr -> {
-                importRib(vr._ripRib, vr._ripInternalRib);
-                importRib(vr._independentRib, vr._ripRib, vr.getName());
-              });
+      _metrics.forEachVr(
+          "IGP: RIP",
+          vrs,
+          vr -> {
+            importRib(vr._ripRib, vr._ripInternalRib);
+            importRib(vr._independentRib, vr._ripRib, vr.getName());
+          });
     }
   }
 }
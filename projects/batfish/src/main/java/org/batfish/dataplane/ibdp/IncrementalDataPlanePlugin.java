@@ -1,6 +1,9 @@
 package org.batfish.dataplane.ibdp;
 
 import com.google.auto.service.AutoService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Set;
 import org.apache.logging.log4j.LogManager;
@@ -9,6 +12,7 @@ import org.batfish.common.NetworkSnapshot;
 import org.batfish.common.plugin.DataPlanePlugin;
 import org.batfish.common.plugin.Plugin;
 import org.batfish.common.topology.TopologyProvider;
+import org.batfish.common.util.BatfishObjectMapper;
 import org.batfish.datamodel.BgpAdvertisement;
 import org.batfish.datamodel.Configuration;
 import org.batfish.datamodel.answers.IncrementalBdpAnswerElement;
@@ -47,12 +51,17 @@ public final class IncrementalDataPlanePlugin extends DataPlanePlugin {
             .setTunnelTopology(topologyProvider.getInitialTunnelTopology(snapshot))
             .build();
 
-    ComputeDataPlaneResult answer =
-        _engine.computeDataPlane(
-            configurations,
-            topologyContext,
-            externalAdverts,
-            topologyProvider.getInitialIpOwners(snapshot));
+    ComputeDataPlaneResult answer;
+    try {
+      answer =
+          _engine.computeDataPlane(
+              configurations,
+              topologyContext,
+              externalAdverts,
+              topologyProvider.getInitialIpOwners(snapshot));
+    } finally {
+      storeMetrics(snapshot, _engine.getMetrics());
+    }
     _logger.infof(
         "Generated data-plane for snapshot:%s; iterations:%s",
         snapshot.getSnapshot(),
@@ -60,6 +69,23 @@ public final class IncrementalDataPlanePlugin extends DataPlanePlugin {
     return answer;
   }
 
+  /**
+   * Stores {@code metrics} with {@code snapshot}, where tools can read them without parsing logs.
+   * Failing to store them does not fail the computation.
+   */
+  private void storeMetrics(NetworkSnapshot snapshot, IbdpMetrics metrics) {
+    try {
+      byte[] json = BatfishObjectMapper.writeString(metrics).getBytes(StandardCharsets.UTF_8);
+      _batfish.putSnapshotObject(
+          snapshot.getNetwork(),
+          snapshot.getSnapshot(),
+          IbdpMetrics.OBJECT_KEY,
+          new ByteArrayInputStream(json));
+    } catch (IOException e) {
+      LOGGER.warn("Could not store data plane metrics", e);
+    }
+  }
+
   @Override
   protected void dataPlanePluginInitialize() {
     _engine =
@@ -17,6 +17,7 @@ public final class IncrementalDataPlaneSettings {
   private Configuration _config;
 
   public static final String PROP_COLORING = "coloring";
+  public static final String PROP_OSPF_LINK_STATE = "ospfLinkState";
   public static final String PROP_SCHEDULE = "schedule";
 
   /**
@@ -48,6 +49,7 @@ public final class IncrementalDataPlaneSettings {
   /** Initialize defaults for all properties */
   private void initDefaults() {
     _config.setProperty(PROP_COLORING, SATURATION.toString());
+    _config.setProperty(PROP_OSPF_LINK_STATE, false);
     _config.setProperty(PROP_SCHEDULE, NODE_COLORED.toString());
   }
 
@@ -56,6 +58,14 @@ public final class IncrementalDataPlaneSettings {
     return Schedule.valueOf(_config.getString(PROP_SCHEDULE));
   }
 
+  /**
+   * Whether to compute OSPF intra-area routes with link-state SPF before message passing, so that
+   * OSPF converges in fewer iterations. See {@link OspfSpf}.
+   */
+  public boolean getOspfLinkState() {
+    return _config.getBoolean(PROP_OSPF_LINK_STATE);
+  }
+
   /**
    * If the schedule is of type {@link NodeColoredSchedule}, get the type of {@link Coloring} to
    * perform
@@ -357,6 +357,59 @@ final class OspfRoutingProcess implements RoutingProcess<OspfTopology, OspfRoute
     _changeset.from(RibDelta.importRibDelta(_ospfRib, intraAreaDelta));
   }
 
+  /**
+   * Merges intra-area routes computed by {@link OspfSpf} into the intra-area RIB, exactly as if
+   * they had been received from neighbors, and queues them for advertisement along with the
+   * initialization routes. Must be called after {@link #initialize(Node)} and before the first
+   * iteration.
+   */
+  void seedIntraAreaRoutes(Collection<OspfIntraAreaRoute> routes) {
+    RibDelta.Builder<OspfIntraAreaRoute> intraAreaDelta =
+        RibDelta.<OspfIntraAreaRoute>builder().from(_initializationDelta._intraArea);
+    RibDelta.Builder<OspfInterAreaRoute> interAreaDelta =
+        RibDelta.<OspfInterAreaRoute>builder().from(_initializationDelta._interArea);
+    RibDelta.Builder<OspfIntraAreaRoute> seededIntraArea = RibDelta.builder();
+    RibDelta.Builder<OspfInterAreaRoute> seededInterArea = RibDelta.builder();
+    for (OspfIntraAreaRoute route : routes) {
+      seededIntraArea.from(_intraAreaRib.mergeRouteGetDelta(route));
+      if (isABR()) {
+        // as in processIntraAreaAdvertisement
+        RouteFilterList areaFilter = _areaFilters.get(route.getArea());
+        if (areaFilter == null || areaFilter.permits(route.getNetwork())) {
+          seededInterArea.from(
+              _interAreaRib.mergeRouteGetDelta(
+                  OspfInterAreaRoute.builder(route).setNonRouting(true).build()));
+        }
+      }
+    }
+    RibDelta<OspfIntraAreaRoute> seededIntraAreaDelta = seededIntraArea.build();
+    RibDelta<OspfInterAreaRoute> seededInterAreaDelta = seededInterArea.build();
+    _initializationDelta =
+        new InternalDelta(
+            intraAreaDelta.from(seededIntraAreaDelta).build(),
+            interAreaDelta.from(seededInterAreaDelta).build(),
+            _initializationDelta._internalSummary);
+    _changeset.from(RibDelta.importRibDelta(_ospfRib, seededIntraAreaDelta));
+    _changeset.from(RibDelta.importRibDelta(_ospfRib, seededInterAreaDelta));
+  }
+
+  /** The intra-area routes currently in this process's intra-area RIB. */
+  @Nonnull
+  Set<OspfIntraAreaRoute> getIntraAreaRoutes() {
+    return _intraAreaRib.getRoutes();
+  }
+
+  /** The administrative distance of intra-area routes in this process. */
+  int getOspfAdmin() {
+    return _process.getAdminCosts().get(RoutingProtocol.OSPF);
+  }
+
+  /** Whether routes arriving on the given interface are subject to an inbound distribute list. */
+  boolean hasInboundDistributeList(String ifaceName) {
+    Interface iface = _c.getAllInterfaces().get(ifaceName);
+    return iface != null && iface.getOspfInboundDistributeListPolicy() != null;
+  }
+
   /** Initialize inter-area routes based the initial intra-area routes. */
   @VisibleForTesting
   @Nonnull
@@ -474,7 +527,7 @@ final class OspfRoutingProcess implements RoutingProcess<OspfTopology, OspfRoute
    * Extract the {@link OspfRoutingProcess} belonging to the given {@link OspfNeighborConfigId
    * OspfNeighborId}
    */
-  private static @Nullable OspfRoutingProcess getNeighborProcess(
+  static @Nullable OspfRoutingProcess getNeighborProcess(
       OspfNeighborConfigId ospfNeighborId, Map<String, Node> allNodes) {
     return allNodes
         .get(ospfNeighborId.getHostname())
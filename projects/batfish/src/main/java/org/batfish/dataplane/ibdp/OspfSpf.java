@@ -0,0 +1,265 @@
+package org.batfish.dataplane.ibdp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.batfish.datamodel.OspfIntraAreaRoute;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.ospf.OspfSessionProperties;
+import org.batfish.datamodel.ospf.OspfTopology;
+import org.batfish.datamodel.ospf.OspfTopology.EdgeId;
+import org.batfish.datamodel.route.nh.NextHopInterface;
+
+/**
+ * Computes OSPF intra-area routes link-state style: builds the link-state database of each area
+ * from the {@link OspfTopology} and runs one Dijkstra per {@link OspfRoutingProcess} and area, in
+ * parallel across processes.
+ *
+ * <p>The result is exactly the fixed point that intra-area message passing converges to, so
+ * seeding each process with it (see {@link OspfRoutingProcess#seedIntraAreaRoutes}) leaves message
+ * passing with nothing new to learn. Prefixes this cannot compute exactly are left to message
+ * passing:
+ *
+ * <ul>
+ *   <li>prefixes originated in more than one area, since which area's routes a router keeps (and
+ *       so re-advertises) depends on routes from other areas;
+ *   <li>prefixes a process originates itself.
+ * </ul>
+ *
+ * No routes are computed at all if an inbound distribute list could change routes on import, or if
+ * a link has zero cost.
+ */
+@ParametersAreNonnullByDefault
+final class OspfSpf {
+  private static final Logger LOGGER = LogManager.getLogger(OspfSpf.class);
+
+  /**
+   * Returns the intra-area routes each process would learn from its neighbors, for every prefix
+   * that can be computed exactly.
+   */
+  static @Nonnull Map<OspfRoutingProcess, List<OspfIntraAreaRoute>> computeIntraAreaRoutes(
+      Map<String, Node> allNodes, OspfTopology topology) {
+    Map<OspfRoutingProcess, List<Link>> links = new IdentityHashMap<>();
+    for (EdgeId edge : topology.edges()) {
+      OspfRoutingProcess tail = OspfRoutingProcess.getNeighborProcess(edge.getTail(), allNodes);
+      OspfRoutingProcess head = OspfRoutingProcess.getNeighborProcess(edge.getHead(), allNodes);
+      Optional<OspfSessionProperties> session = topology.getSession(edge);
+      if (tail == null || head == null || !session.isPresent()) {
+        continue;
+      }
+      String tailIface = edge.getTail().getInterfaceName();
+      if (tail.hasInboundDistributeList(tailIface)) {
+        LOGGER.info("Not using OSPF link-state SPF: inbound distribute list on {}", edge.getTail());
+        return ImmutableMap.of();
+      }
+      long cost = tail.getIncrementalCost(tailIface, false);
+      if (cost <= 0) {
+        LOGGER.info("Not using OSPF link-state SPF: zero-cost link {}", edge);
+        return ImmutableMap.of();
+      }
+      // Routes arriving over this link are learned by the tail, via the head
+      links
+          .computeIfAbsent(tail, p -> new ArrayList<>())
+          .add(
+              new Link(
+                  head,
+                  session.get().getArea(),
+                  cost,
+                  NextHopInterface.of(tailIface, session.get().getIpLink().getIp2())));
+    }
+
+    // process -> area -> routes it originates in that area
+    Map<OspfRoutingProcess, SetMultimap<Long, OspfIntraAreaRoute>> originated =
+        new IdentityHashMap<>();
+    Map<Prefix, Set<Long>> areasByPrefix = new HashMap<>();
+    for (Node node : allNodes.values()) {
+      for (VirtualRouter vr : node.getVirtualRouters()) {
+        for (OspfRoutingProcess process : vr.getOspfProcesses().values()) {
+          ImmutableSetMultimap.Builder<Long, OspfIntraAreaRoute> routes =
+              ImmutableSetMultimap.builder();
+          for (OspfIntraAreaRoute route : process.getIntraAreaRoutes()) {
+            routes.put(route.getArea(), route);
+            areasByPrefix
+                .computeIfAbsent(route.getNetwork(), p -> new HashSet<>())
+                .add(route.getArea());
+          }
+          originated.put(process, routes.build());
+        }
+      }
+    }
+    Set<Prefix> multiAreaPrefixes =
+        areasByPrefix.entrySet().stream()
+            .filter(e -> e.getValue().size() > 1)
+            .map(Entry::getKey)
+            .collect(ImmutableSet.toImmutableSet());
+
+    return originated.keySet().parallelStream()
+        .collect(
+            Collectors.toMap(
+                process -> process,
+                process -> computeRoutes(process, links, originated, multiAreaPrefixes),
+                (a, b) -> a,
+                IdentityHashMap::new));
+  }
+
+  /** Computes the intra-area routes {@code source} learns, running Dijkstra once per area. */
+  private static @Nonnull List<OspfIntraAreaRoute> computeRoutes(
+      OspfRoutingProcess source,
+      Map<OspfRoutingProcess, List<Link>> links,
+      Map<OspfRoutingProcess, SetMultimap<Long, OspfIntraAreaRoute>> originated,
+      Set<Prefix> multiAreaPrefixes) {
+    Set<Prefix> ownPrefixes =
+        originated.get(source).values().stream()
+            .map(OspfIntraAreaRoute::getNetwork)
+            .collect(ImmutableSet.toImmutableSet());
+    Set<Long> areas =
+        links.getOrDefault(source, ImmutableList.of()).stream()
+            .map(l -> l._area)
+            .collect(ImmutableSet.toImmutableSet());
+    ImmutableList.Builder<OspfIntraAreaRoute> routes = ImmutableList.builder();
+    for (long area : areas) {
+      ShortestPaths paths = dijkstra(source, area, links);
+      // prefix -> best metric, and the first hops achieving it
+      Map<Prefix, Long> bestMetric = new HashMap<>();
+      Map<Prefix, List<Entry<OspfIntraAreaRoute, Link>>> best = new HashMap<>();
+      paths._distance.forEach(
+          (router, distance) -> {
+            if (router == source) {
+              return;
+            }
+            for (OspfIntraAreaRoute origin : originated.get(router).get(area)) {
+              Prefix prefix = origin.getNetwork();
+              if (multiAreaPrefixes.contains(prefix) || ownPrefixes.contains(prefix)) {
+                continue;
+              }
+              long metric = distance + origin.getMetric();
+              Long current = bestMetric.get(prefix);
+              if (current != null && current < metric) {
+                continue;
+              }
+              List<Entry<OspfIntraAreaRoute, Link>> candidates =
+                  current == null || current > metric ? new ArrayList<>() : best.get(prefix);
+              bestMetric.put(prefix, metric);
+              for (Link firstHop : paths._firstHops.get(router)) {
+                candidates.add(Map.entry(origin, firstHop));
+              }
+              best.put(prefix, candidates);
+            }
+          });
+      best.forEach(
+          (prefix, candidates) -> {
+            long metric = bestMetric.get(prefix);
+            candidates.stream()
+                .map(
+                    c ->
+                        c.getKey().toBuilder()
+                            .setMetric(metric)
+                            .setAdmin(source.getOspfAdmin())
+                            .setNextHop(c.getValue()._nextHop)
+                            .setNonRouting(false)
+                            .setNonForwarding(false)
+                            .build())
+                .distinct()
+                .forEach(routes::add);
+          });
+    }
+    return routes.build();
+  }
+
+  /**
+   * Dijkstra from {@code source} over the links in {@code area}, recording for each reachable
+   * process its distance and the set of links out of {@code source} that start a shortest path to
+   * it.
+   */
+  private static @Nonnull ShortestPaths dijkstra(
+      OspfRoutingProcess source, long area, Map<OspfRoutingProcess, List<Link>> links) {
+    Map<OspfRoutingProcess, Long> distance = new IdentityHashMap<>();
+    Map<OspfRoutingProcess, Set<Link>> firstHops = new IdentityHashMap<>();
+    Set<OspfRoutingProcess> done = Collections.newSetFromMap(new IdentityHashMap<>());
+    PriorityQueue<Entry<OspfRoutingProcess, Long>> queue =
+        new PriorityQueue<>(Comparator.comparingLong(Entry::getValue));
+    distance.put(source, 0L);
+    firstHops.put(source, ImmutableSet.of());
+    queue.add(Map.entry(source, 0L));
+    while (!queue.isEmpty()) {
+      Entry<OspfRoutingProcess, Long> next = queue.remove();
+      OspfRoutingProcess router = next.getKey();
+      long routerDistance = next.getValue();
+      if (!done.add(router)) {
+        continue;
+      }
+      for (Link link : links.getOrDefault(router, ImmutableList.of())) {
+        if (link._area != area) {
+          continue;
+        }
+        long neighborDistance = routerDistance + link._cost;
+        Long current = distance.get(link._neighbor);
+        if (current != null && current < neighborDistance) {
+          continue;
+        }
+        Set<Link> hops =
+            current == null || current > neighborDistance
+                ? new HashSet<>()
+                : firstHops.get(link._neighbor);
+        if (router == source) {
+          hops.add(link);
+        } else {
+          hops.addAll(firstHops.get(router));
+        }
+        firstHops.put(link._neighbor, hops);
+        if (current == null || current > neighborDistance) {
+          distance.put(link._neighbor, neighborDistance);
+          queue.add(Map.entry(link._neighbor, neighborDistance));
+        }
+      }
+    }
+    return new ShortestPaths(distance, firstHops);
+  }
+
+  /** A link out of a process, over which it learns the routes of {@code _neighbor}. */
+  private static final class Link {
+    private final @Nonnull OspfRoutingProcess _neighbor;
+    private final long _area;
+    private final long _cost;
+    private final @Nonnull NextHopInterface _nextHop;
+
+    private Link(OspfRoutingProcess neighbor, long area, long cost, NextHopInterface nextHop) {
+      _neighbor = neighbor;
+      _area = area;
+      _cost = cost;
+      _nextHop = nextHop;
+    }
+  }
+
+  private static final class ShortestPaths {
+    private final @Nonnull Map<OspfRoutingProcess, Long> _distance;
+    private final @Nonnull Map<OspfRoutingProcess, Set<Link>> _firstHops;
+
+    private ShortestPaths(
+        Map<OspfRoutingProcess, Long> distance, Map<OspfRoutingProcess, Set<Link>> firstHops) {
+      _distance = distance;
+      _firstHops = firstHops;
+    }
+  }
+
+  private OspfSpf() {}
+}
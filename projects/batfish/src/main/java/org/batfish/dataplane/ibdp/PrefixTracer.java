@@ -212,7 +212,10 @@ public final class PrefixTracer implements Serializable {
     }
   }
 
-  /** Structure: prefix -&gt; action -&gt; set of hostnames */
+  /**
+   * Structure: prefix -&gt; action -&gt; set of hostnames. The result is immutable and compactly
+   * encoded (see {@link PrefixTracingSummary}), since it is kept in the data plane.
+   */
   public Map<Prefix, Map<String, Set<String>>> summarize() {
     Map<Prefix, Map<String, Set<String>>> result = new HashMap<>();
     _sent.forEach(
@@ -248,7 +251,7 @@ public final class PrefixTracer implements Serializable {
                         .computeIfAbsent(prefix, p -> new HashMap<>())
                         .computeIfAbsent(RECEIVED, a -> new HashSet<>())
                         .add(neighbor.getHostname())));
-    return result;
+    return PrefixTracingSummary.of(result);
   }
 
   // If not explicitly provided, this is the space of prefixes that will be traced.
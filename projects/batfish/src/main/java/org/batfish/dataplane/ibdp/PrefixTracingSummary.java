@@ -0,0 +1,198 @@
+package org.batfish.dataplane.ibdp;
+
+import static org.batfish.dataplane.ibdp.PrefixTracer.FILTERED_IN;
+import static org.batfish.dataplane.ibdp.PrefixTracer.FILTERED_OUT;
+import static org.batfish.dataplane.ibdp.PrefixTracer.RECEIVED;
+import static org.batfish.dataplane.ibdp.PrefixTracer.SENT;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.Prefix;
+
+/**
+ * An immutable {@link Map} from prefix to action to neighbor hostnames, as produced by {@link
+ * PrefixTracer#summarize()}, encoded compactly for the data plane.
+ *
+ * <p>Prefixes are encoded as sorted {@code long}s, neighbors as indices into a sorted table of
+ * hostnames, and each (neighbor, action) pair of a prefix as one {@code int}. The codes of all
+ * prefixes are stored in one array, so the whole summary is a handful of arrays regardless of the
+ * number of prefixes. Values are decoded when accessed; iteration is in prefix order.
+ */
+@ParametersAreNonnullByDefault
+final class PrefixTracingSummary extends AbstractMap<Prefix, Map<String, Set<String>>>
+    implements Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  /** The actions, in the order of their codes. */
+  private static final List<String> ACTIONS =
+      ImmutableList.of(SENT, FILTERED_OUT, FILTERED_IN, RECEIVED);
+
+  private static final int ACTION_BITS = 2;
+  private static final int ACTION_MASK = (1 << ACTION_BITS) - 1;
+  private static final int PREFIX_LENGTH_BITS = 6;
+
+  /**
+   * Returns a compact copy of {@code summary}, whose actions must be among those of {@link
+   * PrefixTracer}.
+   */
+  static @Nonnull Map<Prefix, Map<String, Set<String>>> of(
+      Map<Prefix, Map<String, Set<String>>> summary) {
+    if (summary.isEmpty()) {
+      return ImmutableMap.of();
+    }
+    String[] hostnames =
+        summary.values().stream()
+            .flatMap(actions -> actions.values().stream())
+            .flatMap(Set::stream)
+            .distinct()
+            .sorted()
+            .toArray(String[]::new);
+    Prefix[] prefixes = summary.keySet().stream().sorted().toArray(Prefix[]::new);
+    long[] encodedPrefixes = new long[prefixes.length];
+    int[] offsets = new int[prefixes.length + 1];
+    int[][] codesByPrefix = new int[prefixes.length][];
+    for (int i = 0; i < prefixes.length; i++) {
+      encodedPrefixes[i] = encode(prefixes[i]);
+      codesByPrefix[i] =
+          summary.get(prefixes[i]).entrySet().stream()
+              .flatMap(
+                  actionEntry -> {
+                    int action = ACTIONS.indexOf(actionEntry.getKey());
+                    if (action < 0) {
+                      throw new IllegalArgumentException(
+                          "Unknown prefix tracing action: " + actionEntry.getKey());
+                    }
+                    return actionEntry.getValue().stream()
+                        .map(
+                            hostname ->
+                                Arrays.binarySearch(hostnames, hostname) << ACTION_BITS | action);
+                  })
+              .mapToInt(Integer::intValue)
+              .sorted()
+              .toArray();
+      offsets[i + 1] = offsets[i] + codesByPrefix[i].length;
+    }
+    int[] codes = new int[offsets[prefixes.length]];
+    for (int i = 0; i < prefixes.length; i++) {
+      System.arraycopy(codesByPrefix[i], 0, codes, offsets[i], codesByPrefix[i].length);
+    }
+    return new PrefixTracingSummary(hostnames, encodedPrefixes, offsets, codes);
+  }
+
+  /** Sorted hostnames of all neighbors. */
+  private final @Nonnull String[] _hostnames;
+
+  /** Sorted {@link #encode encoded} prefixes. */
+  private final @Nonnull long[] _prefixes;
+
+  /** The codes of prefix {@code i} are at {@code _codes[_offsets[i]]} to {@code _offsets[i+1]}. */
+  private final @Nonnull int[] _offsets;
+
+  /** Each code is a neighbor's index in {@link #_hostnames}, shifted, and the action's index. */
+  private final @Nonnull int[] _codes;
+
+  private PrefixTracingSummary(String[] hostnames, long[] prefixes, int[] offsets, int[] codes) {
+    _hostnames = hostnames;
+    _prefixes = prefixes;
+    _offsets = offsets;
+    _codes = codes;
+  }
+
+  /** Encodes {@code prefix} such that encoded prefixes sort in {@link Prefix} order. */
+  private static long encode(Prefix prefix) {
+    return prefix.getStartIp().asLong() << PREFIX_LENGTH_BITS | prefix.getPrefixLength();
+  }
+
+  private static @Nonnull Prefix decode(long encoded) {
+    return Prefix.create(
+        Ip.create(encoded >>> PREFIX_LENGTH_BITS),
+        (int) (encoded & ((1 << PREFIX_LENGTH_BITS) - 1)));
+  }
+
+  /** Decodes the actions of the prefix at index {@code i}, in one pass over its codes. */
+  private @Nonnull Map<String, Set<String>> actions(int i) {
+    @SuppressWarnings("unchecked")
+    ImmutableSet.Builder<String>[] neighbors = new ImmutableSet.Builder[ACTIONS.size()];
+    for (int j = _offsets[i]; j < _offsets[i + 1]; j++) {
+      int action = _codes[j] & ACTION_MASK;
+      if (neighbors[action] == null) {
+        neighbors[action] = ImmutableSet.builder();
+      }
+      // codes are sorted, so each action's neighbors are added in hostname order
+      neighbors[action].add(_hostnames[_codes[j] >>> ACTION_BITS]);
+    }
+    ImmutableMap.Builder<String, Set<String>> actions = ImmutableMap.builder();
+    for (int action = 0; action < neighbors.length; action++) {
+      if (neighbors[action] != null) {
+        actions.put(ACTIONS.get(action), neighbors[action].build());
+      }
+    }
+    return actions.build();
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    return key instanceof Prefix && Arrays.binarySearch(_prefixes, encode((Prefix) key)) >= 0;
+  }
+
+  @Override
+  public @Nullable Map<String, Set<String>> get(@Nullable Object key) {
+    if (!(key instanceof Prefix)) {
+      return null;
+    }
+    int i = Arrays.binarySearch(_prefixes, encode((Prefix) key));
+    return i < 0 ? null : actions(i);
+  }
+
+  @Override
+  public int size() {
+    return _prefixes.length;
+  }
+
+  @Override
+  public @Nonnull Set<Entry<Prefix, Map<String, Set<String>>>> entrySet() {
+    return new AbstractSet<Entry<Prefix, Map<String, Set<String>>>>() {
+      @Override
+      public @Nonnull Iterator<Entry<Prefix, Map<String, Set<String>>>> iterator() {
+        return new Iterator<Entry<Prefix, Map<String, Set<String>>>>() {
+          private int _next = 0;
+
+          @Override
+          public boolean hasNext() {
+            return _next < _prefixes.length;
+          }
+
+          @Override
+          public Entry<Prefix, Map<String, Set<String>>> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            int i = _next++;
+            return new SimpleImmutableEntry<>(decode(_prefixes[i]), actions(i));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return _prefixes.length;
+      }
+    };
+  }
+}
@@ -196,6 +196,9 @@ public final class VirtualRouter {
   /** FIB (forwarding information base) built from the main RIB */
   private Fib _fib;
 
+  /** The main RIB routes from which {@link #_fib} was built */
+  private @Nullable Set<AnnotatedRoute<AbstractRoute>> _fibRoutes;
+
   /** RIB containing generated routes */
   private Rib _generatedRib;
 
@@ -709,10 +712,26 @@ public final class VirtualRouter {
     return trackMethodEvaluator.visit(method);
   }
 
-  /** Compute the FIB from the main RIB */
-  public void computeFib() {
+  /**
+   * Compute the FIB from the main RIB, unless the main RIB has not changed since the FIB was last
+   * computed.
+   *
+   * <p>The FIB depends only on the routes in the main RIB, so an unchanged main RIB yields the
+   * same FIB. The main RIB caches its route set until it is modified, so the common unchanged
+   * case is an identity check.
+   *
+   * @return {@code true} iff the FIB was recomputed
+   */
+  public boolean computeFib() {
+    Set<AnnotatedRoute<AbstractRoute>> routes = _mainRib.getRoutes();
+    if (_fib != null && routes.equals(_fibRoutes)) {
+      return false;
+    }
     _fib = null; // free the old one.
+    _fibRoutes = null;
     _fib = new FibImpl(_mainRib, _resolutionRestriction);
+    _fibRoutes = routes;
+    return true;
   }
 
   void initBgpAggregateRoutes() {
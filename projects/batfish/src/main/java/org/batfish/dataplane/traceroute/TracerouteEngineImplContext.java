@@ -19,6 +19,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import javax.annotation.Nonnull;
 import org.batfish.common.BatfishException;
@@ -111,19 +112,28 @@ public class TracerouteEngineImplContext {
    */
   public Map<Flow, TraceDag> buildTraceDags() {
     return _flows.parallelStream()
-        .map(
-            flow -> {
-              validateInputs(_configurations, flow);
-              String ingressNodeName = flow.getIngressNode();
-              String ingressInterfaceName = flow.getIngressInterface();
-              DagTraceRecorder recorder = new DagTraceRecorder(flow);
-              initialFlowTracer(this, ingressNodeName, ingressInterfaceName, flow, recorder)
-                  .processHop();
-              return new SimpleEntry<>(flow, recorder.build());
-            })
+        .map(flow -> new SimpleEntry<>(flow, buildTraceDag(flow)))
         .collect(ImmutableMap.toImmutableMap(Entry::getKey, Entry::getValue));
   }
 
+  /**
+   * Builds the {@link TraceDag} for each {@link Flow} in {@link
+   * TracerouteEngineImplContext#_flows} in parallel, passing each to {@code consumer} as soon as it
+   * is built.
+   */
+  public void forEachTraceDag(BiConsumer<Flow, TraceDag> consumer) {
+    _flows.parallelStream().forEach(flow -> consumer.accept(flow, buildTraceDag(flow)));
+  }
+
+  private @Nonnull TraceDag buildTraceDag(Flow flow) {
+    validateInputs(_configurations, flow);
+    String ingressNodeName = flow.getIngressNode();
+    String ingressInterfaceName = flow.getIngressInterface();
+    DagTraceRecorder recorder = new DagTraceRecorder(flow);
+    initialFlowTracer(this, ingressNodeName, ingressInterfaceName, flow, recorder).processHop();
+    return recorder.build();
+  }
+
   /**
    * Returns dispositions for the special case when a {@link Flow} either exits the network, gets
    * delivered to subnet, gets terminated due to an unreachable neighbor or when information is not
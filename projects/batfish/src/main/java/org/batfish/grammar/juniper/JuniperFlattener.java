@@ -21,30 +21,37 @@ import org.batfish.grammar.juniper.JuniperParser.WordContext;
 
 public class JuniperFlattener extends JuniperParserBaseListener implements Flattener {
 
-  /** An ordered list of all flat statements, including those not to be retained */
-  private List<String> _allFlatStatements;
+  /**
+   * The flattened configuration text built so far: the header followed by all flat statements,
+   * including those not to be retained. Statements are appended directly rather than collected and
+   * joined, so large configurations are not held in memory twice while flattening.
+   */
+  private StringBuilder _flatText;
 
   private List<WordContext> _currentBracketedWords;
   private List<WordContext> _currentStatement;
   private String _flattenedConfigurationText;
-  private final String _header;
   private final Integer _headerLineCount;
   private boolean _inBrackets;
   private boolean _inDelete;
   private FlattenerLineMap _lineMap;
+  /** Number of flat statements in {@link #_flatText} */
+  private int _numFlatStatements;
+
   private List<List<WordContext>> _stack;
   private final String _text;
   private boolean _inEmptyBracedClause;
   private final List<Set<Integer>> _extraLines;
 
   public JuniperFlattener(String header, String text) {
-    _header = header;
     _text = text;
     // Determine length of header to offset subsequent line numbers for original line mapping
     _headerLineCount = header.split("\n", -1).length;
     _lineMap = new FlattenerLineMap();
     _stack = new ArrayList<>();
-    _allFlatStatements = new ArrayList<>();
+    // The flattened text is usually somewhat larger than the hierarchical text.
+    _flatText = new StringBuilder(header.length() + text.length() + text.length() / 2);
+    _flatText.append(header);
     _extraLines = new ArrayList<>();
   }
 
@@ -83,9 +90,9 @@ public class JuniperFlattener extends JuniperParserBaseListener implements Flatt
   @Override
   public void exitFlat_statement(Flat_statementContext ctx) {
     // Record index of this statement in the current subtree
-    _lineMap.setOriginalLine(
-        _allFlatStatements.size() + _headerLineCount, 0, ctx.getStart().getLine());
-    _allFlatStatements.add(getFullText(ctx).trim());
+    _lineMap.setOriginalLine(_numFlatStatements + _headerLineCount, 0, ctx.getStart().getLine());
+    _flatText.append(getFullText(ctx).trim()).append("\n");
+    _numFlatStatements++;
   }
 
   @Override
@@ -126,12 +133,8 @@ public class JuniperFlattener extends JuniperParserBaseListener implements Flatt
 
   @Override
   public void exitJuniper_configuration(Juniper_configurationContext ctx) {
-    StringBuilder sb = new StringBuilder();
-    sb.append(_header);
-    for (String flatStatement : _allFlatStatements) {
-      sb.append(flatStatement).append("\n");
-    }
-    _flattenedConfigurationText = sb.toString();
+    _flattenedConfigurationText = _flatText.toString();
+    _flatText = null;
   }
 
   @Override
@@ -208,20 +211,20 @@ public class JuniperFlattener extends JuniperParserBaseListener implements Flatt
       deepestParseTreeNodeWordsOnStack.addAll(suffixWords);
     }
 
-    StringBuilder sb = new StringBuilder();
-    sb.append(command);
+    // Offset new line number by header line count
+    int newLine = _numFlatStatements + _headerLineCount;
+    int lineStart = _flatText.length();
+    _flatText.append(command);
     for (List<WordContext> line : _stack) {
-      int originalLine = _allFlatStatements.size() + _headerLineCount;
       for (WordContext wordCtx : line) {
-        sb.append(" ");
-        // Offset new line number by header line count
-        _lineMap.setOriginalLine(originalLine, sb.length(), wordCtx.WORD().getSymbol().getLine());
-        sb.append(wordCtx.getText());
+        _flatText.append(" ");
+        _lineMap.setOriginalLine(
+            newLine, _flatText.length() - lineStart, wordCtx.WORD().getSymbol().getLine());
+        _flatText.append(wordCtx.getText());
       }
     }
-    String flatStatementText = sb.toString();
-    // Record index of new statement in the current subtree
-    _allFlatStatements.add(flatStatementText);
+    _flatText.append("\n");
+    _numFlatStatements++;
 
     for (int i = 0; i < suffixWords.size(); i++) {
       deepestParseTreeNodeWordsOnStack.remove(deepestParseTreeNodeWordsOnStack.size() - 1);
@@ -496,6 +496,8 @@ public class ParseVendorConfigurationJob extends BatfishJob<ParseVendorConfigura
           Entry<String, String> fileEntry = Iterables.getOnlyElement(_fileTexts.entrySet());
           String filename = fileEntry.getKey();
           String fileText = fileEntry.getValue();
+          // The flattened text is parsed again below: the preprocessing passes and the extractor
+          // consume the typed set-line contexts that only the flat grammar produces.
           try {
             Flattener flattener =
                 Batfish.flatten(
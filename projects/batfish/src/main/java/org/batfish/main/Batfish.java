@@ -8,6 +8,7 @@ import static java.util.regex.Pattern.CASE_INSENSITIVE;
 import static java.util.stream.Collectors.toMap;
 import static org.batfish.bddreachability.BDDMultipathInconsistency.computeMultipathInconsistencies;
 import static org.batfish.bddreachability.BDDReachabilityUtils.constructFlows;
+import static org.batfish.bddreachability.BDDReachabilityUtils.partitionSources;
 import static org.batfish.common.runtime.SnapshotRuntimeData.EMPTY_SNAPSHOT_RUNTIME_DATA;
 import static org.batfish.common.util.CompletionMetadataUtils.getFilterNames;
 import static org.batfish.common.util.CompletionMetadataUtils.getInterfaces;
@@ -30,7 +31,7 @@ import static org.batfish.main.StreamDecoder.decodeStreamAndAppendNewline;
 import static org.batfish.specifier.LocationInfoUtils.computeLocationInfo;
 import static org.batfish.vendor.check_point_management.parsing.CheckpointManagementParser.parseCheckpointManagementData;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
@@ -41,13 +42,15 @@ import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 import com.google.errorprone.annotations.MustBeClosed;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -76,6 +79,8 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -87,13 +92,12 @@ import net.sf.javabdd.BDD;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.apache.commons.configuration2.ImmutableConfiguration;
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.batfish.bddreachability.BDDLoopDetectionAnalysis;
 import org.batfish.bddreachability.BDDReachabilityAnalysis;
 import org.batfish.bddreachability.BDDReachabilityAnalysisFactory;
 import org.batfish.bddreachability.BidirectionalReachabilityAnalysis;
+import org.batfish.bddreachability.DifferentialReachabilityScope;
 import org.batfish.bddreachability.IpsRoutedOutInterfacesFactory;
 import org.batfish.common.Answerer;
 import org.batfish.common.BatfishException;
@@ -160,6 +164,7 @@ import org.batfish.datamodel.answers.InitInfoAnswerElement;
 import org.batfish.datamodel.answers.InitStepAnswerElement;
 import org.batfish.datamodel.answers.ParseAnswerElement;
 import org.batfish.datamodel.answers.ParseEnvironmentBgpTablesAnswerElement;
+import org.batfish.datamodel.answers.ParseResultCacheStats;
 import org.batfish.datamodel.answers.ParseStatus;
 import org.batfish.datamodel.answers.ParseVendorConfigurationAnswerElement;
 import org.batfish.datamodel.collections.BgpAdvertisementsByVrf;
@@ -213,7 +218,9 @@ import org.batfish.question.differentialreachability.DifferentialReachabilityRes
 import org.batfish.question.multipath.MultipathConsistencyParameters;
 import org.batfish.referencelibrary.ReferenceLibrary;
 import org.batfish.representation.aws.AwsConfiguration;
+import org.batfish.representation.aws.Region;
 import org.batfish.representation.azure.AzureConfiguration;
+import org.batfish.representation.azure.AzureConfiguration.ParsedResource;
 import org.batfish.representation.host.HostConfiguration;
 import org.batfish.representation.iptables.IptablesVendorConfiguration;
 import org.batfish.role.InferRoles;
@@ -226,10 +233,12 @@ import org.batfish.specifier.AllInterfacesLocationSpecifier;
 import org.batfish.specifier.InferFromLocationIpSpaceAssignmentSpecifier;
 import org.batfish.specifier.IpSpaceAssignment;
 import org.batfish.specifier.Location;
+import org.batfish.specifier.LocationIndex;
 import org.batfish.specifier.LocationInfo;
 import org.batfish.specifier.SpecifierContext;
 import org.batfish.specifier.SpecifierContextImpl;
 import org.batfish.specifier.UnionLocationSpecifier;
+import org.batfish.storage.ConfigurationFingerprints;
 import org.batfish.storage.FileBasedStorage;
 import org.batfish.storage.StorageProvider;
 import org.batfish.symbolic.IngressLocation;
@@ -802,8 +811,37 @@ public class Batfish extends PluginConsumer implements IBatfish {
 
   @Override
   public Map<Location, LocationInfo> getLocationInfo(NetworkSnapshot snapshot) {
-    return computeLocationInfo(
-        getTopologyProvider().getInitialIpOwners(snapshot), loadConfigurations(snapshot));
+    SortedMap<String, Configuration> configurations = loadConfigurations(snapshot);
+    try {
+      return BfCache.CACHED_LOCATION_INFO.get(
+          configurations,
+          () ->
+              ImmutableMap.copyOf(
+                  computeLocationInfo(
+                      getTopologyProvider().getInitialIpOwners(snapshot), configurations)));
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public LocationIndex getLocationIndex(NetworkSnapshot snapshot) {
+    SortedMap<String, Configuration> configurations = loadConfigurations(snapshot);
+    try {
+      return BfCache.CACHED_LOCATION_INDEXES.get(
+          configurations,
+          () -> {
+            long start = System.currentTimeMillis();
+            LocationIndex index = new LocationIndex(configurations);
+            LOGGER.info(
+                "Indexing locations for snapshot {} took {}ms",
+                snapshot,
+                System.currentTimeMillis() - start);
+            return index;
+          });
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e);
+    }
   }
 
   private void disableUnusableVlanInterfaces(Map<String, Configuration> configurations) {
@@ -1019,6 +1057,7 @@ public class Batfish extends PluginConsumer implements IBatfish {
     ParseVendorConfigurationAnswerElement parseAnswer =
         loadParseVendorConfigurationAnswerElement(snapshot);
     InitInfoAnswerElement answerElement = mergeParseAnswer(summary, verboseError, parseAnswer);
+    answerElement.setParseResultCacheStats(parseAnswer.getParseResultCacheStats());
     ConvertConfigurationAnswerElement convertAnswer =
         loadConvertConfigurationAnswerElementOrReparse(snapshot);
     mergeConvertAnswer(summary, verboseError, convertAnswer, answerElement);
@@ -1233,6 +1272,37 @@ public class Batfish extends PluginConsumer implements IBatfish {
     }
   }
 
+  @Override
+  public ParseVendorConfigurationAnswerElement loadParseVendorConfigurationSummary(
+      NetworkSnapshot snapshot) {
+    try {
+      if (_storage.hasParseVendorConfigurationAnswerElement(snapshot)) {
+        try {
+          return _storage.loadParseVendorConfigurationSummary(snapshot);
+        } catch (Exception e) {
+          /* Do nothing, this is expected on serialization or other errors. */
+          _logger.warn("Unable to load prior parse data");
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    // reparses if needed
+    return loadParseVendorConfigurationAnswerElement(snapshot).withoutWarningsAndParseTrees();
+  }
+
+  @Override
+  public void forEachFileParseWarnings(
+      NetworkSnapshot snapshot, BiConsumer<String, Warnings> consumer) {
+    // reparses if needed
+    loadParseVendorConfigurationSummary(snapshot);
+    try {
+      _storage.forEachParseWarnings(snapshot, consumer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   @Override
   public Map<String, VendorConfiguration> loadVendorConfigurations(NetworkSnapshot snapshot) {
     _logger.debugf("Loading vendor configurations for %s\n", snapshot);
@@ -1381,11 +1451,18 @@ public class Batfish extends PluginConsumer implements IBatfish {
         baseAnswerId);
   }
 
-  /** Parse AWS configurations for a single account (possibly with multiple regions) */
+  /**
+   * Parse AWS configurations for a single account (possibly with multiple regions).
+   *
+   * <p>Each file is read with a streaming parser. Files of the same region are read in order, and
+   * different regions are read in parallel.
+   */
   @VisibleForTesting
   public static @Nonnull AwsConfiguration parseAwsConfigurations(
       Map<String, String> configurationData, ParseVendorConfigurationAnswerElement pvcae) {
     AwsConfiguration config = new AwsConfiguration();
+    ListMultimap<Region, Entry<String, String>> filesByRegion =
+        MultimapBuilder.linkedHashKeys().arrayListValues().build();
     for (Entry<String, String> configFile : configurationData.entrySet()) {
       // Using path for convenience for now to handle separators and key hierarchcially gracefully
       Path path = Paths.get(configFile.getKey());
@@ -1421,24 +1498,38 @@ public class Batfish extends PluginConsumer implements IBatfish {
       }
       String fileName = path.subpath(awsRootIndex, pathLength).toString();
       pvcae.getFileMap().put(BfConsts.RELPATH_AWS_CONFIGS_FILE, fileName);
-
-      try {
-        JsonNode json = BatfishObjectMapper.mapper().readTree(configFile.getValue());
-        config.addConfigElement(regionName, json, fileName, pvcae, accountName);
-      } catch (IOException e) {
-        pvcae.addRedFlagWarning(
-            BfConsts.RELPATH_AWS_CONFIGS_FILE,
-            new Warning(String.format("Unexpected content in AWS file %s", fileName), "AWS"));
-      }
-    }
+      filesByRegion.put(
+          config.addOrGetAccount(accountName).addOrGetRegion(regionName),
+          Maps.immutableEntry(fileName, configFile.getValue()));
+    }
+
+    readFilesInParallelByGroup(
+        filesByRegion,
+        (region, file, regionPvcae) -> {
+          String fileName = file.getKey();
+          try (JsonParser parser = BatfishObjectMapper.mapper().createParser(file.getValue())) {
+            region.addConfigElements(parser, fileName, regionPvcae);
+          } catch (IOException e) {
+            regionPvcae.addRedFlagWarning(
+                BfConsts.RELPATH_AWS_CONFIGS_FILE,
+                new Warning(String.format("Unexpected content in AWS file %s", fileName), "AWS"));
+          }
+        },
+        pvcae);
     return config;
   }
 
-  /** Parse Azure configurations for a single account (possibly with multiple regions) */
+  /**
+   * Parse Azure configurations for a single account (possibly with multiple regions).
+   *
+   * <p>Files are parsed in parallel. Resources of the same region are then added in file order,
+   * and different regions are processed in parallel.
+   */
   @VisibleForTesting
   public static @Nonnull AzureConfiguration parseAzureConfigurations(
       Map<String, String> configurationData, ParseVendorConfigurationAnswerElement pvcae) {
     AzureConfiguration config = new AzureConfiguration();
+    List<Entry<String, String>> files = new ArrayList<>();
     for (Entry<String, String> configFile : configurationData.entrySet()) {
       // Using path for convenience for now to handle separators and key hierarchcially gracefully
       Path path = Paths.get(configFile.getKey());
@@ -1455,19 +1546,89 @@ public class Batfish extends PluginConsumer implements IBatfish {
 
       String fileName = path.subpath(azureRootIndex, pathLength).toString();
       pvcae.getFileMap().put(BfConsts.RELPATH_AZURE_CONFIGS_DIR, fileName);
+      files.add(Maps.immutableEntry(fileName, configFile.getValue()));
+    }
 
-      try {
-        JsonNode json = BatfishObjectMapper.mapper().readTree(configFile.getValue());
-        config.addConfigElement(json, fileName, pvcae);
-      } catch (IOException e) {
+    // Each Azure file holds a single resource, whose region is only known once it is parsed
+    List<Optional<ParsedResource>> resources =
+        files.parallelStream()
+            .map(
+                file -> {
+                  try {
+                    return Optional.of(AzureConfiguration.parseResource(file.getValue()));
+                  } catch (IOException e) {
+                    return Optional.<ParsedResource>empty();
+                  }
+                })
+            .collect(ImmutableList.toImmutableList());
+
+    ListMultimap<org.batfish.representation.azure.Region, Entry<String, ParsedResource>>
+        resourcesByRegion = MultimapBuilder.linkedHashKeys().arrayListValues().build();
+    for (int i = 0; i < files.size(); i++) {
+      String fileName = files.get(i).getKey();
+      Optional<ParsedResource> resource = resources.get(i);
+      if (!resource.isPresent()) {
         pvcae.addRedFlagWarning(
             BfConsts.RELPATH_AWS_CONFIGS_FILE,
             new Warning(String.format("Unexpected content in Azure file %s", fileName), "Azure"));
+        continue;
+      }
+      org.batfish.representation.azure.Region region =
+          config.addOrGetRegion(resource.get(), fileName, pvcae);
+      if (region != null) {
+        resourcesByRegion.put(region, Maps.immutableEntry(fileName, resource.get()));
       }
     }
+
+    readFilesInParallelByGroup(
+        resourcesByRegion,
+        (region, resource, regionPvcae) ->
+            region.addConfigElement(resource.getValue(), resource.getKey(), regionPvcae),
+        pvcae);
     return config;
   }
 
+  /** Reads a file of a group of cloud configuration files. */
+  @FunctionalInterface
+  private interface GroupFileReader<K, F> {
+    void read(K group, F file, ParseVendorConfigurationAnswerElement groupPvcae);
+  }
+
+  /**
+   * Reads the files of each group in order with {@code reader}, and different groups in parallel.
+   *
+   * <p>Each group records warnings in its own answer element, since answer elements are not
+   * thread-safe. Their warnings are added to {@code pvcae} once all groups are read.
+   */
+  private static <K, F> void readFilesInParallelByGroup(
+      ListMultimap<K, F> filesByGroup,
+      GroupFileReader<K, F> reader,
+      ParseVendorConfigurationAnswerElement pvcae) {
+    List<ParseVendorConfigurationAnswerElement> groupAnswerElements =
+        filesByGroup.asMap().entrySet().parallelStream()
+            .map(
+                group -> {
+                  ParseVendorConfigurationAnswerElement groupPvcae =
+                      new ParseVendorConfigurationAnswerElement();
+                  for (F file : group.getValue()) {
+                    reader.read(group.getKey(), file, groupPvcae);
+                  }
+                  return groupPvcae;
+                })
+            .collect(ImmutableList.toImmutableList());
+    for (ParseVendorConfigurationAnswerElement groupPvcae : groupAnswerElements) {
+      groupPvcae
+          .getWarnings()
+          .forEach(
+              (name, warnings) -> {
+                warnings.getRedFlagWarnings().forEach(w -> pvcae.addRedFlagWarning(name, w));
+                warnings
+                    .getUnimplementedWarnings()
+                    .forEach(w -> pvcae.addUnimplementedWarning(name, w));
+              });
+    }
+  }
+
   private SortedMap<String, BgpAdvertisementsByVrf> parseEnvironmentBgpTables(
       NetworkSnapshot snapshot,
       SortedMap<String, String> inputData,
@@ -2502,19 +2663,21 @@ public class Batfish extends PluginConsumer implements IBatfish {
   }
 
   private ParseVendorConfigurationResult getOrParse(
-      ParseVendorConfigurationJob job, GrammarSettings settings) {
+      ParseVendorConfigurationJob job, GrammarSettings settings, @Nullable ParseResultCache cache) {
     // Short-circuit all cache-related code.
-    if (!_settings.getParseReuse()) {
+    if (cache == null) {
       long startTime = System.currentTimeMillis();
       ParseResult result = job.parse();
       long elapsed = System.currentTimeMillis() - startTime;
       return job.fromResult(result, elapsed);
     }
 
+    // The key does not depend on the network, so identical files are parsed once across networks.
     Hasher hasher =
         Hashing.murmur3_128()
             .newHasher()
             .putString("Cached Parse Result", UTF_8)
+            .putString(BatfishVersion.getVersionStatic(), UTF_8)
             .putBoolean(settings.getDisableUnrecognized())
             .putInt(settings.getMaxParserContextLines())
             .putInt(settings.getMaxParserContextTokens())
@@ -2532,31 +2695,10 @@ public class Batfish extends PluginConsumer implements IBatfish {
             });
     String id = hasher.hash().toString();
     long startTime = System.currentTimeMillis();
-    boolean cached = false;
-    ParseResult result;
-    try (InputStream in = _storage.loadNetworkBlob(getContainerName(), id)) {
-      result = SerializationUtils.deserialize(in);
-      // sanity-check filenames. In the extremely unlikely event of a collision, we'll lose reuse
-      // for this input.
-      cached = result.getFileResults().keySet().equals(job.getFileTexts().keySet());
-    } catch (FileNotFoundException e) {
-      result = job.parse();
-    } catch (Exception e) {
-      _logger.warnf(
-          "Error deserializing cached parse result for %s: %s",
-          job.getFileTexts().keySet(), Throwables.getStackTraceAsString(e));
-      result = job.parse();
-    }
-    if (!cached) {
-      try {
-        byte[] serialized = SerializationUtils.serialize(result);
-        _storage.storeNetworkBlob(new ByteArrayInputStream(serialized), getContainerName(), id);
-        result = SerializationUtils.deserialize(serialized);
-      } catch (Exception e) {
-        _logger.warnf(
-            "Error caching parse result for %s: %s",
-            job.getFileTexts().keySet(), Throwables.getStackTraceAsString(e));
-      }
+    Set<String> filenames = job.getFileTexts().keySet();
+    ParseResult result = cache.load(id, filenames);
+    if (result == null) {
+      result = cache.store(id, job.parse(), filenames);
     }
     long elapsed = System.currentTimeMillis() - startTime;
     return job.fromResult(result, elapsed);
@@ -2618,13 +2760,17 @@ public class Batfish extends PluginConsumer implements IBatfish {
     // Java parallel streams are not self-balancing in large networks, so shuffle the jobs.
     Collections.shuffle(jobs);
 
+    ParseResultCache cache =
+        _settings.getParseReuse()
+            ? new ParseResultCache(_storage, _settings.getParseReuseMaxBytes(), _logger)
+            : null;
     AtomicInteger batch = newBatch("Parse network configs", jobs.size());
     LOGGER.info("Parsing {} configuration files", jobs.size());
     parseResults =
         jobs.parallelStream()
             .map(
                 j -> {
-                  ParseVendorConfigurationResult result = getOrParse(j, _settings);
+                  ParseVendorConfigurationResult result = getOrParse(j, _settings, cache);
                   int done = batch.incrementAndGet();
                   if (done % 100 == 0) {
                     LOGGER.info("Successfully parsed {}/{} configuration files", done, jobs.size());
@@ -2633,6 +2779,11 @@ public class Batfish extends PluginConsumer implements IBatfish {
                 })
             .collect(ImmutableList.toImmutableList());
     LOGGER.info("Done parsing {} configuration files", jobs.size());
+    if (cache != null) {
+      ParseResultCacheStats cacheStats = cache.getStats();
+      LOGGER.info("Parse result cache: {}", cacheStats);
+      answerElement.setParseResultCacheStats(cacheStats);
+    }
 
     if (_settings.getHaltOnParseError()
         && parseResults.stream().anyMatch(r -> r.getFailureCause() != null)) {
@@ -2957,53 +3108,108 @@ public class Batfish extends PluginConsumer implements IBatfish {
         params.getSrcNatted() == SrcNattedConstraint.UNCONSTRAINED,
         "Requiring or forbidding Source NAT is currently unsupported");
 
-    BDDPacket pkt = new BDDPacket();
     boolean ignoreFilters = params.getIgnoreFilters();
-    BDDReachabilityAnalysisFactory bddReachabilityAnalysisFactory =
-        getBddReachabilityAnalysisFactory(snapshot, pkt, ignoreFilters);
-
-    Map<IngressLocation, BDD> reachableBDDs =
-        bddReachabilityAnalysisFactory.getAllBDDs(
+    Set<Flow> flows =
+        computeFlowsBySourcePartition(
+            snapshot,
             params.getSourceIpAssignment(),
-            params.getHeaderSpace(),
-            params.getForbiddenTransitNodes(),
-            params.getRequiredTransitNodes(),
-            params.getFinalNodes(),
-            params.getActions());
-
-    Set<Flow> flows = constructFlows(pkt, reachableBDDs);
+            parameters.getSourcePartitions(),
+            ignoreFilters,
+            "Reachability",
+            (pkt, factory, sources) ->
+                constructFlows(
+                    pkt,
+                    factory.getAllBDDs(
+                        sources,
+                        params.getHeaderSpace(),
+                        params.getForbiddenTransitNodes(),
+                        params.getRequiredTransitNodes(),
+                        params.getFinalNodes(),
+                        params.getActions())));
 
     return new TraceWrapperAsAnswerElement(buildFlows(snapshot, flows, ignoreFilters));
   }
 
   @Override
   public Set<Flow> bddLoopDetection(NetworkSnapshot snapshot) {
-    BDDPacket pkt = new BDDPacket();
+    return bddLoopDetection(snapshot, 1);
+  }
+
+  @Override
+  public Set<Flow> bddLoopDetection(NetworkSnapshot snapshot, int sourcePartitions) {
     // TODO add ignoreFilters parameter
     boolean ignoreFilters = false;
-    BDDReachabilityAnalysisFactory bddReachabilityAnalysisFactory =
-        getBddReachabilityAnalysisFactory(snapshot, pkt, ignoreFilters);
-    BDDLoopDetectionAnalysis analysis =
-        bddReachabilityAnalysisFactory.bddLoopDetectionAnalysis(
-            getAllSourcesInferFromLocationIpSpaceAssignment(snapshot));
-    Map<IngressLocation, BDD> loopBDDs = analysis.detectLoops();
+    return computeFlowsBySourcePartition(
+        snapshot,
+        getAllSourcesInferFromLocationIpSpaceAssignment(snapshot),
+        sourcePartitions,
+        ignoreFilters,
+        "Loop detection",
+        (pkt, factory, sources) ->
+            constructFlows(pkt, factory.bddLoopDetectionAnalysis(sources).detectLoops()));
+  }
 
-    return loopBDDs.entrySet().stream()
-        .map(
-            entry ->
-                pkt.getFlow(entry.getValue())
-                    .map(
-                        fb -> {
-                          IngressLocation loc = entry.getKey();
-                          fb.setIngressNode(loc.getNode());
-                          switch (loc.getType()) {
-                            case INTERFACE_LINK -> fb.setIngressInterface(loc.getInterface());
-                            case VRF -> fb.setIngressVrf(loc.getVrf());
-                          }
-                          return fb.build();
-                        }))
-        .flatMap(Optional::stream)
-        .collect(ImmutableSet.toImmutableSet());
+  /** An analysis of the flows from some sources, run by {@link #computeFlowsBySourcePartition}. */
+  @FunctionalInterface
+  private interface SourcePartitionAnalysis {
+    Set<Flow> computeFlows(
+        BDDPacket pkt, BDDReachabilityAnalysisFactory factory, IpSpaceAssignment sources);
+  }
+
+  /**
+   * Runs {@code analysis} on {@code sources}. If {@code sourcePartitions} is more than 1, the
+   * sources are {@link org.batfish.bddreachability.BDDReachabilityUtils#partitionSources split}
+   * into up to that many groups, which are analyzed in parallel, each with its own {@link
+   * BDDPacket}, and their flows merged.
+   *
+   * <p>This pays off when the analysis is seeded at the sources, like loop detection. The
+   * backward pass of reachability is not, so each partition repeats it. The log reports the speedup
+   * over running the partitions one after another.
+   */
+  private @Nonnull Set<Flow> computeFlowsBySourcePartition(
+      NetworkSnapshot snapshot,
+      IpSpaceAssignment sources,
+      int sourcePartitions,
+      boolean ignoreFilters,
+      String description,
+      SourcePartitionAnalysis analysis) {
+    List<IpSpaceAssignment> partitions = partitionSources(sources, sourcePartitions);
+    if (partitions.size() == 1) {
+      BDDPacket pkt = new BDDPacket();
+      return analysis.computeFlows(
+          pkt, getBddReachabilityAnalysisFactory(snapshot, pkt, ignoreFilters), sources);
+    }
+    // Load these once: partitions only read them.
+    SortedMap<String, Configuration> configurations = loadConfigurations(snapshot);
+    DataPlane dataPlane = loadDataPlane(snapshot);
+    long startTime = System.currentTimeMillis();
+    AtomicLong partitionTime = new AtomicLong();
+    Set<Flow> flows =
+        partitions.parallelStream()
+            .flatMap(
+                partition -> {
+                  long partitionStartTime = System.currentTimeMillis();
+                  BDDPacket pkt = new BDDPacket();
+                  Set<Flow> partitionFlows =
+                      analysis.computeFlows(
+                          pkt,
+                          getBddReachabilityAnalysisFactory(
+                              pkt, configurations, dataPlane, ignoreFilters),
+                          partition);
+                  partitionTime.addAndGet(System.currentTimeMillis() - partitionStartTime);
+                  return partitionFlows.stream();
+                })
+            .collect(ImmutableSet.toImmutableSet());
+    long elapsed = System.currentTimeMillis() - startTime;
+    LOGGER.info(
+        "{} over {} source partitions took {} ms; the partitions took {} ms in total, a {}x"
+            + " speedup",
+        description,
+        partitions.size(),
+        elapsed,
+        partitionTime.get(),
+        String.format("%.1f", (double) partitionTime.get() / Math.max(elapsed, 1L)));
+    return flows;
   }
 
   @Override
@@ -3066,10 +3272,18 @@ public class Batfish extends PluginConsumer implements IBatfish {
 
   private @Nonnull BDDReachabilityAnalysisFactory getBddReachabilityAnalysisFactory(
       NetworkSnapshot snapshot, BDDPacket pkt, boolean ignoreFilters) {
-    DataPlane dataPlane = loadDataPlane(snapshot);
+    return getBddReachabilityAnalysisFactory(
+        pkt, loadConfigurations(snapshot), loadDataPlane(snapshot), ignoreFilters);
+  }
+
+  private static @Nonnull BDDReachabilityAnalysisFactory getBddReachabilityAnalysisFactory(
+      BDDPacket pkt,
+      Map<String, Configuration> configurations,
+      DataPlane dataPlane,
+      boolean ignoreFilters) {
     return new BDDReachabilityAnalysisFactory(
         pkt,
-        loadConfigurations(snapshot),
+        configurations,
         dataPlane.getForwardingAnalysis(),
         new IpsRoutedOutInterfacesFactory(dataPlane.getFibs()),
         ignoreFilters,
@@ -3108,6 +3322,20 @@ public class Batfish extends PluginConsumer implements IBatfish {
       NetworkSnapshot snapshot,
       NetworkSnapshot reference,
       DifferentialReachabilityParameters parameters) {
+    return bddDifferentialReachability(snapshot, reference, parameters, true);
+  }
+
+  /**
+   * Like {@link #bddDifferentialReachability(NetworkSnapshot, NetworkSnapshot,
+   * DifferentialReachabilityParameters)}, optionally analyzing every source rather than only those
+   * that can reach a changed node.
+   */
+  @VisibleForTesting
+  DifferentialReachabilityResult bddDifferentialReachability(
+      NetworkSnapshot snapshot,
+      NetworkSnapshot reference,
+      DifferentialReachabilityParameters parameters,
+      boolean pruneUnaffectedSources) {
     checkArgument(
         !parameters.getFlowDispositions().isEmpty(), "Must specify at least one FlowDisposition");
     BDDPacket pkt = new BDDPacket();
@@ -3123,25 +3351,54 @@ public class Batfish extends PluginConsumer implements IBatfish {
      * differential reachability, but we currently won't find it because it won't be in the
      * IpSpaceAssignment.
      */
+    Map<String, Configuration> baseConfigs = loadConfigurations(snapshot);
+    DataPlane baseDataPlane = loadDataPlane(snapshot);
+    Map<String, Configuration> deltaConfigs = loadConfigurations(reference);
+    DataPlane deltaDataPlane = loadDataPlane(reference);
+
+    // Sources that cannot reach any changed node have the same reachability in both snapshots.
+    Set<String> sourceNodes;
+    if (pruneUnaffectedSources) {
+      DifferentialReachabilityScope scope =
+          DifferentialReachabilityScope.compute(
+              baseConfigs,
+              loadConfigurationFingerprints(snapshot, baseConfigs),
+              baseDataPlane,
+              deltaConfigs,
+              loadConfigurationFingerprints(reference, deltaConfigs),
+              deltaDataPlane);
+      LOGGER.info(
+          "Differential reachability: {} changed nodes, analyzing sources at {} affected nodes",
+          scope.getChangedNodes().size(),
+          scope.getAffectedNodes().size());
+      sourceNodes = scope.getAffectedNodes();
+    } else {
+      sourceNodes = Sets.union(baseConfigs.keySet(), deltaConfigs.keySet());
+    }
+
     Map<IngressLocation, BDD> baseAcceptBDDs =
-        getBddReachabilityAnalysisFactory(snapshot, pkt, parameters.getIgnoreFilters())
+        getBddReachabilityAnalysisFactory(
+                pkt, baseConfigs, baseDataPlane, parameters.getIgnoreFilters())
             .getAllBDDs(
                 parameters.getIpSpaceAssignment(),
                 headerSpace,
                 parameters.getForbiddenTransitNodes(),
                 parameters.getRequiredTransitNodes(),
                 parameters.getFinalNodes(),
-                parameters.getFlowDispositions());
+                parameters.getFlowDispositions(),
+                sourceNodes);
 
     Map<IngressLocation, BDD> deltaAcceptBDDs =
-        getBddReachabilityAnalysisFactory(reference, pkt, parameters.getIgnoreFilters())
+        getBddReachabilityAnalysisFactory(
+                pkt, deltaConfigs, deltaDataPlane, parameters.getIgnoreFilters())
             .getAllBDDs(
                 parameters.getIpSpaceAssignment(),
                 headerSpace,
                 parameters.getForbiddenTransitNodes(),
                 parameters.getRequiredTransitNodes(),
                 parameters.getFinalNodes(),
-                parameters.getFlowDispositions());
+                parameters.getFlowDispositions(),
+                sourceNodes);
 
     Set<IngressLocation> commonSources =
         Sets.intersection(baseAcceptBDDs.keySet(), deltaAcceptBDDs.keySet());
@@ -3153,6 +3410,24 @@ public class Batfish extends PluginConsumer implements IBatfish {
     return new DifferentialReachabilityResult(increasedFlows, decreasedFlows);
   }
 
+  /**
+   * Returns the {@link ConfigurationFingerprints fingerprints} of the stored configurations of the
+   * given snapshot, computing them from {@code configurations} if they were stored without.
+   */
+  private @Nonnull Map<String, String> loadConfigurationFingerprints(
+      NetworkSnapshot snapshot, Map<String, Configuration> configurations) {
+    try {
+      Map<String, String> fingerprints =
+          _storage.loadConfigurationFingerprints(snapshot.getNetwork(), snapshot.getSnapshot());
+      if (fingerprints != null) {
+        return fingerprints;
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Failed to load configuration fingerprints of {}", snapshot, e);
+    }
+    return ConfigurationFingerprints.fingerprints(configurations);
+  }
+
   private static Set<Flow> getDifferentialFlows(
       BDDPacket pkt,
       Set<IngressLocation> commonSources,
@@ -10,6 +10,9 @@ import org.batfish.common.NetworkSnapshot;
 import org.batfish.datamodel.Configuration;
 import org.batfish.datamodel.DataPlane;
 import org.batfish.datamodel.collections.BgpAdvertisementsByVrf;
+import org.batfish.specifier.Location;
+import org.batfish.specifier.LocationIndex;
+import org.batfish.specifier.LocationInfo;
 import org.batfish.vendor.VendorConfiguration;
 
 /** Internal caches. */
@@ -22,6 +25,16 @@ public final class BfCache {
   public static final Cache<NetworkSnapshot, Map<String, VendorConfiguration>>
       CACHED_VENDOR_CONFIGURATIONS = buildVendorConfigurationCache();
 
+  /**
+   * Location info and indexes, keyed by the identity of the configurations they were computed
+   * from, so they are dropped along with those configurations.
+   */
+  static final Cache<Map<String, Configuration>, Map<Location, LocationInfo>>
+      CACHED_LOCATION_INFO = buildLocationCache();
+
+  static final Cache<Map<String, Configuration>, LocationIndex> CACHED_LOCATION_INDEXES =
+      buildLocationCache();
+
   private static final int MAX_CACHED_DATA_PLANES = 2;
 
   private static final int MAX_CACHED_ENVIRONMENT_BGP_TABLES = 4;
@@ -45,6 +58,10 @@ public final class BfCache {
     return CacheBuilder.newBuilder().softValues().maximumSize(MAX_CACHED_TESTRIGS).build();
   }
 
+  static <V> Cache<Map<String, Configuration>, V> buildLocationCache() {
+    return CacheBuilder.newBuilder().weakKeys().softValues().build();
+  }
+
   static Cache<NetworkSnapshot, Map<String, VendorConfiguration>> buildVendorConfigurationCache() {
     return CacheBuilder.newBuilder()
         .softValues()
@@ -0,0 +1,90 @@
+package org.batfish.main;
+
+import com.google.common.base.Throwables;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.apache.commons.lang3.SerializationUtils;
+import org.batfish.common.BatfishLogger;
+import org.batfish.datamodel.answers.ParseResultCacheStats;
+import org.batfish.job.ParseResult;
+import org.batfish.storage.StorageProvider;
+
+/**
+ * The {@link StorageProvider storage}'s parse result cache, shared by all networks, as seen while
+ * parsing one snapshot. Keeps {@link ParseResultCacheStats counts} of hits, misses, stores, and
+ * evictions. Safe to use from parallel parse jobs.
+ */
+@ParametersAreNonnullByDefault
+final class ParseResultCache {
+
+  ParseResultCache(StorageProvider storage, long maxBytes, BatfishLogger logger) {
+    _storage = storage;
+    _maxBytes = maxBytes;
+    _logger = logger;
+  }
+
+  /**
+   * Returns the parse result cached for the given key, or {@code null} if there is none for the
+   * given files.
+   */
+  @Nullable
+  ParseResult load(String key, Set<String> filenames) {
+    try (InputStream in = _storage.loadCachedParseResult(key)) {
+      ParseResult result = SerializationUtils.deserialize(in);
+      // sanity-check filenames. In the extremely unlikely event of a collision, we'll lose reuse
+      // for this input.
+      if (result.getFileResults().keySet().equals(filenames)) {
+        _hits.incrementAndGet();
+        return result;
+      }
+    } catch (FileNotFoundException e) {
+      // not cached
+    } catch (Exception e) {
+      _logger.warnf(
+          "Error deserializing cached parse result for %s: %s",
+          filenames, Throwables.getStackTraceAsString(e));
+    }
+    _misses.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Caches the given parse result for the given key, and returns the copy of it that a later
+   * {@link #load} would return. If caching fails, returns {@code result} itself.
+   */
+  @Nonnull
+  ParseResult store(String key, ParseResult result, Set<String> filenames) {
+    try {
+      byte[] serialized = SerializationUtils.serialize(result);
+      _evictions.addAndGet(
+          _storage.storeCachedParseResult(new ByteArrayInputStream(serialized), key, _maxBytes));
+      _stores.incrementAndGet();
+      return SerializationUtils.deserialize(serialized);
+    } catch (Exception e) {
+      _logger.warnf(
+          "Error caching parse result for %s: %s",
+          filenames, Throwables.getStackTraceAsString(e));
+      return result;
+    }
+  }
+
+  @Nonnull
+  ParseResultCacheStats getStats() {
+    return new ParseResultCacheStats(
+        _hits.get(), _misses.get(), _stores.get(), _evictions.get());
+  }
+
+  private final @Nonnull StorageProvider _storage;
+  private final long _maxBytes;
+  private final @Nonnull BatfishLogger _logger;
+  private final AtomicInteger _hits = new AtomicInteger();
+  private final AtomicInteger _misses = new AtomicInteger();
+  private final AtomicInteger _stores = new AtomicInteger();
+  private final AtomicInteger _evictions = new AtomicInteger();
+}
@@ -7,18 +7,24 @@ import static org.batfish.representation.aws.AwsConfiguration.AWS_SERVICES_GATEW
 import static org.batfish.representation.aws.ElasticsearchDomain.getNodeName;
 import static org.batfish.representation.aws.Utils.getTraceElementForSecurityGroup;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Streams;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -65,8 +71,14 @@ import org.batfish.representation.aws.Instance.Status;
 @ParametersAreNonnullByDefault
 public final class Region implements Serializable {
 
-  private interface ThrowingConsumer<T, E extends Exception> {
-    void accept(T t) throws E, IOException;
+  /**
+   * Reads one element of an AWS file, with the parser at its first token, and returns how to add
+   * it to this region, or {@code null} if it is not to be added.
+   */
+  @FunctionalInterface
+  private interface ElementReader {
+    @Nullable
+    Runnable read(JsonParser parser) throws IOException;
   }
 
   static String eniEgressAclName(String interfaceName) {
@@ -242,25 +254,51 @@ public final class Region implements Serializable {
 
   void addConfigElement(
       JsonNode json, String sourceFileName, ParseVendorConfigurationAnswerElement pvcae) {
+    try (JsonParser parser = BatfishObjectMapper.mapper().treeAsTokens(json)) {
+      addConfigElements(parser, sourceFileName, pvcae);
+    } catch (IOException e) {
+      // cannot happen when reading from a tree
+      throw new UncheckedIOException(e);
+    }
+  }
 
-    Iterator<?> keys = json.fieldNames();
+  /**
+   * Adds the elements of an AWS JSON file to this region, reading the file with {@code parser}.
+   *
+   * <p>Elements are bound from the parser one at a time, so the file is never held in memory as a
+   * tree. They are added to this region only once the whole file has been read, so a malformed
+   * file adds nothing.
+   *
+   * @throws IOException if the file is not well-formed JSON. No elements of the file are added.
+   */
+  public void addConfigElements(
+      JsonParser parser, String sourceFileName, ParseVendorConfigurationAnswerElement pvcae)
+      throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      // Not an object, so there are no elements
+      return;
+    }
 
-    while (keys.hasNext()) {
-      String key = (String) keys.next();
+    List<Runnable> additions = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String key = parser.currentName();
+      JsonToken valueToken = parser.nextToken();
 
       if (ignoreElement(key)) {
+        parser.skipChildren();
         continue;
       }
 
-      // All objects nested under the current key will be subjected to this function, which will
-      // integrate them appropriately into this Region. Returns null on unrecognized keys.
-      ThrowingConsumer<JsonNode, IOException> integratorFunction = getChildConsumer(key);
+      // All objects nested under the current key will be read by this reader, which returns how
+      // to integrate them appropriately into this Region. Returns null on unrecognized keys.
+      ElementReader reader = getElementReader(key);
 
-      if (integratorFunction == null) {
+      if (reader == null) {
         // Add warning for unrecognized key in AWS file but don't warn if there is no data
-        if (json.get(key).isArray() && json.get(key).isEmpty()) {
+        if (valueToken == JsonToken.START_ARRAY && parser.nextToken() == JsonToken.END_ARRAY) {
           continue;
         }
+        skipRemainingValue(parser, valueToken);
         pvcae.addUnimplementedWarning(
             BfConsts.RELPATH_AWS_CONFIGS_FILE,
             new Warning(
@@ -268,7 +306,7 @@ public final class Region implements Serializable {
                 "AWS"));
         continue;
       }
-      if (!json.get(key).isArray()) {
+      if (valueToken != JsonToken.START_ARRAY) {
         pvcae.addRedFlagWarning(
             BfConsts.RELPATH_AWS_CONFIGS_FILE,
             new Warning(
@@ -276,12 +314,20 @@ public final class Region implements Serializable {
                     "Unexpected JSON for element '%s' in AWS file %s. Expected a list.",
                     key, sourceFileName),
                 "AWS"));
+        parser.skipChildren();
+        continue;
       }
 
-      ArrayNode array = (ArrayNode) json.get(key);
-      for (int index = 0; index < array.size(); index++) {
+      JsonStreamContext array = parser.getParsingContext();
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
         try {
-          integratorFunction.accept(array.get(index));
+          Runnable addition = reader.read(parser);
+          if (addition != null) {
+            additions.add(addition);
+          }
+        } catch (JsonParseException e) {
+          // malformed JSON, not just an element that cannot be bound
+          throw e;
         } catch (IOException | IllegalArgumentException e) {
           pvcae.addRedFlagWarning(
               BfConsts.RELPATH_AWS_CONFIGS_FILE,
@@ -290,8 +336,84 @@ public final class Region implements Serializable {
                       "Exception while parsing '%s' in AWS file %s: %s",
                       key, sourceFileName, e.getMessage()),
                   "AWS"));
+          skipToContext(parser, array);
+        }
+      }
+    }
+    additions.forEach(Runnable::run);
+  }
+
+  /**
+   * Skips the rest of a value whose first token was {@code valueToken}. If the value is an array,
+   * {@code parser} must be at the token of its first element.
+   */
+  private static void skipRemainingValue(JsonParser parser, JsonToken valueToken)
+      throws IOException {
+    if (valueToken != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return;
+    }
+    do {
+      parser.skipChildren();
+    } while (parser.nextToken() != JsonToken.END_ARRAY);
+  }
+
+  /**
+   * Skips the rest of an element that failed to bind partway through, up to the enclosing {@code
+   * context}.
+   */
+  private static void skipToContext(JsonParser parser, JsonStreamContext context)
+      throws IOException {
+    while (parser.getParsingContext() != context) {
+      if (parser.nextToken() == null) {
+        throw new EOFException("Unexpected end of input");
+      }
+    }
+  }
+
+  /** Binds the element at the current token of {@code parser} to {@code type}. */
+  private static @Nonnull <T> T bind(JsonParser parser, Class<T> type) throws IOException {
+    return BatfishObjectMapper.mapper().readValue(parser, type);
+  }
+
+  /**
+   * Binds the element at the current token of {@code parser} to {@code type} if the text at {@code
+   * statePath} in the element is {@code state}, and returns {@code null} otherwise. Elements in
+   * other states may lack required properties, so the state is checked before binding; the element
+   * is buffered as tokens for that, not as a tree.
+   */
+  private static @Nullable <T> T bindInState(
+      JsonParser parser, Class<T> type, String state, String... statePath) throws IOException {
+    TokenBuffer element = TokenBuffer.asCopyOfValue(parser);
+    String elementState = textAt(element, statePath);
+    checkArgument(elementState != null, "Missing %s", String.join(".", statePath));
+    if (!elementState.equals(state)) {
+      return null;
+    }
+    try (JsonParser elementParser = element.asParser(parser.getCodec())) {
+      return BatfishObjectMapper.mapper().readValue(elementParser, type);
+    }
+  }
+
+  /** Returns the text at {@code path} in the buffered object {@code element}, if any. */
+  private static @Nullable String textAt(TokenBuffer element, String... path) throws IOException {
+    try (JsonParser parser = element.asParser()) {
+      for (String key : path) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+          return null;
+        }
+        while (true) {
+          if (parser.nextToken() != JsonToken.FIELD_NAME) {
+            return null;
+          }
+          if (parser.currentName().equals(key)) {
+            break;
+          }
+          parser.nextToken();
+          parser.skipChildren();
         }
       }
+      return parser.nextToken() == JsonToken.VALUE_STRING ? parser.getText() : null;
     }
   }
 
@@ -300,240 +422,284 @@ public final class Region implements Serializable {
   }
 
   /**
-   * Given some top-level key from an AWS file, returns a function that will convert children to the
-   * appropriate type and add them to the appropriate Map (e.g. _addresses, _instances).
+   * Given some top-level key from an AWS file, returns a reader that will convert children to the
+   * appropriate type and return how to add them to the appropriate Map (e.g. _addresses,
+   * _instances).
    *
    * <p>Returns null for unrecognized keys.
    */
-  private @Nullable ThrowingConsumer<JsonNode, IOException> getChildConsumer(String elementType) {
+  private @Nullable ElementReader getElementReader(String elementType) {
     switch (elementType) {
       case AwsVpcEntity.JSON_KEY_ADDRESSES:
-        return json -> {
-          Address address = BatfishObjectMapper.mapper().convertValue(json, Address.class);
-          _addresses.put(address.getId(), address);
+        return parser -> {
+          Address address = bind(parser, Address.class);
+          return () -> _addresses.put(address.getId(), address);
         };
       case AwsVpcEntity.JSON_KEY_INSTANCES:
-        return json -> {
-          Instance instance = BatfishObjectMapper.mapper().convertValue(json, Instance.class);
-          if (instance.getStatus() == Status.RUNNING) {
-            _instances.put(instance.getId(), instance);
+        return parser -> {
+          Instance instance = bind(parser, Instance.class);
+          if (instance.getStatus() != Status.RUNNING) {
+            return null;
           }
+          return () -> _instances.put(instance.getId(), instance);
         };
       case AwsVpcEntity.JSON_KEY_CUSTOMER_GATEWAYS:
-        return json -> {
-          String stateCode = json.get(AwsVpcEntity.JSON_KEY_STATE).textValue();
-          if (stateCode.equals(AwsVpcEntity.STATE_AVAILABLE)) {
-            CustomerGateway cGateway =
-                BatfishObjectMapper.mapper().convertValue(json, CustomerGateway.class);
-            _customerGateways.put(cGateway.getId(), cGateway);
-          }
+        return parser -> {
+          CustomerGateway cGateway =
+              bindInState(
+                  parser,
+                  CustomerGateway.class,
+                  AwsVpcEntity.STATE_AVAILABLE,
+                  AwsVpcEntity.JSON_KEY_STATE);
+          return cGateway == null ? null : () -> _customerGateways.put(cGateway.getId(), cGateway);
         };
       case AwsVpcEntity.JSON_KEY_DB_INSTANCES:
-        return json -> {
-          RdsInstance rdsInstance =
-              BatfishObjectMapper.mapper().convertValue(json, RdsInstance.class);
-          if (rdsInstance.isUp()) {
-            _rdsInstances.put(rdsInstance.getId(), rdsInstance);
+        return parser -> {
+          RdsInstance rdsInstance = bind(parser, RdsInstance.class);
+          if (!rdsInstance.isUp()) {
+            return null;
           }
+          return () -> _rdsInstances.put(rdsInstance.getId(), rdsInstance);
         };
       case AwsVpcEntity.JSON_KEY_DOMAIN_STATUS_LIST:
-        return json -> {
-          ElasticsearchDomain elasticsearchDomain =
-              BatfishObjectMapper.mapper().convertValue(json, ElasticsearchDomain.class);
+        return parser -> {
+          ElasticsearchDomain elasticsearchDomain = bind(parser, ElasticsearchDomain.class);
           // we cannot represent an elasticsearch domain without vpc and subnets as a node
-          if (elasticsearchDomain.getAvailable() && elasticsearchDomain.getVpcId() != null) {
-            _elasticsearchDomains.put(elasticsearchDomain.getId(), elasticsearchDomain);
+          if (!elasticsearchDomain.getAvailable() || elasticsearchDomain.getVpcId() == null) {
+            return null;
           }
+          return () -> _elasticsearchDomains.put(elasticsearchDomain.getId(), elasticsearchDomain);
         };
       case AwsVpcEntity.JSON_KEY_INTERNET_GATEWAYS:
-        return json -> {
-          InternetGateway iGateway =
-              BatfishObjectMapper.mapper().convertValue(json, InternetGateway.class);
-          _internetGateways.put(iGateway.getId(), iGateway);
+        return parser -> {
+          InternetGateway iGateway = bind(parser, InternetGateway.class);
+          return () -> _internetGateways.put(iGateway.getId(), iGateway);
         };
       case AwsVpcEntity.JSON_KEY_LOAD_BALANCER_ATTRIBUTES:
-        return json -> {
+        return parser -> {
           LoadBalancerAttributes loadBalancerAttributes =
-              BatfishObjectMapper.mapper().convertValue(json, LoadBalancerAttributes.class);
-          _loadBalancerAttributes.put(loadBalancerAttributes.getId(), loadBalancerAttributes);
+              bind(parser, LoadBalancerAttributes.class);
+          return () ->
+              _loadBalancerAttributes.put(loadBalancerAttributes.getId(), loadBalancerAttributes);
         };
       case AwsVpcEntity.JSON_KEY_LOAD_BALANCER_LISTENERS:
-        return json -> {
-          LoadBalancerListener loadBalancerListener =
-              BatfishObjectMapper.mapper().convertValue(json, LoadBalancerListener.class);
-          _loadBalancerListeners.put(loadBalancerListener.getId(), loadBalancerListener);
+        return parser -> {
+          LoadBalancerListener loadBalancerListener = bind(parser, LoadBalancerListener.class);
+          return () ->
+              _loadBalancerListeners.put(loadBalancerListener.getId(), loadBalancerListener);
         };
       case AwsVpcEntity.JSON_KEY_LOAD_BALANCER_TARGET_HEALTH:
-        return json -> {
+        return parser -> {
           LoadBalancerTargetHealth loadBalancerTargetHealth =
-              BatfishObjectMapper.mapper().convertValue(json, LoadBalancerTargetHealth.class);
-          _loadBalancerTargetHealths.put(
-              loadBalancerTargetHealth.getId(), loadBalancerTargetHealth);
+              bind(parser, LoadBalancerTargetHealth.class);
+          return () ->
+              _loadBalancerTargetHealths.put(
+                  loadBalancerTargetHealth.getId(), loadBalancerTargetHealth);
         };
       case AwsVpcEntity.JSON_KEY_LOAD_BALANCERS:
-        return json -> {
-          String stateCode =
-              json.get(AwsVpcEntity.JSON_KEY_STATE).get(AwsVpcEntity.JSON_KEY_CODE).textValue();
-          if (stateCode.equals(AwsVpcEntity.STATUS_ACTIVE)) {
-            LoadBalancer loadBalancer =
-                BatfishObjectMapper.mapper().convertValue(json, LoadBalancer.class);
-            _loadBalancers.put(loadBalancer.getId(), loadBalancer);
-          }
+        return parser -> {
+          LoadBalancer loadBalancer =
+              bindInState(
+                  parser,
+                  LoadBalancer.class,
+                  AwsVpcEntity.STATUS_ACTIVE,
+                  AwsVpcEntity.JSON_KEY_STATE,
+                  AwsVpcEntity.JSON_KEY_CODE);
+          return loadBalancer == null
+              ? null
+              : () -> _loadBalancers.put(loadBalancer.getId(), loadBalancer);
         };
       case AwsVpcEntity.JSON_KEY_NAT_GATEWAYS:
-        return json -> {
-          String stateCode = json.get(AwsVpcEntity.JSON_KEY_STATE).textValue();
-          if (stateCode.equals(AwsVpcEntity.STATE_AVAILABLE)) {
-            NatGateway natGateway =
-                BatfishObjectMapper.mapper().convertValue(json, NatGateway.class);
-            _natGateways.put(natGateway.getId(), natGateway);
-          }
+        return parser -> {
+          NatGateway natGateway =
+              bindInState(
+                  parser,
+                  NatGateway.class,
+                  AwsVpcEntity.STATE_AVAILABLE,
+                  AwsVpcEntity.JSON_KEY_STATE);
+          return natGateway == null ? null : () -> _natGateways.put(natGateway.getId(), natGateway);
         };
       case AwsVpcEntity.JSON_KEY_NETWORK_ACLS:
-        return json -> {
-          NetworkAcl networkAcl = BatfishObjectMapper.mapper().convertValue(json, NetworkAcl.class);
-          _networkAcls.put(networkAcl.getId(), networkAcl);
+        return parser -> {
+          NetworkAcl networkAcl = bind(parser, NetworkAcl.class);
+          return () -> _networkAcls.put(networkAcl.getId(), networkAcl);
         };
       case AwsVpcEntity.JSON_KEY_NETWORK_INTERFACES:
-        return json -> {
-          NetworkInterface networkInterface =
-              BatfishObjectMapper.mapper().convertValue(json, NetworkInterface.class);
-          _networkInterfaces.put(networkInterface.getId(), networkInterface);
+        return parser -> {
+          NetworkInterface networkInterface = bind(parser, NetworkInterface.class);
+          return () -> _networkInterfaces.put(networkInterface.getId(), networkInterface);
         };
       case AwsVpcEntity.JSON_KEY_PREFIX_LISTS:
-        return json -> {
-          PrefixList prefixList = BatfishObjectMapper.mapper().convertValue(json, PrefixList.class);
-          _prefixLists.put(prefixList.getId(), prefixList);
+        return parser -> {
+          PrefixList prefixList = bind(parser, PrefixList.class);
+          return () -> _prefixLists.put(prefixList.getId(), prefixList);
         };
       case AwsVpcEntity.JSON_KEY_RESERVATIONS:
-        return json -> {
-          // instances are embedded inside reservations
-          ArrayNode jsonArray = (ArrayNode) json.get(AwsVpcEntity.JSON_KEY_INSTANCES);
-          for (int index = 0; index < jsonArray.size(); index++) {
-            JsonNode childObject = jsonArray.get(index);
-            Objects.requireNonNull(getChildConsumer(AwsVpcEntity.JSON_KEY_INSTANCES))
-                .accept(childObject);
-          }
-        };
+        return this::readReservation;
       case AwsVpcEntity.JSON_KEY_ROUTE_TABLES:
-        return json -> {
-          RouteTable routeTable = BatfishObjectMapper.mapper().convertValue(json, RouteTable.class);
-          _routeTables.put(routeTable.getId(), routeTable);
+        return parser -> {
+          RouteTable routeTable = bind(parser, RouteTable.class);
+          return () -> _routeTables.put(routeTable.getId(), routeTable);
         };
       case AwsVpcEntity.JSON_KEY_SECURITY_GROUPS:
-        return json -> {
-          SecurityGroup sGroup =
-              BatfishObjectMapper.mapper().convertValue(json, SecurityGroup.class);
-          _securityGroups.put(sGroup.getId(), sGroup);
+        return parser -> {
+          SecurityGroup sGroup = bind(parser, SecurityGroup.class);
+          return () -> _securityGroups.put(sGroup.getId(), sGroup);
         };
       case AwsVpcEntity.JSON_KEY_SUBNETS:
-        return json -> {
-          Subnet subnet = BatfishObjectMapper.mapper().convertValue(json, Subnet.class);
-          _subnets.put(subnet.getId(), subnet);
+        return parser -> {
+          Subnet subnet = bind(parser, Subnet.class);
+          return () -> _subnets.put(subnet.getId(), subnet);
         };
       case AwsVpcEntity.JSON_KEY_TARGET_GROUPS:
-        return json -> {
-          TargetGroup targetGroup =
-              BatfishObjectMapper.mapper().convertValue(json, TargetGroup.class);
-          _targetGroups.put(targetGroup.getId(), targetGroup);
+        return parser -> {
+          TargetGroup targetGroup = bind(parser, TargetGroup.class);
+          return () -> _targetGroups.put(targetGroup.getId(), targetGroup);
         };
       case AwsVpcEntity.JSON_KEY_TRANSIT_GATEWAY_ATTACHMENTS:
-        return json -> {
-          String state = json.get(AwsVpcEntity.JSON_KEY_STATE).textValue();
-          if (state.equals(AwsVpcEntity.STATE_AVAILABLE)) {
-            TransitGatewayAttachment tGatewayAttachment =
-                BatfishObjectMapper.mapper().convertValue(json, TransitGatewayAttachment.class);
-            _transitGatewayAttachments.put(tGatewayAttachment.getId(), tGatewayAttachment);
-          }
+        return parser -> {
+          TransitGatewayAttachment tGatewayAttachment =
+              bindInState(
+                  parser,
+                  TransitGatewayAttachment.class,
+                  AwsVpcEntity.STATE_AVAILABLE,
+                  AwsVpcEntity.JSON_KEY_STATE);
+          return tGatewayAttachment == null
+              ? null
+              : () ->
+                  _transitGatewayAttachments.put(tGatewayAttachment.getId(), tGatewayAttachment);
         };
       case AwsVpcEntity.JSON_KEY_TRANSIT_GATEWAY_PROPAGATIONS:
-        return json -> {
-          TransitGatewayPropagations propagations =
-              BatfishObjectMapper.mapper().convertValue(json, TransitGatewayPropagations.class);
-          _transitGatewayPropagations.put(propagations.getId(), propagations);
+        return parser -> {
+          TransitGatewayPropagations propagations = bind(parser, TransitGatewayPropagations.class);
+          return () -> _transitGatewayPropagations.put(propagations.getId(), propagations);
         };
       case AwsVpcEntity.JSON_KEY_TRANSIT_GATEWAY_ROUTE_TABLES:
-        return json -> {
-          String state = json.get(AwsVpcEntity.JSON_KEY_STATE).textValue();
-          if (state.equals(AwsVpcEntity.STATE_AVAILABLE)) {
-            TransitGatewayRouteTable transitGatewayRouteTable =
-                BatfishObjectMapper.mapper().convertValue(json, TransitGatewayRouteTable.class);
-            _transitGatewayRouteTables.put(
-                transitGatewayRouteTable.getId(), transitGatewayRouteTable);
-          }
+        return parser -> {
+          TransitGatewayRouteTable transitGatewayRouteTable =
+              bindInState(
+                  parser,
+                  TransitGatewayRouteTable.class,
+                  AwsVpcEntity.STATE_AVAILABLE,
+                  AwsVpcEntity.JSON_KEY_STATE);
+          return transitGatewayRouteTable == null
+              ? null
+              : () ->
+                  _transitGatewayRouteTables.put(
+                      transitGatewayRouteTable.getId(), transitGatewayRouteTable);
         };
       case AwsVpcEntity.JSON_KEY_TRANSIT_GATEWAY_STATIC_ROUTES:
-        return json -> {
+        return parser -> {
           TransitGatewayStaticRoutes transitGatewayStaticRoutes =
-              BatfishObjectMapper.mapper().convertValue(json, TransitGatewayStaticRoutes.class);
-          _transitGatewayStaticRoutes.put(
-              transitGatewayStaticRoutes.getId(), transitGatewayStaticRoutes);
+              bind(parser, TransitGatewayStaticRoutes.class);
+          return () ->
+              _transitGatewayStaticRoutes.put(
+                  transitGatewayStaticRoutes.getId(), transitGatewayStaticRoutes);
         };
       case AwsVpcEntity.JSON_KEY_TRANSIT_GATEWAY_VPC_ATTACHMENTS:
-        return json -> {
-          String state = json.get(AwsVpcEntity.JSON_KEY_STATE).textValue();
-          if (state.equals(AwsVpcEntity.STATE_AVAILABLE)) {
-            TransitGatewayVpcAttachment tGatewayVpcAttachment =
-                BatfishObjectMapper.mapper().convertValue(json, TransitGatewayVpcAttachment.class);
-            _transitGatewayVpcAttachments.put(tGatewayVpcAttachment.getId(), tGatewayVpcAttachment);
-          }
+        return parser -> {
+          TransitGatewayVpcAttachment tGatewayVpcAttachment =
+              bindInState(
+                  parser,
+                  TransitGatewayVpcAttachment.class,
+                  AwsVpcEntity.STATE_AVAILABLE,
+                  AwsVpcEntity.JSON_KEY_STATE);
+          return tGatewayVpcAttachment == null
+              ? null
+              : () ->
+                  _transitGatewayVpcAttachments.put(
+                      tGatewayVpcAttachment.getId(), tGatewayVpcAttachment);
         };
       case AwsVpcEntity.JSON_KEY_TRANSIT_GATEWAYS:
-        return json -> {
-          String state = json.get(AwsVpcEntity.JSON_KEY_STATE).textValue();
-          if (state.equals(AwsVpcEntity.STATE_AVAILABLE)) {
-            TransitGateway tGateway =
-                BatfishObjectMapper.mapper().convertValue(json, TransitGateway.class);
-            _transitGateways.put(tGateway.getId(), tGateway);
-          }
+        return parser -> {
+          TransitGateway tGateway =
+              bindInState(
+                  parser,
+                  TransitGateway.class,
+                  AwsVpcEntity.STATE_AVAILABLE,
+                  AwsVpcEntity.JSON_KEY_STATE);
+          return tGateway == null ? null : () -> _transitGateways.put(tGateway.getId(), tGateway);
         };
       case AwsVpcEntity.JSON_KEY_VPC_ENDPOINTS:
-        return json -> {
-          String state = json.get(AwsVpcEntity.JSON_KEY_STATE).textValue();
-          if (state.equals(AwsVpcEntity.STATE_AVAILABLE)) {
-            VpcEndpoint vpcEndpoint =
-                BatfishObjectMapper.mapper().convertValue(json, VpcEndpoint.class);
-            _vpcEndpoints.put(vpcEndpoint.getId(), vpcEndpoint);
-          }
+        return parser -> {
+          VpcEndpoint vpcEndpoint =
+              bindInState(
+                  parser,
+                  VpcEndpoint.class,
+                  AwsVpcEntity.STATE_AVAILABLE,
+                  AwsVpcEntity.JSON_KEY_STATE);
+          return vpcEndpoint == null
+              ? null
+              : () -> _vpcEndpoints.put(vpcEndpoint.getId(), vpcEndpoint);
         };
       case AwsVpcEntity.JSON_KEY_VPCS:
-        return json -> {
-          Vpc vpc = BatfishObjectMapper.mapper().convertValue(json, Vpc.class);
-          _vpcs.put(vpc.getId(), vpc);
+        return parser -> {
+          Vpc vpc = bind(parser, Vpc.class);
+          return () -> _vpcs.put(vpc.getId(), vpc);
         };
       case AwsVpcEntity.JSON_KEY_VPC_PEERING_CONNECTIONS:
-        return json -> {
-          String code =
-              json.get(AwsVpcEntity.JSON_KEY_STATUS).get(AwsVpcEntity.JSON_KEY_CODE).textValue();
-          if (code.equals(AwsVpcEntity.STATUS_ACTIVE)) {
-            VpcPeeringConnection vpcPeerConn =
-                BatfishObjectMapper.mapper().convertValue(json, VpcPeeringConnection.class);
-            _vpcPeerings.put(vpcPeerConn.getId(), vpcPeerConn);
-          }
+        return parser -> {
+          VpcPeeringConnection vpcPeerConn =
+              bindInState(
+                  parser,
+                  VpcPeeringConnection.class,
+                  AwsVpcEntity.STATUS_ACTIVE,
+                  AwsVpcEntity.JSON_KEY_STATUS,
+                  AwsVpcEntity.JSON_KEY_CODE);
+          return vpcPeerConn == null
+              ? null
+              : () -> _vpcPeerings.put(vpcPeerConn.getId(), vpcPeerConn);
         };
       case AwsVpcEntity.JSON_KEY_VPN_CONNECTIONS:
-        return json -> {
-          String state = json.get(AwsVpcEntity.JSON_KEY_STATE).textValue();
-          if (state.equals(AwsVpcEntity.STATE_AVAILABLE)) {
-            VpnConnection vpnConnection =
-                BatfishObjectMapper.mapper().convertValue(json, VpnConnection.class);
-            _vpnConnections.put(vpnConnection.getId(), vpnConnection);
-          }
+        return parser -> {
+          VpnConnection vpnConnection =
+              bindInState(
+                  parser,
+                  VpnConnection.class,
+                  AwsVpcEntity.STATE_AVAILABLE,
+                  AwsVpcEntity.JSON_KEY_STATE);
+          return vpnConnection == null
+              ? null
+              : () -> _vpnConnections.put(vpnConnection.getId(), vpnConnection);
         };
       case AwsVpcEntity.JSON_KEY_VPN_GATEWAYS:
-        return json -> {
-          String state = json.get(AwsVpcEntity.JSON_KEY_STATE).textValue();
-          if (state.equals(AwsVpcEntity.STATE_AVAILABLE)) {
-            VpnGateway vpnGateway =
-                BatfishObjectMapper.mapper().convertValue(json, VpnGateway.class);
-            _vpnGateways.put(vpnGateway.getId(), vpnGateway);
-          }
+        return parser -> {
+          VpnGateway vpnGateway =
+              bindInState(
+                  parser,
+                  VpnGateway.class,
+                  AwsVpcEntity.STATE_AVAILABLE,
+                  AwsVpcEntity.JSON_KEY_STATE);
+          return vpnGateway == null ? null : () -> _vpnGateways.put(vpnGateway.getId(), vpnGateway);
         };
       default:
         return null;
     }
   }
 
+  /** Reads a reservation, whose instances are embedded in it, without binding the reservation. */
+  private @Nonnull Runnable readReservation(JsonParser parser) throws IOException {
+    checkArgument(parser.currentToken() == JsonToken.START_OBJECT, "Expected an object");
+    ElementReader instanceReader =
+        Objects.requireNonNull(getElementReader(AwsVpcEntity.JSON_KEY_INSTANCES));
+    List<Runnable> additions = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String key = parser.currentName();
+      JsonToken valueToken = parser.nextToken();
+      if (!key.equals(AwsVpcEntity.JSON_KEY_INSTANCES) || valueToken != JsonToken.START_ARRAY) {
+        parser.skipChildren();
+        continue;
+      }
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        Runnable addition = instanceReader.read(parser);
+        if (addition != null) {
+          additions.add(addition);
+        }
+      }
+    }
+    return () -> additions.forEach(Runnable::run);
+  }
+
   /** Adds a generated references book for prefix lists on the AWS services gateway node */
   void addPrefixListReferenceBook(
       ConvertedConfiguration convertedConfiguration, Warnings warnings) {
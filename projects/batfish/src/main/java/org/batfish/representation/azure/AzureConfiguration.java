@@ -1,17 +1,22 @@
 package org.batfish.representation.azure;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.batfish.common.BfConsts;
 import org.batfish.common.VendorConversionException;
 import org.batfish.common.Warning;
 import org.batfish.common.topology.Layer1Edge;
+import org.batfish.common.util.BatfishObjectMapper;
 import org.batfish.datamodel.Configuration;
 import org.batfish.datamodel.ConfigurationFormat;
 import org.batfish.datamodel.Ip;
@@ -78,22 +83,97 @@ public class AzureConfiguration extends VendorConfiguration {
     return region;
   }
 
+  /** A resource read from an Azure file, with the keys needed to place it in a region. */
+  public static final class ParsedResource {
+    private final @Nullable String _location;
+    private final @Nullable String _type;
+    private final @Nullable Resource _resource;
+
+    private ParsedResource(
+        @Nullable String location, @Nullable String type, @Nullable Resource resource) {
+      _location = location;
+      _type = type;
+      _resource = resource;
+    }
+
+    public @Nullable String getLocation() {
+      return _location;
+    }
+
+    public @Nullable String getType() {
+      return _type;
+    }
+
+    /** The resource, or {@code null} if its type is missing or not supported. */
+    public @Nullable Resource getResource() {
+      return _resource;
+    }
+  }
+
+  /**
+   * Reads the resource held by the text of an Azure file.
+   *
+   * <p>The text is read as a stream of tokens rather than as a tree: a first pass finds the
+   * location and type of the resource, and a second binds the resource if its type is supported.
+   *
+   * @throws IOException if the text is not well-formed JSON or does not bind to its type
+   */
+  public static @Nonnull ParsedResource parseResource(String text) throws IOException {
+    String location = null;
+    String type = null;
+    try (JsonParser parser = BatfishObjectMapper.mapper().createParser(text)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return new ParsedResource(null, null, null);
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String key = parser.currentName();
+        parser.nextToken();
+        if (key.equals(AzureEntities.JSON_KEY_LOCATION)) {
+          location = parser.getValueAsString();
+        } else if (key.equals(AzureEntities.JSON_KEY_TYPE)) {
+          type = parser.getValueAsString();
+        }
+        parser.skipChildren();
+      }
+    }
+    Class<? extends Resource> resourceClass = Region.resourceClass(type);
+    Resource resource =
+        resourceClass == null ? null : BatfishObjectMapper.mapper().readValue(text, resourceClass);
+    return new ParsedResource(location, type, resource);
+  }
+
+  /**
+   * Returns the region of a parsed resource, creating it if not created yet. Returns {@code null}
+   * and adds a warning if the resource has no region.
+   */
+  public @Nullable Region addOrGetRegion(
+      ParsedResource resource, String filename, ParseVendorConfigurationAnswerElement pvcae) {
+    if (resource.getLocation() == null) {
+      addMissingLocationWarning(filename, pvcae);
+      return null; // unable to parse
+    }
+    return addOrGetRegion(resource.getLocation());
+  }
+
+  private static void addMissingLocationWarning(
+      String filename, ParseVendorConfigurationAnswerElement pvcae) {
+    pvcae.addRedFlagWarning(
+        BfConsts.RELPATH_AZURE_CONFIGS_DIR,
+        new Warning(
+            String.format(
+                "Missing required key %s in file %s", AzureEntities.JSON_KEY_LOCATION, filename),
+            "AZURE"));
+  }
+
   /** Adds a config subtree */
   public void addConfigElement(
       JsonNode node, String filename, ParseVendorConfigurationAnswerElement pvcae) {
     JsonNode regionField = node.get(AzureEntities.JSON_KEY_LOCATION);
     if (regionField == null) {
-      pvcae.addRedFlagWarning(
-          BfConsts.RELPATH_AZURE_CONFIGS_DIR,
-          new Warning(
-              String.format(
-                  "Missing required key %s in file %s", AzureEntities.JSON_KEY_LOCATION, filename),
-              "AZURE"));
+      addMissingLocationWarning(filename, pvcae);
       return; // unable to parse
     }
-
-    String regionName = regionField.asText();
-    addOrGetRegion(regionName).addConfigElement(node, filename, pvcae);
+    addOrGetRegion(regionField.asText()).addConfigElement(node, filename, pvcae);
   }
 
   private void convertConfigurations() {
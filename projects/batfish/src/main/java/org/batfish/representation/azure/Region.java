@@ -12,6 +12,7 @@ import org.batfish.common.Warning;
 import org.batfish.common.util.BatfishObjectMapper;
 import org.batfish.datamodel.Configuration;
 import org.batfish.datamodel.answers.ParseVendorConfigurationAnswerElement;
+import org.batfish.representation.azure.AzureConfiguration.ParsedResource;
 
 public class Region implements Serializable {
 
@@ -103,75 +104,110 @@ public class Region implements Serializable {
     return _regionName;
   }
 
+  /** Adds a resource read with {@link AzureConfiguration#parseResource(String)}. */
+  public void addConfigElement(
+      ParsedResource parsedResource, String filename, ParseVendorConfigurationAnswerElement pvcae) {
+    String type = parsedResource.getType();
+    if (type == null) {
+      addMissingTypeWarning(filename, pvcae);
+      return; // do not parse because it's unlikely an azure resource file
+    }
+    Resource resource = parsedResource.getResource();
+    if (resource == null) {
+      addUnknownTypeWarning(type, filename, pvcae);
+      return;
+    }
+    addResource(resource);
+  }
+
   public void addConfigElement(
       JsonNode node, String filename, ParseVendorConfigurationAnswerElement pvcae) {
     if (!node.has(AzureEntities.JSON_KEY_TYPE)) {
-      pvcae.addRedFlagWarning(
-          BfConsts.RELPATH_AZURE_CONFIGS_DIR,
-          new Warning(
-              String.format(
-                  "Missing required key \"%s\" in file \"%s\"",
-                  AzureEntities.JSON_KEY_TYPE, filename),
-              "Azure"));
+      addMissingTypeWarning(filename, pvcae);
       return; // do not parse because it's unlikely an azure resource file
     }
 
     String type = node.get(AzureEntities.JSON_KEY_TYPE).textValue();
+    Class<? extends Resource> resourceClass = resourceClass(type);
+    if (resourceClass == null) {
+      addUnknownTypeWarning(type, filename, pvcae);
+      return;
+    }
+    addResource(BatfishObjectMapper.mapper().convertValue(node, resourceClass));
+  }
 
+  /** Returns the class of the resources of the given type, or {@code null} if not supported. */
+  static @Nullable Class<? extends Resource> resourceClass(@Nullable String type) {
+    if (type == null) {
+      return null;
+    }
     switch (type) {
       case AzureEntities.JSON_TYPE_VM:
-        Instance vm = BatfishObjectMapper.mapper().convertValue(node, VirtualMachine.class);
-        _instances.put(vm.getId(), vm);
-        break;
+        return VirtualMachine.class;
       case AzureEntities.JSON_TYPE_VNET:
-        VNet network = BatfishObjectMapper.mapper().convertValue(node, VNet.class);
-        _vnets.put(network.getId(), network);
-        for (Subnet subnet : network.getProperties().getSubnets()) {
-          _subnets.put(subnet.getId(), subnet);
-        }
-        break;
+        return VNet.class;
       case AzureEntities.JSON_TYPE_INTERFACE:
-        NetworkInterface networkInterface =
-            BatfishObjectMapper.mapper().convertValue(node, NetworkInterface.class);
-        _interfaces.put(networkInterface.getId(), networkInterface);
-        for (IPConfiguration ipConfiguration :
-            networkInterface.getProperties().getIPConfigurations()) {
-          // broken azure features which stores ipConfigurationName uppercased in id
-          _ipConfigurations.put(ipConfiguration.getId().toLowerCase(), ipConfiguration);
-        }
-        break;
+        return NetworkInterface.class;
       case AzureEntities.JSON_TYPE_NETWORK_SECURITY_GROUP:
-        NetworkSecurityGroup nsg =
-            BatfishObjectMapper.mapper().convertValue(node, NetworkSecurityGroup.class);
-        _networkSecurityGroups.put(nsg.getId(), nsg);
-        break;
+        return NetworkSecurityGroup.class;
       case AzureEntities.JSON_TYPE_NAT_GATEWAY:
-        NatGateway natGateway = BatfishObjectMapper.mapper().convertValue(node, NatGateway.class);
-        _natGateways.put(natGateway.getId(), natGateway);
-        break;
+        return NatGateway.class;
       case AzureEntities.JSON_TYPE_PUBLIC_IP:
-        PublicIpAddress publicIp =
-            BatfishObjectMapper.mapper().convertValue(node, PublicIpAddress.class);
-        _publicIpAddresses.put(publicIp.getId(), publicIp);
-        break;
+        return PublicIpAddress.class;
       case AzureEntities.JSON_TYPE_POSTGRES:
-        Instance db = BatfishObjectMapper.mapper().convertValue(node, Postgres.class);
-        _instances.put(db.getId(), db);
-        break;
+        return Postgres.class;
       case AzureEntities.JSON_TYPE_CONTAINER_GROUP:
-        Instance containerGroup =
-            BatfishObjectMapper.mapper().convertValue(node, ContainerGroup.class);
-        _instances.put(containerGroup.getId(), containerGroup);
-        break;
+        return ContainerGroup.class;
       default:
-        pvcae.addUnimplementedWarning(
-            BfConsts.RELPATH_AZURE_CONFIGS_DIR,
-            new Warning(
-                String.format("Unknown type \"%s\" in file \"%s\"", type, filename), "AZURE"));
-        return;
+        return null;
+    }
+  }
+
+  private void addResource(Resource resource) {
+    if (resource instanceof Instance instance) {
+      _instances.put(instance.getId(), instance);
+    } else if (resource instanceof VNet network) {
+      _vnets.put(network.getId(), network);
+      for (Subnet subnet : network.getProperties().getSubnets()) {
+        _subnets.put(subnet.getId(), subnet);
+      }
+    } else if (resource instanceof NetworkInterface networkInterface) {
+      _interfaces.put(networkInterface.getId(), networkInterface);
+      for (IPConfiguration ipConfiguration :
+          networkInterface.getProperties().getIPConfigurations()) {
+        // broken azure features which stores ipConfigurationName uppercased in id
+        _ipConfigurations.put(ipConfiguration.getId().toLowerCase(), ipConfiguration);
+      }
+    } else if (resource instanceof NetworkSecurityGroup nsg) {
+      _networkSecurityGroups.put(nsg.getId(), nsg);
+    } else if (resource instanceof NatGateway natGateway) {
+      _natGateways.put(natGateway.getId(), natGateway);
+    } else if (resource instanceof PublicIpAddress publicIp) {
+      _publicIpAddresses.put(publicIp.getId(), publicIp);
+    } else {
+      throw new IllegalArgumentException(
+          "Resource class not supported: " + resource.getClass().getName());
     }
   }
 
+  private static void addMissingTypeWarning(
+      String filename, ParseVendorConfigurationAnswerElement pvcae) {
+    pvcae.addRedFlagWarning(
+        BfConsts.RELPATH_AZURE_CONFIGS_DIR,
+        new Warning(
+            String.format(
+                "Missing required key \"%s\" in file \"%s\"",
+                AzureEntities.JSON_KEY_TYPE, filename),
+            "Azure"));
+  }
+
+  private static void addUnknownTypeWarning(
+      String type, String filename, ParseVendorConfigurationAnswerElement pvcae) {
+    pvcae.addUnimplementedWarning(
+        BfConsts.RELPATH_AZURE_CONFIGS_DIR,
+        new Warning(String.format("Unknown type \"%s\" in file \"%s\"", type, filename), "AZURE"));
+  }
+
   public void toConfigurationNode(ConvertedConfiguration convertedConfiguration) {
 
     for (NatGateway natGateway : _natGateways.values()) {
@@ -0,0 +1,150 @@
+package org.batfish.bddreachability;
+
+import static org.batfish.bddreachability.AclBddDeduplicator.canonicalAcl;
+import static org.batfish.datamodel.acl.AclLineMatchExprs.matchDst;
+import static org.batfish.datamodel.acl.AclLineMatchExprs.matchSrcInterface;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+
+import net.sf.javabdd.BDD;
+import org.batfish.common.bdd.BDDPacket;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.ConfigurationFormat;
+import org.batfish.datamodel.ExprAclLine;
+import org.batfish.datamodel.IpAccessList;
+import org.batfish.datamodel.IpSpaceReference;
+import org.batfish.datamodel.NetworkFactory;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.TraceElement;
+import org.batfish.datamodel.acl.PermittedByAcl;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests of {@link AclBddDeduplicator}. */
+public final class AclBddDeduplicatorTest {
+  private Configuration _c1;
+  private Configuration _c2;
+  private NetworkFactory _nf;
+
+  @Before
+  public void setup() {
+    _nf = new NetworkFactory();
+    Configuration.Builder cb =
+        _nf.configurationBuilder().setConfigurationFormat(ConfigurationFormat.CISCO_IOS);
+    _c1 = cb.build();
+    _c2 = cb.build();
+  }
+
+  private IpAccessList acl(Configuration owner, String name, ExprAclLine... lines) {
+    return _nf.aclBuilder().setOwner(owner).setName(name).setLines(lines).build();
+  }
+
+  @Test
+  public void testCanonicalAcl_ignoresNamesAndTraceElements() {
+    IpAccessList acl1 =
+        acl(
+            _c1,
+            "acl1",
+            ExprAclLine.accepting(
+                TraceElement.of("line on c1"), matchDst(Prefix.parse("10.0.0.0/8"))));
+    IpAccessList acl2 =
+        acl(
+            _c2,
+            "acl2",
+            ExprAclLine.accepting("permit 10/8", matchDst(Prefix.parse("10.0.0.0/8"))));
+    assertThat(canonicalAcl(_c1, acl1), equalTo(canonicalAcl(_c2, acl2)));
+  }
+
+  @Test
+  public void testCanonicalAcl_resolvesIpSpaceReferences() {
+    _c1.getIpSpaces().put("group", Prefix.parse("10.0.0.0/8").toIpSpace());
+    _c2.getIpSpaces().put("group", Prefix.parse("10.0.0.0/8").toIpSpace());
+    IpAccessList acl1 =
+        acl(_c1, "acl", ExprAclLine.accepting(matchDst(new IpSpaceReference("group"))));
+    IpAccessList acl2 =
+        acl(_c2, "acl", ExprAclLine.accepting(matchDst(new IpSpaceReference("group"))));
+    assertThat(canonicalAcl(_c1, acl1), equalTo(canonicalAcl(_c2, acl2)));
+
+    // same ACL text, but the referenced IP space is defined differently
+    _c2.getIpSpaces().put("group", Prefix.parse("192.168.0.0/16").toIpSpace());
+    assertThat(canonicalAcl(_c1, acl1), not(equalTo(canonicalAcl(_c2, acl2))));
+  }
+
+  @Test
+  public void testCanonicalAcl_comparesReferencedAcls() {
+    acl(_c1, "referenced", ExprAclLine.accepting(matchDst(Prefix.parse("10.0.0.0/8"))));
+    acl(_c2, "referenced", ExprAclLine.accepting(matchDst(Prefix.parse("20.0.0.0/8"))));
+    IpAccessList acl1 =
+        acl(_c1, "acl", ExprAclLine.accepting(new PermittedByAcl("referenced")));
+    IpAccessList acl2 =
+        acl(_c2, "acl", ExprAclLine.accepting(new PermittedByAcl("referenced")));
+    assertThat(canonicalAcl(_c1, acl1), not(equalTo(canonicalAcl(_c2, acl2))));
+  }
+
+  @Test
+  public void testCanonicalAcl_unshareable() {
+    // depends on the device's sources
+    IpAccessList srcIface = acl(_c1, "srcIface", ExprAclLine.accepting(matchSrcInterface("i1")));
+    assertThat(canonicalAcl(_c1, srcIface), nullValue());
+
+    // undefined references
+    IpAccessList undefinedAcl =
+        acl(_c1, "undefinedAcl", ExprAclLine.accepting(new PermittedByAcl("undefined")));
+    assertThat(canonicalAcl(_c1, undefinedAcl), nullValue());
+    IpAccessList undefinedIpSpace =
+        acl(
+            _c1,
+            "undefinedIpSpace",
+            ExprAclLine.accepting(matchDst(new IpSpaceReference("undefined"))));
+    assertThat(canonicalAcl(_c1, undefinedIpSpace), nullValue());
+  }
+
+  @Test
+  public void testToBdd_shared() {
+    BDDPacket pkt = new BDDPacket();
+    BDD bdd = pkt.getDstIpSpaceToBDD().toBDD(Prefix.parse("10.0.0.0/8"));
+    IpAccessList acl1 =
+        acl(_c1, "acl1", ExprAclLine.accepting(matchDst(Prefix.parse("10.0.0.0/8"))));
+    IpAccessList acl2 =
+        acl(_c2, "acl2", ExprAclLine.accepting(matchDst(Prefix.parse("10.0.0.0/8"))));
+
+    AclBddDeduplicator deduplicator = new AclBddDeduplicator();
+    assertThat(deduplicator.toBdd(_c1, acl1, () -> bdd), sameInstance(bdd));
+    assertThat(
+        deduplicator.toBdd(
+            _c2,
+            acl2,
+            () -> {
+              throw new AssertionError("identical ACL should not be converted again");
+            }),
+        sameInstance(bdd));
+    assertEquals(1, deduplicator.getNumShared());
+  }
+
+  @Test
+  public void testToBdd_unshareableAlwaysConverted() {
+    BDDPacket pkt = new BDDPacket();
+    IpAccessList acl1 = acl(_c1, "acl", ExprAclLine.accepting(matchSrcInterface("i1")));
+    IpAccessList acl2 = acl(_c2, "acl", ExprAclLine.accepting(matchSrcInterface("i1")));
+    BDD bdd1 = pkt.getFactory().ithVar(0);
+    BDD bdd2 = pkt.getFactory().ithVar(1);
+
+    AclBddDeduplicator deduplicator = new AclBddDeduplicator();
+    assertThat(deduplicator.toBdd(_c1, acl1, () -> bdd1), sameInstance(bdd1));
+    assertThat(deduplicator.toBdd(_c2, acl2, () -> bdd2), sameInstance(bdd2));
+    assertEquals(0, deduplicator.getNumShared());
+  }
+
+  @Test
+  public void testGetStats() {
+    assertThat(
+        new AclBddDeduplicator().getStats(),
+        equalTo(
+            "AclBddDeduplicator{aclsConverted=0, distinctShareableAcls=0, sharedAcls=0,"
+                + " unshareableAcls=0, dedupRatio=1.00}"));
+  }
+}
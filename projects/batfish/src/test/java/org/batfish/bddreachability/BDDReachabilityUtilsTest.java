@@ -0,0 +1,88 @@
+package org.batfish.bddreachability;
+
+import static org.batfish.bddreachability.BDDReachabilityUtils.partitionSources;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.IpSpace;
+import org.batfish.specifier.InterfaceLinkLocation;
+import org.batfish.specifier.InterfaceLocation;
+import org.batfish.specifier.IpSpaceAssignment;
+import org.batfish.specifier.Location;
+import org.junit.Test;
+
+/** Tests of {@link BDDReachabilityUtils}. */
+public class BDDReachabilityUtilsTest {
+  private static final IpSpace IP1 = Ip.parse("1.1.1.1").toIpSpace();
+  private static final IpSpace IP2 = Ip.parse("2.2.2.2").toIpSpace();
+
+  private static Set<String> nodes(IpSpaceAssignment assignment) {
+    return assignment.getEntries().stream()
+        .flatMap(entry -> entry.getLocations().stream())
+        .map(Location::getNodeName)
+        .collect(Collectors.toSet());
+  }
+
+  private static Set<Location> locations(IpSpaceAssignment assignment) {
+    return assignment.getEntries().stream()
+        .flatMap(entry -> entry.getLocations().stream())
+        .collect(Collectors.toSet());
+  }
+
+  @Test
+  public void testPartitionSources_single() {
+    IpSpaceAssignment sources =
+        IpSpaceAssignment.builder()
+            .assign(new InterfaceLocation("a", "i1"), IP1)
+            .assign(new InterfaceLocation("b", "i1"), IP1)
+            .build();
+    assertThat(partitionSources(sources, 1), contains(sameInstance(sources)));
+
+    // can't split a single node
+    IpSpaceAssignment oneNode =
+        IpSpaceAssignment.builder()
+            .assign(new InterfaceLocation("a", "i1"), IP1)
+            .assign(new InterfaceLocation("a", "i2"), IP1)
+            .build();
+    assertThat(partitionSources(oneNode, 4), contains(sameInstance(oneNode)));
+  }
+
+  @Test
+  public void testPartitionSources() {
+    Location a1 = new InterfaceLocation("a", "i1");
+    Location a2 = new InterfaceLinkLocation("a", "i2");
+    Location a3 = new InterfaceLocation("a", "i3");
+    Location b1 = new InterfaceLocation("b", "i1");
+    Location c1 = new InterfaceLocation("c", "i1");
+    Location c2 = new InterfaceLocation("c", "i2");
+    IpSpaceAssignment sources =
+        IpSpaceAssignment.builder()
+            .assign(ImmutableSet.of(a1, a2, b1), IP1)
+            .assign(ImmutableSet.of(a3, c1, c2), IP2)
+            .build();
+
+    List<IpSpaceAssignment> partitions = partitionSources(sources, 2);
+    assertThat(partitions, hasSize(2));
+    // a (3 locations) alone, then b and c (3 locations together)
+    assertThat(nodes(partitions.get(0)), containsInAnyOrder("a"));
+    assertThat(nodes(partitions.get(1)), containsInAnyOrder("b", "c"));
+    assertThat(locations(partitions.get(0)), containsInAnyOrder(a1, a2, a3));
+    assertThat(
+        partitions.get(0).getEntries().stream()
+            .filter(entry -> entry.getLocations().contains(a3))
+            .map(IpSpaceAssignment.Entry::getIpSpace)
+            .collect(Collectors.toList()),
+        contains(IP2));
+
+    // no more partitions than nodes
+    assertThat(partitionSources(sources, 10), hasSize(3));
+  }
+}
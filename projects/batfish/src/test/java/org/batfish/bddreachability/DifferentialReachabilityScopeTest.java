@@ -0,0 +1,26 @@
+package org.batfish.bddreachability;
+
+import static org.batfish.bddreachability.DifferentialReachabilityScope.upstreamClosure;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import org.junit.Test;
+
+/** Tests of {@link DifferentialReachabilityScope}. */
+public class DifferentialReachabilityScopeTest {
+
+  @Test
+  public void testUpstreamClosure() {
+    // a -> b -> c <-> d, e -> d
+    SetMultimap<String, String> upstreamNodes =
+        ImmutableSetMultimap.of("b", "a", "c", "b", "c", "d", "d", "c", "d", "e");
+    assertThat(upstreamClosure(ImmutableSet.of("b"), upstreamNodes), containsInAnyOrder("a", "b"));
+    assertThat(
+        upstreamClosure(ImmutableSet.of("c"), upstreamNodes),
+        containsInAnyOrder("a", "b", "c", "d", "e"));
+    assertThat(upstreamClosure(ImmutableSet.of("e"), upstreamNodes), containsInAnyOrder("e"));
+  }
+}
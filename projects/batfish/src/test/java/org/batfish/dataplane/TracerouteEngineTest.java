@@ -22,8 +22,11 @@ import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Iterables;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 import org.batfish.common.NetworkSnapshot;
 import org.batfish.datamodel.ConcreteInterfaceAddress;
 import org.batfish.datamodel.Configuration;
@@ -133,6 +136,48 @@ public class TracerouteEngineTest {
     assertThat(traces, hasEntry(equalTo(flow2), contains(hasDisposition(ACCEPTED))));
   }
 
+  /** Streaming traceroute delivers the same traces as the bulk API, across multiple batches. */
+  @Test
+  public void testComputeTracesStreaming() throws IOException {
+    NetworkFactory nf = new NetworkFactory();
+    Configuration config =
+        nf.configurationBuilder().setConfigurationFormat(ConfigurationFormat.CISCO_IOS).build();
+    Vrf vrf = nf.vrfBuilder().setOwner(config).build();
+    Interface iface =
+        nf.interfaceBuilder()
+            .setOwner(config)
+            .setVrf(vrf)
+            .setAddress(ConcreteInterfaceAddress.parse("1.1.1.1/24"))
+            .build();
+    SortedMap<String, Configuration> configs = ImmutableSortedMap.of(config.getHostname(), config);
+    Batfish batfish = BatfishTestUtils.getBatfish(configs, _tempFolder);
+    NetworkSnapshot snapshot = batfish.getSnapshot();
+    batfish.computeDataPlane(snapshot);
+    TracerouteEngineImpl engine =
+        new TracerouteEngineImpl(
+            batfish.loadDataPlane(snapshot),
+            batfish.getTopologyProvider().getLayer3Topology(snapshot),
+            configs);
+
+    // more flows than fit in one batch
+    int numFlows = TracerouteEngineImpl.STREAMING_BATCH_SIZE * 2 + 1;
+    Builder fb =
+        builder()
+            .setIngressNode(config.getHostname())
+            .setIngressInterface(iface.getName())
+            .setIngressVrf(vrf.getName())
+            .setDstIp(parse("1.1.1.1"));
+    Set<Flow> flows =
+        IntStream.range(0, numFlows)
+            .mapToObj(i -> fb.setSrcPort(i).build())
+            .collect(ImmutableSet.toImmutableSet());
+
+    Map<Flow, List<Trace>> streamed = new ConcurrentHashMap<>();
+    engine.computeTraces(flows.iterator(), false, streamed::put);
+
+    assertThat(streamed, equalTo(engine.computeTraces(flows, false)));
+  }
+
   @Test
   public void testArpMultipleAccess() throws IOException {
     NetworkFactory nf = new NetworkFactory();
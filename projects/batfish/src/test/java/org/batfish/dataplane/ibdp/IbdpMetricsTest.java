@@ -0,0 +1,96 @@
+package org.batfish.dataplane.ibdp;
+
+import static com.google.common.collect.Iterables.getFirst;
+import static org.batfish.dataplane.ibdp.IbdpMetrics.SLOWEST_VIRTUAL_ROUTERS;
+import static org.batfish.dataplane.ibdp.TestUtils.annotateRoute;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasEntry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.batfish.common.util.BatfishObjectMapper;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.ConfigurationFormat;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.StaticRoute;
+import org.batfish.datamodel.Vrf;
+import org.junit.Test;
+
+/** Tests of {@link IbdpMetrics}. */
+public final class IbdpMetricsTest {
+
+  /** Virtual routers {@code c/v0} to {@code c/v<count - 1>}. */
+  private static List<VirtualRouter> virtualRouters(int count) {
+    Configuration c =
+        Configuration.builder()
+            .setHostname("c")
+            .setConfigurationFormat(ConfigurationFormat.CISCO_IOS)
+            .build();
+    for (int i = 0; i < count; i++) {
+      Vrf.builder().setOwner(c).setName("v" + i).build();
+    }
+    return ImmutableList.copyOf(new Node(c).getVirtualRouters());
+  }
+
+  @Test
+  public void testMetrics() {
+    List<VirtualRouter> vrs = virtualRouters(SLOWEST_VIRTUAL_ROUTERS + 1);
+
+    IbdpMetrics metrics = new IbdpMetrics();
+    metrics.forEachVr(
+        "slow",
+        vrs,
+        vr -> {
+          if (vr.getName().equals("v0")) {
+            Uninterruptibles.sleepUninterruptibly(Duration.ofMillis(20));
+          }
+        });
+    metrics.phase("sequential", () -> Uninterruptibles.sleepUninterruptibly(Duration.ofMillis(5)));
+    metrics.phase("sequential", () -> Uninterruptibles.sleepUninterruptibly(Duration.ofMillis(5)));
+    metrics.iterationFinished(1, Duration.ofMillis(3).toNanos());
+
+    assertThat(metrics.getPhaseWallTimeMillis().get("slow"), greaterThanOrEqualTo(20L));
+    // phases occurring more than once are summed
+    assertThat(metrics.getPhaseWallTimeMillis().get("sequential"), greaterThanOrEqualTo(10L));
+    assertThat(metrics.getIterationWallTimeMillis(), hasEntry(1, 3L));
+    // limited to the slowest, slowest first
+    assertThat(metrics.getSlowestVirtualRoutersMillis(), aMapWithSize(SLOWEST_VIRTUAL_ROUTERS));
+    assertThat(getFirst(metrics.getSlowestVirtualRoutersMillis().keySet(), null), equalTo("c/v0"));
+  }
+
+  @Test
+  public void testMainRibs() throws IOException {
+    List<VirtualRouter> vrs = virtualRouters(2);
+    VirtualRouter v0 = vrs.stream().filter(vr -> vr.getName().equals("v0")).findFirst().get();
+    for (String network : ImmutableList.of("10.0.0.0/8", "10.1.0.0/16")) {
+      v0.getMainRib()
+          .mergeRoute(
+              annotateRoute(
+                  StaticRoute.testBuilder()
+                      .setNetwork(Prefix.parse(network))
+                      .setNextHopIp(Ip.parse("1.1.1.1"))
+                      .setAdministrativeCost(1)
+                      .build()));
+    }
+
+    IbdpMetrics metrics = new IbdpMetrics();
+    metrics.recordMainRibs(vrs);
+
+    assertThat(metrics.getMainRibRoutesByProtocol(), hasEntry("static", 2));
+    assertThat(metrics.getMainRibRoutesByVirtualRouter(), hasEntry("c/v0", 2));
+    assertThat(metrics.getMainRibRoutesByVirtualRouter(), hasEntry("c/v1", 0));
+
+    // stored as JSON
+    JsonNode json = BatfishObjectMapper.mapper().readTree(BatfishObjectMapper.writeString(metrics));
+    assertThat(json.get("mainRibRoutesByVirtualRouter").get("c/v0").asInt(), equalTo(2));
+    assertThat(json.get("mainRibRoutesByProtocol").get("static").asInt(), equalTo(2));
+  }
+}
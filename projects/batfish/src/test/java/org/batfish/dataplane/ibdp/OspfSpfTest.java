@@ -0,0 +1,233 @@
+package org.batfish.dataplane.ibdp;
+
+import static org.batfish.common.topology.TopologyUtil.synthesizeL3Topology;
+import static org.batfish.datamodel.Configuration.DEFAULT_VRF_NAME;
+import static org.batfish.datamodel.matchers.AbstractRouteDecoratorMatchers.hasAdministrativeCost;
+import static org.batfish.datamodel.matchers.AbstractRouteDecoratorMatchers.hasMetric;
+import static org.batfish.datamodel.matchers.AbstractRouteDecoratorMatchers.hasNextHop;
+import static org.batfish.datamodel.ospf.OspfTopologyUtils.computeOspfTopology;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.batfish.datamodel.ConcreteInterfaceAddress;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.ConfigurationFormat;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.NetworkConfigurations;
+import org.batfish.datamodel.NetworkFactory;
+import org.batfish.datamodel.OspfIntraAreaRoute;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.Vrf;
+import org.batfish.datamodel.ospf.OspfArea;
+import org.batfish.datamodel.ospf.OspfInterfaceSettings;
+import org.batfish.datamodel.ospf.OspfProcess;
+import org.batfish.datamodel.ospf.OspfTopology;
+import org.batfish.datamodel.ospf.OspfTopologyUtils;
+import org.batfish.datamodel.route.nh.NextHopInterface;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests of {@link OspfSpf} */
+public class OspfSpfTest {
+  /*
+   *            area 0                   area 1
+   *       +---- r2 ----+
+   *  r1 --+            +-- r4 ------------ r5        r6 (no neighbors)
+   *       +---- r3 ----+
+   *
+   * Every link costs 1. Each router rN has a passive loopback 192.168.0.N/32, in area 1 for r5 and
+   * area 0 otherwise.
+   */
+  private static final long AREA0 = 0L;
+  private static final long AREA1 = 1L;
+  private static final int OSPF_ADMIN = 110;
+
+  private NetworkFactory _nf;
+  private Map<String, Configuration> _configs;
+
+  @Before
+  public void setUp() {
+    _nf = new NetworkFactory();
+    _configs = new HashMap<>();
+    for (int i = 1; i <= 6; i++) {
+      addRouter(i, i == 5 ? AREA1 : AREA0);
+    }
+    addLink("r1", "r2", "10.0.12.0", AREA0);
+    addLink("r1", "r3", "10.0.13.0", AREA0);
+    addLink("r2", "r4", "10.0.24.0", AREA0);
+    addLink("r3", "r4", "10.0.34.0", AREA0);
+    addLink("r4", "r5", "10.0.45.0", AREA1);
+  }
+
+  private static Prefix loopback(int router) {
+    return Prefix.create(Ip.parse("192.168.0." + router), Prefix.MAX_PREFIX_LENGTH);
+  }
+
+  private static OspfInterfaceSettings ospfSettings(long area, boolean passive) {
+    return OspfInterfaceSettings.defaultSettingsBuilder()
+        .setCost(1)
+        .setProcess("1")
+        .setAreaName(area)
+        .setPassive(passive)
+        .build();
+  }
+
+  private void addRouter(int router, long loopbackArea) {
+    Configuration c =
+        _nf.configurationBuilder()
+            .setHostname("r" + router)
+            .setConfigurationFormat(ConfigurationFormat.CISCO_IOS)
+            .build();
+    Vrf vrf = _nf.vrfBuilder().setOwner(c).setName(DEFAULT_VRF_NAME).build();
+    OspfProcess process =
+        _nf.ospfProcessBuilder()
+            .setVrf(vrf)
+            .setProcessId("1")
+            .setRouterId(loopback(router).getStartIp())
+            .build();
+    _nf.interfaceBuilder()
+        .setOwner(c)
+        .setVrf(vrf)
+        .setName("Loopback0")
+        .setAddress(ConcreteInterfaceAddress.create(loopback(router).getStartIp(), 32))
+        .setOspfSettings(ospfSettings(loopbackArea, true))
+        .build();
+    getOrCreateArea(process, loopbackArea).addInterface("Loopback0");
+    _configs.put(c.getHostname(), c);
+  }
+
+  /** Connects {@code h1} to {@code h2} over the /31 starting at {@code network}. */
+  private void addLink(String h1, String h2, String network, long area) {
+    Ip ip1 = Ip.parse(network);
+    addLinkInterface(h1, "to-" + h2, ip1, area);
+    addLinkInterface(h2, "to-" + h1, Ip.create(ip1.asLong() + 1), area);
+  }
+
+  private void addLinkInterface(String hostname, String name, Ip ip, long area) {
+    Configuration c = _configs.get(hostname);
+    Vrf vrf = c.getDefaultVrf();
+    _nf.interfaceBuilder()
+        .setOwner(c)
+        .setVrf(vrf)
+        .setName(name)
+        .setAddress(ConcreteInterfaceAddress.create(ip, 31))
+        .setOspfSettings(ospfSettings(area, false))
+        .build();
+    getOrCreateArea(vrf.getOspfProcesses().get("1"), area).addInterface(name);
+  }
+
+  private OspfArea getOrCreateArea(OspfProcess process, long area) {
+    OspfArea ospfArea = process.getAreas().get(area);
+    return ospfArea != null
+        ? ospfArea
+        : _nf.ospfAreaBuilder().setNumber(area).setOspfProcess(process).build();
+  }
+
+  /** Initializes the OSPF processes of every router and runs {@link OspfSpf} over them. */
+  private Map<String, List<OspfIntraAreaRoute>> computeIntraAreaRoutes() {
+    NetworkConfigurations nc = NetworkConfigurations.of(_configs);
+    OspfTopologyUtils.initNeighborConfigs(nc);
+    OspfTopology ospfTopology = computeOspfTopology(nc, synthesizeL3Topology(_configs));
+    TopologyContext ctx = TopologyContext.builder().setOspfTopology(ospfTopology).build();
+    Map<String, Node> nodes = new HashMap<>();
+    _configs.forEach(
+        (hostname, c) -> {
+          Node node = new Node(c);
+          node.getVirtualRouters().forEach(vr -> vr.initForIgpComputation(ctx));
+          nodes.put(hostname, node);
+        });
+    Map<OspfRoutingProcess, List<OspfIntraAreaRoute>> routes =
+        OspfSpf.computeIntraAreaRoutes(nodes, ospfTopology);
+    ImmutableMap.Builder<String, List<OspfIntraAreaRoute>> byHostname = ImmutableMap.builder();
+    nodes.forEach(
+        (hostname, node) -> {
+          OspfRoutingProcess process =
+              node.getVirtualRouterOrThrow(DEFAULT_VRF_NAME).getOspfProcesses().get("1");
+          byHostname.put(hostname, routes.getOrDefault(process, ImmutableList.of()));
+        });
+    return byHostname.build();
+  }
+
+  private static List<OspfIntraAreaRoute> routesTo(
+      List<OspfIntraAreaRoute> routes, Prefix prefix) {
+    return routes.stream()
+        .filter(r -> r.getNetwork().equals(prefix))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  @Test
+  public void testEqualCostPaths() {
+    List<OspfIntraAreaRoute> r1Routes = computeIntraAreaRoutes().get("r1");
+    assertThat(
+        routesTo(r1Routes, loopback(4)),
+        containsInAnyOrder(
+            allOf(
+                hasMetric(3L),
+                hasAdministrativeCost(OSPF_ADMIN),
+                hasNextHop(NextHopInterface.of("to-r2", Ip.parse("10.0.12.1")))),
+            allOf(
+                hasMetric(3L),
+                hasAdministrativeCost(OSPF_ADMIN),
+                hasNextHop(NextHopInterface.of("to-r3", Ip.parse("10.0.13.1"))))));
+  }
+
+  @Test
+  public void testShortestPathOnly() {
+    // r4 also originates 10.0.24.0/31, but one hop further away than r2
+    assertThat(
+        routesTo(computeIntraAreaRoutes().get("r1"), Prefix.parse("10.0.24.0/31")),
+        contains(
+            allOf(
+                hasMetric(2L), hasNextHop(NextHopInterface.of("to-r2", Ip.parse("10.0.12.1"))))));
+  }
+
+  @Test
+  public void testOtherAreasAndUnreachableRouters() {
+    Map<String, List<OspfIntraAreaRoute>> routes = computeIntraAreaRoutes();
+    List<OspfIntraAreaRoute> r1Routes = routes.get("r1");
+    // own prefixes are left to the process itself
+    assertThat(routesTo(r1Routes, loopback(1)), empty());
+    // area 1 is not attached to r1
+    assertThat(routesTo(r1Routes, loopback(5)), empty());
+    assertThat(routesTo(r1Routes, Prefix.parse("10.0.45.0/31")), empty());
+    // r6 has no neighbors
+    assertThat(routesTo(r1Routes, loopback(6)), empty());
+    assertThat(routes.get("r6"), empty());
+
+    // the area border router learns area 1 routes
+    assertThat(
+        routesTo(routes.get("r4"), loopback(5)),
+        contains(
+            allOf(
+                hasMetric(2L), hasNextHop(NextHopInterface.of("to-r5", Ip.parse("10.0.45.1"))))));
+  }
+
+  @Test
+  public void testMaxMetricTransitLinks() {
+    OspfProcess r2Process = _configs.get("r2").getDefaultVrf().getOspfProcesses().get("1");
+    r2Process.setMaxMetricTransitLinks(65535L);
+    Map<String, List<OspfIntraAreaRoute>> routes = computeIntraAreaRoutes();
+
+    // r2 advertises its transit links at max metric, so r1 avoids it
+    assertThat(
+        routesTo(routes.get("r1"), loopback(4)),
+        contains(
+            allOf(
+                hasMetric(3L), hasNextHop(NextHopInterface.of("to-r3", Ip.parse("10.0.13.1"))))));
+    // r2 itself still uses the direct link
+    assertThat(
+        routesTo(routes.get("r2"), loopback(4)),
+        contains(
+            allOf(
+                hasMetric(65536L),
+                hasNextHop(NextHopInterface.of("to-r4", Ip.parse("10.0.24.1"))))));
+  }
+}
@@ -11,6 +11,9 @@ import static org.batfish.datamodel.ospf.OspfAreaSummary.SummaryRouteBehavior.NO
 import static org.batfish.datamodel.ospf.OspfTopologyUtils.computeOspfTopology;
 import static org.batfish.dataplane.ibdp.TestUtils.assertNoRoute;
 import static org.batfish.dataplane.ibdp.TestUtils.assertRoute;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedMap;
@@ -21,6 +24,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import javax.annotation.Nullable;
+import org.batfish.common.plugin.DataPlanePlugin.ComputeDataPlaneResult;
 import org.batfish.common.topology.IpOwnersBaseImpl;
 import org.batfish.common.topology.L3Adjacencies;
 import org.batfish.common.topology.TopologyUtil;
@@ -43,6 +47,7 @@ import org.batfish.datamodel.RoutingProtocol;
 import org.batfish.datamodel.StaticRoute;
 import org.batfish.datamodel.Topology;
 import org.batfish.datamodel.Vrf;
+import org.batfish.datamodel.answers.IncrementalBdpAnswerElement;
 import org.batfish.datamodel.ospf.NssaSettings;
 import org.batfish.datamodel.ospf.OspfArea;
 import org.batfish.datamodel.ospf.OspfAreaSummary;
@@ -172,6 +177,74 @@ public class OspfTest {
       Long maxMetricTransitLinks,
       @Nullable SummaryRouteBehavior summaryR1L0Behavior,
       Long summarizeR1L0Metric) {
+    return getOspfRoutes(
+        areaA,
+        areaB,
+        areaC,
+        areaD,
+        areaE,
+        areaF,
+        areaG,
+        maxMetricExternalNetworks,
+        maxMetricStubNetworks,
+        maxMetricSummaryNetworks,
+        maxMetricTransitLinks,
+        summaryR1L0Behavior,
+        summarizeR1L0Metric,
+        new IncrementalDataPlaneSettings());
+  }
+
+  private static SortedMap<String, SortedMap<String, Set<AbstractRoute>>> getOspfRoutes(
+      long areaA,
+      long areaB,
+      long areaC,
+      long areaD,
+      long areaE,
+      long areaF,
+      long areaG,
+      Long maxMetricExternalNetworks,
+      Long maxMetricStubNetworks,
+      Long maxMetricSummaryNetworks,
+      Long maxMetricTransitLinks,
+      @Nullable SummaryRouteBehavior summaryR1L0Behavior,
+      Long summarizeR1L0Metric,
+      IncrementalDataPlaneSettings settings) {
+    return IncrementalBdpEngine.getRoutes(
+        (IncrementalDataPlane)
+            computeOspfDataPlane(
+                    areaA,
+                    areaB,
+                    areaC,
+                    areaD,
+                    areaE,
+                    areaF,
+                    areaG,
+                    maxMetricExternalNetworks,
+                    maxMetricStubNetworks,
+                    maxMetricSummaryNetworks,
+                    maxMetricTransitLinks,
+                    summaryR1L0Behavior,
+                    summarizeR1L0Metric,
+                    settings)
+                ._dataPlane);
+  }
+
+  /** Computes the data plane of the network described at {@link #getOspfRoutes}. */
+  private static ComputeDataPlaneResult computeOspfDataPlane(
+      long areaA,
+      long areaB,
+      long areaC,
+      long areaD,
+      long areaE,
+      long areaF,
+      long areaG,
+      Long maxMetricExternalNetworks,
+      Long maxMetricStubNetworks,
+      Long maxMetricSummaryNetworks,
+      Long maxMetricTransitLinks,
+      @Nullable SummaryRouteBehavior summaryR1L0Behavior,
+      Long summarizeR1L0Metric,
+      IncrementalDataPlaneSettings settings) {
 
     String l0Name = "Loopback0";
     String l1Name = "Loopback1";
@@ -379,7 +452,7 @@ public class OspfTest {
             .put(c3.getHostname(), c3)
             .put(c4.getHostname(), c4)
             .build();
-    IncrementalBdpEngine engine = new IncrementalBdpEngine(new IncrementalDataPlaneSettings());
+    IncrementalBdpEngine engine = new IncrementalBdpEngine(settings);
     OspfTopologyUtils.initNeighborConfigs(NetworkConfigurations.of(configurations));
     Topology topology = TopologyUtil.synthesizeL3Topology(configurations);
     TopologyContext topologyContext =
@@ -388,16 +461,11 @@ public class OspfTest {
             .setOspfTopology(
                 computeOspfTopology(NetworkConfigurations.of(configurations), topology))
             .build();
-    IncrementalDataPlane dp =
-        (IncrementalDataPlane)
-            engine.computeDataPlane(
-                    configurations,
-                    topologyContext,
-                    Collections.emptySet(),
-                    new TestIpOwners(configurations, topologyContext.getL3Adjacencies()))
-                ._dataPlane;
-
-    return IncrementalBdpEngine.getRoutes(dp);
+    return engine.computeDataPlane(
+        configurations,
+        topologyContext,
+        Collections.emptySet(),
+        new TestIpOwners(configurations, topologyContext.getL3Adjacencies()));
   }
 
   /**
@@ -689,6 +757,81 @@ public class OspfTest {
     assertRoute(routesByNode, OSPF, C4_NAME, C2_E2_3_ADDRESS, 2L);
   }
 
+  @Test
+  public void testOspfLinkStateMatchesIterative() {
+    IncrementalDataPlaneSettings linkState = new IncrementalDataPlaneSettings();
+    linkState.getConfig().setProperty(IncrementalDataPlaneSettings.PROP_OSPF_LINK_STATE, true);
+    // single area, with max-metric
+    assertThat(
+        getOspfRoutes(
+            0L,
+            0L,
+            0L,
+            0L,
+            0L,
+            0L,
+            0L,
+            MAX_METRIC_EXTERNAL_NETWORKS,
+            MAX_METRIC_STUB_NETWORKS,
+            null,
+            MAX_METRIC_TRANSIT_LINKS,
+            null,
+            null,
+            linkState),
+        equalTo(
+            getOspfRoutes(
+                0L,
+                0L,
+                0L,
+                0L,
+                0L,
+                0L,
+                0L,
+                MAX_METRIC_EXTERNAL_NETWORKS,
+                MAX_METRIC_STUB_NETWORKS,
+                null,
+                MAX_METRIC_TRANSIT_LINKS,
+                null,
+                null)));
+    // multiple areas, so intra-area routes mix with inter-area routes
+    assertThat(
+        getOspfRoutes(1L, 1L, 0L, 0L, 0L, 2L, 2L, null, null, null, null, null, null, linkState),
+        equalTo(getOspfRoutes(1L, 1L, 0L, 0L, 0L, 2L, 2L, null, null, null, null, null, null)));
+  }
+
+  @Test
+  public void testOspfLinkStateTakesFewerIterations() {
+    IncrementalDataPlaneSettings linkState = new IncrementalDataPlaneSettings();
+    linkState.getConfig().setProperty(IncrementalDataPlaneSettings.PROP_OSPF_LINK_STATE, true);
+    IncrementalBdpAnswerElement iterative =
+        (IncrementalBdpAnswerElement)
+            computeOspfDataPlane(
+                    0L,
+                    0L,
+                    0L,
+                    0L,
+                    0L,
+                    0L,
+                    0L,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    new IncrementalDataPlaneSettings())
+                ._answerElement;
+    IncrementalBdpAnswerElement seeded =
+        (IncrementalBdpAnswerElement)
+            computeOspfDataPlane(
+                    0L, 0L, 0L, 0L, 0L, 0L, 0L, null, null, null, null, null, null, linkState)
+                ._answerElement;
+
+    // Message passing needs an iteration per hop down the chain; SPF seeds every intra-area route
+    assertThat(
+        seeded.getOspfInternalIterations(), lessThan(iterative.getOspfInternalIterations()));
+  }
+
   @Test
   public void testOspfArea0MaxMetricTransitAndStub() {
     SortedMap<String, SortedMap<String, Set<AbstractRoute>>> routesByNode =
@@ -0,0 +1,63 @@
+package org.batfish.dataplane.ibdp;
+
+import static org.batfish.dataplane.ibdp.PrefixTracer.FILTERED_IN;
+import static org.batfish.dataplane.ibdp.PrefixTracer.RECEIVED;
+import static org.batfish.dataplane.ibdp.PrefixTracer.SENT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.SerializationUtils;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.Prefix;
+import org.junit.Test;
+
+/** Tests of {@link PrefixTracingSummary}. */
+public final class PrefixTracingSummaryTest {
+  private static final Prefix P1 = Prefix.parse("1.1.1.0/24");
+  private static final Prefix P2 = Prefix.parse("1.1.1.0/25");
+  private static final Prefix P3 = Prefix.parse("255.255.255.255/32");
+
+  private static final Map<Prefix, Map<String, Set<String>>> SUMMARY =
+      ImmutableMap.of(
+          P3,
+          ImmutableMap.of(SENT, ImmutableSet.of("n2", "n1")),
+          P1,
+          ImmutableMap.of(SENT, ImmutableSet.of("n1"), RECEIVED, ImmutableSet.of("n3", "n1")),
+          P2,
+          ImmutableMap.of(FILTERED_IN, ImmutableSet.of("n2")));
+
+  @Test
+  public void testOf() {
+    Map<Prefix, Map<String, Set<String>>> compact = PrefixTracingSummary.of(SUMMARY);
+    assertThat(compact, equalTo(SUMMARY));
+    assertThat(compact.keySet(), contains(P1, P2, P3));
+    assertThat(compact.get(P1), equalTo(SUMMARY.get(P1)));
+    // decoded neighbors are in hostname order
+    assertThat(compact.get(P1).get(RECEIVED), contains("n1", "n3"));
+    assertThat(compact.get(P3), equalTo(SUMMARY.get(P3)));
+    assertThat(compact.get(Prefix.create(Ip.parse("1.1.1.0"), 26)), nullValue());
+  }
+
+  @Test
+  public void testOfEmpty() {
+    assertThat(PrefixTracingSummary.of(ImmutableMap.of()), anEmptyMap());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfUnknownAction() {
+    PrefixTracingSummary.of(ImmutableMap.of(P1, ImmutableMap.of("bogus", ImmutableSet.of("n1"))));
+  }
+
+  @Test
+  public void testSerialization() {
+    Map<Prefix, Map<String, Set<String>>> compact = PrefixTracingSummary.of(SUMMARY);
+    assertThat(SerializationUtils.clone((PrefixTracingSummary) compact), equalTo(SUMMARY));
+  }
+}
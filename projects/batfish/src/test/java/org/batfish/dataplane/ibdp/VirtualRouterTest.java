@@ -20,6 +20,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -50,6 +51,7 @@ import org.batfish.datamodel.ConnectedRoute;
 import org.batfish.datamodel.ConnectedRouteMetadata;
 import org.batfish.datamodel.EigrpExternalRoute;
 import org.batfish.datamodel.EigrpInternalRoute;
+import org.batfish.datamodel.Fib;
 import org.batfish.datamodel.GeneratedRoute;
 import org.batfish.datamodel.Interface;
 import org.batfish.datamodel.Ip;
@@ -251,6 +253,37 @@ public class VirtualRouterTest {
     assertThat(vr.getMainRib().getUnannotatedRoutes(), not(hasItem(dependentRoute)));
   }
 
+  /** Test that {@link VirtualRouter#computeFib()} only rebuilds the FIB if the main RIB changed. */
+  @Test
+  public void testComputeFibReusedIfMainRibUnchanged() {
+    VirtualRouter vr = makeIosVirtualRouter(null);
+    addInterfaces(vr.getConfiguration(), exampleInterfaceAddresses);
+    vr.initRibs();
+
+    assertTrue(vr.computeFib());
+    Fib fib = vr.getFib();
+    assertFalse(vr.computeFib());
+    assertThat(vr.getFib(), sameInstance(fib));
+
+    // adding and then removing a route leaves the main RIB unchanged
+    AnnotatedRoute<AbstractRoute> route =
+        new AnnotatedRoute<>(
+            StaticRoute.testBuilder()
+                .setNetwork(Prefix.parse("2.2.2.2/32"))
+                .setNextHopIp(Ip.parse("1.1.1.1"))
+                .setAdministrativeCost(1)
+                .build(),
+            DEFAULT_VRF_NAME);
+    vr.getMainRib().mergeRoute(route);
+    vr.getMainRib().removeRoute(route);
+    assertFalse(vr.computeFib());
+    assertThat(vr.getFib(), sameInstance(fib));
+
+    vr.getMainRib().mergeRoute(route);
+    assertTrue(vr.computeFib());
+    assertThat(vr.getFib(), not(sameInstance(fib)));
+  }
+
   /** Check that initialization of Connected RIB is as expected */
   @Test
   public void testInitConnectedRib() {
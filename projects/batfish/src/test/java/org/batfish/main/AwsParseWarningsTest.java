@@ -2,6 +2,7 @@ package org.batfish.main;
 
 import static org.batfish.common.BfConsts.RELPATH_AWS_CONFIGS_FILE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
 import static org.hamcrest.Matchers.contains;
 
 import com.google.common.collect.ImmutableMap;
@@ -40,4 +41,46 @@ public class AwsParseWarningsTest {
             new Warning(
                 String.format("Unrecognized element 'invalidKey' in AWS file %s", _key), "AWS")));
   }
+
+  @Test
+  public void testEmptyInvalidKeyNoWarning() {
+    Batfish.parseAwsConfigurations(ImmutableMap.of(_key, "{ \"invalidKey\": [] }"), _pvcae);
+    assertThat(_pvcae.getWarnings(), anEmptyMap());
+  }
+
+  @Test
+  public void testNotAListWarning() {
+    Batfish.parseAwsConfigurations(
+        ImmutableMap.of(_key, "{ \"Vpcs\": { \"a\": [1] }, \"invalidKey\": [1, {}] }"),
+        _pvcae);
+    assertThat(
+        _pvcae.getWarnings().get(RELPATH_AWS_CONFIGS_FILE).getRedFlagWarnings(),
+        contains(
+            new Warning(
+                String.format(
+                    "Unexpected JSON for element 'Vpcs' in AWS file %s. Expected a list.", _key),
+                "AWS")));
+    // keys after the unexpected element are still read
+    assertThat(
+        _pvcae.getWarnings().get(RELPATH_AWS_CONFIGS_FILE).getUnimplementedWarnings(),
+        contains(
+            new Warning(
+                String.format("Unrecognized element 'invalidKey' in AWS file %s", _key), "AWS")));
+  }
+
+  @Test
+  public void testWarningsFromAllRegions() {
+    String key1 = Paths.get(BfConsts.RELPATH_AWS_CONFIGS_DIR, "region1", "file.json").toString();
+    String key2 = Paths.get(BfConsts.RELPATH_AWS_CONFIGS_DIR, "region2", "file.json").toString();
+    Batfish.parseAwsConfigurations(
+        ImmutableMap.of(key1, "{ \"invalidKey\": [1] }", key2, "{"), _pvcae);
+    assertThat(
+        _pvcae.getWarnings().get(RELPATH_AWS_CONFIGS_FILE).getUnimplementedWarnings(),
+        contains(
+            new Warning(
+                String.format("Unrecognized element 'invalidKey' in AWS file %s", key1), "AWS")));
+    assertThat(
+        _pvcae.getWarnings().get(RELPATH_AWS_CONFIGS_FILE).getRedFlagWarnings(),
+        contains(new Warning(String.format("Unexpected content in AWS file %s", key2), "AWS")));
+  }
 }
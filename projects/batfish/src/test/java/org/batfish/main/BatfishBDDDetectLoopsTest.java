@@ -57,4 +57,13 @@ public class BatfishBDDDetectLoopsTest {
             .collect(Collectors.toSet());
     assertThat(dispositions, equalTo(ImmutableSet.of(LOOP)));
   }
+
+  @Test
+  public void testLoopsPartitioned() throws IOException {
+    initNetwork(true);
+    NetworkSnapshot snapshot = _batfish.getSnapshot();
+    Set<Flow> flows = _batfish.bddLoopDetection(snapshot);
+    assertThat(_batfish.bddLoopDetection(snapshot, 2), equalTo(flows));
+    assertThat(_batfish.bddLoopDetection(snapshot, 100), equalTo(flows));
+  }
 }
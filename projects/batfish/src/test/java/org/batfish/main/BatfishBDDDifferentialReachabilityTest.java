@@ -23,6 +23,8 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertTrue;
@@ -38,6 +40,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.stream.Stream;
+import org.batfish.bddreachability.DifferentialReachabilityScope;
 import org.batfish.common.plugin.IBatfish;
 import org.batfish.common.util.TracePruner;
 import org.batfish.datamodel.ConcreteInterfaceAddress;
@@ -59,6 +62,7 @@ import org.batfish.question.differentialreachability.DifferentialReachabilityRes
 import org.batfish.question.loop.LoopNetwork;
 import org.batfish.specifier.InferFromLocationIpSpaceAssignmentSpecifier;
 import org.batfish.specifier.LocationSpecifier;
+import org.batfish.storage.ConfigurationFingerprints;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -70,6 +74,7 @@ public class BatfishBDDDifferentialReachabilityTest {
   private static final Ip DST_IP = Ip.parse("3.3.3.3");
   private static final String NODE1 = "node1";
   private static final String NODE2 = "node2";
+  private static final String NODE3 = "node3";
   private static final String PHYSICAL = "FastEthernet0/0";
   private static final ConcreteInterfaceAddress NODE1_PHYSICAL_NETWORK =
       ConcreteInterfaceAddress.parse("2.0.0.1/8");
@@ -235,6 +240,72 @@ public class BatfishBDDDifferentialReachabilityTest {
     checkDispositions(batfish, flows, EXITS_NETWORK);
   }
 
+  /** Like {@link ExitsNetworkNetworkGenerator}, plus an unchanged node that node1 cannot reach. */
+  class UnchangedNodeNetworkGenerator implements NetworkGenerator {
+    @Override
+    public SortedMap<String, Configuration> generateConfigs(boolean delta) {
+      Configuration node1 = new ExitsNetworkNetworkGenerator().generateConfigs(delta).get(NODE1);
+      Configuration node3 = _cb.setHostname(NODE3).build();
+      Vrf v3 = _vb.setOwner(node3).build();
+      _ib.setOwner(node3).setVrf(v3);
+      _ib.setName(PHYSICAL).setAddresses(ConcreteInterfaceAddress.parse("4.0.0.1/8")).build();
+      v3.setStaticRoutes(
+          ImmutableSortedSet.of(
+              StaticRoute.testBuilder()
+                  .setNetwork(DST_IP.toPrefix())
+                  .setNextHopInterface(PHYSICAL)
+                  .setAdministrativeCost(1)
+                  .build()));
+      return ImmutableSortedMap.of(NODE1, node1, NODE3, node3);
+    }
+  }
+
+  @Test
+  public void testUnchangedNodeNotAnalyzed() throws IOException {
+    Batfish batfish = initBatfish(new UnchangedNodeNetworkGenerator());
+    SortedMap<String, Configuration> baseConfigs =
+        batfish.loadConfigurations(batfish.getSnapshot());
+    SortedMap<String, Configuration> deltaConfigs =
+        batfish.loadConfigurations(batfish.getReferenceSnapshot());
+    DifferentialReachabilityScope scope =
+        DifferentialReachabilityScope.compute(
+            baseConfigs,
+            ConfigurationFingerprints.fingerprints(baseConfigs),
+            batfish.loadDataPlane(batfish.getSnapshot()),
+            deltaConfigs,
+            ConfigurationFingerprints.fingerprints(deltaConfigs),
+            batfish.loadDataPlane(batfish.getReferenceSnapshot()));
+    // node1 is changed; node3 is unchanged and cannot reach node1, so it is pruned.
+    assertThat(scope.getChangedNodes(), contains(NODE1));
+    assertThat(scope.getAffectedNodes(), contains(NODE1));
+
+    DifferentialReachabilityResult differentialReachabilityResult =
+        getResult(batfish, parameters(batfish, ImmutableSet.of(FlowDisposition.EXITS_NETWORK)));
+    assertThat(differentialReachabilityResult.getIncreasedReachabilityFlows(), empty());
+    Set<Flow> flows = differentialReachabilityResult.getDecreasedReachabilityFlows();
+    assertThat(flows, hasSize(2));
+    assertThat(flows, everyItem(hasIngressNode(NODE1)));
+    checkDispositions(batfish, flows, EXITS_NETWORK);
+  }
+
+  @Test
+  public void testPruningPreservesAnswer() throws IOException {
+    Batfish batfish = initBatfish(new UnchangedNodeNetworkGenerator());
+    DifferentialReachabilityParameters params =
+        parameters(batfish, ImmutableSet.of(FlowDisposition.EXITS_NETWORK));
+    DifferentialReachabilityResult pruned =
+        batfish.bddDifferentialReachability(
+            batfish.getSnapshot(), batfish.getReferenceSnapshot(), params, true);
+    DifferentialReachabilityResult unpruned =
+        batfish.bddDifferentialReachability(
+            batfish.getSnapshot(), batfish.getReferenceSnapshot(), params, false);
+    assertThat(pruned.getDecreasedReachabilityFlows(), hasSize(2));
+    assertThat(
+        pruned.getDecreasedReachabilityFlows(), equalTo(unpruned.getDecreasedReachabilityFlows()));
+    assertThat(
+        pruned.getIncreasedReachabilityFlows(), equalTo(unpruned.getIncreasedReachabilityFlows()));
+  }
+
   @Test
   public void testDeliveredToSubnet() throws IOException {
     Batfish batfish = initBatfish(new ExitsNetworkNetworkGenerator());
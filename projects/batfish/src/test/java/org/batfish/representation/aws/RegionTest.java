@@ -14,15 +14,20 @@ import static org.batfish.representation.aws.Utils.traceElementForDstPorts;
 import static org.batfish.representation.aws.Utils.traceElementForProtocol;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.anEmptyMap;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -109,6 +114,65 @@ public class RegionTest {
     assertTrue(warning.getText().startsWith("Unrecognized element"));
   }
 
+  private static final String VPC_1 =
+      "{\"OwnerId\": \"o\", \"VpcId\": \"vpc-1\","
+          + " \"CidrBlockAssociationSet\": [{\"CidrBlock\": \"10.0.0.0/16\"}]}";
+
+  private static void addConfigElements(
+      Region region, String text, ParseVendorConfigurationAnswerElement pvcae) throws IOException {
+    try (JsonParser parser = BatfishObjectMapper.mapper().createParser(text)) {
+      region.addConfigElements(parser, "file", pvcae);
+    }
+  }
+
+  /** Test that a malformed file adds none of its elements, including those before the error */
+  @Test
+  public void testAddConfigElementsMalformedFile() {
+    ParseVendorConfigurationAnswerElement pvcae = new ParseVendorConfigurationAnswerElement();
+    Region region = new Region("r1");
+
+    try {
+      addConfigElements(region, "{ \"Vpcs\": [" + VPC_1 + ", {", pvcae);
+      fail("Expected a JsonParseException");
+    } catch (IOException e) {
+      assertThat(e, instanceOf(JsonParseException.class));
+    }
+    assertThat(region.getVpcs(), anEmptyMap());
+  }
+
+  /** Test that an element that cannot be bound is skipped with a warning */
+  @Test
+  public void testAddConfigElementsBadElement() throws IOException {
+    ParseVendorConfigurationAnswerElement pvcae = new ParseVendorConfigurationAnswerElement();
+    Region region = new Region("r1");
+    String badVpc =
+        "{\"OwnerId\": \"o\", \"VpcId\": \"vpc-0\", \"CidrBlockAssociationSet\": 5,"
+            + " \"Tags\": []}";
+
+    addConfigElements(region, "{ \"Vpcs\": [" + badVpc + ", " + VPC_1 + "] }", pvcae);
+
+    assertThat(region.getVpcs().keySet(), contains("vpc-1"));
+    Warning warning =
+        Iterables.getOnlyElement(
+            Iterables.getOnlyElement(pvcae.getWarnings().values()).getRedFlagWarnings());
+    assertTrue(warning.getText().startsWith("Exception while parsing 'Vpcs'"));
+  }
+
+  /** Test that elements not in the active state are skipped without binding them */
+  @Test
+  public void testAddConfigElementsInactiveElement() throws IOException {
+    ParseVendorConfigurationAnswerElement pvcae = new ParseVendorConfigurationAnswerElement();
+    Region region = new Region("r1");
+
+    addConfigElements(
+        region,
+        "{ \"VpcPeeringConnections\": [{\"Status\": {\"Code\": \"deleted\"}}] }",
+        pvcae);
+
+    assertThat(region.getVpcPeeringConnections(), anEmptyMap());
+    assertTrue(pvcae.getWarnings().isEmpty());
+  }
+
   private static Region createTestRegion() {
     Region region = new Region("test");
 
@@ -4,8 +4,11 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.batfish.common.util.Resources.readResource;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
@@ -20,6 +23,7 @@ import org.batfish.datamodel.isp_configuration.BorderInterfaceInfo;
 import org.batfish.datamodel.isp_configuration.IspAnnouncement;
 import org.batfish.datamodel.isp_configuration.IspConfiguration;
 import org.batfish.datamodel.isp_configuration.IspNodeInfo;
+import org.batfish.representation.azure.AzureConfiguration.ParsedResource;
 import org.junit.Test;
 
 public class AzureConfigurationTest {
@@ -45,6 +49,34 @@ public class AzureConfigurationTest {
         azureConfiguration.addOrGetRegion("westeurope").getPublicIpAddresses().get("testId"));
   }
 
+  @Test
+  public void testParseResource() throws IOException {
+    AzureConfiguration azureConfiguration = new AzureConfiguration();
+    ParseVendorConfigurationAnswerElement pvcae = new ParseVendorConfigurationAnswerElement();
+
+    String text = readResource("org/batfish/representation/azure/PublicIpAddressTest.json", UTF_8);
+    ParsedResource resource = AzureConfiguration.parseResource(text);
+
+    assertThat(resource.getLocation(), equalTo("westeurope"));
+    assertThat(resource.getResource(), instanceOf(PublicIpAddress.class));
+    Region region = azureConfiguration.addOrGetRegion(resource, "publicIp", pvcae);
+    assertNotNull(region);
+    region.addConfigElement(resource, "publicIp", pvcae);
+    assertNotNull(region.getPublicIpAddresses().get("testId"));
+    assertTrue(pvcae.getWarnings().isEmpty());
+  }
+
+  @Test
+  public void testParseResource_unknownType() throws IOException {
+    ParsedResource resource =
+        AzureConfiguration.parseResource(
+            "{\"location\": \"westeurope\", \"properties\": {\"a\": [1]}, \"type\": \"t\"}");
+
+    assertThat(resource.getLocation(), equalTo("westeurope"));
+    assertThat(resource.getType(), equalTo("t"));
+    assertNull(resource.getResource());
+  }
+
   @Test
   public void testToVendorConfigurations_ispConfiguration() throws IOException {
 
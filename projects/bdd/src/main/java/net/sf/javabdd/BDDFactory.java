@@ -31,9 +31,13 @@ package net.sf.javabdd;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.collect.ImmutableSet;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -320,7 +324,8 @@ public abstract class BDDFactory {
    * i.e. the variable must be true or must be false). Does not consume any inputs, and returns a
    * fresh BDD.
    *
-   * <p>Precondition: The variables' levels must be strictly increasing.
+   * <p>Precondition: The variables' levels must be strictly increasing, unless {@link
+   * #setAutoReorder(boolean) automatic reordering} is enabled.
    */
   public abstract BDD andLiterals(BDD... literals);
 
@@ -411,7 +416,7 @@ public abstract class BDDFactory {
    * Returns the condition that exactly one of the given variables is true.
    *
    * <p>Precondition: The inputs must have {@link BDD#isVar()} true and levels should be strictly
-   * increasing.
+   * increasing, unless {@link #setAutoReorder(boolean) automatic reordering} is enabled.
    */
   public abstract BDD onehotVars(BDD... variables);
 
@@ -537,6 +542,36 @@ public abstract class BDDFactory {
    */
   public abstract void setVarOrder(int[] neworder);
 
+  /**
+   * Reorders the variables using sifting: each variable block (see {@link #addVarBlock(int, int)})
+   * in turn is moved through every position in the order, and left at the position that minimizes
+   * the number of live nodes. Existing {@link BDD BDDs} and {@link BDDPairing BDDPairings} remain
+   * valid.
+   *
+   * <p>Compare to bdd_reorder(BDD_REORDER_SIFT).
+   */
+  public abstract void reorder();
+
+  /**
+   * Declares that variables {@code first} through {@code last} (inclusive) form a block: {@link
+   * #reorder() reordering} moves them together and never changes their relative order. The
+   * variables must currently occupy consecutive levels, and must not belong to another block.
+   *
+   * <p>Compare to bdd_intaddvarblock(first, last, fixed = true).
+   */
+  public abstract void addVarBlock(int first, int last);
+
+  /**
+   * Enables or disables automatic {@link #reorder() reordering}. When enabled, the factory reorders
+   * the variables when the node table grows and the number of live nodes has at least doubled since
+   * the last reordering. Reordering only happens between operations, never in the middle of one.
+   *
+   * <p>Disabled by default. Enabling it relaxes the level-order preconditions of {@link
+   * #andLiterals(BDD...)} and {@link #onehotVars(BDD...)}, since callers can no longer know the
+   * current order.
+   */
+  public abstract void setAutoReorder(boolean enabled);
+
   /**
    * Gets the current variable order.
    *
@@ -634,6 +669,205 @@ public abstract class BDDFactory {
    */
   public abstract int duplicateVar(int var);
 
+  /** ** BDD EXPORT *** */
+
+  /** Identifies the binary format written by {@link #save(DataOutput, List)}. */
+  private static final int EXPORT_MAGIC = 0x4A424444; // "JBDD"
+
+  private static final int EXPORT_VERSION = 1;
+
+  /**
+   * Writes {@code bdds} to {@code out} in a compact binary format that {@link #load(DataInput)} can
+   * read back into any factory with at least as many variables, e.g. in another process.
+   *
+   * <p>The BDDs are written as a single node DAG, so nodes they share are written once. Each node
+   * is its variable and references to its children, which are always written before it. References
+   * are encoded relative to the referring node as variable-length integers, so the typical node
+   * takes a few bytes. The format also records the number of variables and the variable order, to
+   * validate the input on load.
+   */
+  public void save(DataOutput out, List<BDD> bdds) throws IOException {
+    // node -> id. 0 and 1 are the constants, nodes are numbered from 2 in the order written.
+    Map<BDD, Integer> ids = new HashMap<>();
+    List<BDD> nodes = new ArrayList<>();
+    int[] roots = new int[bdds.size()];
+    for (int i = 0; i < roots.length; i++) {
+      roots[i] = numberNodes(bdds.get(i).id(), ids, nodes);
+    }
+
+    out.writeInt(EXPORT_MAGIC);
+    out.writeByte(EXPORT_VERSION);
+    int varNum = varNum();
+    writeVarInt(out, varNum);
+    for (int level = 0; level < varNum; level++) {
+      writeVarInt(out, level2Var(level));
+    }
+    writeVarInt(out, nodes.size());
+    for (int i = 0; i < nodes.size(); i++) {
+      BDD node = nodes.get(i);
+      int id = i + 2;
+      BDD low = node.low();
+      BDD high = node.high();
+      writeVarInt(out, node.var());
+      writeVarInt(out, encodeReference(id, nodeId(low, ids)));
+      writeVarInt(out, encodeReference(id, nodeId(high, ids)));
+      low.free();
+      high.free();
+    }
+    writeVarInt(out, roots.length);
+    for (int root : roots) {
+      writeVarInt(out, root);
+    }
+    ids.keySet().forEach(BDD::free);
+  }
+
+  /**
+   * Reads BDDs written by {@link #save(DataOutput, List)}, in the order they were written.
+   *
+   * <p>Variables are identified by number, so the BDDs must have been saved from a factory whose
+   * variables mean the same thing, e.g. one allocated the same way. The variable order may differ,
+   * though loading is fastest when it does not.
+   *
+   * @throws BDDException if the input is not a valid export, or uses more variables than this
+   *     factory has
+   */
+  public List<BDD> load(DataInput in) throws IOException {
+    if (in.readInt() != EXPORT_MAGIC) {
+      throw new BDDException("Input is not a BDD export");
+    }
+    int version = in.readUnsignedByte();
+    if (version != EXPORT_VERSION) {
+      throw new BDDException("Unsupported BDD export version " + version);
+    }
+    int varNum = readVarInt(in);
+    if (varNum > varNum()) {
+      throw new BDDException(
+          String.format(
+              "BDD export uses %d variables, but the factory only has %d", varNum, varNum()));
+    }
+    int[] levels = new int[varNum];
+    Arrays.fill(levels, -1);
+    for (int level = 0; level < varNum; level++) {
+      int var = readVarInt(in);
+      if (var >= varNum || levels[var] != -1) {
+        throw new BDDException("Invalid variable order in BDD export");
+      }
+      levels[var] = level;
+    }
+
+    int numNodes = readVarInt(in);
+    BDD[] nodes = new BDD[numNodes + 2];
+    // level of each node, for validation. Constants are below every variable.
+    int[] nodeLevels = new int[numNodes + 2];
+    nodes[0] = zero();
+    nodes[1] = one();
+    nodeLevels[0] = varNum;
+    nodeLevels[1] = varNum;
+    try {
+      for (int id = 2; id < nodes.length; id++) {
+        int var = readVarInt(in);
+        int low = decodeReference(id, readVarInt(in));
+        int high = decodeReference(id, readVarInt(in));
+        if (var >= varNum
+            || levels[var] >= nodeLevels[low]
+            || levels[var] >= nodeLevels[high]
+            || low == high) {
+          throw new BDDException("Invalid node in BDD export");
+        }
+        BDD ithVar = ithVar(var);
+        nodes[id] = ithVar.ite(nodes[high], nodes[low]);
+        ithVar.free();
+        nodeLevels[id] = levels[var];
+      }
+
+      int numRoots = readVarInt(in);
+      List<BDD> result = new ArrayList<>(numRoots);
+      try {
+        for (int i = 0; i < numRoots; i++) {
+          int root = readVarInt(in);
+          if (root >= nodes.length) {
+            throw new BDDException("Invalid root in BDD export");
+          }
+          result.add(nodes[root].id());
+        }
+      } catch (IOException | RuntimeException e) {
+        // the caller never sees the roots read so far, so release them here
+        result.forEach(BDD::free);
+        throw e;
+      }
+      return result;
+    } finally {
+      for (BDD node : nodes) {
+        if (node != null) {
+          node.free();
+        }
+      }
+    }
+  }
+
+  /**
+   * Assigns ids to {@code node} and its descendants in post-order, taking ownership of {@code
+   * node}, and returns its id.
+   */
+  private static int numberNodes(BDD node, Map<BDD, Integer> ids, List<BDD> nodes) {
+    if (node.isZero() || node.isOne()) {
+      int id = node.isZero() ? 0 : 1;
+      node.free();
+      return id;
+    }
+    Integer id = ids.get(node);
+    if (id != null) {
+      node.free();
+      return id;
+    }
+    numberNodes(node.low(), ids, nodes);
+    numberNodes(node.high(), ids, nodes);
+    nodes.add(node);
+    id = nodes.size() + 1;
+    ids.put(node, id);
+    return id;
+  }
+
+  private static int nodeId(BDD node, Map<BDD, Integer> ids) {
+    return node.isZero() ? 0 : node.isOne() ? 1 : ids.get(node);
+  }
+
+  /** Encodes a reference to node {@code target} from node {@code source}, which comes after it. */
+  private static int encodeReference(int source, int target) {
+    return target < 2 ? target : 2 + (source - 1 - target);
+  }
+
+  private static int decodeReference(int source, int code) {
+    int target = code < 2 ? code : source - 1 - (code - 2);
+    if (target < 0 || target >= source) {
+      throw new BDDException("Invalid node reference in BDD export");
+    }
+    return target;
+  }
+
+  private static void writeVarInt(DataOutput out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private static int readVarInt(DataInput in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        if (value < 0) {
+          break;
+        }
+        return value;
+      }
+    }
+    throw new BDDException("Invalid integer in BDD export");
+  }
+
   /** ** BDD STATS *** */
 
   /**
@@ -736,6 +970,10 @@ public abstract class BDDFactory {
 
     public long time;
     public int usednum_before, usednum_after;
+    public long sumtime;
+    public int num;
+    /** Total number of nodes eliminated by all reorderings so far. */
+    public long sumgain;
 
     protected ReorderStats() {}
 
@@ -758,7 +996,13 @@ public abstract class BDDFactory {
       sb.append(gain());
       sb.append("% (");
       sb.append((float) time / 1000f);
-      sb.append(" sec)");
+      sb.append(" sec); ");
+      sb.append(num);
+      sb.append(" reorderings removed ");
+      sb.append(sumgain);
+      sb.append(" nodes in ");
+      sb.append((float) sumtime / 1000f);
+      sb.append(" sec total");
       return sb.toString();
     }
   }
@@ -873,6 +1117,43 @@ public abstract class BDDFactory {
     return cachestats;
   }
 
+  /** Stores statistics about the memory used by the node table and operator caches. */
+  public static class MemoryStats {
+    /** Number of nodes the node table can hold. */
+    public int nodes;
+    /** Number of nodes in use, including garbage not yet collected. */
+    public int usednodes;
+    /** Bytes allocated for the node table. */
+    public long nodeTableBytes;
+    /** Number of arrays the node table is split into. */
+    public int nodeTableChunks;
+    /** Total number of entries in all operator caches. */
+    public long cacheEntries;
+
+    protected MemoryStats() {}
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder();
+      sb.append("Node table: ");
+      sb.append(usednodes);
+      sb.append(" / ");
+      sb.append(nodes);
+      sb.append(" nodes used, ");
+      sb.append(nodeTableBytes >> 20);
+      sb.append(" MiB in ");
+      sb.append(nodeTableChunks);
+      sb.append(nodeTableChunks == 1 ? " chunk" : " chunks");
+      sb.append("; operator caches: ");
+      sb.append(cacheEntries);
+      sb.append(" entries");
+      return sb.toString();
+    }
+  }
+
+  /** Returns a snapshot of the memory used by this factory. */
+  public abstract MemoryStats getMemoryStats();
+
   // TODO: bdd_sizeprobe_hook
   // TODO: bdd_reorder_probe
 
@@ -1291,6 +1572,9 @@ public abstract class BDDFactory {
     } else {
       s.time = System.currentTimeMillis() - s.time;
       s.usednum_after = getNodeNum();
+      s.num++;
+      s.sumtime += s.time;
+      s.sumgain += s.usednum_before - s.usednum_after;
     }
     bdd_default_reohandler(b, s);
   }
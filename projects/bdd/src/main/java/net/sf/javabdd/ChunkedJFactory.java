@@ -0,0 +1,64 @@
+package net.sf.javabdd;
+
+import java.util.Arrays;
+
+/**
+ * A {@link JFactory} whose node table is stored in fixed-size chunks rather than one array. See
+ * {@link JFactory#initChunked(int, int)}.
+ *
+ * <p>This is a subclass so that the node accessors of the default factory stay plain array
+ * accesses.
+ */
+final class ChunkedJFactory extends JFactory {
+
+  private static final int NODE_CHUNK_BITS = 16;
+  private static final int NODE_CHUNK_SIZE = 1 << NODE_CHUNK_BITS; /* Nodes per chunk */
+  private static final int NODE_CHUNK_MASK = NODE_CHUNK_SIZE - 1;
+
+  /**
+   * The maximum number of nodes in a chunked node table. Only limited by node indices being ints.
+   */
+  private static final int MAX_CHUNKED_NODESIZE = Integer.MAX_VALUE - 1;
+
+  private int[][] _nodeChunks = new int[0][]; /* All of the bdd nodes */
+
+  ChunkedJFactory() {}
+
+  @Override
+  int maxNodeSize() {
+    return MAX_CHUNKED_NODESIZE;
+  }
+
+  @Override
+  int NODEGET(int node, int offset) {
+    return _nodeChunks[node >>> NODE_CHUNK_BITS][(node & NODE_CHUNK_MASK) * __node_size + offset];
+  }
+
+  @Override
+  void NODESET(int node, int offset, int val) {
+    _nodeChunks[node >>> NODE_CHUNK_BITS][(node & NODE_CHUNK_MASK) * __node_size + offset] = val;
+  }
+
+  /** Only allocates the missing chunks; existing nodes are never copied. */
+  @Override
+  void allocateNodes(int newsize) {
+    int numChunks = (int) (((long) newsize + NODE_CHUNK_SIZE - 1) >>> NODE_CHUNK_BITS);
+    int oldNumChunks = _nodeChunks.length;
+    if (numChunks > oldNumChunks) {
+      _nodeChunks = Arrays.copyOf(_nodeChunks, numChunks);
+      for (int i = oldNumChunks; i < numChunks; i++) {
+        _nodeChunks[i] = new int[NODE_CHUNK_SIZE * __node_size];
+      }
+    }
+  }
+
+  @Override
+  int nodeTableChunks() {
+    return _nodeChunks.length;
+  }
+
+  @Override
+  long nodeTableBytes() {
+    return (long) _nodeChunks.length * NODE_CHUNK_SIZE * __node_size * Integer.BYTES;
+  }
+}
@@ -40,12 +40,16 @@ import java.io.PrintStream;
 import java.io.Serial;
 import java.io.Serializable;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
@@ -113,6 +117,21 @@ public class JFactory extends BDDFactory implements Serializable {
     return f;
   }
 
+  /**
+   * Like {@link #init(int, int)}, but the node table is stored in fixed-size chunks rather than one
+   * array. Growing the table allocates new chunks instead of copying every node into a larger
+   * array, and the table can hold up to {@link Integer#MAX_VALUE} nodes rather than the {@code
+   * Integer.MAX_VALUE / 5} that fit in one array. Node access is slightly slower, so use this only
+   * for very large problems.
+   *
+   * @see ChunkedJFactory
+   */
+  public static BDDFactory initChunked(int nodenum, int cachesize) {
+    BDDFactory f = new ChunkedJFactory();
+    f.initialize(nodenum, cachesize);
+    return f;
+  }
+
   @Override
   public long runGC() {
     long nodenum = getNodeNum();
@@ -142,6 +161,7 @@ public class JFactory extends BDDFactory implements Serializable {
       ret._index = id;
       bdd_addref(id);
     }
+    checkAutoReorder();
     return ret;
   }
 
@@ -239,6 +259,7 @@ public class JFactory extends BDDFactory implements Serializable {
       bdd_delref(_index);
       bdd_addref(result);
       _index = result;
+      checkAutoReorder();
       return this;
     }
 
@@ -267,6 +288,7 @@ public class JFactory extends BDDFactory implements Serializable {
       }
       bdd_addref(result);
       _index = result;
+      checkAutoReorder();
       return this;
     }
 
@@ -313,6 +335,7 @@ public class JFactory extends BDDFactory implements Serializable {
         bdd_addref(result);
         _index = result;
       }
+      checkAutoReorder();
       return this;
     }
 
@@ -369,6 +392,7 @@ public class JFactory extends BDDFactory implements Serializable {
       }
       bdd_addref(a);
       _index = a;
+      checkAutoReorder();
       return this;
     }
 
@@ -421,6 +445,7 @@ public class JFactory extends BDDFactory implements Serializable {
       }
       bdd_addref(a);
       _index = a;
+      checkAutoReorder();
       return this;
     }
 
@@ -503,6 +528,7 @@ public class JFactory extends BDDFactory implements Serializable {
       bdd_delref(x);
       bdd_addref(y);
       _index = y;
+      checkAutoReorder();
       return this;
     }
 
@@ -565,7 +591,7 @@ public class JFactory extends BDDFactory implements Serializable {
   private static final int offset__high = 2;
   private static final int offset__hash = 3;
   private static final int offset__next = 4;
-  private static final int __node_size = 5;
+  static final int __node_size = 5;
 
   /**
    * The maximum number of BDD nodes that can {@link #bddnodesize} can ever be measured is the
@@ -573,102 +599,144 @@ public class JFactory extends BDDFactory implements Serializable {
    */
   private static final int MAX_NODESIZE = Integer.MAX_VALUE / __node_size;
 
+  /** The maximum number of nodes in the node table. */
+  int maxNodeSize() {
+    return MAX_NODESIZE;
+  }
+
+  /*
+   * The node table accessors below are overridden by ChunkedJFactory. As long as that class is not
+   * loaded, they compile to plain array accesses.
+   */
+
+  /** Returns the given field of the given node. */
+  int NODEGET(int node, int offset) {
+    return bddnodes[node * __node_size + offset];
+  }
+
+  /** Sets the given field of the given node. */
+  void NODESET(int node, int offset, int val) {
+    bddnodes[node * __node_size + offset] = val;
+  }
+
+  /** Makes the node table hold {@code newsize} nodes, keeping the existing ones. */
+  void allocateNodes(int newsize) {
+    bddnodes =
+        bddnodes == null
+            ? new int[newsize * __node_size]
+            : Arrays.copyOf(bddnodes, newsize * __node_size);
+  }
+
+  /** The number of arrays the node table is stored in. */
+  int nodeTableChunks() {
+    return 1;
+  }
+
+  /** The size of the node table, in bytes. */
+  long nodeTableBytes() {
+    return (long) bddnodes.length * Integer.BYTES;
+  }
+
   private boolean HASREF(int node) {
-    boolean r = (bddnodes[node * __node_size + offset__refcou_and_level] & REF_MASK) != 0;
+    boolean r = (NODEGET(node, offset__refcou_and_level) & REF_MASK) != 0;
     return r;
   }
 
   private void SETMAXREF(int node) {
-    bddnodes[node * __node_size + offset__refcou_and_level] |= REF_MASK;
+    NODESET(node, offset__refcou_and_level, NODEGET(node, offset__refcou_and_level) | REF_MASK);
   }
 
   private void CLEARREF(int node) {
-    bddnodes[node * __node_size + offset__refcou_and_level] &= ~REF_MASK;
+    NODESET(node, offset__refcou_and_level, NODEGET(node, offset__refcou_and_level) & ~REF_MASK);
   }
 
   private void INCREF(int node) {
-    if ((bddnodes[node * __node_size + offset__refcou_and_level] & REF_MASK) != REF_MASK) {
-      bddnodes[node * __node_size + offset__refcou_and_level] += REF_INC;
+    if ((NODEGET(node, offset__refcou_and_level) & REF_MASK) != REF_MASK) {
+      NODESET(node, offset__refcou_and_level, NODEGET(node, offset__refcou_and_level) + REF_INC);
     }
   }
 
   private void DECREF(int node) {
-    int rc = bddnodes[node * __node_size + offset__refcou_and_level] & REF_MASK;
+    int rc = NODEGET(node, offset__refcou_and_level) & REF_MASK;
     if (rc != REF_MASK && rc != 0) {
-      bddnodes[node * __node_size + offset__refcou_and_level] -= REF_INC;
+      NODESET(node, offset__refcou_and_level, NODEGET(node, offset__refcou_and_level) - REF_INC);
     }
   }
 
   private int GETREF(int node) {
-    return bddnodes[node * __node_size + offset__refcou_and_level] >>> 22;
+    return NODEGET(node, offset__refcou_and_level) >>> 22;
   }
 
   private int LEVEL(int node) {
-    return bddnodes[node * __node_size + offset__refcou_and_level] & LEV_MASK;
+    return NODEGET(node, offset__refcou_and_level) & LEV_MASK;
   }
 
   private int LEVELANDMARK(int node) {
-    return bddnodes[node * __node_size + offset__refcou_and_level] & (LEV_MASK | MARK_MASK);
+    return NODEGET(node, offset__refcou_and_level) & (LEV_MASK | MARK_MASK);
   }
 
   private void SETLEVEL(int node, int val) {
     if (VERIFY_ASSERTIONS) {
       _assert(val == (val & LEV_MASK));
     }
-    bddnodes[node * __node_size + offset__refcou_and_level] &= ~LEV_MASK;
-    bddnodes[node * __node_size + offset__refcou_and_level] |= val;
+    NODESET(
+        node,
+        offset__refcou_and_level,
+        (NODEGET(node, offset__refcou_and_level) & ~LEV_MASK) | val);
   }
 
   private void SETLEVELANDMARK(int node, int val) {
     if (VERIFY_ASSERTIONS) {
       _assert(val == (val & (LEV_MASK | MARK_MASK)));
     }
-    bddnodes[node * __node_size + offset__refcou_and_level] &= ~(LEV_MASK | MARK_MASK);
-    bddnodes[node * __node_size + offset__refcou_and_level] |= val;
+    NODESET(
+        node,
+        offset__refcou_and_level,
+        (NODEGET(node, offset__refcou_and_level) & ~(LEV_MASK | MARK_MASK)) | val);
   }
 
   private void SETMARK(int n) {
-    bddnodes[n * __node_size + offset__refcou_and_level] |= MARK_MASK;
+    NODESET(n, offset__refcou_and_level, NODEGET(n, offset__refcou_and_level) | MARK_MASK);
   }
 
   private void UNMARK(int n) {
-    bddnodes[n * __node_size + offset__refcou_and_level] &= ~MARK_MASK;
+    NODESET(n, offset__refcou_and_level, NODEGET(n, offset__refcou_and_level) & ~MARK_MASK);
   }
 
   private boolean MARKED(int n) {
-    return (bddnodes[n * __node_size + offset__refcou_and_level] & MARK_MASK) != 0;
+    return (NODEGET(n, offset__refcou_and_level) & MARK_MASK) != 0;
   }
 
   private int LOW(int r) {
-    return bddnodes[r * __node_size + offset__low];
+    return NODEGET(r, offset__low);
   }
 
   private void SETLOW(int r, int v) {
-    bddnodes[r * __node_size + offset__low] = v;
+    NODESET(r, offset__low, v);
   }
 
   private int HIGH(int r) {
-    return bddnodes[r * __node_size + offset__high];
+    return NODEGET(r, offset__high);
   }
 
   private void SETHIGH(int r, int v) {
-    bddnodes[r * __node_size + offset__high] = v;
+    NODESET(r, offset__high, v);
   }
 
   private int HASH(int r) {
-    return bddnodes[r * __node_size + offset__hash];
+    return NODEGET(r, offset__hash);
   }
 
   private void SETHASH(int r, int v) {
-    bddnodes[r * __node_size + offset__hash] = v;
+    NODESET(r, offset__hash, v);
   }
 
   private int NEXT(int r) {
-    return bddnodes[r * __node_size + offset__next];
+    return NODEGET(r, offset__next);
   }
 
   private void SETNEXT(int r, int v) {
-    bddnodes[r * __node_size + offset__next] = v;
+    NODESET(r, offset__next, v);
   }
 
   private int VARr(int n) {
@@ -736,7 +804,7 @@ public class JFactory extends BDDFactory implements Serializable {
   private boolean bddrunning; /* Flag - package initialized */
   private int bdderrorcond; /* Some error condition */
   private int bddnodesize; /* Number of allocated nodes */
-  private int[] bddnodes; /* All of the bdd nodes */
+  private int[] bddnodes; /* All of the bdd nodes, unless the node table is chunked */
   private int bddfreepos; /* First free node */
   private int bddfreenum; /* Number of free nodes */
   private int bddproduced; /* Number of new nodes ever produced */
@@ -1013,6 +1081,10 @@ public class JFactory extends BDDFactory implements Serializable {
       }
       ids[i] = id;
     }
+    if (_autoReorder) {
+      // The caller cannot know the current variable order.
+      sortByLevel(ids);
+    }
 
     BDDImpl bdd = makeBDD(bdd_andLiterals(ids));
     return bdd;
@@ -1056,11 +1128,30 @@ public class JFactory extends BDDFactory implements Serializable {
     return last;
   }
 
+  /** Sorts the given nodes by increasing level. Uses insertion sort, since inputs are short. */
+  private void sortByLevel(int[] nodes) {
+    for (int i = 1; i < nodes.length; i++) {
+      int node = nodes[i];
+      int level = LEVEL(node);
+      int j = i - 1;
+      while (j >= 0 && LEVEL(nodes[j]) > level) {
+        nodes[j + 1] = nodes[j];
+        j--;
+      }
+      nodes[j + 1] = node;
+    }
+  }
+
   @Override
   public BDD onehotVars(BDD... variables) {
     if (variables.length == 0) {
       return makeBDD(BDDZERO);
     }
+    if (_autoReorder) {
+      // The caller cannot know the current variable order.
+      variables =
+          Arrays.stream(variables).sorted(Comparator.comparingInt(BDD::level)).toArray(BDD[]::new);
+    }
     // This function skips the operator cache, since it's so cheap
 
     // Construct the result bottom-up. Given variable j, we keep track of two formulas:
@@ -4338,9 +4429,9 @@ public class JFactory extends BDDFactory implements Serializable {
       newsize = newsize << 1;
     }
 
-    if (newsize < 0 || newsize > MAX_NODESIZE) {
+    if (newsize < 0 || newsize > maxNodeSize()) {
       // prevent integer overflow
-      newsize = MAX_NODESIZE;
+      newsize = maxNodeSize();
     }
 
     if (newsize <= oldsize) {
@@ -4365,7 +4456,7 @@ public class JFactory extends BDDFactory implements Serializable {
 
     long resizeStartTime = System.currentTimeMillis();
 
-    bddnodes = Arrays.copyOf(bddnodes, newsize * __node_size);
+    allocateNodes(newsize);
     bddnodesize = newsize;
 
     if (doRehash) {
@@ -4390,6 +4481,9 @@ public class JFactory extends BDDFactory implements Serializable {
       bdd_gbc_rehash();
     }
     bddresized = true;
+    if (_autoReorder && !_reordering) {
+      _reorderPending = true;
+    }
     long resizeTime = System.currentTimeMillis() - resizeStartTime;
     sumResizeTime += resizeTime;
     LOGGER.info(
@@ -4408,7 +4502,7 @@ public class JFactory extends BDDFactory implements Serializable {
 
     bddnodesize = bdd_prime_gte(initnodesize);
 
-    bddnodes = new int[bddnodesize * __node_size];
+    allocateNodes(bddnodesize);
 
     bddresized = false;
 
@@ -5203,6 +5297,46 @@ public class JFactory extends BDDFactory implements Serializable {
     bdd_setvarorder(neworder);
   }
 
+  @Override
+  public void reorder() {
+    bdd_sift();
+  }
+
+  @Override
+  public void addVarBlock(int first, int last) {
+    checkArgument(
+        0 <= first && first <= last && last < bddvarnum,
+        "Invalid variable block [%s, %s]",
+        first,
+        last);
+    int minLevel = Integer.MAX_VALUE;
+    int maxLevel = Integer.MIN_VALUE;
+    for (int var = first; var <= last; var++) {
+      for (int[] block : _varBlocks) {
+        checkArgument(
+            var < block[0] || var > block[1],
+            "Variable %s is already in block [%s, %s]",
+            var,
+            block[0],
+            block[1]);
+      }
+      minLevel = Math.min(minLevel, bddvar2level[var]);
+      maxLevel = Math.max(maxLevel, bddvar2level[var]);
+    }
+    checkArgument(
+        maxLevel - minLevel == last - first,
+        "Variables %s through %s do not occupy consecutive levels",
+        first,
+        last);
+    _varBlocks.add(new int[] {first, last});
+  }
+
+  @Override
+  public void setAutoReorder(boolean enabled) {
+    _autoReorder = enabled;
+    _reorderPending = false;
+  }
+
   private transient int[] extroots;
   private transient int extrootsize;
 
@@ -5241,6 +5375,154 @@ public class JFactory extends BDDFactory implements Serializable {
     reorder_done();
   }
 
+  /* Dynamic reordering */
+
+  /** Do not reorder automatically until there are at least this many live nodes. */
+  private static final int MIN_AUTO_REORDER_NODENUM = 100_000;
+
+  /**
+   * While sifting a block, stop moving it in the current direction once the number of nodes
+   * exceeds the best seen so far by this factor.
+   */
+  private static final double SIFT_MAX_GROWTH = 1.2;
+
+  /** Blocks of variables that are reordered together, as [first var, last var] pairs. */
+  private final List<int[]> _varBlocks = new ArrayList<>();
+
+  private boolean _autoReorder;
+
+  /** Set when the node table grows and automatic reordering is enabled. */
+  private transient boolean _reorderPending;
+
+  private transient boolean _reordering;
+
+  /** Automatic reordering only happens when there are at least this many live nodes. */
+  private int _nextAutoReorderNodeNum = MIN_AUTO_REORDER_NODENUM;
+
+  /**
+   * Reorders if the node table has grown since the last check and automatic reordering is enabled.
+   *
+   * <p>Must only be called between operations, when every live node is reachable from a node
+   * referenced by a {@link BDDImpl}: reordering rewrites nodes in place and frees every other node.
+   */
+  private void checkAutoReorder() {
+    if (!_reorderPending) {
+      return;
+    }
+    _reorderPending = false;
+    if (bdd_getnodenum() < _nextAutoReorderNodeNum) {
+      return;
+    }
+    bdd_sift();
+    _nextAutoReorderNodeNum = Math.max(MIN_AUTO_REORDER_NODENUM, 2 * bdd_getnodenum());
+  }
+
+  /**
+   * Sifting reordering, as in BuDDy's reorder_sift: each block is moved through every position in
+   * the order, largest blocks first, and left where the node count was smallest.
+   */
+  private void bdd_sift() {
+    if (bddvarnum < 2) {
+      return;
+    }
+    reorder_init();
+
+    List<int[]> blocks = reorder_blocks();
+    List<int[]> siftOrder = new ArrayList<>(blocks);
+    siftOrder.sort(Comparator.comparingInt(this::reorder_blockNodeNum).reversed());
+    for (int[] block : siftOrder) {
+      reorder_siftBlock(blocks, blocks.indexOf(block));
+    }
+
+    reorder_done();
+  }
+
+  /** Returns the variables of every block (including singletons), in the current level order. */
+  private List<int[]> reorder_blocks() {
+    int[] blockOf = new int[bddvarnum];
+    Arrays.fill(blockOf, -1);
+    for (int b = 0; b < _varBlocks.size(); b++) {
+      int[] block = _varBlocks.get(b);
+      for (int var = block[0]; var <= block[1]; var++) {
+        blockOf[var] = b;
+      }
+    }
+
+    List<int[]> blocks = new ArrayList<>();
+    int level = 0;
+    while (level < bddvarnum) {
+      int b = blockOf[bddlevel2var[level]];
+      int size = b < 0 ? 1 : _varBlocks.get(b)[1] - _varBlocks.get(b)[0] + 1;
+      int[] vars = new int[size];
+      for (int i = 0; i < size; i++) {
+        vars[i] = bddlevel2var[level + i];
+        if (blockOf[vars[i]] != b) {
+          // e.g., setVarOrder moved variables out of their block
+          throw new IllegalStateException(
+              String.format("Variable block containing %s is not contiguous", vars[0]));
+        }
+      }
+      blocks.add(vars);
+      level += size;
+    }
+    return blocks;
+  }
+
+  private int reorder_blockNodeNum(int[] block) {
+    int nodenum = 0;
+    for (int var : block) {
+      nodenum += levels[var].nodenum;
+    }
+    return nodenum;
+  }
+
+  /** Moves the block at the given position to the position that minimizes the node count. */
+  private void reorder_siftBlock(List<int[]> blocks, int pos) {
+    int best = bdd_getnodenum();
+    int bestPos = pos;
+
+    // Sift down, then up, then back down to the best position.
+    while (pos < blocks.size() - 1) {
+      reorder_blockdown(blocks, pos);
+      pos++;
+      int nodenum = bdd_getnodenum();
+      if (nodenum < best) {
+        best = nodenum;
+        bestPos = pos;
+      } else if (nodenum > best * SIFT_MAX_GROWTH) {
+        break;
+      }
+    }
+    while (pos > 0) {
+      reorder_blockdown(blocks, pos - 1);
+      pos--;
+      int nodenum = bdd_getnodenum();
+      if (nodenum < best) {
+        best = nodenum;
+        bestPos = pos;
+      } else if (nodenum > best * SIFT_MAX_GROWTH) {
+        break;
+      }
+    }
+    while (pos < bestPos) {
+      reorder_blockdown(blocks, pos);
+      pos++;
+    }
+  }
+
+  /** Swaps the block at the given position with the block below it. */
+  private void reorder_blockdown(List<int[]> blocks, int pos) {
+    int[] upper = blocks.get(pos);
+    int[] lower = blocks.get(pos + 1);
+    for (int i = upper.length - 1; i >= 0; i--) {
+      for (int j = 0; j < lower.length; j++) {
+        reorder_vardown(upper[i]);
+      }
+    }
+    blocks.set(pos, lower);
+    blocks.set(pos + 1, upper);
+  }
+
   private int reorder_varup(int var) {
     if (var < 0 || var >= bddvarnum) {
       return bdd_error(BDD_VAR);
@@ -5656,6 +5938,7 @@ public class JFactory extends BDDFactory implements Serializable {
   }
 
   private int reorder_init() {
+    _reordering = true;
     reorder_handler(true, reorderstats);
 
     levels = new levelData[bddvarnum];
@@ -5933,6 +6216,13 @@ public class JFactory extends BDDFactory implements Serializable {
     imatrixDelete(iactmtx);
     bdd_gbc();
 
+    // Cached operator results, quantification variable sets, and validated pairings all depend on
+    // the old levels.
+    bdd_operator_reset();
+    bdd_operator_varresize();
+    _validPairIdsForTransform.clear();
+
+    _reordering = false;
     reorder_handler(false, reorderstats);
   }
 
@@ -5973,6 +6263,28 @@ public class JFactory extends BDDFactory implements Serializable {
     return cachesize;
   }
 
+  @Override
+  public MemoryStats getMemoryStats() {
+    MemoryStats stats = new MemoryStats();
+    stats.nodes = bddnodesize;
+    stats.usednodes = bdd_getnodenum();
+    stats.nodeTableChunks = nodeTableChunks();
+    stats.nodeTableBytes = nodeTableBytes();
+    stats.cacheEntries =
+        Stream.of(
+                applycache,
+                quantcache,
+                appexcache,
+                replacecache,
+                misccache,
+                multiopcache,
+                countcache)
+            .filter(Objects::nonNull)
+            .mapToLong(cache -> cache.table.length)
+            .sum();
+    return stats;
+  }
+
   @Override
   public void printStat() {
     bdd_fprintstat(System.out);
@@ -3,8 +3,10 @@ package net.sf.javabdd;
 import static net.sf.javabdd.JFactory.toIntOperands;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -15,9 +17,16 @@ import static org.junit.Assert.assertTrue;
 import com.google.common.collect.ImmutableList;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashSet;
+import java.util.List;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Rule;
 import org.junit.Test;
@@ -766,4 +775,186 @@ public class JFactoryTest {
     BDD result = v0.iteWith(v1, v1);
     assertEquals(expected, result);
   }
+
+  /** Returns (x0 & x(n)) | (x1 & x(n+1)) | ..., which is exponential in the order x0, x1, .... */
+  private BDD pairwiseDisjunction(int n) {
+    BDD result = _factory.zero();
+    for (int i = 0; i < n; i++) {
+      result.orWith(_factory.ithVar(i).and(_factory.ithVar(i + n)));
+    }
+    return result;
+  }
+
+  @Test
+  public void testReorder() {
+    _factory.setVarNum(8);
+    BDD f = pairwiseDisjunction(4);
+    int nodesBefore = f.nodeCount();
+    double satCountBefore = f.satCount();
+
+    _factory.reorder();
+
+    assertThat(f.nodeCount(), lessThan(nodesBefore));
+    assertThat(f.satCount(), equalTo(satCountBefore));
+    // existing BDDs are still canonical
+    assertThat(pairwiseDisjunction(4), equalTo(f));
+
+    BDDFactory.ReorderStats stats = _factory.getReorderStats();
+    assertThat(stats.num, equalTo(1));
+    assertThat(stats.sumgain, greaterThan(0L));
+  }
+
+  @Test
+  public void testReorder_varBlock() {
+    _factory.setVarNum(8);
+    _factory.addVarBlock(0, 1);
+    BDD f = pairwiseDisjunction(4);
+
+    _factory.reorder();
+
+    assertThat(_factory.var2Level(1), equalTo(_factory.var2Level(0) + 1));
+    assertThat(pairwiseDisjunction(4), equalTo(f));
+  }
+
+  @Test
+  public void testReorder_pairing() {
+    _factory.setVarNum(8);
+    BDDPairing pairing = _factory.makePair(0, 7);
+    BDD f = pairwiseDisjunction(3);
+    BDD expected = f.replace(pairing);
+
+    _factory.reorder();
+
+    assertThat(f.replace(pairing), equalTo(expected));
+  }
+
+  @Test
+  public void testAddVarBlock_invalid() {
+    _factory.setVarNum(4);
+    _factory.addVarBlock(0, 1);
+    assertThrows(IllegalArgumentException.class, () -> _factory.addVarBlock(1, 2));
+    assertThrows(IllegalArgumentException.class, () -> _factory.addVarBlock(3, 4));
+    _factory.setVarOrder(new int[] {2, 0, 1, 3});
+    assertThrows(IllegalArgumentException.class, () -> _factory.addVarBlock(2, 3));
+  }
+
+  @Test
+  public void testAutoReorder_literalsInAnyOrder() {
+    _factory.setVarNum(3);
+    _factory.setAutoReorder(true);
+    BDD a = _factory.ithVar(0);
+    BDD b = _factory.ithVar(1);
+    BDD c = _factory.ithVar(2);
+    _factory.setVarOrder(new int[] {2, 1, 0});
+
+    assertThat(_factory.andLiterals(a, b.not(), c), equalTo(a.diff(b).and(c)));
+    assertThat(
+        _factory.onehotVars(a, b, c),
+        equalTo(a.diff(b).diff(c).or(b.diff(a).diff(c)).or(c.diff(a).diff(b))));
+  }
+
+  @Test
+  public void testInitChunked() {
+    BDDFactory chunked = JFactory.initChunked(1000, 1000);
+    chunked.setVarNum(30);
+    _factory.setVarNum(30);
+    // forces the node table to grow past a single chunk
+    BDD expected = _factory.zero();
+    BDD actual = chunked.zero();
+    for (int i = 0; i < 15; i++) {
+      expected.orWith(_factory.ithVar(i).and(_factory.ithVar(i + 15)));
+      actual.orWith(chunked.ithVar(i).and(chunked.ithVar(i + 15)));
+    }
+
+    assertThat(actual.nodeCount(), equalTo(expected.nodeCount()));
+    assertThat(actual.satCount(), equalTo(expected.satCount()));
+    assertThat(chunked.getMemoryStats().nodeTableChunks, greaterThan(1));
+  }
+
+  @Test
+  public void testGetMemoryStats() {
+    _factory.setVarNum(2);
+    BDDFactory.MemoryStats stats = _factory.getMemoryStats();
+    assertThat(stats.nodeTableChunks, equalTo(1));
+    assertThat(stats.nodes, greaterThanOrEqualTo(10000));
+    assertThat(stats.usednodes, equalTo(_factory.getNodeNum()));
+    assertThat(stats.nodeTableBytes, equalTo(stats.nodes * 5L * Integer.BYTES));
+  }
+
+  private static byte[] save(BDDFactory factory, BDD... bdds) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    factory.save(new DataOutputStream(bytes), Arrays.asList(bdds));
+    return bytes.toByteArray();
+  }
+
+  private static List<BDD> load(BDDFactory factory, byte[] bytes) throws IOException {
+    return factory.load(new DataInputStream(new ByteArrayInputStream(bytes)));
+  }
+
+  /** (v0 & v1) | v5, and that and not v3. */
+  private static List<BDD> saveLoadBdds(BDDFactory factory) {
+    BDD x = factory.ithVar(0).and(factory.ithVar(1)).or(factory.ithVar(5));
+    return ImmutableList.of(x, x.and(factory.nithVar(3)), factory.zero(), factory.one());
+  }
+
+  @Test
+  public void testSaveLoad() throws IOException {
+    _factory.setVarNum(10);
+    List<BDD> bdds = saveLoadBdds(_factory);
+    byte[] bytes = save(_factory, bdds.toArray(new BDD[0]));
+
+    BDDFactory other = JFactory.init(1000, 1000);
+    other.setVarNum(12);
+    assertThat(load(other, bytes), equalTo(saveLoadBdds(other)));
+
+    // a different variable order changes the nodes, but not the BDDs
+    BDDFactory reordered = JFactory.init(1000, 1000);
+    reordered.setVarNum(10);
+    reordered.setVarOrder(new int[] {9, 8, 7, 6, 5, 4, 3, 2, 1, 0});
+    assertThat(load(reordered, bytes), equalTo(saveLoadBdds(reordered)));
+  }
+
+  @Test
+  public void testSaveSharesNodes() throws IOException {
+    _factory.setVarNum(10);
+    BDD x = saveLoadBdds(_factory).get(1);
+    // the second copy only adds a root
+    assertThat(save(_factory, x, x).length, equalTo(save(_factory, x).length + 1));
+  }
+
+  @Test
+  public void testLoadTooFewVars() throws IOException {
+    _factory.setVarNum(10);
+    byte[] bytes = save(_factory, _factory.ithVar(0));
+    BDDFactory other = JFactory.init(1000, 1000);
+    other.setVarNum(9);
+    _exception.expect(BDDException.class);
+    _exception.expectMessage("BDD export uses 10 variables, but the factory only has 9");
+    load(other, bytes);
+  }
+
+  @Test
+  public void testLoadTruncatedRootsFreesRoots() throws IOException {
+    _factory.setVarNum(10);
+    List<BDD> bdds = saveLoadBdds(_factory);
+    byte[] bytes = save(_factory, bdds.toArray(new BDD[0]));
+
+    JFactory other = (JFactory) JFactory.init(1000, 1000);
+    other.setVarNum(10);
+    other.bdd_gbc();
+    int nodesBefore = other.getNodeNum();
+    // drop the last root, so reading it fails after the others were read
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+    assertThrows(EOFException.class, () -> load(other, truncated));
+    other.bdd_gbc();
+    assertThat(other.getNodeNum(), equalTo(nodesBefore));
+  }
+
+  @Test
+  public void testLoadInvalid() throws IOException {
+    _factory.setVarNum(10);
+    _exception.expect(BDDException.class);
+    _exception.expectMessage("Input is not a BDD export");
+    load(_factory, new byte[] {1, 2, 3, 4, 5});
+  }
 }
@@ -4,16 +4,21 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.batfish.common.util.StringInterner;
 
 public class ParseTreeSentences implements Serializable {
   private static final String PROP_SENTENCES = "sentences";
 
-  // Use StringBuilder internally to avoid quadratic string concatenation overhead
-  protected List<StringBuilder> _sentenceBuilders;
+  // Use StringBuilder internally to avoid quadratic string concatenation overhead. Serialized as
+  // interned strings instead, see writeObject.
+  protected transient List<StringBuilder> _sentenceBuilders;
 
   @JsonCreator
   public ParseTreeSentences() {
@@ -58,4 +63,25 @@ public class ParseTreeSentences implements Serializable {
   public void setSentences(List<String> sentences) {
     _sentenceBuilders = sentences.stream().map(StringBuilder::new).collect(Collectors.toList());
   }
+
+  /**
+   * Writes the sentences as interned strings rather than builders, which would carry their spare
+   * capacity. Sentences that recur across files are then written once per stream.
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(_sentenceBuilders.size());
+    for (StringBuilder sentence : _sentenceBuilders) {
+      out.writeObject(StringInterner.intern(sentence.toString()));
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    int size = in.readInt();
+    _sentenceBuilders = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      _sentenceBuilders.add(new StringBuilder((String) in.readObject()));
+    }
+  }
 }
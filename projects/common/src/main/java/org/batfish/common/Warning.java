@@ -1,6 +1,8 @@
 package org.batfish.common;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static org.batfish.common.util.StringInterner.intern;
+import static org.batfish.common.util.StringInterner.internNullable;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -22,8 +24,13 @@ public class Warning implements Serializable, Comparable<Warning> {
   private final @Nullable String _tag;
 
   public Warning(String text, @Nullable String tag) {
-    _text = text;
-    _tag = tag;
+    _text = intern(text);
+    _tag = internNullable(tag);
+  }
+
+  /** Shares the strings of deserialized warnings too. */
+  private Object readResolve() {
+    return new Warning(_text, _tag);
   }
 
   @JsonProperty(PROP_TAG)
@@ -6,6 +6,7 @@ import static java.util.Objects.requireNonNull;
 import static org.batfish.common.BatfishLogger.LEVEL_PEDANTIC;
 import static org.batfish.common.BatfishLogger.LEVEL_REDFLAG;
 import static org.batfish.common.BatfishLogger.LEVEL_UNIMPLEMENTED;
+import static org.batfish.common.util.StringInterner.intern;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -349,9 +350,16 @@ public class Warnings implements Serializable {
     public ParseWarning(
         int line, @Nonnull String text, @Nonnull String parserContext, @Nonnull String comment) {
       _line = line;
+      // the same contexts and comments recur across files, so share them. The text is the line
+      // itself, which mostly differs between files.
       _text = requireNonNull(text, PROP_TEXT);
-      _parserContext = requireNonNull(parserContext, PROP_PARSER_CONTEXT);
-      _comment = requireNonNull(comment, PROP_COMMENT);
+      _parserContext = intern(requireNonNull(parserContext, PROP_PARSER_CONTEXT));
+      _comment = intern(requireNonNull(comment, PROP_COMMENT));
+    }
+
+    /** Shares the context and comment of deserialized warnings too. */
+    private Object readResolve() {
+      return new ParseWarning(_line, _text, _parserContext, _comment);
     }
 
     @JsonProperty(PROP_COMMENT)
@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.batfish.common.bdd.BDDUtils.swapPairing;
 
 import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.annotations.concurrent.LazyInit;
 import java.io.IOException;
@@ -94,6 +95,7 @@ public class BDDPacket implements Serializable {
   private final @Nonnull BDD _tcpFlags;
 
   private final BDDPairing _swapSourceAndDestinationPairing;
+  private boolean _varBlocksAdded;
   @LazyInit private @Nullable BDD _saneFlow;
 
   // Generating flow preference for representative flow picking
@@ -362,6 +364,35 @@ public class BDDPacket implements Serializable {
     return _factory;
   }
 
+  /**
+   * Enables or disables dynamic variable reordering in this packet's {@link BDDFactory}. When
+   * enabled, the factory sifts the variables whenever the node table grows substantially; see
+   * {@link BDDFactory#setAutoReorder(boolean)}. Off by default, since the fixed order works well
+   * for most networks and reordering makes representative flow choices order-dependent.
+   *
+   * <p>Each unprimed variable of a {@link PrimedBDDInteger} is kept next to its primed copy, so
+   * pairings used to rename between them (e.g. by {@link BDD#transform(BDD, BDDPairing)}) remain
+   * valid.
+   */
+  public void setDynamicReordering(boolean enabled) {
+    if (enabled && !_varBlocksAdded) {
+      for (PrimedBDDInteger primed : ImmutableList.of(_dstIp, _srcIp, _dstPort, _srcPort)) {
+        BDD[] vars = primed.getVar()._bitvec;
+        BDD[] primedVars = primed.getPrimeVar()._bitvec;
+        for (int i = 0; i < vars.length; i++) {
+          _factory.addVarBlock(vars[i].var(), primedVars[i].var());
+        }
+      }
+      _varBlocksAdded = true;
+    }
+    _factory.setAutoReorder(enabled);
+  }
+
+  /** Returns statistics about the variable reorderings performed by this packet's factory. */
+  public BDDFactory.ReorderStats getReorderStats() {
+    return _factory.getReorderStats();
+  }
+
   /**
    * Get a representative flow in a BDD according to a given preference.
    *
@@ -10,12 +10,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.commons.configuration2.ImmutableConfiguration;
 import org.batfish.common.Answerer;
 import org.batfish.common.NetworkSnapshot;
+import org.batfish.common.Warnings;
 import org.batfish.common.bdd.BDDPacket;
 import org.batfish.common.topology.TopologyProvider;
 import org.batfish.datamodel.BgpAdvertisement;
@@ -42,6 +44,7 @@ import org.batfish.referencelibrary.ReferenceLibrary;
 import org.batfish.role.NodeRoleDimension;
 import org.batfish.role.NodeRolesData;
 import org.batfish.specifier.Location;
+import org.batfish.specifier.LocationIndex;
 import org.batfish.specifier.LocationInfo;
 import org.batfish.specifier.SpecifierContext;
 import org.batfish.vendor.VendorConfiguration;
@@ -72,6 +75,9 @@ public interface IBatfish extends IPluginConsumer {
   /** Return the {@link LocationInfo} of each {@link Location} in the {@link NetworkSnapshot}. */
   Map<Location, LocationInfo> getLocationInfo(NetworkSnapshot snapshot);
 
+  /** Return the {@link LocationIndex} of the {@link NetworkSnapshot}'s configurations. */
+  LocationIndex getLocationIndex(NetworkSnapshot snapshot);
+
   ReferenceLibrary getReferenceLibraryData();
 
   @Nullable
@@ -175,6 +181,19 @@ public interface IBatfish extends IPluginConsumer {
   ParseVendorConfigurationAnswerElement loadParseVendorConfigurationAnswerElement(
       NetworkSnapshot snapshot);
 
+  /**
+   * Returns the {@link ParseVendorConfigurationAnswerElement} of the given snapshot without its
+   * per-file warnings and parse trees, which are most of its size.
+   */
+  ParseVendorConfigurationAnswerElement loadParseVendorConfigurationSummary(
+      NetworkSnapshot snapshot);
+
+  /**
+   * Passes the parse warnings of each file of the given snapshot to {@code consumer}, one file at a
+   * time.
+   */
+  void forEachFileParseWarnings(NetworkSnapshot snapshot, BiConsumer<String, Warnings> consumer);
+
   AtomicInteger newBatch(String description, int jobs);
 
   Set<BgpAdvertisement> loadExternalBgpAnnouncements(
@@ -214,6 +233,12 @@ public interface IBatfish extends IPluginConsumer {
 
   Set<Flow> bddLoopDetection(NetworkSnapshot snapshot);
 
+  /**
+   * Like {@link #bddLoopDetection(NetworkSnapshot)}, but splits the sources into up to {@code
+   * sourcePartitions} groups that are analyzed in parallel.
+   */
+  Set<Flow> bddLoopDetection(NetworkSnapshot snapshot, int sourcePartitions);
+
   Set<Flow> bddMultipathConsistency(
       NetworkSnapshot snapshot, MultipathConsistencyParameters parameters);
 
@@ -2,11 +2,14 @@ package org.batfish.common.plugin;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.function.BiConsumer;
 import org.batfish.common.traceroute.TraceDag;
 import org.batfish.common.util.CollectionUtil;
 import org.batfish.datamodel.Flow;
@@ -20,6 +23,15 @@ import org.batfish.datamodel.flow.TraceAndReverseFlow;
  */
 public interface TracerouteEngine {
 
+  /** The maximum number of {@link Trace Traces} computed for a single {@link Flow}. */
+  int MAX_TRACES_PER_FLOW = 10000;
+
+  /**
+   * The number of {@link Flow Flows} traced together by the streaming methods. Bounds the number of
+   * results held in memory at once.
+   */
+  int STREAMING_BATCH_SIZE = 256;
+
   /**
    * Builds the {@link Trace}s for a {@link Set} of {@link Flow}s
    *
@@ -64,4 +76,45 @@ public interface TracerouteEngine {
   /** Computes {@link TraceDag} for a {@link Set} of forward {@link Flow Flows}. */
   Map<Flow, TraceDag> computeTraceDags(
       Set<Flow> flows, Set<FirewallSessionTraceInfo> sessions, boolean ignoreFilters);
+
+  /**
+   * Computes the {@link TraceDag} for each of the given forward {@link Flow Flows}, passing each to
+   * {@code consumer} as it is built instead of collecting them. Flows are traced in parallel, in
+   * batches of {@link #STREAMING_BATCH_SIZE}, so the number of flows need not fit in memory.
+   *
+   * <p>{@code consumer} may be called concurrently from multiple threads, and in any order. A flow
+   * repeated within a batch is traced once.
+   */
+  default void computeTraceDags(
+      Iterator<Flow> flows,
+      Set<FirewallSessionTraceInfo> sessions,
+      boolean ignoreFilters,
+      BiConsumer<Flow, TraceDag> consumer) {
+    Iterators.partition(flows, STREAMING_BATCH_SIZE)
+        .forEachRemaining(
+            batch ->
+                computeTraceDags(ImmutableSet.copyOf(batch), sessions, ignoreFilters)
+                    .forEach(consumer));
+  }
+
+  /**
+   * Computes the {@link Trace Traces} for each of the given {@link Flow Flows}, passing them to
+   * {@code consumer} as they are built. See {@link #computeTraceDags(Iterator, Set, boolean,
+   * BiConsumer)}.
+   */
+  default void computeTraces(
+      Iterator<Flow> flows, boolean ignoreFilters, BiConsumer<Flow, List<Trace>> consumer) {
+    computeTraceDags(
+        flows,
+        ImmutableSet.of(),
+        ignoreFilters,
+        (flow, traceDag) ->
+            consumer.accept(
+                flow,
+                traceDag
+                    .getTraces()
+                    .limit(MAX_TRACES_PER_FLOW)
+                    .map(TraceAndReverseFlow::getTrace)
+                    .collect(ImmutableList.toImmutableList())));
+  }
 }
@@ -0,0 +1,30 @@
+package org.batfish.common.util;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Interns strings that repeat across many devices, such as warning texts and parser contexts.
+ *
+ * <p>Besides saving memory, interning means Java serialization writes each distinct string once per
+ * stream and refers back to it afterwards, so stored answer elements carry an implicit string
+ * dictionary.
+ */
+public final class StringInterner {
+
+  private static final Interner<String> INTERNER = Interners.newWeakInterner();
+
+  /** Returns the canonical instance of {@code str}. */
+  public static @Nonnull String intern(String str) {
+    return INTERNER.intern(str);
+  }
+
+  /** Returns the canonical instance of {@code str}, or {@code null} if it is {@code null}. */
+  public static @Nullable String internNullable(@Nullable String str) {
+    return str == null ? null : INTERNER.intern(str);
+  }
+
+  private StringInterner() {} // prevent instantiation
+}
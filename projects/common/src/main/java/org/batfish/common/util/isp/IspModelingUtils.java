@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Maps;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -252,6 +253,7 @@ public final class IspModelingUtils {
         combineBorderInterfaces(configurations, ispConfigurations, warnings);
 
     ImmutableMap.Builder<Long, IspModel> ispModelsBuilder = ImmutableMap.builder();
+    Set<Long> summarizingAsns = new HashSet<>();
     for (long asn : remotes.keySet()) {
       List<IspNodeInfo> ispNodeInfos =
           ispConfigurations.stream()
@@ -259,10 +261,91 @@ public final class IspModelingUtils {
               .filter(ispNodeInfo -> ispNodeInfo.getAsn() == asn)
               .collect(Collectors.toList());
       ispModelsBuilder.put(asn, toIspModel(asn, remotes.get(asn), ispNodeInfos));
+      if (ispNodeInfos.stream().anyMatch(IspNodeInfo::getSummarizeAnnouncements)) {
+        summarizingAsns.add(asn);
+      }
     }
     // TODO: Warn about ISP ASNs that appear in IspNodeInfo but are pulled from configs
 
-    return ispModelsBuilder.build();
+    Map<Long, IspModel> ispModels = ispModelsBuilder.build();
+    if (summarizingAsns.isEmpty()) {
+      return ispModels;
+    }
+    return ImmutableMap.copyOf(
+        Maps.transformEntries(
+            ispModels,
+            (asn, ispModel) ->
+                summarizingAsns.contains(asn)
+                    ? withSummarizedAnnouncements(ispModel, ispModels.values())
+                    : ispModel));
+  }
+
+  /**
+   * Returns {@code ispModel} with its additional prefixes to the Internet {@link
+   * #summarizeAnnouncements summarized}, never merging prefixes that another of {@code allModels}
+   * announces.
+   */
+  private static @Nonnull IspModel withSummarizedAnnouncements(
+      IspModel ispModel, Collection<IspModel> allModels) {
+    Set<Prefix> otherIspPrefixes =
+        allModels.stream()
+            .filter(other -> other.getAsn() != ispModel.getAsn())
+            .flatMap(other -> other.getAdditionalPrefixesToInternet().stream())
+            .collect(ImmutableSet.toImmutableSet());
+    return IspModel.builder()
+        .setAsn(ispModel.getAsn())
+        .setName(ispModel.getName())
+        .setRole(ispModel.getRole())
+        .setAdditionalPrefixesToInternet(
+            summarizeAnnouncements(ispModel.getAdditionalPrefixesToInternet(), otherIspPrefixes))
+        .setSnapshotConnections(ispModel.getSnapshotConnections())
+        .setTrafficFiltering(ispModel.getTrafficFiltering())
+        .build();
+  }
+
+  /**
+   * Returns the fewest prefixes that cover exactly the addresses of {@code prefixes}, obtained by
+   * repeatedly merging two announced siblings into their parent. A merge is skipped if the parent
+   * or either sibling is in {@code otherIspPrefixes}, since the Internet would then prefer a
+   * different ISP for some addresses than it does for the individual announcements.
+   *
+   * <p>Every announcement becomes a static route on the ISP and a BGP route on the Internet, so a
+   * full Internet table (which is largely made of adjacent prefixes) shrinks to a small fraction of
+   * its size.
+   */
+  @VisibleForTesting
+  static @Nonnull Set<Prefix> summarizeAnnouncements(
+      Set<Prefix> prefixes, Set<Prefix> otherIspPrefixes) {
+    Set<Prefix> summary = new HashSet<>(prefixes);
+    // merging at one length can only create prefixes one shorter, so go from longest to shortest
+    for (int length = Prefix.MAX_PREFIX_LENGTH; length > 0; length--) {
+      int childLength = length;
+      List<Prefix> children =
+          summary.stream()
+              .filter(p -> p.getPrefixLength() == childLength)
+              .collect(ImmutableList.toImmutableList());
+      for (Prefix child : children) {
+        if (!summary.contains(child)) {
+          // already merged with its sibling
+          continue;
+        }
+        Prefix parent = Prefix.create(child.getStartIp(), length - 1);
+        Prefix low = Prefix.create(parent.getStartIp(), length);
+        long highBit = 1L << (Prefix.MAX_PREFIX_LENGTH - length);
+        Prefix high = Prefix.create(Ip.create(parent.getStartIp().asLong() | highBit), length);
+        if (!summary.contains(low)
+            || !summary.contains(high)
+            || otherIspPrefixes.contains(parent)
+            || otherIspPrefixes.contains(low)
+            || otherIspPrefixes.contains(high)) {
+          continue;
+        }
+        summary.remove(low);
+        summary.remove(high);
+        summary.add(parent);
+      }
+    }
+    return ImmutableSet.copyOf(summary);
   }
 
   /**
@@ -9,6 +9,8 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import java.io.ObjectStreamException;
 import java.io.Serial;
 import java.io.Serializable;
@@ -69,7 +71,7 @@ public abstract class BgpRoute<B extends Builder<B, R>, R extends BgpRoute<B, R>
               || protocol == RoutingProtocol.AGGREGATE,
           "Invalid BgpRoute protocol");
       // Intern.
-      return ATTRIBUTE_CACHE.get(
+      return ATTRIBUTE_INTERNER.intern(
           new BgpRouteAttributes(
               asPath,
               clusterList,
@@ -101,7 +103,10 @@ public abstract class BgpRoute<B extends Builder<B, R>, R extends BgpRoute<B, R>
         @Nullable TunnelEncapsulationAttribute tunnelEncapsulationAttribute,
         int weight) {
       _asPath = firstNonNull(asPath, AsPath.empty());
-      _clusterList = clusterList == null ? ImmutableSet.of() : CLUSTER_CACHE.get(clusterList);
+      _clusterList =
+          clusterList == null
+              ? ImmutableSet.of()
+              : CLUSTER_INTERNER.intern(ImmutableSet.copyOf(clusterList));
       _communities = communities;
       _localPreference = localPreference;
       _med = med;
@@ -205,27 +210,45 @@ public abstract class BgpRoute<B extends Builder<B, R>, R extends BgpRoute<B, R>
       return _srcProtocol == -1 ? null : RoutingProtocol.fromOrdinal(_srcProtocol);
     }
 
-    /** Re-intern after deserialization. */
+    /**
+     * Re-intern after deserialization, so routes deserialized separately still share equal
+     * attributes.
+     */
     @Serial
     private Object readResolve() throws ObjectStreamException {
-      return ATTRIBUTE_CACHE.get(this);
+      return ATTRIBUTE_INTERNER.intern(this);
     }
   }
 
   /** Local-preference has a maximum value of u32 max. */
   public static final long MAX_LOCAL_PREFERENCE = (1L << 32) - 1;
 
-  // Soft values: let it be garbage collected in times of pressure.
-  // Maximum size 2^20: Just some upper bound on cache size, well less than GiB.
-  //   (100 bytes seems smallest possible object size, would be 100 MiB total).
-  private static final LoadingCache<BgpRouteAttributes, BgpRouteAttributes> ATTRIBUTE_CACHE =
-      Caffeine.newBuilder().softValues().maximumSize(1 << 20).build(a -> a);
-
-  // Soft values: let it be garbage collected in times of pressure.
-  // Maximum size 2^16: Just some upper bound on cache size, well less than GiB.
-  //   (8 bytes seems smallest possible entry (set(long)), would be 1 MiB total).
-  private static final LoadingCache<Set<Long>, Set<Long>> CLUSTER_CACHE =
-      Caffeine.newBuilder().softValues().maximumSize(1 << 16).build(ImmutableSet::copyOf);
+  /**
+   * System property that, when {@code true}, interns attribute sets and cluster lists through the
+   * size-bounded caches used before weak interning. Only for comparing the two in benchmarks.
+   */
+  public static final String BOUNDED_INTERNING_PROPERTY = "batfish.bgpRoute.boundedInterning";
+
+  // Weak: an attribute set stays canonical exactly as long as some route uses it, however many
+  // distinct attribute sets the data plane has. (A cache whose keys are its values holds them
+  // strongly, so soft values are never collected, and a size bound instead evicts attribute sets
+  // still in use, after which equal attributes are no longer shared.)
+  private static final Interner<BgpRouteAttributes> ATTRIBUTE_INTERNER =
+      Boolean.getBoolean(BOUNDED_INTERNING_PROPERTY)
+          ? boundedInterner(1 << 20)
+          : Interners.newWeakInterner();
+
+  // Weak, for the same reasons.
+  private static final Interner<Set<Long>> CLUSTER_INTERNER =
+      Boolean.getBoolean(BOUNDED_INTERNING_PROPERTY)
+          ? boundedInterner(1 << 16)
+          : Interners.newWeakInterner();
+
+  private static <T> Interner<T> boundedInterner(long maximumSize) {
+    LoadingCache<T, T> cache =
+        Caffeine.newBuilder().softValues().maximumSize(maximumSize).build(t -> t);
+    return cache::get;
+  }
 
   /** Builder for {@link BgpRoute} */
   @ParametersAreNonnullByDefault
@@ -34,6 +34,30 @@ public interface DataPlane extends Serializable {
   @Nonnull
   ForwardingAnalysis getForwardingAnalysis();
 
+  /**
+   * Return a set of hostnames including every host that has a main RIB, BGP, or EVPN route for a
+   * network that contains or is contained in {@code network}. Hosts not in the set have no routes
+   * matching {@code network} in any way, so questions about such routes can skip them.
+   *
+   * <p>By default, returns all hosts.
+   */
+  @Nonnull
+  default Set<String> getHostsWithRoutesOverlapping(Prefix network) {
+    return getFibs().keySet();
+  }
+
+  /**
+   * Return a set of hostnames including every host that has a main RIB, BGP, or EVPN route for a
+   * network contained in {@code network}. Unlike {@link #getHostsWithRoutesOverlapping}, hosts that
+   * only have routes for shorter networks, such as a default route, may be left out.
+   *
+   * <p>By default, returns all hosts.
+   */
+  @Nonnull
+  default Set<String> getHostsWithRoutesWithin(Prefix network) {
+    return getFibs().keySet();
+  }
+
   /**
    * Return the set of all (main) RIBs. Table structure: hostname -&gt; VRF name -&gt; FinalMainRib
    */
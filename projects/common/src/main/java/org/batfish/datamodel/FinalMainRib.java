@@ -3,9 +3,12 @@ package org.batfish.datamodel;
 import java.io.ObjectStreamException;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -51,6 +54,17 @@ public final class FinalMainRib implements Serializable {
     return _routeTree.get(p);
   }
 
+  /**
+   * Returns the routes in this RIB grouped by network, in increasing order of network. The groups
+   * are the sets already held by the RIB, so this costs one entry per network.
+   */
+  public @Nonnull List<Entry<Prefix, Set<AbstractRoute>>> getRoutesByNetwork() {
+    List<Entry<Prefix, Set<AbstractRoute>>> ret = new ArrayList<>();
+    _routeTree.traverseEntries((network, routes) -> ret.add(Map.entry(network, routes)));
+    ret.sort(Entry.comparingByKey());
+    return ret;
+  }
+
   /**
    * Performs a longest prefix match on the route tree.
    *
@@ -2,9 +2,15 @@ package org.batfish.datamodel;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static org.batfish.common.util.CollectionUtil.toImmutableMap;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
@@ -13,6 +19,8 @@ import com.google.common.collect.ImmutableTable;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import java.io.ObjectStreamException;
+import java.io.Serial;
 import java.io.Serializable;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
@@ -28,11 +36,11 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import net.sf.javabdd.BDD;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -47,11 +55,44 @@ import org.batfish.specifier.LocationInfo;
 /** Implementation of {@link ForwardingAnalysis}. */
 public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Serializable {
   private static final Logger LOGGER = LogManager.getLogger(ForwardingAnalysisImpl.class);
+
   // node -> interface -> ips that the interface would reply arp request
   private final Map<String, Map<String, IpSpace>> _arpReplies;
 
-  // node -> vrf -> forwarding behavior for that VRF.
-  private final Map<String, Map<String, VrfForwardingBehavior>> _vrfForwardingBehavior;
+  /*
+   * Network-wide inputs to the VrfForwardingBehavior of each VRF, which is computed on demand from
+   * these and the VRF's FIB.
+   */
+  private final @Nonnull Topology _topology;
+  private final @Nonnull Map<Location, LocationInfo> _locationInfo;
+  // node -> vrf -> interface -> IPs accepted by that interface
+  private final @Nonnull Map<String, Map<String, Map<String, IpSpace>>> _acceptedIps;
+  private final @Nonnull Set<Ip> _unownedArpIps;
+  private final @Nonnull IpSpace _ownedIps;
+  private final @Nonnull Multimap<String, String> _interfacesWithMissingDevices;
+  private final @Nonnull IpSpace _internalIps;
+  private final @Nonnull IpSpace _externalIps;
+
+  /*
+   * node -> vrf -> FIB. Null when this analysis is stored apart from its FIBs; see withoutFibs and
+   * withFibs.
+   */
+  private final @Nullable Map<String, Map<String, Fib>> _fibs;
+
+  // Hash-conses the IpSpaces built, so equal spaces are shared across VRFs and interfaces.
+  private final transient @Nonnull IpSpaceInterner _ipSpaces;
+
+  // (node, vrf) -> forwarding behavior for that VRF. Evicted under memory pressure.
+  private final transient @Nonnull LoadingCache<Entry<String, String>, VrfForwardingBehavior>
+      _vrfForwardingBehaviorCache;
+
+  // node -> vrf -> forwarding behavior for that VRF, as a view of the cache.
+  private final transient @Nullable Map<String, Map<String, VrfForwardingBehavior>>
+      _vrfForwardingBehavior;
+
+  // Only used by sanity checks, which run only with assertions enabled.
+  private final transient @Nonnull Supplier<IpSpaceToBDD> _sanityCheckIpSpaceToBDD =
+      Suppliers.memoize(() -> new BDDPacket().getDstIpSpaceToBDD());
 
   /** Helper function to materialize in random order the list of keys in Map of Maps. */
   @VisibleForTesting
@@ -73,24 +114,41 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
       Topology topology,
       Map<Location, LocationInfo> locationInfo,
       IpOwners ipOwners) {
+    this(configurations, fibs, topology, locationInfo, ipOwners, true);
+  }
+
+  /**
+   * Computes the analysis, optionally without {@link IpSpaceInterner interning} the IpSpaces it
+   * builds. Only for measuring what interning saves.
+   */
+  @VisibleForTesting
+  public ForwardingAnalysisImpl(
+      Map<String, Configuration> configurations,
+      Map<String, Map<String, Fib>> fibs,
+      Topology topology,
+      Map<Location, LocationInfo> locationInfo,
+      IpOwners ipOwners,
+      boolean internIpSpaces) {
     List<Map.Entry<String, String>> allVrfs = sparseKeys(fibs);
 
     // TODO accept IpSpaceToBDD as parameter to reuse work when we build forwarding analysis
     // multiple times.
     IpSpaceToBDD ipSpaceToBDD = new BDDPacket().getDstIpSpaceToBDD();
 
+    IpSpaceInterner ipSpaces = new IpSpaceInterner(internIpSpaces);
+
     LOGGER.info("Computing owned and unowned IPs");
     // IPs belonging to any interface in the network, even inactive interfaces
     // node -> interface -> IPs owned by that interface
     Map<String, Map<String, Set<Ip>>> interfaceOwnedIps = ipOwners.getInterfaceOwners(false);
 
     // Owned (i.e., internal to the network) IPs
-    IpSpace ownedIps = computeOwnedIps(interfaceOwnedIps);
+    _ownedIps = ipSpaces.intern(computeOwnedIps(interfaceOwnedIps));
     // Unowned (i.e., external to the network) IPs
-    BDD unownedIpsBDD = ipSpaceToBDD.visit(ownedIps).not();
+    BDD unownedIpsBDD = ipSpaceToBDD.visit(_ownedIps).not();
 
     // ARP ips not belonging to any subnet in the network
-    Set<Ip> unownedArpIps = computeUnownedArpIps(fibs, ipSpaceToBDD, unownedIpsBDD);
+    _unownedArpIps = computeUnownedArpIps(fibs, ipSpaceToBDD, unownedIpsBDD);
 
     LOGGER.info("Aggregating information about routing entries");
     // IpSpaces matched by each prefix
@@ -100,7 +158,8 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
     Map<String, Map<String, Map<String, Set<AbstractRoute>>>> routesWithNextHop =
         computeRoutesWithNextHop(fibs, allVrfs);
     // Node -> vrf -> destination IPs that can be routed
-    Map<String, Map<String, IpSpace>> routableIps = computeRoutableIps(fibs, allVrfs);
+    Map<String, Map<String, IpSpace>> routableIps =
+        internValues(computeRoutableIps(fibs, allVrfs), ipSpaces);
 
     /* Compute _arpReplies: for each interface, the set of arp IPs for which that interface will
      * respond.
@@ -110,92 +169,124 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
       // interface. Should only include active interfaces.
       LOGGER.info("Computing IPs routed out interfaces");
       Map<String, Map<String, Map<String, IpSpace>>> ipsRoutedOutInterfaces =
-          computeIpsRoutedOutInterfaces(matchingIps, routesWithNextHop, allVrfs);
+          toImmutableMap(
+              computeIpsRoutedOutInterfaces(matchingIps, routesWithNextHop, allVrfs),
+              Entry::getKey,
+              nodeEntry -> internValues(nodeEntry.getValue(), ipSpaces));
       LOGGER.info("Computing ARP replies");
       _arpReplies =
-          computeArpReplies(configurations, ipsRoutedOutInterfaces, interfaceOwnedIps, routableIps);
+          internValues(
+              computeArpReplies(
+                  configurations, ipsRoutedOutInterfaces, interfaceOwnedIps, routableIps),
+              ipSpaces);
     }
 
     // hostname -> interfaces that are not full. I.e. could have neighbors not present in snapshot
     LOGGER.info("Computing interfaces with missing devices");
-    Multimap<String, String> interfacesWithMissingDevices =
+    _interfacesWithMissingDevices =
         computeInterfacesWithMissingDevices(locationInfo, ipSpaceToBDD, unownedIpsBDD);
 
     // ips belonging to any subnet in the network, including inactive interfaces.
     LOGGER.info("Computing internal IPs");
-    IpSpace internalIps = computeInternalIps(ipOwners.getAllInterfaceHostIps());
+    _internalIps = ipSpaces.intern(computeInternalIps(ipOwners.getAllInterfaceHostIps()));
 
     // ips not belonging to any subnet in the network, including inactive interfaces.
-    IpSpace externalIps = internalIps.complement();
-
-    // Compute VrfForwardingBehavior, parallelizing across all VRFs.
-    LOGGER.info("Computing VRF forwarding behavior for {} VRFs", allVrfs.size());
-    AtomicInteger done = new AtomicInteger();
-    _vrfForwardingBehavior =
-        allVrfs.parallelStream()
-            .collect(
-                ImmutableTable.toImmutableTable(
-                    Entry::getKey,
-                    Entry::getValue,
-                    e -> {
-                      String node = e.getKey();
-                      String vrf = e.getValue();
-                      VrfForwardingBehavior ret =
-                          computeVrfForwardingBehavior(
-                              node,
-                              vrf,
-                              topology,
-                              locationInfo,
-                              ipSpaceToBDD,
-                              ipOwners,
-                              fibs.get(node).get(vrf),
-                              unownedArpIps,
-                              matchingIps.get(node).get(vrf),
-                              ownedIps,
-                              interfacesWithMissingDevices,
-                              internalIps,
-                              externalIps,
-                              routableIps,
-                              routesWithNextHop.get(node).get(vrf));
-                      int processed = done.incrementAndGet();
-                      if (processed % 100 == 0) {
-                        LOGGER.info(
-                            "Computed VRF forwarding behavior for {}/{} vrfs",
-                            processed,
-                            allVrfs.size());
-                      }
-                      return ret;
-                    }))
-            .rowMap();
-    LOGGER.info("Done computing VRF forwarding behavior for {} devices", configurations.size());
+    _externalIps = ipSpaces.intern(_internalIps.complement());
+
+    _topology = topology;
+    _locationInfo = ImmutableMap.copyOf(locationInfo);
+    _acceptedIps = ipOwners.getVrfIfaceOwnedIpSpaces();
+    _fibs = fibs;
+    _ipSpaces = ipSpaces;
+    _vrfForwardingBehaviorCache = buildVrfForwardingBehaviorCache();
+    _vrfForwardingBehavior = vrfForwardingBehaviorView();
+    LOGGER.info(
+        "Done computing forwarding analysis for {} devices; VRF forwarding behavior for {} VRFs is"
+            + " computed on demand",
+        configurations.size(),
+        allVrfs.size());
 
     assert sanityCheck(configurations);
   }
 
-  private VrfForwardingBehavior computeVrfForwardingBehavior(
-      String node,
-      String vrf,
-      Topology topology,
-      Map<Location, LocationInfo> locationInfo,
-      // Note: BDDs are not thread-safe and this method is run in parallel.
-      // all uses must synchronize on the BDDFactory within.
-      // this is here only for sanity checking (only with assertions enabled)
-      IpSpaceToBDD ipSpaceToBDDUnsafeDoNotUse,
-      IpOwners ipOwners,
-      Fib fib,
-      Set<Ip> unownedArpIps,
-      Map<Prefix, IpSpace> matchingIps,
-      IpSpace ownedIps,
-      Multimap<String, String> interfacesWithMissingDevices,
-      IpSpace internalIps,
-      IpSpace externalIps,
-      Map<String, Map<String, IpSpace>> routableIps,
-      Map<String, Set<AbstractRoute>> routesWithNextHop) {
+  /** Copies the network-wide state of {@code other}, with the given FIBs and an empty cache. */
+  private ForwardingAnalysisImpl(
+      ForwardingAnalysisImpl other, @Nullable Map<String, Map<String, Fib>> fibs) {
+    _arpReplies = other._arpReplies;
+    _topology = other._topology;
+    _locationInfo = other._locationInfo;
+    _acceptedIps = other._acceptedIps;
+    _unownedArpIps = other._unownedArpIps;
+    _ownedIps = other._ownedIps;
+    _interfacesWithMissingDevices = other._interfacesWithMissingDevices;
+    _internalIps = other._internalIps;
+    _externalIps = other._externalIps;
+    _fibs = fibs;
+    // null after deserialization
+    _ipSpaces = other._ipSpaces != null ? other._ipSpaces : new IpSpaceInterner();
+    _vrfForwardingBehaviorCache = buildVrfForwardingBehaviorCache();
+    _vrfForwardingBehavior = fibs == null ? null : vrfForwardingBehaviorView();
+  }
+
+  /**
+   * Returns a copy of this analysis without its FIBs, for storing apart from them. Its VRF
+   * forwarding behavior is unavailable until the FIBs are provided again using {@link #withFibs}.
+   */
+  public @Nonnull ForwardingAnalysisImpl withoutFibs() {
+    return new ForwardingAnalysisImpl(this, null);
+  }
+
+  /**
+   * Returns a copy of this analysis that computes VRF forwarding behavior from the given FIBs,
+   * which must be the FIBs it was computed from.
+   */
+  public @Nonnull ForwardingAnalysisImpl withFibs(Map<String, Map<String, Fib>> fibs) {
+    return new ForwardingAnalysisImpl(this, fibs);
+  }
+
+  /** Rebuilds the transient cache after deserialization. */
+  @Serial
+  private Object readResolve() throws ObjectStreamException {
+    return new ForwardingAnalysisImpl(this, _fibs);
+  }
+
+  /** The number of VRFs whose forwarding behavior is currently computed and cached. */
+  @VisibleForTesting
+  long getCachedVrfForwardingBehaviorCount() {
+    return _vrfForwardingBehaviorCache.size();
+  }
+
+  private @Nonnull LoadingCache<Entry<String, String>, VrfForwardingBehavior>
+      buildVrfForwardingBehaviorCache() {
+    return CacheBuilder.newBuilder()
+        .softValues()
+        .build(
+            CacheLoader.from(
+                nodeVrf -> computeVrfForwardingBehavior(nodeVrf.getKey(), nodeVrf.getValue())));
+  }
+
+  /** node -> vrf -> forwarding behavior, computing and caching each VRF's behavior on access. */
+  private @Nonnull Map<String, Map<String, VrfForwardingBehavior>> vrfForwardingBehaviorView() {
+    assert _fibs != null;
+    return toImmutableMap(
+        _fibs,
+        Entry::getKey,
+        nodeEntry -> {
+          String node = nodeEntry.getKey();
+          return Maps.asMap(
+              ImmutableSet.copyOf(nodeEntry.getValue().keySet()),
+              vrf -> _vrfForwardingBehaviorCache.getUnchecked(Maps.immutableEntry(node, vrf)));
+        });
+  }
+
+  private @Nonnull VrfForwardingBehavior computeVrfForwardingBehavior(String node, String vrf) {
+    checkState(_fibs != null, "FIBs of this forwarding analysis have not been provided");
+    Fib fib = _fibs.get(node).get(vrf);
     Map<String, IpSpace> accepted =
-        ipOwners
-            .getVrfIfaceOwnedIpSpaces()
-            .getOrDefault(node, ImmutableMap.of())
-            .getOrDefault(vrf, ImmutableMap.of());
+        _acceptedIps.getOrDefault(node, ImmutableMap.of()).getOrDefault(vrf, ImmutableMap.of());
+    Map<Prefix, IpSpace> matchingIps = fib.getMatchingIps();
+    // interface -> routes in this vrf that forward out that interface
+    Map<String, Set<AbstractRoute>> routesWithNextHop = computeRoutesWithNextHop(fib);
     /*
      * Mapping: route -> nexthopinterface -> resolved nextHopIps (where Optional.empty() indicates
      *                                       dest IP should be used for ARP)
@@ -216,7 +307,7 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
      * due to route leaking, etc
      */
     Map<Edge, Set<AbstractRoute>> routesWithDestIpEdge =
-        computeRoutesWithDestIpEdge(node, topology, routesWhereDstIpCanBeArpIp);
+        computeRoutesWithDestIpEdge(node, _topology, routesWhereDstIpCanBeArpIp);
 
     /* edge -> dst ips for which this vrf forwards out the source of the edge,
      * ARPing for the dest IP and receiving a reply from the target of the edge.
@@ -235,7 +326,7 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
      */
     Map<Edge, Set<AbstractRoute>> routesWithNextHopIpArpTrue =
         computeRoutesWithNextHopIpArpTrue(
-            node, nextHopInterfaces, topology, _arpReplies, routesWithNextHop);
+            node, nextHopInterfaces, _topology, _arpReplies, routesWithNextHop);
 
     /* edge -> dst ips for which this vrf forwards out the source of the edge,
      * ARPing for some next-hop IP and receiving a reply from the target of the edge.
@@ -246,7 +337,8 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
     Map<Edge, IpSpace> arpTrueEdgeNextHopIp =
         computeArpTrueEdgeNextHopIp(matchingIps, routesWithNextHopIpArpTrue);
 
-    Map<Edge, IpSpace> arpTrueEdge = computeArpTrueEdge(arpTrueEdgeDestIp, arpTrueEdgeNextHopIp);
+    Map<Edge, IpSpace> arpTrueEdge =
+        _ipSpaces.internValues(computeArpTrueEdge(arpTrueEdgeDestIp, arpTrueEdgeNextHopIp));
 
     Map<String, InterfaceForwardingBehavior> interfaceForwardingBehavior =
         toImmutableMap(
@@ -257,12 +349,13 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
             Function.identity(),
             iface -> {
               IpSpace externalArpIps =
-                  locationInfo
+                  _locationInfo
                       .getOrDefault(new InterfaceLinkLocation(node, iface), LocationInfo.NOTHING)
                       .getArpIps();
 
               /* Compute ARP stuff bottom-up from _arpReplies. */
-              IpSpace someoneReplies = computeSomeoneReplies(node, iface, topology, _arpReplies);
+              IpSpace someoneReplies =
+                  _ipSpaces.intern(computeSomeoneReplies(node, iface, _topology, _arpReplies));
 
               /* set of routes on that vrf that forward out that interface
                * with a next hop ip that gets no arp replies
@@ -275,15 +368,18 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
                * for the dst ip itself with no reply
                */
               IpSpace arpFalseDestIp =
-                  computeArpFalseDestIp(
-                      matchingIps, routesWhereDstIpCanBeArpIp.get(iface), someoneReplies);
+                  _ipSpaces.intern(
+                      computeArpFalseDestIp(
+                          matchingIps, routesWhereDstIpCanBeArpIp.get(iface), someoneReplies));
 
               /* dst ips for which this vrf forwards out that interface,
                * ARPing for a next-hop IP and receiving no reply
                */
-              IpSpace arpFalseNextHopIp = computeArpFalseNextHopIp(matchingIps, arpFalseNhipRoutes);
+              IpSpace arpFalseNextHopIp =
+                  _ipSpaces.intern(computeArpFalseNextHopIp(matchingIps, arpFalseNhipRoutes));
 
-              IpSpace arpFalse = AclIpSpace.union(arpFalseDestIp, arpFalseNextHopIp);
+              IpSpace arpFalse =
+                  _ipSpaces.intern(AclIpSpace.union(arpFalseDestIp, arpFalseNextHopIp));
 
               // Of the routes that ARP for a next-hop IP and don't receive a response,
               // determine which ARP for an owned IP, and which ARP for an unowned IP.
@@ -291,7 +387,7 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
               List<AbstractRoute> arpFalseNhipRoutesWithUnownedArpIp = new ArrayList<>();
               List<AbstractRoute> arpFalseNhipRoutesWithOwnedArpIp = new ArrayList<>();
               classifyArpFalseNhipRoutes(
-                  unownedArpIps,
+                  _unownedArpIps,
                   nextHopInterfaces,
                   arpFalseNhipRoutes,
                   arpFalseNhipRoutesWithUnownedArpIp::add,
@@ -301,38 +397,44 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
                * for some unowned next-hop IP with no reply
                */
               IpSpace dstIpsWithUnownedNextHopIpArpFalse =
-                  computeRouteMatchConditions(arpFalseNhipRoutesWithUnownedArpIp, matchingIps);
+                  _ipSpaces.intern(
+                      computeRouteMatchConditions(arpFalseNhipRoutesWithUnownedArpIp, matchingIps));
 
               /* dst IPs for which that VRF forwards out that interface, ARPing
                * for some owned next-hop IP with no reply.
                */
               IpSpace dstIpsWithOwnedNextHopIpArpFalse =
-                  computeRouteMatchConditions(arpFalseNhipRoutesWithOwnedArpIp, matchingIps);
+                  _ipSpaces.intern(
+                      computeRouteMatchConditions(arpFalseNhipRoutesWithOwnedArpIp, matchingIps));
 
               IpSpace deliveredToSubnet =
-                  computeDeliveredToSubnet(arpFalseDestIp, externalArpIps, ownedIps);
+                  _ipSpaces.intern(
+                      computeDeliveredToSubnet(arpFalseDestIp, externalArpIps, _ownedIps));
 
-              boolean hasMissingDevices = interfacesWithMissingDevices.containsEntry(node, iface);
+              boolean hasMissingDevices = _interfacesWithMissingDevices.containsEntry(node, iface);
 
               IpSpace exitsNetwork =
-                  computeExitsNetwork(
-                      hasMissingDevices,
-                      dstIpsWithUnownedNextHopIpArpFalse,
-                      arpFalseDestIp,
-                      externalIps);
+                  _ipSpaces.intern(
+                      computeExitsNetwork(
+                          hasMissingDevices,
+                          dstIpsWithUnownedNextHopIpArpFalse,
+                          arpFalseDestIp,
+                          _externalIps));
 
               IpSpace insufficientInfo =
-                  computeInsufficientInfo(
-                      externalArpIps,
-                      hasMissingDevices,
-                      arpFalseDestIp,
-                      dstIpsWithUnownedNextHopIpArpFalse,
-                      dstIpsWithOwnedNextHopIpArpFalse,
-                      internalIps);
+                  _ipSpaces.intern(
+                      computeInsufficientInfo(
+                          externalArpIps,
+                          hasMissingDevices,
+                          arpFalseDestIp,
+                          dstIpsWithUnownedNextHopIpArpFalse,
+                          dstIpsWithOwnedNextHopIpArpFalse,
+                          _internalIps));
 
               IpSpace neighborUnreachable =
-                  computeNeighborUnreachable(
-                      arpFalse, hasMissingDevices, arpFalseDestIp, externalArpIps, ownedIps);
+                  _ipSpaces.intern(
+                      computeNeighborUnreachable(
+                          arpFalse, hasMissingDevices, arpFalseDestIp, externalArpIps, _ownedIps));
 
               InterfaceForwardingBehavior ifb =
                   InterfaceForwardingBehavior.builder()
@@ -344,23 +446,26 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
                       .build();
 
               assert sanityCheckInterfaceForwardingBehavior(
-                  node, vrf, iface, ipSpaceToBDDUnsafeDoNotUse, arpFalse, ifb);
+                  node, vrf, iface, _sanityCheckIpSpaceToBDD.get(), arpFalse, ifb);
               return ifb;
             });
 
     // destination IPs that will be null routes
-    IpSpace nullRoutedIps = computeNullRoutedIps(matchingIps, fib);
+    IpSpace nullRoutedIps = _ipSpaces.intern(computeNullRoutedIps(matchingIps, fib));
 
     // nextVrf -> dest IPs that vrf delegates to nextVrf
-    Map<String, IpSpace> nextVrfIps = computeNextVrfIps(matchingIps, fib);
-
-    return VrfForwardingBehavior.builder()
-        .setArpTrueEdge(arpTrueEdge)
-        .setInterfaceForwardingBehavior(interfaceForwardingBehavior)
-        .setNextVrf(nextVrfIps)
-        .setNullRoutedIps(nullRoutedIps)
-        .setRoutableIps(routableIps.get(node).get(vrf))
-        .build();
+    Map<String, IpSpace> nextVrfIps = _ipSpaces.internValues(computeNextVrfIps(matchingIps, fib));
+
+    VrfForwardingBehavior vfb =
+        VrfForwardingBehavior.builder()
+            .setArpTrueEdge(arpTrueEdge)
+            .setInterfaceForwardingBehavior(interfaceForwardingBehavior)
+            .setNextVrf(nextVrfIps)
+            .setNullRoutedIps(nullRoutedIps)
+            .setRoutableIps(_ipSpaces.intern(routableSpace(fib)))
+            .build();
+    assert sanityCheckVrfForwardingBehavior(node, vfb);
+    return vfb;
   }
 
   /**
@@ -837,17 +942,21 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
             ImmutableTable.toImmutableTable(
                 Entry::getKey,
                 Entry::getValue,
-                e ->
-                    fibs.get(e.getKey()).get(e.getValue()).allEntries().stream()
-                        .filter(fibEntry -> fibEntry.getAction() instanceof FibForward)
-                        .collect(
-                            Collectors.groupingBy(
-                                fibEntry -> ((FibForward) fibEntry.getAction()).getInterfaceName(),
-                                Collectors.mapping(
-                                    FibEntry::getTopLevelRoute, Collectors.toSet())))))
+                e -> computeRoutesWithNextHop(fibs.get(e.getKey()).get(e.getValue()))))
         .rowMap();
   }
 
+  /* Mapping: interfacename -&gt; set of routes in the given FIB that use the interface as outgoing
+   * interface */
+  private static Map<String, Set<AbstractRoute>> computeRoutesWithNextHop(Fib fib) {
+    return fib.allEntries().stream()
+        .filter(fibEntry -> fibEntry.getAction() instanceof FibForward)
+        .collect(
+            Collectors.groupingBy(
+                fibEntry -> ((FibForward) fibEntry.getAction()).getInterfaceName(),
+                Collectors.mapping(FibEntry::getTopLevelRoute, Collectors.toSet())));
+  }
+
   @VisibleForTesting
   static Set<AbstractRoute> computeArpFalseNhipRoutes(
       String iface,
@@ -930,13 +1039,27 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
         EmptyIpSpace.INSTANCE);
   }
 
+  /** Returns a copy of {@code ipSpaces} with every value {@link IpSpaceInterner#intern}ed. */
+  private static @Nonnull Map<String, Map<String, IpSpace>> internValues(
+      Map<String, Map<String, IpSpace>> ipSpaces, IpSpaceInterner interner) {
+    return toImmutableMap(ipSpaces, Entry::getKey, e -> interner.internValues(e.getValue()));
+  }
+
   @Override
   public Map<String, Map<String, IpSpace>> getArpReplies() {
     return _arpReplies;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The behavior of each VRF is computed when first accessed, and may be evicted and computed
+   * again under memory pressure.
+   */
   @Override
   public @Nonnull Map<String, Map<String, VrfForwardingBehavior>> getVrfForwardingBehavior() {
+    checkState(
+        _vrfForwardingBehavior != null, "FIBs of this forwarding analysis have not been provided");
     return _vrfForwardingBehavior;
   }
 
@@ -1127,11 +1250,25 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
     LOGGER.info("Running expensive sanity checks");
     // Sanity check internal properties.
     assertAllInterfacesActiveNodeInterface(_arpReplies, configurations);
-    assertAllInterfacesActiveVrfForwardingBehavior(_vrfForwardingBehavior, configurations);
 
     // Sanity check public APIs.
     assertAllInterfacesActiveNodeInterface(getArpReplies(), configurations);
-    assertAllInterfacesActiveVrfForwardingBehavior(getVrfForwardingBehavior(), configurations);
+    return true;
+  }
+
+  /**
+   * Asserts that all interfaces the given VRF forwards out of are active. {@link #_arpReplies} has
+   * an entry for exactly the active interfaces of each node.
+   */
+  private boolean sanityCheckVrfForwardingBehavior(String node, VrfForwardingBehavior vfb) {
+    Map<String, IpSpace> activeInterfaces = _arpReplies.getOrDefault(node, ImmutableMap.of());
+    vfb.getInterfaceForwardingBehavior()
+        .keySet()
+        .forEach(
+            i -> {
+              assert i.equals(Interface.NULL_INTERFACE_NAME) || activeInterfaces.containsKey(i)
+                  : node + "[" + i + "] is not active";
+            });
     return true;
   }
 
@@ -1171,19 +1308,6 @@ public final class ForwardingAnalysisImpl implements ForwardingAnalysis, Seriali
     return true;
   }
 
-  /** Asserts that all interfaces in the given nested map are active in the given configurations. */
-  private static void assertAllInterfacesActiveVrfForwardingBehavior(
-      Map<String, Map<String, VrfForwardingBehavior>> vrfForwardingBehavior,
-      Map<String, Configuration> configurations) {
-    vrfForwardingBehavior.forEach(
-        (node, vrfMap) ->
-            vrfMap.forEach(
-                (vrf, vfb) ->
-                    vfb.getInterfaceForwardingBehavior()
-                        .keySet()
-                        .forEach(i -> assertInterfaceActive(node, i, configurations))));
-  }
-
   /**
    * Asserts that all interfaces in the given nested map are inactive in the given configurations.
    */
@@ -0,0 +1,118 @@
+package org.batfish.datamodel;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Hash-conses {@link IpSpace}s: returns one canonical instance for all structurally equal spaces it
+ * is given. Spaces built from interned parts and then interned themselves are shared across the
+ * whole structure, so they take memory and serialize once, and hit the identity-keyed cache of
+ * {@link org.batfish.common.bdd.IpSpaceToBDD} instead of being converted again.
+ *
+ * <p>Before interning, a pure union of IPs, prefixes, and wildcards is normalized to an {@link
+ * IpWildcardSetIpSpace}, so equal unions built in different orders are shared too.
+ *
+ * <p>Holds spaces weakly, so may live as long as the structure it serves. Safe to use from multiple
+ * threads.
+ *
+ * <p>A disabled interner returns every space unchanged, for measuring what interning saves.
+ */
+@ParametersAreNonnullByDefault
+final class IpSpaceInterner {
+
+  private static final Comparator<IpWildcard> WILDCARD_ORDER =
+      Comparator.comparing(IpWildcard::getIp).thenComparingLong(IpWildcard::getWildcardMask);
+
+  private final Interner<IpSpace> _interner = Interners.newWeakInterner();
+  private final boolean _enabled;
+  private final AtomicInteger _requests = new AtomicInteger();
+  private final AtomicInteger _distinct = new AtomicInteger();
+
+  IpSpaceInterner() {
+    this(true);
+  }
+
+  IpSpaceInterner(boolean enabled) {
+    _enabled = enabled;
+  }
+
+  /** Returns the canonical instance of (the normalized form of) {@code ipSpace}. */
+  @Nonnull
+  IpSpace intern(IpSpace ipSpace) {
+    _requests.incrementAndGet();
+    if (!_enabled) {
+      _distinct.incrementAndGet();
+      return ipSpace;
+    }
+    IpSpace normalized = normalize(ipSpace);
+    IpSpace canonical = _interner.intern(normalized);
+    if (canonical == normalized) {
+      _distinct.incrementAndGet();
+    }
+    return canonical;
+  }
+
+  /** Returns a copy of {@code ipSpaces} with every value {@link #intern interned}. */
+  @Nonnull
+  <K> Map<K, IpSpace> internValues(Map<K, IpSpace> ipSpaces) {
+    return ipSpaces.entrySet().stream()
+        .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, e -> intern(e.getValue())));
+  }
+
+  /** The number of calls to {@link #intern}. */
+  int getRequests() {
+    return _requests.get();
+  }
+
+  /** The number of distinct spaces interned. */
+  int getDistinct() {
+    return _distinct.get();
+  }
+
+  private static @Nonnull IpSpace normalize(IpSpace ipSpace) {
+    if (!(ipSpace instanceof AclIpSpace)) {
+      return ipSpace;
+    }
+    ImmutableSet.Builder<IpWildcard> wildcards = ImmutableSet.builder();
+    for (AclIpSpaceLine line : ((AclIpSpace) ipSpace).getLines()) {
+      if (line.getAction() != LineAction.PERMIT) {
+        return ipSpace;
+      }
+      IpSpace lineSpace = line.getIpSpace();
+      if (lineSpace instanceof IpWildcardSetIpSpace
+          && ((IpWildcardSetIpSpace) lineSpace).getBlacklist().isEmpty()) {
+        wildcards.addAll(((IpWildcardSetIpSpace) lineSpace).getWhitelist());
+        continue;
+      }
+      IpWildcard wildcard = toIpWildcard(lineSpace);
+      if (wildcard == null) {
+        return ipSpace;
+      }
+      wildcards.add(wildcard);
+    }
+    return IpWildcardSetIpSpace.create(
+        ImmutableSet.of(),
+        wildcards.build().stream()
+            .sorted(WILDCARD_ORDER)
+            .collect(ImmutableSet.toImmutableSet()));
+  }
+
+  private static @Nullable IpWildcard toIpWildcard(IpSpace ipSpace) {
+    if (ipSpace instanceof IpIpSpace) {
+      return IpWildcard.create(((IpIpSpace) ipSpace).getIp());
+    } else if (ipSpace instanceof PrefixIpSpace) {
+      return IpWildcard.create(((PrefixIpSpace) ipSpace).getPrefix());
+    } else if (ipSpace instanceof IpWildcardIpSpace) {
+      return ((IpWildcardIpSpace) ipSpace).getIpWildcard();
+    }
+    return null;
+  }
+}
@@ -0,0 +1,148 @@
+package org.batfish.datamodel.acl;
+
+import static org.batfish.datamodel.acl.AclLineMatchExprs.matchDst;
+import static org.batfish.datamodel.acl.AclLineMatchExprs.matchDstPort;
+import static org.batfish.datamodel.acl.AclLineMatchExprs.matchIpProtocol;
+import static org.batfish.datamodel.acl.AclLineMatchExprs.matchSrc;
+import static org.batfish.datamodel.acl.AclLineMatchExprs.matchSrcPort;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Map;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.datamodel.AclAclLine;
+import org.batfish.datamodel.AclLine;
+import org.batfish.datamodel.ExprAclLine;
+import org.batfish.datamodel.IpAccessList;
+import org.batfish.datamodel.IpSpace;
+import org.batfish.datamodel.visitors.IpSpaceDereferencer;
+
+/**
+ * Converts {@link AclLine AclLines} and {@link AclLineMatchExpr AclLineMatchExprs} to a canonical
+ * form suitable for detecting semantically identical ACLs across devices: all named {@link
+ * IpSpace} references are replaced by their definitions, and all line names, trace elements, and
+ * vendor structure ids are dropped.
+ *
+ * <p>References to other ACLs are kept by name. Throws {@link CircularReferenceException} or {@link
+ * UndefinedReferenceException} if an {@link IpSpace} reference cannot be resolved.
+ */
+@ParametersAreNonnullByDefault
+public final class AclLineCanonicalizer
+    implements GenericAclLineMatchExprVisitor<AclLineMatchExpr>, GenericAclLineVisitor<AclLine> {
+
+  private final Map<String, IpSpace> _namedIpSpaces;
+
+  public AclLineCanonicalizer(Map<String, IpSpace> namedIpSpaces) {
+    _namedIpSpaces = namedIpSpaces;
+  }
+
+  /** Returns a copy of the given ACL with every line in canonical form. */
+  public IpAccessList canonicalize(IpAccessList acl) {
+    return IpAccessList.builder()
+        .setName(acl.getName())
+        .setLines(
+            acl.getLines().stream().map(this::visit).collect(ImmutableList.toImmutableList()))
+        .build();
+  }
+
+  private IpSpace dereference(IpSpace ipSpace) {
+    return ipSpace.accept(new IpSpaceDereferencer(_namedIpSpaces));
+  }
+
+  /* AclLine visit methods */
+
+  @Override
+  public AclLine visitAclAclLine(AclAclLine aclAclLine) {
+    return new AclAclLine(null, aclAclLine.getAclName(), null, null);
+  }
+
+  @Override
+  public AclLine visitExprAclLine(ExprAclLine exprAclLine) {
+    return new ExprAclLine(
+        exprAclLine.getAction(), visit(exprAclLine.getMatchCondition()), null, null, null);
+  }
+
+  /* AclLineMatchExpr visit methods */
+
+  @Override
+  public AclLineMatchExpr visitAndMatchExpr(AndMatchExpr andMatchExpr) {
+    return new AndMatchExpr(
+        andMatchExpr.getConjuncts().stream()
+            .map(this::visit)
+            .collect(ImmutableList.toImmutableList()));
+  }
+
+  @Override
+  public AclLineMatchExpr visitDeniedByAcl(DeniedByAcl deniedByAcl) {
+    return new DeniedByAcl(deniedByAcl.getAclName());
+  }
+
+  @Override
+  public AclLineMatchExpr visitFalseExpr(FalseExpr falseExpr) {
+    return FalseExpr.INSTANCE;
+  }
+
+  @Override
+  public AclLineMatchExpr visitMatchDestinationIp(MatchDestinationIp matchDestinationIp) {
+    return matchDst(dereference(matchDestinationIp.getIps()));
+  }
+
+  @Override
+  public AclLineMatchExpr visitMatchDestinationPort(MatchDestinationPort matchDestinationPort) {
+    return matchDstPort(matchDestinationPort.getPorts());
+  }
+
+  @Override
+  public AclLineMatchExpr visitMatchHeaderSpace(MatchHeaderSpace matchHeaderSpace) {
+    return new MatchHeaderSpace(
+        IpSpaceDereferencer.dereferenceHeaderSpace(
+            matchHeaderSpace.getHeaderspace(), _namedIpSpaces));
+  }
+
+  @Override
+  public AclLineMatchExpr visitMatchIpProtocol(MatchIpProtocol matchIpProtocol) {
+    return matchIpProtocol(matchIpProtocol.getProtocol());
+  }
+
+  @Override
+  public AclLineMatchExpr visitMatchSourceIp(MatchSourceIp matchSourceIp) {
+    return matchSrc(dereference(matchSourceIp.getIps()));
+  }
+
+  @Override
+  public AclLineMatchExpr visitMatchSourcePort(MatchSourcePort matchSourcePort) {
+    return matchSrcPort(matchSourcePort.getPorts());
+  }
+
+  @Override
+  public AclLineMatchExpr visitMatchSrcInterface(MatchSrcInterface matchSrcInterface) {
+    return new MatchSrcInterface(matchSrcInterface.getSrcInterfaces());
+  }
+
+  @Override
+  public AclLineMatchExpr visitNotMatchExpr(NotMatchExpr notMatchExpr) {
+    return new NotMatchExpr(visit(notMatchExpr.getOperand()));
+  }
+
+  @Override
+  public AclLineMatchExpr visitOriginatingFromDevice(OriginatingFromDevice originatingFromDevice) {
+    return OriginatingFromDevice.INSTANCE;
+  }
+
+  @Override
+  public AclLineMatchExpr visitOrMatchExpr(OrMatchExpr orMatchExpr) {
+    return new OrMatchExpr(
+        orMatchExpr.getDisjuncts().stream()
+            .map(this::visit)
+            .collect(ImmutableList.toImmutableList()));
+  }
+
+  @Override
+  public AclLineMatchExpr visitPermittedByAcl(PermittedByAcl permittedByAcl) {
+    return new PermittedByAcl(permittedByAcl.getAclName());
+  }
+
+  @Override
+  public AclLineMatchExpr visitTrueExpr(TrueExpr trueExpr) {
+    return TrueExpr.INSTANCE;
+  }
+}
@@ -14,12 +14,18 @@ public class IncrementalBdpAnswerElement extends DataPlaneAnswerElement {
   private static final String PROP_BGP_MULTIPATH_RIB_ROUTES_BY_ITERATION =
       "bgpMultipathRibRoutesByIteration";
   private static final String PROP_DEPENDENT_ROUTES_ITERATIONS = "dependentRoutesIterations";
+  private static final String PROP_FIBS_RECOMPUTED_BY_TOPOLOGY_ITERATION =
+      "fibsRecomputedByTopologyIteration";
+  private static final String PROP_FIBS_REUSED_BY_TOPOLOGY_ITERATION =
+      "fibsReusedByTopologyIteration";
   private static final String PROP_OSPF_INTERNAL_ITERATIONS = "ospfInternalIterations";
   private static final String PROP_WARNINGS = "warnings";
 
   private SortedMap<Integer, Integer> _bgpBestPathRibRoutesByIteration;
   private SortedMap<Integer, Integer> _bgpMultipathRibRoutesByIteration;
   private int _dependentRoutesIterations;
+  private SortedMap<Integer, Integer> _fibsRecomputedByTopologyIteration;
+  private SortedMap<Integer, Integer> _fibsReusedByTopologyIteration;
   private SortedMap<Integer, Integer> _mainRibRoutesByIteration;
   private int _ospfInternalIterations;
   private String _version;
@@ -28,6 +34,8 @@ public class IncrementalBdpAnswerElement extends DataPlaneAnswerElement {
   public IncrementalBdpAnswerElement() {
     _bgpBestPathRibRoutesByIteration = new TreeMap<>();
     _bgpMultipathRibRoutesByIteration = new TreeMap<>();
+    _fibsRecomputedByTopologyIteration = new TreeMap<>();
+    _fibsReusedByTopologyIteration = new TreeMap<>();
     _mainRibRoutesByIteration = new TreeMap<>();
     _warnings = new Warnings();
   }
@@ -47,6 +55,24 @@ public class IncrementalBdpAnswerElement extends DataPlaneAnswerElement {
     return _dependentRoutesIterations;
   }
 
+  /**
+   * Number of VRF FIBs rebuilt from their main RIBs, by topology iteration. Iteration 0 is the
+   * initial computation before the topology fixed point.
+   */
+  @JsonProperty(PROP_FIBS_RECOMPUTED_BY_TOPOLOGY_ITERATION)
+  public SortedMap<Integer, Integer> getFibsRecomputedByTopologyIteration() {
+    return _fibsRecomputedByTopologyIteration;
+  }
+
+  /**
+   * Number of VRF FIBs reused from the previous topology iteration because their main RIBs did not
+   * change, by topology iteration.
+   */
+  @JsonProperty(PROP_FIBS_REUSED_BY_TOPOLOGY_ITERATION)
+  public SortedMap<Integer, Integer> getFibsReusedByTopologyIteration() {
+    return _fibsReusedByTopologyIteration;
+  }
+
   @JsonProperty(MAIN_RIB_ROUTES_BY_ITERATION)
   public SortedMap<Integer, Integer> getMainRibRoutesByIteration() {
     return _mainRibRoutesByIteration;
@@ -85,6 +111,18 @@ public class IncrementalBdpAnswerElement extends DataPlaneAnswerElement {
     _dependentRoutesIterations = dependentRoutesIterations;
   }
 
+  @JsonProperty(PROP_FIBS_RECOMPUTED_BY_TOPOLOGY_ITERATION)
+  public void setFibsRecomputedByTopologyIteration(
+      SortedMap<Integer, Integer> fibsRecomputedByTopologyIteration) {
+    _fibsRecomputedByTopologyIteration = fibsRecomputedByTopologyIteration;
+  }
+
+  @JsonProperty(PROP_FIBS_REUSED_BY_TOPOLOGY_ITERATION)
+  public void setFibsReusedByTopologyIteration(
+      SortedMap<Integer, Integer> fibsReusedByTopologyIteration) {
+    _fibsReusedByTopologyIteration = fibsReusedByTopologyIteration;
+  }
+
   @JsonProperty(MAIN_RIB_ROUTES_BY_ITERATION)
   public void setMainRibRoutesByIteration(SortedMap<Integer, Integer> mainRibRoutesByIteration) {
     _mainRibRoutesByIteration = mainRibRoutesByIteration;
@@ -5,18 +5,22 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import javax.annotation.Nullable;
 import org.batfish.common.BatfishException.BatfishStackTrace;
 import org.batfish.common.ParseTreeSentences;
 import org.batfish.common.Warnings;
 
 public class InitInfoAnswerElement extends AnswerElement {
   private static final String PROP_ERRORS = "errors";
+  private static final String PROP_PARSE_RESULT_CACHE_STATS = "parseResultCacheStats";
   private static final String PROP_PARSE_STATUS = "parseStatus";
   private static final String PROP_PARSE_TREES = "parseTrees";
   private static final String PROP_WARNINGS = "warnings";
 
   private SortedMap<String, List<BatfishStackTrace>> _errors;
 
+  private @Nullable ParseResultCacheStats _parseResultCacheStats;
+
   private SortedMap<String, ParseStatus> _parseStatus;
 
   private SortedMap<String, ParseTreeSentences> _parseTrees;
@@ -35,6 +39,11 @@ public class InitInfoAnswerElement extends AnswerElement {
     return _errors;
   }
 
+  @JsonProperty(PROP_PARSE_RESULT_CACHE_STATS)
+  public @Nullable ParseResultCacheStats getParseResultCacheStats() {
+    return _parseResultCacheStats;
+  }
+
   @JsonProperty(PROP_PARSE_STATUS)
   public SortedMap<String, ParseStatus> getParseStatus() {
     return _parseStatus;
@@ -55,6 +64,11 @@ public class InitInfoAnswerElement extends AnswerElement {
     _errors = errors;
   }
 
+  @JsonProperty(PROP_PARSE_RESULT_CACHE_STATS)
+  public void setParseResultCacheStats(@Nullable ParseResultCacheStats parseResultCacheStats) {
+    _parseResultCacheStats = parseResultCacheStats;
+  }
+
   @JsonProperty(PROP_PARSE_STATUS)
   public void setParseStatus(SortedMap<String, ParseStatus> parseStatus) {
     _parseStatus = parseStatus;
@@ -0,0 +1,95 @@
+package org.batfish.datamodel.answers;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+import java.io.Serializable;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * How often parsing a snapshot's configuration files reused parse results cached by earlier
+ * snapshots, in this or any other network.
+ */
+@ParametersAreNonnullByDefault
+public final class ParseResultCacheStats implements Serializable {
+  private static final String PROP_EVICTIONS = "evictions";
+  private static final String PROP_HITS = "hits";
+  private static final String PROP_MISSES = "misses";
+  private static final String PROP_STORES = "stores";
+
+  private final int _hits;
+  private final int _misses;
+  private final int _stores;
+  private final int _evictions;
+
+  public ParseResultCacheStats(int hits, int misses, int stores, int evictions) {
+    _hits = hits;
+    _misses = misses;
+    _stores = stores;
+    _evictions = evictions;
+  }
+
+  @JsonCreator
+  private static ParseResultCacheStats jsonCreator(
+      @JsonProperty(PROP_HITS) int hits,
+      @JsonProperty(PROP_MISSES) int misses,
+      @JsonProperty(PROP_STORES) int stores,
+      @JsonProperty(PROP_EVICTIONS) int evictions) {
+    return new ParseResultCacheStats(hits, misses, stores, evictions);
+  }
+
+  /** Number of parse jobs whose result was found in the cache. */
+  @JsonProperty(PROP_HITS)
+  public int getHits() {
+    return _hits;
+  }
+
+  /** Number of parse jobs whose result was not in the cache, and so were parsed. */
+  @JsonProperty(PROP_MISSES)
+  public int getMisses() {
+    return _misses;
+  }
+
+  /** Number of parse results added to the cache. */
+  @JsonProperty(PROP_STORES)
+  public int getStores() {
+    return _stores;
+  }
+
+  /** Number of cached parse results evicted to keep the cache within its size limit. */
+  @JsonProperty(PROP_EVICTIONS)
+  public int getEvictions() {
+    return _evictions;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    } else if (!(o instanceof ParseResultCacheStats)) {
+      return false;
+    }
+    ParseResultCacheStats that = (ParseResultCacheStats) o;
+    return _hits == that._hits
+        && _misses == that._misses
+        && _stores == that._stores
+        && _evictions == that._evictions;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(_hits, _misses, _stores, _evictions);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add(PROP_HITS, _hits)
+        .add(PROP_MISSES, _misses)
+        .add(PROP_STORES, _stores)
+        .add(PROP_EVICTIONS, _evictions)
+        .toString();
+  }
+}
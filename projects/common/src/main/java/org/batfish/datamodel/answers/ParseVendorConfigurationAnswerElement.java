@@ -7,6 +7,8 @@ import java.io.Serializable;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.batfish.common.BatfishException;
 import org.batfish.common.ErrorDetails;
 import org.batfish.common.ParseTreeSentences;
@@ -19,6 +21,7 @@ public class ParseVendorConfigurationAnswerElement extends ParseAnswerElement
 
   private static final String PROP_FILE_MAP = "fileMap";
   private static final String PROP_FILE_FORMATS = "fileFormats";
+  private static final String PROP_PARSE_RESULT_CACHE_STATS = "parseResultCacheStats";
   private static final String PROP_VERSION = "version";
 
   private SortedMap<String, BatfishException.BatfishStackTrace> _errors;
@@ -35,6 +38,9 @@ public class ParseVendorConfigurationAnswerElement extends ParseAnswerElement
 
   private SortedMap<String, ParseTreeSentences> _parseTrees;
 
+  /** Parse result cache usage, or {@code null} if parse results were not reused. */
+  private @Nullable ParseResultCacheStats _parseResultCacheStats;
+
   private String _version;
 
   /* Map of filename to warnings */
@@ -50,6 +56,23 @@ public class ParseVendorConfigurationAnswerElement extends ParseAnswerElement
     _errorDetails = new TreeMap<>();
   }
 
+  /**
+   * Returns a copy of this answer element without the per-file {@link #getWarnings() warnings} and
+   * {@link #getParseTrees() parse trees}, which are most of its size. The copy shares everything
+   * else with this element.
+   */
+  public @Nonnull ParseVendorConfigurationAnswerElement withoutWarningsAndParseTrees() {
+    ParseVendorConfigurationAnswerElement copy = new ParseVendorConfigurationAnswerElement();
+    copy._errors = _errors;
+    copy._fileMap = _fileMap;
+    copy._fileFormats = _fileFormats;
+    copy._errorDetails = _errorDetails;
+    copy._parseStatus = _parseStatus;
+    copy._parseResultCacheStats = _parseResultCacheStats;
+    copy._version = _version;
+    return copy;
+  }
+
   public void addRedFlagWarning(String name, Warning warning) {
     _warnings.computeIfAbsent(name, n -> new Warnings()).getRedFlagWarnings().add(warning);
   }
@@ -88,6 +111,11 @@ public class ParseVendorConfigurationAnswerElement extends ParseAnswerElement
     return _parseTrees;
   }
 
+  @JsonProperty(PROP_PARSE_RESULT_CACHE_STATS)
+  public @Nullable ParseResultCacheStats getParseResultCacheStats() {
+    return _parseResultCacheStats;
+  }
+
   @JsonProperty(PROP_VERSION)
   public String getVersion() {
     return _version;
@@ -123,6 +151,11 @@ public class ParseVendorConfigurationAnswerElement extends ParseAnswerElement
     _parseTrees = parseTrees;
   }
 
+  @JsonProperty(PROP_PARSE_RESULT_CACHE_STATS)
+  public void setParseResultCacheStats(@Nullable ParseResultCacheStats parseResultCacheStats) {
+    _parseResultCacheStats = parseResultCacheStats;
+  }
+
   @JsonProperty(PROP_VERSION)
   public void setVersion(String version) {
     _version = version;
@@ -23,6 +23,7 @@ public class IspNodeInfo {
   private static final String PROP_ADDITIONAL_ANNOUNCEMENTS_TO_INTERNET =
       "additionalAnnouncementsToInternet";
   private static final String PROP_TRAFFIC_FILTERING = "trafficFiltering";
+  private static final String PROP_SUMMARIZE_ANNOUNCEMENTS = "summarizeAnnouncements";
 
   /** Dictates certain default behaviors of this ISP node */
   public enum Role {
@@ -45,6 +46,7 @@ public class IspNodeInfo {
   private final @Nonnull Role _role;
   private final @Nonnull List<IspAnnouncement> _additionalAnnouncement;
   private final @Nullable IspTrafficFiltering _trafficFiltering;
+  private final boolean _summarizeAnnouncements;
 
   public IspNodeInfo(long asn, String name) {
     this(asn, name, Role.TRANSIT, ImmutableList.of(), null);
@@ -60,6 +62,21 @@ public class IspNodeInfo {
       Role role,
       List<IspAnnouncement> additionalAnnouncements,
       @Nullable IspTrafficFiltering trafficFiltering) {
+    this(asn, name, role, additionalAnnouncements, trafficFiltering, false);
+  }
+
+  /**
+   * @param summarizeAnnouncements whether to model {@code additionalAnnouncements} as the fewest
+   *     prefixes that cover exactly the same addresses, rather than one route per announcement. See
+   *     {@link #getSummarizeAnnouncements()}.
+   */
+  public IspNodeInfo(
+      long asn,
+      String name,
+      Role role,
+      List<IspAnnouncement> additionalAnnouncements,
+      @Nullable IspTrafficFiltering trafficFiltering,
+      boolean summarizeAnnouncements) {
     checkArgument(
         role == Role.TRANSIT || additionalAnnouncements.isEmpty(),
         "%s should not be provided unless role is TRANSIT",
@@ -69,6 +86,7 @@ public class IspNodeInfo {
     _role = role;
     _additionalAnnouncement = additionalAnnouncements;
     _trafficFiltering = trafficFiltering;
+    _summarizeAnnouncements = summarizeAnnouncements;
   }
 
   @Override
@@ -84,12 +102,14 @@ public class IspNodeInfo {
         && _name.equals(that._name)
         && _role == that._role
         && _additionalAnnouncement.equals(that._additionalAnnouncement)
-        && Objects.equals(_trafficFiltering, that._trafficFiltering);
+        && Objects.equals(_trafficFiltering, that._trafficFiltering)
+        && _summarizeAnnouncements == that._summarizeAnnouncements;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(_asn, _name, _role, _additionalAnnouncement, _trafficFiltering);
+    return Objects.hash(
+        _asn, _name, _role, _additionalAnnouncement, _trafficFiltering, _summarizeAnnouncements);
   }
 
   @JsonCreator
@@ -99,14 +119,16 @@ public class IspNodeInfo {
       @JsonProperty(PROP_ROLE) @Nullable Role role,
       @JsonProperty(PROP_ADDITIONAL_ANNOUNCEMENTS_TO_INTERNET) @Nullable
           List<IspAnnouncement> additionalAnnouncements,
-      @JsonProperty(PROP_TRAFFIC_FILTERING) @Nullable IspTrafficFiltering trafficFiltering) {
+      @JsonProperty(PROP_TRAFFIC_FILTERING) @Nullable IspTrafficFiltering trafficFiltering,
+      @JsonProperty(PROP_SUMMARIZE_ANNOUNCEMENTS) @Nullable Boolean summarizeAnnouncements) {
     checkArgument(asn != null, "Missing %", PROP_ASN);
     return new IspNodeInfo(
         asn,
         firstNonNull(name, getDefaultIspNodeName(asn)),
         firstNonNull(role, Role.TRANSIT),
         firstNonNull(additionalAnnouncements, ImmutableList.of()),
-        trafficFiltering);
+        trafficFiltering,
+        firstNonNull(summarizeAnnouncements, false));
   }
 
   @JsonProperty(PROP_ASN)
@@ -133,4 +155,17 @@ public class IspNodeInfo {
   public @Nullable IspTrafficFiltering getIspTrafficFiltering() {
     return _trafficFiltering;
   }
+
+  /**
+   * Whether the additional announcements are summarized: sibling prefixes are merged into their
+   * parent until no more can be, so a full-table list of announcements becomes a few aggregate
+   * routes on the ISP and the Internet. The aggregates cover exactly the announced addresses, and
+   * prefixes also announced by another ISP are never merged. Routes for an aggregate itself that
+   * the ISP learns from the snapshot may still be preferred differently than they would be over
+   * the individual announcements.
+   */
+  @JsonProperty(PROP_SUMMARIZE_ANNOUNCEMENTS)
+  public boolean getSummarizeAnnouncements() {
+    return _summarizeAnnouncements;
+  }
 }
@@ -112,6 +112,10 @@ public abstract class BatfishCombinedParser<P extends BatfishParser, L extends B
       Set<Integer> separatorChars,
       FlattenerLineMap lineMap) {
     this(pClass, lClass, input, settings, batfishANTLRErrorStrategyFactor, separatorChars);
+    if (lineMap != null) {
+      // flattening is done, so the line map is only read from now on
+      lineMap.trimToSize();
+    }
     _lineMap = lineMap;
   }
 
@@ -1,12 +1,9 @@
 package org.batfish.grammar.flattener;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.NavigableMap;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import javax.annotation.Nonnull;
 
 public final class FlattenerLineMap {
@@ -14,14 +11,18 @@ public final class FlattenerLineMap {
 
   /**
    * Map of new line number to word map, where word map is map of a word's starting-position in
-   * new/flattened line to original line number
+   * new/flattened line to original line number.
+   *
+   * <p>Flattened configurations have an entry per word, so each word map is packed into a {@code
+   * long[]} sorted by position, holding the position in the upper and the original line number in
+   * the lower 32 bits of each element.
    */
-  private NavigableMap<Integer, NavigableMap<Integer, Integer>> _lineMap;
+  private final Map<Integer, WordMap> _lineMap;
 
   private final Map<Integer, Set<Integer>> _extraLines;
 
   public FlattenerLineMap() {
-    _lineMap = new TreeMap<>();
+    _lineMap = new HashMap<>();
     _extraLines = new HashMap<>();
   }
 
@@ -31,7 +32,7 @@ public final class FlattenerLineMap {
    * original line number associated with this flattened line is returned.
    */
   public int getOriginalLine(@Nonnull Integer newLineNumber, @Nonnull Integer newStartingPosition) {
-    NavigableMap<Integer, Integer> wordMap = _lineMap.get(newLineNumber);
+    WordMap wordMap = _lineMap.get(newLineNumber);
     if (wordMap == null) {
       /*
        * Result from looking up an unmapped line, this handles lines like the header inserted after
@@ -39,15 +40,15 @@ public final class FlattenerLineMap {
        */
       return UNMAPPED_LINE_NUMBER;
     } else {
-      Entry<Integer, Integer> originalLineEntry = wordMap.floorEntry(newStartingPosition);
+      int index = wordMap.indexOf(newStartingPosition);
+      // index of the floor entry, i.e. the last entry at or before the position
+      int floorIndex = index >= 0 ? index : -index - 2;
       /*
        * Default to the last entry if there is no corresponding entry (e.g. looking up original
        * line for a word like 'set' that did not exist in the original config should still give
        * useful output)
        */
-      return (originalLineEntry == null)
-          ? wordMap.lastEntry().getValue()
-          : originalLineEntry.getValue();
+      return originalLine(wordMap._entries[floorIndex >= 0 ? floorIndex : wordMap._size - 1]);
     }
   }
 
@@ -59,9 +60,78 @@ public final class FlattenerLineMap {
       @Nonnull Integer newLineNumber,
       @Nonnull Integer newStartingPosition,
       @Nonnull Integer originalLineNumber) {
-    SortedMap<Integer, Integer> wordMap =
-        _lineMap.computeIfAbsent(newLineNumber, l -> new TreeMap<>());
-    wordMap.put(newStartingPosition, originalLineNumber);
+    long entry = ((long) newStartingPosition << 32) | (originalLineNumber & 0xFFFFFFFFL);
+    _lineMap.computeIfAbsent(newLineNumber, n -> new WordMap()).put(newStartingPosition, entry);
+  }
+
+  /**
+   * Releases the spare capacity of the word maps. Call once all original lines have been set;
+   * setting more afterwards is allowed, but grows the word maps again.
+   */
+  public void trimToSize() {
+    _lineMap.values().forEach(WordMap::trimToSize);
+  }
+
+  /**
+   * The entries of one flattened line, sorted by position. Entries are stored in a prefix of an
+   * array that grows geometrically, since words are usually mapped in order and so appended.
+   */
+  private static final class WordMap {
+    private long[] _entries = new long[INITIAL_CAPACITY];
+    private int _size;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Returns the index of the entry for {@code position}, or {@code (-(insertion point) - 1)} if
+     * there is none, as in {@link Arrays#binarySearch}.
+     */
+    int indexOf(int position) {
+      int low = 0;
+      int high = _size - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int midPosition = position(_entries[mid]);
+        if (midPosition < position) {
+          low = mid + 1;
+        } else if (midPosition > position) {
+          high = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return -(low + 1);
+    }
+
+    void put(int position, long entry) {
+      int index = indexOf(position);
+      if (index >= 0) {
+        _entries[index] = entry;
+        return;
+      }
+      int insertionPoint = -index - 1;
+      if (_size == _entries.length) {
+        _entries = Arrays.copyOf(_entries, _size * 2);
+      }
+      System.arraycopy(
+          _entries, insertionPoint, _entries, insertionPoint + 1, _size - insertionPoint);
+      _entries[insertionPoint] = entry;
+      _size++;
+    }
+
+    void trimToSize() {
+      if (_size < _entries.length) {
+        _entries = Arrays.copyOf(_entries, _size);
+      }
+    }
+  }
+
+  private static int position(long entry) {
+    return (int) (entry >>> 32);
+  }
+
+  private static int originalLine(long entry) {
+    return (int) entry;
   }
 
   /**
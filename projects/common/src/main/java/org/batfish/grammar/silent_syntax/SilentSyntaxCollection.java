@@ -1,5 +1,7 @@
 package org.batfish.grammar.silent_syntax;
 
+import static org.batfish.common.util.StringInterner.intern;
+
 import com.google.common.collect.ImmutableList;
 import java.io.Serializable;
 import java.util.Collection;
@@ -18,11 +20,17 @@ public final class SilentSyntaxCollection implements Serializable {
   public static final class SilentSyntaxElem implements Serializable {
 
     public SilentSyntaxElem(String ruleName, int line, String text) {
-      _ruleName = ruleName;
+      // rule names recur across files, but the text is the line itself
+      _ruleName = intern(ruleName);
       _line = line;
       _text = text;
     }
 
+    /** Shares the rule names of deserialized elements too. */
+    private Object readResolve() {
+      return new SilentSyntaxElem(_ruleName, _line, _text);
+    }
+
     public @Nonnull String getRuleName() {
       return _ruleName;
     }
@@ -55,6 +55,8 @@ public final class ReachabilityParameters {
     private @Nonnull IpSpaceAssignmentSpecifier _sourceIpSpaceSpecifier =
         InferFromLocationIpSpaceAssignmentSpecifier.INSTANCE;
 
+    private int _sourcePartitions = 1;
+
     private @Nonnull SrcNattedConstraint _srcNatted = SrcNattedConstraint.UNCONSTRAINED;
 
     public ReachabilityParameters build() {
@@ -104,6 +106,16 @@ public final class ReachabilityParameters {
       return this;
     }
 
+    /**
+     * Sets the number of groups to split the sources into, to be analyzed in parallel. The default
+     * of 1 analyzes all sources together.
+     */
+    public Builder setSourcePartitions(int sourcePartitions) {
+      checkArgument(sourcePartitions > 0, "sourcePartitions must be positive");
+      _sourcePartitions = sourcePartitions;
+      return this;
+    }
+
     public Builder setHeaderSpace(@Nonnull HeaderSpace headerSpace) {
       _headerSpace = new MatchHeaderSpace(headerSpace);
       return this;
@@ -143,6 +155,8 @@ public final class ReachabilityParameters {
 
   private final IpSpaceAssignmentSpecifier _sourceIpSpaceSpecifier;
 
+  private final int _sourcePartitions;
+
   private final SrcNattedConstraint _sourceNatted;
 
   private final @Nonnull NodeSpecifier _requiredTransitNodesSpecifier;
@@ -157,6 +171,7 @@ public final class ReachabilityParameters {
     _invertSearch = builder._invertSearch;
     _sourceLocationSpecifier = builder._sourceLocationSpecifier;
     _sourceIpSpaceSpecifier = builder._sourceIpSpaceSpecifier;
+    _sourcePartitions = builder._sourcePartitions;
     _sourceNatted = builder._srcNatted;
     _requiredTransitNodesSpecifier = builder._requiredTransitNodesSpecifier;
   }
@@ -201,6 +216,10 @@ public final class ReachabilityParameters {
     return _sourceIpSpaceSpecifier;
   }
 
+  public int getSourcePartitions() {
+    return _sourcePartitions;
+  }
+
   public SrcNattedConstraint getSrcNatted() {
     return _sourceNatted;
   }
@@ -38,9 +38,9 @@ public abstract class InterfaceDescriptionRegexLocationSpecifier implements Loca
 
   @Override
   public Set<Location> resolve(SpecifierContext ctxt) {
-    return ctxt.getConfigs().values().stream()
-        .flatMap(config -> config.getAllInterfaces().values().stream())
-        .filter(iface -> _pattern.matcher(iface.getDescription()).matches())
+    return ctxt.getLocationIndex().getInterfacesByDescription().asMap().entrySet().stream()
+        .filter(entry -> _pattern.matcher(entry.getKey()).matches())
+        .flatMap(entry -> entry.getValue().stream())
         .map(this::getLocation)
         .collect(ImmutableSet.toImmutableSet());
   }
@@ -37,9 +37,9 @@ public abstract class InterfaceNameRegexLocationSpecifier implements LocationSpe
 
   @Override
   public Set<Location> resolve(SpecifierContext ctxt) {
-    return ctxt.getConfigs().values().stream()
-        .flatMap(node -> node.getAllInterfaces().values().stream())
-        .filter(iface -> _pattern.matcher(iface.getName()).find())
+    return ctxt.getLocationIndex().getInterfacesByName().asMap().entrySet().stream()
+        .filter(entry -> _pattern.matcher(entry.getKey()).find())
+        .flatMap(entry -> entry.getValue().stream())
         .map(this::getLocation)
         .collect(ImmutableSet.toImmutableSet());
   }
@@ -3,6 +3,8 @@ package org.batfish.specifier;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import javax.annotation.Nonnull;
@@ -12,8 +14,6 @@ import net.sf.javabdd.BDDFactory;
 import org.batfish.common.bdd.BDDUtils;
 import org.batfish.common.bdd.ImmutableBDDInteger;
 import org.batfish.common.bdd.IpSpaceToBDD;
-import org.batfish.datamodel.ConcreteInterfaceAddress;
-import org.batfish.datamodel.Interface;
 import org.batfish.datamodel.IpSpace;
 import org.batfish.datamodel.IpWildcard;
 import org.batfish.datamodel.Prefix;
@@ -55,20 +55,28 @@ public final class InterfaceWithConnectedIpsSpecifier implements InterfaceSpecif
     return Objects.hash(InterfaceWithConnectedIpsSpecifier.class, _ipSpace);
   }
 
-  private boolean interfaceAddressMatchesIpSpace(ConcreteInterfaceAddress i) {
-    return _ipSpaceBdd.andSat(_ipSpaceToBdd.toBDD(i.getPrefix()));
+  private boolean prefixMatchesIpSpace(Prefix prefix) {
+    return _ipSpaceBdd.andSat(_ipSpaceToBdd.toBDD(prefix));
   }
 
   @Override
   public Set<NodeInterfacePair> resolve(Set<String> nodes, SpecifierContext ctxt) {
-    return ctxt.getConfigs().values().stream()
-        .filter(c -> nodes.contains(c.getHostname()))
-        .flatMap(c -> c.getAllInterfaces().values().stream().filter(Interface::getActive))
-        .filter(
-            i ->
-                i.getAllConcreteAddresses().stream().anyMatch(this::interfaceAddressMatchesIpSpace))
-        .map(NodeInterfacePair::of)
-        .collect(ImmutableSet.toImmutableSet());
+    LocationIndex index = ctxt.getLocationIndex();
+    // The two ends of a link share a prefix, so test each prefix once.
+    Map<Prefix, Boolean> prefixMatches = new HashMap<>();
+    ImmutableSet.Builder<NodeInterfacePair> interfaces = ImmutableSet.builder();
+    for (String node : nodes) {
+      index
+          .getActiveInterfacesByPrefix(node)
+          .asMap()
+          .forEach(
+              (prefix, nips) -> {
+                if (prefixMatches.computeIfAbsent(prefix, this::prefixMatchesIpSpace)) {
+                  interfaces.addAll(nips);
+                }
+              });
+    }
+    return interfaces.build();
   }
 
   /** Factory for {@link InterfaceWithConnectedIpsSpecifier}. */
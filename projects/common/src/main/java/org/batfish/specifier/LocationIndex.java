@@ -0,0 +1,126 @@
+package org.batfish.specifier;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.SetMultimap;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.Interface;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.collections.NodeInterfacePair;
+
+/**
+ * Indexes the interfaces and VRFs of a snapshot's configurations, so that {@link
+ * LocationSpecifier}s and {@link InterfaceSpecifier}s resolve without scanning every interface of
+ * every node. Interfaces are grouped by name, description, and connected prefix, so a specifier
+ * tests each distinct name (or prefix) once rather than once per interface.
+ *
+ * <p>Built once per set of configurations; see {@link SpecifierContext#getLocationIndex()}.
+ */
+@ParametersAreNonnullByDefault
+public final class LocationIndex {
+
+  private final @Nonnull Set<Location> _interfaceLocations;
+  private final @Nonnull Set<Location> _interfaceLinkLocations;
+  private final @Nonnull Map<String, Set<Location>> _interfaceLocationsByNode;
+  private final @Nonnull ListMultimap<String, Interface> _interfacesByName;
+  private final @Nonnull ListMultimap<String, Interface> _interfacesByDescription;
+  private final @Nonnull ListMultimap<String, Configuration> _nodesByVrfName;
+  private final @Nonnull Map<String, SetMultimap<Prefix, NodeInterfacePair>>
+      _activeInterfacesByNodeAndPrefix;
+
+  public LocationIndex(Map<String, Configuration> configs) {
+    ImmutableSet.Builder<Location> interfaceLocations = ImmutableSet.builder();
+    ImmutableSet.Builder<Location> interfaceLinkLocations = ImmutableSet.builder();
+    ImmutableMap.Builder<String, Set<Location>> interfaceLocationsByNode = ImmutableMap.builder();
+    ImmutableListMultimap.Builder<String, Interface> interfacesByName =
+        ImmutableListMultimap.builder();
+    ImmutableListMultimap.Builder<String, Interface> interfacesByDescription =
+        ImmutableListMultimap.builder();
+    ImmutableListMultimap.Builder<String, Configuration> nodesByVrfName =
+        ImmutableListMultimap.builder();
+    ImmutableMap.Builder<String, SetMultimap<Prefix, NodeInterfacePair>>
+        activeInterfacesByNodeAndPrefix = ImmutableMap.builder();
+    configs.forEach(
+        (hostname, config) -> {
+          ImmutableSet.Builder<Location> nodeInterfaceLocations = ImmutableSet.builder();
+          ImmutableSetMultimap.Builder<Prefix, NodeInterfacePair> activeInterfacesByPrefix =
+              ImmutableSetMultimap.builder();
+          for (Interface iface : config.getAllInterfaces().values()) {
+            String ifaceName = iface.getName();
+            Location location = new InterfaceLocation(hostname, ifaceName);
+            interfaceLocations.add(location);
+            nodeInterfaceLocations.add(location);
+            interfaceLinkLocations.add(new InterfaceLinkLocation(hostname, ifaceName));
+            interfacesByName.put(ifaceName, iface);
+            if (iface.getDescription() != null) {
+              interfacesByDescription.put(iface.getDescription(), iface);
+            }
+            if (iface.getActive()) {
+              NodeInterfacePair nip = NodeInterfacePair.of(iface);
+              iface
+                  .getAllConcreteAddresses()
+                  .forEach(address -> activeInterfacesByPrefix.put(address.getPrefix(), nip));
+            }
+          }
+          interfaceLocationsByNode.put(hostname, nodeInterfaceLocations.build());
+          activeInterfacesByNodeAndPrefix.put(hostname, activeInterfacesByPrefix.build());
+          config.getVrfs().keySet().forEach(vrfName -> nodesByVrfName.put(vrfName, config));
+        });
+    _interfaceLocations = interfaceLocations.build();
+    _interfaceLinkLocations = interfaceLinkLocations.build();
+    _interfaceLocationsByNode = interfaceLocationsByNode.build();
+    _interfacesByName = interfacesByName.build();
+    _interfacesByDescription = interfacesByDescription.build();
+    _nodesByVrfName = nodesByVrfName.build();
+    _activeInterfacesByNodeAndPrefix = activeInterfacesByNodeAndPrefix.build();
+  }
+
+  /** The {@link InterfaceLocation} of every interface in the network. */
+  public @Nonnull Set<Location> getInterfaceLocations() {
+    return _interfaceLocations;
+  }
+
+  /** The {@link InterfaceLinkLocation} of every interface in the network. */
+  public @Nonnull Set<Location> getInterfaceLinkLocations() {
+    return _interfaceLinkLocations;
+  }
+
+  /**
+   * The {@link InterfaceLocation} of every interface of the given node, or the empty set if there
+   * is no such node.
+   */
+  public @Nonnull Set<Location> getInterfaceLocations(String hostname) {
+    return _interfaceLocationsByNode.getOrDefault(hostname, ImmutableSet.of());
+  }
+
+  /** All interfaces in the network, grouped by name. */
+  public @Nonnull ListMultimap<String, Interface> getInterfacesByName() {
+    return _interfacesByName;
+  }
+
+  /** All interfaces in the network that have a description, grouped by description. */
+  public @Nonnull ListMultimap<String, Interface> getInterfacesByDescription() {
+    return _interfacesByDescription;
+  }
+
+  /** All nodes in the network, grouped by the names of their VRFs. */
+  public @Nonnull ListMultimap<String, Configuration> getNodesByVrfName() {
+    return _nodesByVrfName;
+  }
+
+  /**
+   * The active interfaces of the given node, grouped by the prefixes of their concrete addresses,
+   * or an empty multimap if there is no such node.
+   */
+  public @Nonnull SetMultimap<Prefix, NodeInterfacePair> getActiveInterfacesByPrefix(
+      String hostname) {
+    return _activeInterfacesByNodeAndPrefix.getOrDefault(hostname, ImmutableSetMultimap.of());
+  }
+}
@@ -1,7 +1,6 @@
 package org.batfish.specifier;
 
 import com.google.common.collect.ImmutableSet;
-import java.util.Collection;
 import java.util.Objects;
 import java.util.Set;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -35,10 +34,9 @@ public class NodeSpecifierInterfaceLocationSpecifier implements LocationSpecifie
 
   @Override
   public Set<Location> resolve(SpecifierContext ctxt) {
+    LocationIndex index = ctxt.getLocationIndex();
     return _nodeSpecifier.resolve(ctxt).stream()
-        .map(n -> ctxt.getConfigs().get(n).getAllInterfaces().values())
-        .flatMap(Collection::stream)
-        .map(iface -> new InterfaceLocation(iface.getOwner().getHostname(), iface.getName()))
+        .flatMap(n -> index.getInterfaceLocations(n).stream())
         .collect(ImmutableSet.toImmutableSet());
   }
 }
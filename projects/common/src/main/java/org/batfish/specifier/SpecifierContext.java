@@ -40,4 +40,14 @@ public interface SpecifierContext {
    * @return the {@link LocationInfo} for all {@link Location locations}.
    */
   Map<Location, LocationInfo> getLocationInfo();
+
+  /**
+   * @return a {@link LocationIndex} of {@link #getConfigs() the configurations}. The default
+   *     implementation builds a new one on each call; implementations backed by a snapshot should
+   *     build it once.
+   */
+  @Nonnull
+  default LocationIndex getLocationIndex() {
+    return new LocationIndex(getConfigs());
+  }
 }
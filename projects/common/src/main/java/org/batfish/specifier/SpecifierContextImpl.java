@@ -18,10 +18,13 @@ public class SpecifierContextImpl implements SpecifierContext {
 
   private final Map<Location, LocationInfo> _locationInfo;
 
+  private final @Nonnull LocationIndex _locationIndex;
+
   public SpecifierContextImpl(@Nonnull IBatfish batfish, @Nonnull NetworkSnapshot networkSnapshot) {
     _batfish = batfish;
     _configs = _batfish.loadConfigurations(networkSnapshot);
     _locationInfo = ImmutableMap.copyOf(_batfish.getLocationInfo(networkSnapshot));
+    _locationIndex = _batfish.getLocationIndex(networkSnapshot);
   }
 
   @Override
@@ -48,4 +51,9 @@ public class SpecifierContextImpl implements SpecifierContext {
   public Map<Location, LocationInfo> getLocationInfo() {
     return _locationInfo;
   }
+
+  @Override
+  public @Nonnull LocationIndex getLocationIndex() {
+    return _locationIndex;
+  }
 }
@@ -39,12 +39,11 @@ public abstract class VrfNameRegexLocationSpecifier implements LocationSpecifier
 
   @Override
   public Set<Location> resolve(SpecifierContext ctxt) {
-    return ctxt.getConfigs().values().stream()
+    return ctxt.getLocationIndex().getNodesByVrfName().asMap().entrySet().stream()
+        .filter(entry -> _pattern.matcher(entry.getKey()).matches())
         .flatMap(
-            node ->
-                node.getVrfs().values().stream()
-                    .filter(vrf -> _pattern.matcher(vrf.getName()).matches())
-                    .flatMap(v -> getVrfLocations(node, v.getName())))
+            entry ->
+                entry.getValue().stream().flatMap(node -> getVrfLocations(node, entry.getKey())))
         .collect(ImmutableSet.toImmutableSet());
   }
 }
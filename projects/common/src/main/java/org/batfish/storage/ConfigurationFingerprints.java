@@ -0,0 +1,53 @@
+package org.batfish.storage;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.datamodel.Configuration;
+
+/**
+ * Fingerprints of vendor-independent {@link Configuration configurations}, for telling whether two
+ * configurations are equal without comparing them.
+ *
+ * <p>A fingerprint is the SHA-256 hash of a configuration's Java serialization. Equal fingerprints
+ * imply equal configurations. The converse may fail, e.g. for hash-ordered collections, so callers
+ * must treat differing fingerprints only as a possible change.
+ */
+@ParametersAreNonnullByDefault
+public final class ConfigurationFingerprints {
+
+  static final HashFunction HASH_FUNCTION = Hashing.sha256();
+
+  /** Returns the fingerprint of the given configuration. */
+  public static @Nonnull String fingerprint(Configuration configuration) {
+    HashingOutputStream out =
+        new HashingOutputStream(HASH_FUNCTION, ByteStreams.nullOutputStream());
+    try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+      oos.writeObject(configuration);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.hash().toString();
+  }
+
+  /** Returns the fingerprint of each of the given configurations, keyed by hostname. */
+  public static @Nonnull SortedMap<String, String> fingerprints(
+      Map<String, Configuration> configurations) {
+    return configurations.entrySet().parallelStream()
+        .collect(
+            ImmutableSortedMap.toImmutableSortedMap(
+                String::compareTo, Entry::getKey, e -> fingerprint(e.getValue())));
+  }
+
+  private ConfigurationFingerprints() {} // prevent instantiation
+}
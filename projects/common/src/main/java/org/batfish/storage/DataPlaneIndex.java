@@ -0,0 +1,219 @@
+package org.batfish.storage;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.datamodel.AbstractRoute;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.Prefix;
+
+/**
+ * A summary of a stored data plane that can be read without loading any {@link PerHostDataPlane}:
+ * the keys (VRF names) of the per-VRF maps of each host, and the address ranges covered by the
+ * networks of each host's routes.
+ */
+@ParametersAreNonnullByDefault
+final class DataPlaneIndex implements Serializable {
+
+  /** The keys of the per-VRF maps of one {@link PerHostDataPlane}. */
+  static final class HostKeys implements Serializable {
+    private final @Nonnull Set<String> _bgpRoutes;
+    private final @Nonnull Set<String> _bgpBackupRoutes;
+    private final @Nonnull Set<String> _evpnRoutes;
+    private final @Nonnull Set<String> _evpnBackupRoutes;
+    private final @Nonnull Set<String> _fibs;
+    private final @Nonnull Set<String> _layer2Vnis;
+    private final @Nonnull Set<String> _layer3Vnis;
+    private final @Nonnull Set<String> _ribs;
+
+    private HostKeys(PerHostDataPlane dp, Interner<Set<String>> keySets) {
+      _bgpRoutes = keySets.intern(keys(dp.getBgpRoutes()));
+      _bgpBackupRoutes = keySets.intern(keys(dp.getBgpBackupRoutes()));
+      _evpnRoutes = keySets.intern(keys(dp.getEvpnRoutes()));
+      _evpnBackupRoutes = keySets.intern(keys(dp.getEvpnBackupRoutes()));
+      _fibs = keySets.intern(keys(dp.getFibs()));
+      _layer2Vnis = keySets.intern(keys(dp.getLayer2Vnis()));
+      _layer3Vnis = keySets.intern(keys(dp.getLayer3Vnis()));
+      _ribs = keySets.intern(keys(dp.getRibs()));
+    }
+
+    @Nonnull
+    Set<String> getBgpRoutes() {
+      return _bgpRoutes;
+    }
+
+    @Nonnull
+    Set<String> getBgpBackupRoutes() {
+      return _bgpBackupRoutes;
+    }
+
+    @Nonnull
+    Set<String> getEvpnRoutes() {
+      return _evpnRoutes;
+    }
+
+    @Nonnull
+    Set<String> getEvpnBackupRoutes() {
+      return _evpnBackupRoutes;
+    }
+
+    @Nonnull
+    Set<String> getFibs() {
+      return _fibs;
+    }
+
+    @Nonnull
+    Set<String> getLayer2Vnis() {
+      return _layer2Vnis;
+    }
+
+    @Nonnull
+    Set<String> getLayer3Vnis() {
+      return _layer3Vnis;
+    }
+
+    @Nonnull
+    Set<String> getRibs() {
+      return _ribs;
+    }
+  }
+
+  /**
+   * The networks of the main RIB, BGP, and EVPN routes (best and backup) of one host, collapsed
+   * into the address ranges they cover. The default route is kept apart, since it would otherwise
+   * cover every address.
+   */
+  private static final class RouteNetworks implements Serializable {
+    private final boolean _hasDefaultRoute;
+    private final @Nonnull ImmutableRangeSet<Ip> _ranges;
+
+    private RouteNetworks(PerHostDataPlane dp) {
+      Set<Prefix> networks = networks(dp);
+      RangeSet<Ip> ranges = TreeRangeSet.create();
+      for (Prefix network : networks) {
+        if (!network.equals(Prefix.ZERO)) {
+          ranges.add(range(network));
+        }
+      }
+      _hasDefaultRoute = networks.contains(Prefix.ZERO);
+      _ranges = ImmutableRangeSet.copyOf(ranges);
+    }
+
+    /** False if no route has a network that contains or is contained in {@code network}. */
+    boolean mayOverlap(Prefix network) {
+      return _hasDefaultRoute || _ranges.intersects(range(network));
+    }
+
+    /**
+     * False if no route has a network contained in {@code network}. A range may also come from a
+     * network that contains {@code network}, so true does not imply such a route exists.
+     */
+    boolean mayBeWithin(Prefix network) {
+      return (_hasDefaultRoute && network.equals(Prefix.ZERO))
+          || _ranges.intersects(range(network));
+    }
+  }
+
+  /** Indexes the given per-host data planes, keyed by hostname. */
+  static @Nonnull DataPlaneIndex create(Map<String, PerHostDataPlane> perHostDataPlanes) {
+    // most hosts have the same VRFs in every map; share one set among them
+    Interner<Set<String>> keySets = Interners.newStrongInterner();
+    Map<String, HostKeys> hostKeys =
+        perHostDataPlanes.entrySet().parallelStream()
+            .collect(
+                ImmutableMap.toImmutableMap(
+                    Entry::getKey, e -> new HostKeys(e.getValue(), keySets)));
+    Map<String, RouteNetworks> routeNetworks =
+        perHostDataPlanes.entrySet().parallelStream()
+            .collect(
+                ImmutableMap.toImmutableMap(
+                    Entry::getKey, e -> new RouteNetworks(e.getValue())));
+    return new DataPlaneIndex(hostKeys, routeNetworks);
+  }
+
+  private final @Nonnull Map<String, HostKeys> _hostKeys;
+  private final @Nonnull Map<String, RouteNetworks> _routeNetworks;
+
+  private DataPlaneIndex(
+      Map<String, HostKeys> hostKeys, Map<String, RouteNetworks> routeNetworks) {
+    _hostKeys = hostKeys;
+    _routeNetworks = routeNetworks;
+  }
+
+  /** The hostnames of all hosts in the data plane. */
+  @Nonnull
+  Set<String> getHostnames() {
+    return _hostKeys.keySet();
+  }
+
+  /** The keys of the per-VRF maps of {@code hostname}, or {@code null} if there is no such host. */
+  @Nullable
+  HostKeys getHostKeys(String hostname) {
+    return _hostKeys.get(hostname);
+  }
+
+  /**
+   * The hosts with a main RIB, BGP, or EVPN route (best or backup) for a network that contains or
+   * is contained in {@code network}. Other hosts have no routes that match {@code network} in any
+   * way.
+   */
+  @Nonnull
+  Set<String> getHostsWithRoutesOverlapping(Prefix network) {
+    return hostsWhere(routes -> routes.mayOverlap(network));
+  }
+
+  /**
+   * The hosts that may have a main RIB, BGP, or EVPN route (best or backup) for a network contained
+   * in {@code network}. Other hosts have no such routes.
+   */
+  @Nonnull
+  Set<String> getHostsWithRoutesWithin(Prefix network) {
+    return hostsWhere(routes -> routes.mayBeWithin(network));
+  }
+
+  private @Nonnull Set<String> hostsWhere(Predicate<RouteNetworks> predicate) {
+    return _routeNetworks.entrySet().stream()
+        .filter(e -> predicate.test(e.getValue()))
+        .map(Entry::getKey)
+        .collect(toImmutableSet());
+  }
+
+  private static @Nonnull Set<String> keys(Map<String, ?> perVrf) {
+    return ImmutableSet.copyOf(perVrf.keySet());
+  }
+
+  private static @Nonnull Set<Prefix> networks(PerHostDataPlane dp) {
+    ImmutableSet.Builder<Prefix> networks = ImmutableSet.builder();
+    dp.getRibs().values().forEach(rib -> addNetworks(rib.getRoutes(), networks));
+    dp.getBgpRoutes().values().forEach(routes -> addNetworks(routes, networks));
+    dp.getBgpBackupRoutes().values().forEach(routes -> addNetworks(routes, networks));
+    dp.getEvpnRoutes().values().forEach(routes -> addNetworks(routes, networks));
+    dp.getEvpnBackupRoutes().values().forEach(routes -> addNetworks(routes, networks));
+    return networks.build();
+  }
+
+  private static void addNetworks(
+      Collection<? extends AbstractRoute> routes, ImmutableSet.Builder<Prefix> networks) {
+    routes.forEach(route -> networks.add(route.getNetwork()));
+  }
+
+  private static @Nonnull Range<Ip> range(Prefix network) {
+    return Range.closed(network.getStartIp(), network.getEndIp());
+  }
+}
@@ -1,25 +1,38 @@
 package org.batfish.storage;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Streams.stream;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.batfish.common.BfConsts.RELPATH_INPUT;
 import static org.batfish.common.BfConsts.RELPATH_ISP_CONFIG_FILE;
 import static org.batfish.common.plugin.PluginConsumer.DEFAULT_HEADER_LENGTH_BYTES;
 import static org.batfish.common.plugin.PluginConsumer.detectFormat;
+import static org.batfish.common.util.CollectionUtil.toImmutableMap;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Comparators;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Streams;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.Closer;
 import com.google.common.io.MoreFiles;
+import com.google.common.util.concurrent.Striped;
 import com.google.errorprone.annotations.MustBeClosed;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
@@ -39,27 +52,38 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.GuardedBy;
 import net.jpountz.lz4.LZ4FrameInputStream;
 import net.jpountz.lz4.LZ4FrameOutputStream;
 import org.apache.commons.io.FileUtils;
@@ -72,6 +96,7 @@ import org.batfish.common.BatfishLogger;
 import org.batfish.common.BfConsts;
 import org.batfish.common.CompletionMetadata;
 import org.batfish.common.NetworkSnapshot;
+import org.batfish.common.Warnings;
 import org.batfish.common.plugin.PluginConsumer.Format;
 import org.batfish.common.runtime.SnapshotRuntimeData;
 import org.batfish.common.topology.L3Adjacencies;
@@ -81,6 +106,7 @@ import org.batfish.common.util.ZipUtility;
 import org.batfish.datamodel.Configuration;
 import org.batfish.datamodel.DataPlane;
 import org.batfish.datamodel.ForwardingAnalysis;
+import org.batfish.datamodel.ForwardingAnalysisImpl;
 import org.batfish.datamodel.SnapshotMetadata;
 import org.batfish.datamodel.Topology;
 import org.batfish.datamodel.answers.AnswerMetadata;
@@ -104,6 +130,7 @@ import org.batfish.identifiers.QuestionId;
 import org.batfish.identifiers.SnapshotId;
 import org.batfish.referencelibrary.ReferenceLibrary;
 import org.batfish.role.NodeRolesData;
+import org.batfish.storage.ParseWarningsFormat.FileRecordConsumer;
 import org.batfish.vendor.ConversionContext;
 import org.batfish.vendor.VendorConfiguration;
 
@@ -135,6 +162,8 @@ public class FileBasedStorage implements StorageProvider {
   private static final String RELPATH_ENV_TOPOLOGY_FILE = "env_topology";
   private static final String RELPATH_CONVERSION_CONTEXT = "conversion_context";
   private static final String RELPATH_CONVERT_ANSWER_PATH = "convert_answer";
+  private static final String RELPATH_CONFIGURATION_FINGERPRINTS =
+      "configuration_fingerprints.json";
   private static final String RELPATH_ANSWERS_DIR = "answers";
   private static final String RELPATH_ANSWER_METADATA = "answer_metadata.json";
   private static final String RELPATH_ANSWER_JSON = "answer.json";
@@ -142,18 +171,42 @@ public class FileBasedStorage implements StorageProvider {
   private static final String RELPATH_SNAPSHOT_ZIP_FILE = "snapshot.zip";
   private static final String RELPATH_DATA_PLANE = "dp";
   private static final String RELPATH_DATA_PLANE_FORWARDING_ANALYSIS = "forwarding_analysis";
+  private static final String RELPATH_DATA_PLANE_INDEX = "index";
   private static final String RELPATH_SERIALIZED_ENVIRONMENT_BGP_TABLES = "bgp_processed";
   private static final String RELPATH_ENVIRONMENT_BGP_TABLES_ANSWER = "bgp_answer";
   private static final String RELPATH_PARSE_ANSWER_PATH = "parse_answer";
+  private static final String RELPATH_PARSE_WARNINGS_PATH = "parse_warnings";
   private static final String RELPATH_VENDOR_SPECIFIC_CONFIG_DIR = "vendor";
   private static final String RELPATH_AWS_ACCOUNTS_DIR = "accounts";
   private static final String RELPATH_SNAPSHOTS_DIR = "snapshots";
   private static final String RELPATH_OUTPUT = "output";
+  private static final String RELPATH_INPUT_BLOBS = "input_blobs";
+  private static final String RELPATH_INPUT_MANIFEST = "input_manifest";
+  private static final String RELPATH_PARSE_RESULT_CACHE_DIR = "parse_results";
+
+  /** Fraction of its byte budget the parse result cache is brought down to when evicting. */
+  private static final double PARSE_RESULT_CACHE_EVICTION_TARGET = 0.9;
 
   private final BatfishLogger _logger;
   private final BiFunction<String, Integer, AtomicInteger> _newBatch;
   private final Path _baseDir;
 
+  /** Recently read input manifests, keyed by path. */
+  private final Cache<Path, InputObjectManifest> _inputManifests =
+      CacheBuilder.newBuilder().maximumSize(64).build();
+
+  /** Guards writes to input manifests, keyed by path. */
+  private final Striped<Lock> _inputManifestLocks = Striped.lock(64);
+
+  /**
+   * Bytes held by the parse result cache as of this instance's last eviction, plus what it has
+   * stored since, or {@code -1} if it has not stored anything yet.
+   */
+  @GuardedBy("_parseResultCacheLock")
+  private long _parseResultCacheBytes = -1L;
+
+  private final Object _parseResultCacheLock = new Object();
+
   /**
    * Create a new {@link FileBasedStorage} instance that uses the given root path and job batch
    * provider function.
@@ -267,14 +320,14 @@ public class FileBasedStorage implements StorageProvider {
   public @Nullable SortedSet<NodeInterfacePair> loadInterfaceBlacklist(
       NetworkId network, SnapshotId snapshot) {
     // Prefer runtime data inside of batfish/ subfolder over top level
-    Path insideBatfish =
-        Paths.get(
-            RELPATH_INPUT, RELPATH_BATFISH_CONFIGS_DIR, BfConsts.RELPATH_INTERFACE_BLACKLIST_FILE);
-    Path topLevel = Paths.get(RELPATH_INPUT, BfConsts.RELPATH_INTERFACE_BLACKLIST_FILE);
+    String insideBatfish =
+        Paths.get(RELPATH_BATFISH_CONFIGS_DIR, BfConsts.RELPATH_INTERFACE_BLACKLIST_FILE)
+            .toString();
+    String topLevel = BfConsts.RELPATH_INTERFACE_BLACKLIST_FILE;
     Optional<Path> path =
         Stream.of(insideBatfish, topLevel)
-            .map(p -> getSnapshotDir(network, snapshot).resolve(p))
-            .filter(Files::exists)
+            .map(key -> findSnapshotInputObjectFile(network, snapshot, key))
+            .filter(Objects::nonNull)
             .findFirst();
     if (!path.isPresent()) {
       // Neither file was present in input.
@@ -326,13 +379,13 @@ public class FileBasedStorage implements StorageProvider {
   @Override
   public @Nullable SortedSet<String> loadNodeBlacklist(NetworkId network, SnapshotId snapshot) {
     // Prefer runtime data inside of batfish/ subfolder over top level
-    Path insideBatfish =
-        Paths.get(RELPATH_INPUT, RELPATH_BATFISH_CONFIGS_DIR, BfConsts.RELPATH_NODE_BLACKLIST_FILE);
-    Path topLevel = Paths.get(RELPATH_INPUT, BfConsts.RELPATH_NODE_BLACKLIST_FILE);
+    String insideBatfish =
+        Paths.get(RELPATH_BATFISH_CONFIGS_DIR, BfConsts.RELPATH_NODE_BLACKLIST_FILE).toString();
+    String topLevel = BfConsts.RELPATH_NODE_BLACKLIST_FILE;
     Optional<Path> path =
         Stream.of(insideBatfish, topLevel)
-            .map(p -> getSnapshotDir(network, snapshot).resolve(p))
-            .filter(Files::exists)
+            .map(key -> findSnapshotInputObjectFile(network, snapshot, key))
+            .filter(Objects::nonNull)
             .findFirst();
     if (!path.isPresent()) {
       // Neither file was present in input.
@@ -355,14 +408,14 @@ public class FileBasedStorage implements StorageProvider {
   @Override
   public @Nullable Layer1Topology loadLayer1Topology(NetworkId network, SnapshotId snapshot) {
     // Prefer runtime data inside of batfish/ subfolder over top level
-    Path insideBatfish =
-        Paths.get(RELPATH_INPUT, RELPATH_BATFISH_CONFIGS_DIR, BfConsts.RELPATH_L1_TOPOLOGY_PATH);
-    Path topLevel = Paths.get(RELPATH_INPUT, BfConsts.RELPATH_L1_TOPOLOGY_PATH);
-    Path deprecated = Paths.get(RELPATH_INPUT, "testrig_layer1_topology");
+    String insideBatfish =
+        Paths.get(RELPATH_BATFISH_CONFIGS_DIR, BfConsts.RELPATH_L1_TOPOLOGY_PATH).toString();
+    String topLevel = BfConsts.RELPATH_L1_TOPOLOGY_PATH;
+    String deprecated = "testrig_layer1_topology";
     Optional<Path> path =
         Stream.of(insideBatfish, topLevel, deprecated)
-            .map(p -> getSnapshotDir(network, snapshot).resolve(p))
-            .filter(Files::exists)
+            .map(key -> findSnapshotInputObjectFile(network, snapshot, key))
+            .filter(Objects::nonNull)
             .findFirst();
     if (!path.isPresent()) {
       // Neither file was present in input.
@@ -411,13 +464,11 @@ public class FileBasedStorage implements StorageProvider {
   @Override
   public @Nullable SnapshotRuntimeData loadRuntimeData(NetworkId network, SnapshotId snapshot) {
     Path path =
-        getSnapshotDir(network, snapshot)
-            .resolve(
-                Paths.get(
-                    RELPATH_INPUT,
-                    RELPATH_BATFISH_CONFIGS_DIR,
-                    BfConsts.RELPATH_RUNTIME_DATA_FILE));
-    if (!Files.exists(path)) {
+        findSnapshotInputObjectFile(
+            network,
+            snapshot,
+            Paths.get(RELPATH_BATFISH_CONFIGS_DIR, BfConsts.RELPATH_RUNTIME_DATA_FILE).toString());
+    if (path == null) {
       return null;
     }
 
@@ -468,7 +519,27 @@ public class FileBasedStorage implements StorageProvider {
             "Serializing %s vendor-independent configuration structures for snapshot %s",
             configurations.size(), snapshot);
 
-    storeConfigurations(outputDir, batchName, configurations);
+    SortedMap<String, String> fingerprints =
+        storeConfigurations(outputDir, batchName, configurations);
+    writeStringToFile(
+        getConfigurationFingerprintsPath(network, snapshot),
+        BatfishObjectMapper.writeString(fingerprints),
+        UTF_8);
+  }
+
+  @Override
+  public @Nullable SortedMap<String, String> loadConfigurationFingerprints(
+      NetworkId network, SnapshotId snapshot) throws IOException {
+    Path path = getConfigurationFingerprintsPath(network, snapshot);
+    if (!Files.exists(path)) {
+      return null;
+    }
+    return BatfishObjectMapper.mapper()
+        .readValue(path.toFile(), new TypeReference<SortedMap<String, String>>() {});
+  }
+
+  private @Nonnull Path getConfigurationFingerprintsPath(NetworkId network, SnapshotId snapshot) {
+    return getSnapshotOutputDir(network, snapshot).resolve(RELPATH_CONFIGURATION_FINGERPRINTS);
   }
 
   @Override
@@ -493,7 +564,11 @@ public class FileBasedStorage implements StorageProvider {
     return getSnapshotOutputDir(network, snapshot).resolve(RELPATH_SYNTHESIZED_LAYER1_TOPOLOGY);
   }
 
-  private void storeConfigurations(
+  /**
+   * Stores the given configurations, and returns their {@link ConfigurationFingerprints
+   * fingerprints}, which are computed while serializing them.
+   */
+  private @Nonnull SortedMap<String, String> storeConfigurations(
       Path outputDir, String batchName, Map<String, Configuration> configurations)
       throws IOException {
     _logger.infof("\n*** %s***\n", batchName.toUpperCase());
@@ -503,13 +578,22 @@ public class FileBasedStorage implements StorageProvider {
     deleteDirectory(outputDir);
     mkdirs(outputDir);
 
-    configurations.entrySet().parallelStream()
-        .forEach(
-            e -> {
-              Path currentOutputPath = outputDir.resolve(e.getKey());
-              serializeObject(e.getValue(), currentOutputPath);
-              progressCount.incrementAndGet();
-            });
+    return configurations.entrySet().parallelStream()
+        .collect(
+            ImmutableSortedMap.toImmutableSortedMap(
+                String::compareTo,
+                Entry::getKey,
+                e -> {
+                  Path currentOutputPath = outputDir.resolve(e.getKey());
+                  HashCode fingerprint =
+                      serializeObject(
+                          e.getValue(),
+                          currentOutputPath,
+                          ConfigurationFingerprints.HASH_FUNCTION);
+                  assert fingerprint != null;
+                  progressCount.incrementAndGet();
+                  return fingerprint.toString();
+                }));
   }
 
   @Override
@@ -608,20 +692,35 @@ public class FileBasedStorage implements StorageProvider {
    */
   @VisibleForTesting
   void serializeObject(Serializable object, Path outputFile) {
+    serializeObject(object, outputFile, null);
+  }
+
+  /**
+   * Like {@link #serializeObject(Serializable, Path)}. If {@code hashFunction} is not null, also
+   * returns the hash of the object's uncompressed serialized form under it.
+   */
+  private @Nullable HashCode serializeObject(
+      Serializable object, Path outputFile, @Nullable HashFunction hashFunction) {
     Path sanitizedOutputFile = validatePath(outputFile);
     try {
       Path tmpFile = tempOutputFilePath(outputFile);
       try {
         mkdirs(sanitizedOutputFile.getParent());
+        HashCode hash;
         try (OutputStream out = Files.newOutputStream(tmpFile);
-            LZ4FrameOutputStream gos = new LZ4FrameOutputStream(out);
-            ObjectOutputStream oos = new ObjectOutputStream(gos)) {
-          oos.writeObject(object);
+            LZ4FrameOutputStream gos = new LZ4FrameOutputStream(out)) {
+          HashingOutputStream hos =
+              hashFunction == null ? null : new HashingOutputStream(hashFunction, gos);
+          try (ObjectOutputStream oos = new ObjectOutputStream(hos == null ? gos : hos)) {
+            oos.writeObject(object);
+          }
+          hash = hos == null ? null : hos.hash();
         } catch (Throwable e) {
           throw new BatfishException(
               "Failed to serialize object to output file: " + sanitizedOutputFile, e);
         }
         Files.move(tmpFile, sanitizedOutputFile, StandardCopyOption.REPLACE_EXISTING);
+        return hash;
       } finally {
         Files.deleteIfExists(tmpFile);
       }
@@ -892,6 +991,124 @@ public class FileBasedStorage implements StorageProvider {
     }
   }
 
+  @Override
+  public @Nonnull InputStream loadCachedParseResult(String key)
+      throws FileNotFoundException, IOException {
+    Path path = getCachedParseResultPath(key);
+    try {
+      // Mark as recently used so eviction keeps it.
+      Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+      return Files.newInputStream(path);
+    } catch (NoSuchFileException e) {
+      throw new FileNotFoundException(String.format("Could not load: %s", path));
+    }
+  }
+
+  @Override
+  public int storeCachedParseResult(InputStream inputStream, String key, long maxBytes)
+      throws IOException {
+    checkArgument(maxBytes >= 0, "Invalid parse result cache size: %s", maxBytes);
+    Path cacheDir = getParseResultCacheDir();
+    mkdirs(cacheDir);
+    Path tmpFile = Files.createTempFile(cacheDir, ".parse_result", ".tmp");
+    try {
+      try (OutputStream out = Files.newOutputStream(tmpFile)) {
+        ByteStreams.copy(inputStream, out);
+      } finally {
+        inputStream.close();
+      }
+      long size = Files.size(tmpFile);
+      Path path = getCachedParseResultPath(key);
+      mkdirs(path.getParent());
+      Files.move(tmpFile, path, StandardCopyOption.REPLACE_EXISTING);
+      boolean sizeKnown;
+      synchronized (_parseResultCacheLock) {
+        sizeKnown = _parseResultCacheBytes >= 0;
+      }
+      // On the first store by this instance, measure the cache without holding the lock. The
+      // measurement already counts the new entry.
+      long initialBytes = sizeKnown ? -1L : getCachedParseResultsBytes();
+      synchronized (_parseResultCacheLock) {
+        if (_parseResultCacheBytes < 0) {
+          _parseResultCacheBytes = initialBytes;
+        } else {
+          _parseResultCacheBytes += size;
+        }
+        return _parseResultCacheBytes <= maxBytes ? 0 : evictCachedParseResults(maxBytes);
+      }
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+
+  /** Returns the total size of the parse results in the cache. */
+  private long getCachedParseResultsBytes() throws IOException {
+    long total = 0L;
+    try (DirectoryStream<Path> shards =
+        Files.newDirectoryStream(getParseResultCacheDir(), Files::isDirectory)) {
+      for (Path shard : shards) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(shard)) {
+          for (Path entry : entries) {
+            try {
+              total += Files.size(entry);
+            } catch (NoSuchFileException e) {
+              // evicted concurrently
+            }
+          }
+        }
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Deletes the least recently used parse results until the cache holds at most {@link
+   * #PARSE_RESULT_CACHE_EVICTION_TARGET} of {@code maxBytes}, so that the next few stores do not
+   * each trigger another eviction. Returns the number of parse results deleted.
+   *
+   * <p>Sizes are recomputed from disk, since other workers may share the cache.
+   */
+  private int evictCachedParseResults(long maxBytes) throws IOException {
+    Path cacheDir = getParseResultCacheDir();
+    Map<Path, Instant> lastUsed = new HashMap<>();
+    Map<Path, Long> sizes = new HashMap<>();
+    long total = 0L;
+    try (DirectoryStream<Path> shards = Files.newDirectoryStream(cacheDir, Files::isDirectory)) {
+      for (Path shard : shards) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(shard)) {
+          for (Path entry : entries) {
+            try {
+              long size = Files.size(entry);
+              lastUsed.put(entry, getLastModifiedTime(entry));
+              sizes.put(entry, size);
+              total += size;
+            } catch (NoSuchFileException e) {
+              // evicted concurrently
+            }
+          }
+        }
+      }
+    }
+    long target = (long) (maxBytes * PARSE_RESULT_CACHE_EVICTION_TARGET);
+    int evicted = 0;
+    if (total > maxBytes) {
+      List<Path> leastRecentlyUsedFirst = new ArrayList<>(lastUsed.keySet());
+      leastRecentlyUsedFirst.sort(Comparator.comparing(lastUsed::get));
+      for (Path entry : leastRecentlyUsedFirst) {
+        if (total <= target) {
+          break;
+        }
+        if (Files.deleteIfExists(entry)) {
+          evicted++;
+        }
+        total -= sizes.get(entry);
+      }
+      LOGGER.info("Evicted {} parse results from the parse result cache", evicted);
+    }
+    _parseResultCacheBytes = total;
+    return evicted;
+  }
+
   @Override
   public void deleteNetworkObject(NetworkId networkId, String key)
       throws FileNotFoundException, IOException {
@@ -956,6 +1173,19 @@ public class FileBasedStorage implements StorageProvider {
   public @Nonnull InputStream loadSnapshotInputObject(
       NetworkId networkId, SnapshotId snapshotId, String key)
       throws FileNotFoundException, IOException {
+    InputObjectManifest manifest = loadInputManifest(networkId, snapshotId);
+    if (manifest != null) {
+      String hash = manifest.getHash(key);
+      if (hash != null) {
+        return Files.newInputStream(getInputBlobPath(networkId, hash));
+      }
+      SortedMap<String, String> hashesInDir = manifest.getHashesInDir(key);
+      if (hashesInDir.isEmpty()) {
+        throw new FileNotFoundException(
+            String.format("Could not load input object %s of snapshot %s", key, snapshotId));
+      }
+      return zipInputBlobsToInputStream(networkId, key, hashesInDir);
+    }
     Path objectPath = getSnapshotInputObjectPath(networkId, snapshotId, key);
     if (!Files.exists(objectPath)) {
       throw new FileNotFoundException(String.format("Could not load: %s", objectPath));
@@ -967,6 +1197,10 @@ public class FileBasedStorage implements StorageProvider {
 
   @Override
   public boolean hasSnapshotInputObject(String key, NetworkSnapshot snapshot) throws IOException {
+    InputObjectManifest manifest = loadInputManifest(snapshot.getNetwork(), snapshot.getSnapshot());
+    if (manifest != null) {
+      return manifest.getHash(key) != null || !manifest.getHashesInDir(key).isEmpty();
+    }
     return Files.exists(
         getSnapshotInputObjectPath(snapshot.getNetwork(), snapshot.getSnapshot(), key));
   }
@@ -974,6 +1208,17 @@ public class FileBasedStorage implements StorageProvider {
   @Override
   public @Nonnull List<StoredObjectMetadata> getSnapshotInputObjectsMetadata(
       NetworkId networkId, SnapshotId snapshotId) throws IOException {
+    InputObjectManifest manifest = loadInputManifest(networkId, snapshotId);
+    if (manifest != null) {
+      ImmutableList.Builder<StoredObjectMetadata> metadata = ImmutableList.builder();
+      for (Entry<String, String> keyAndHash : manifest.getHashesByKey().entrySet()) {
+        metadata.add(
+            new StoredObjectMetadata(
+                keyAndHash.getKey(),
+                Files.size(getInputBlobPath(networkId, keyAndHash.getValue()))));
+      }
+      return metadata.build();
+    }
     Path objectPath = getSnapshotInputObjectsDir(networkId, snapshotId);
     if (!Files.exists(objectPath)) {
       throw new FileNotFoundException(String.format("Could not load: %s", objectPath));
@@ -1028,6 +1273,258 @@ public class FileBasedStorage implements StorageProvider {
     return getSnapshotInputObjectsDir(networkId, snapshotId).resolve(relativePath);
   }
 
+  /**
+   * Returns the file holding the content of the given input object of the given snapshot, or
+   * {@code null} if there is no such object.
+   */
+  private @Nullable Path findSnapshotInputObjectFile(
+      NetworkId networkId, SnapshotId snapshotId, String key) {
+    InputObjectManifest manifest;
+    try {
+      manifest = loadInputManifest(networkId, snapshotId);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (manifest == null) {
+      Path path = getSnapshotInputObjectPath(networkId, snapshotId, key);
+      return Files.exists(path) ? path : null;
+    }
+    String hash = manifest.getHash(key);
+    return hash == null ? null : getInputBlobPath(networkId, hash);
+  }
+
+  /**
+   * Returns the {@link InputObjectManifest} of the given snapshot, or {@code null} if the snapshot
+   * keeps its input objects in its own input directory.
+   */
+  private @Nullable InputObjectManifest loadInputManifest(
+      NetworkId networkId, SnapshotId snapshotId) throws IOException {
+    Path manifestPath = getSnapshotInputManifestPath(networkId, snapshotId);
+    if (!Files.exists(manifestPath)) {
+      return null;
+    }
+    InputObjectManifest cached = _inputManifests.getIfPresent(manifestPath);
+    if (cached != null
+        && cached.isCurrent(Files.readAttributes(manifestPath, BasicFileAttributes.class))) {
+      return cached;
+    }
+    InputObjectManifest manifest = InputObjectManifest.read(manifestPath);
+    _inputManifests.put(manifestPath, manifest);
+    return manifest;
+  }
+
+  private void appendToInputManifest(NetworkId networkId, SnapshotId snapshotId, String lines)
+      throws IOException {
+    Path manifestPath = validatePath(getSnapshotInputManifestPath(networkId, snapshotId));
+    Lock lock = _inputManifestLocks.get(manifestPath);
+    lock.lock();
+    try {
+      mkdirs(manifestPath.getParent());
+      Files.write(
+          manifestPath,
+          lines.getBytes(UTF_8),
+          StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes a complete new input manifest, such that readers see either no manifest or all of it.
+   * The caller must hold the manifest's lock.
+   */
+  private void writeInputManifest(Path manifestPath, String contents) throws IOException {
+    mkdirs(manifestPath.getParent());
+    Path tmpFile = Files.createTempFile(manifestPath.getParent(), ".input_manifest", ".tmp");
+    try {
+      MoreFiles.asCharSink(tmpFile, UTF_8).write(contents);
+      Files.move(tmpFile, manifestPath, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+
+  /**
+   * Stores the given content in the network's content-addressed blob store, unless it is already
+   * there, and returns its hash.
+   */
+  @SuppressWarnings("PMD.UseTryWithResources") // syntax is awkward to close stream you don't open
+  private @Nonnull String storeInputBlob(InputStream inputStream, NetworkId networkId)
+      throws IOException {
+    Path blobsDir = getInputBlobsDir(networkId);
+    mkdirs(blobsDir);
+    Path tmpFile = Files.createTempFile(blobsDir, ".blob", ".tmp");
+    try {
+      String hash;
+      try (HashingOutputStream out =
+          new HashingOutputStream(Hashing.sha256(), Files.newOutputStream(tmpFile))) {
+        ByteStreams.copy(inputStream, out);
+        hash = out.hash().toString();
+      } finally {
+        inputStream.close();
+      }
+      Path blobPath = getInputBlobPath(networkId, hash);
+      if (Files.exists(blobPath)) {
+        // Keep the existing copy, but mark it as recently used so garbage collection keeps it until
+        // the manifest referencing it is written.
+        Files.setLastModifiedTime(blobPath, FileTime.from(Instant.now()));
+      } else {
+        mkdirs(blobPath.getParent());
+        Files.move(tmpFile, blobPath, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return hash;
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
+  }
+
+  /**
+   * Zips the given input blobs in memory, in the same layout as {@link #zipFilesToInputStream}
+   * would for a directory holding them, and returns an input stream from which the zip may be
+   * read.
+   */
+  private @MustBeClosed @Nonnull InputStream zipInputBlobsToInputStream(
+      NetworkId networkId, String dirKey, SortedMap<String, String> hashesByKey)
+      throws IOException {
+    Path dirPath = objectKeyToRelativePath(dirKey);
+    Path parent = dirPath.getParent();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ZipOutputStream zipOutputStream = new ZipOutputStream(baos)) {
+      Set<String> dirEntries = new HashSet<>();
+      for (Entry<String, String> keyAndHash : hashesByKey.entrySet()) {
+        Path relativePath = objectKeyToRelativePath(keyAndHash.getKey());
+        Path entryPath = parent == null ? relativePath : parent.relativize(relativePath);
+        for (int i = 1; i < entryPath.getNameCount(); i++) {
+          String dirEntry = FilenameUtils.separatorsToUnix(entryPath.subpath(0, i).toString());
+          if (dirEntries.add(dirEntry)) {
+            zipOutputStream.putNextEntry(new ZipEntry(dirEntry + '/'));
+          }
+        }
+        zipOutputStream.putNextEntry(
+            new ZipEntry(FilenameUtils.separatorsToUnix(entryPath.toString())));
+        Files.copy(getInputBlobPath(networkId, keyAndHash.getValue()), zipOutputStream);
+      }
+    }
+    return new ByteArrayInputStream(baos.toByteArray());
+  }
+
+  /**
+   * Shares the base snapshot's input objects with the fork by writing the fork a new {@link
+   * InputObjectManifest manifest} of the base snapshot's objects. If the base snapshot keeps its
+   * input objects in its own input directory, they are first moved to the content-addressed blob
+   * store once, so later forks of it are cheap too.
+   */
+  @Override
+  public void forkSnapshotInputObjects(
+      NetworkSnapshot base, NetworkSnapshot fork, Set<String> excludedKeys) throws IOException {
+    NetworkId networkId = base.getNetwork();
+    checkArgument(networkId.equals(fork.getNetwork()), "Cannot fork snapshots across networks");
+    Path forkManifestPath =
+        validatePath(getSnapshotInputManifestPath(networkId, fork.getSnapshot()));
+    checkArgument(
+        !Files.exists(forkManifestPath)
+            && !Files.exists(getSnapshotInputObjectsDir(networkId, fork.getSnapshot())),
+        "Snapshot %s already has input objects",
+        fork.getSnapshot());
+    migrateToInputManifest(base);
+    InputObjectManifest baseManifest = loadInputManifest(networkId, base.getSnapshot());
+    checkState(baseManifest != null, "Missing input manifest of snapshot %s", base.getSnapshot());
+    Map<String, String> forkHashesByKey =
+        Maps.filterKeys(baseManifest.getHashesByKey(), key -> !excludedKeys.contains(key));
+    Lock lock = _inputManifestLocks.get(forkManifestPath);
+    lock.lock();
+    try {
+      writeInputManifest(forkManifestPath, InputObjectManifest.toContents(forkHashesByKey));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Moves the input objects of the given snapshot from its own input directory to the network's
+   * content-addressed blob store and {@link InputObjectManifest manifest}, unless that was already
+   * done.
+   */
+  private void migrateToInputManifest(NetworkSnapshot snapshot) throws IOException {
+    NetworkId networkId = snapshot.getNetwork();
+    SnapshotId snapshotId = snapshot.getSnapshot();
+    Path manifestPath = validatePath(getSnapshotInputManifestPath(networkId, snapshotId));
+    Lock lock = _inputManifestLocks.get(manifestPath);
+    lock.lock();
+    try {
+      if (Files.exists(manifestPath)) {
+        return;
+      }
+      SortedMap<String, String> hashesByKey = new TreeMap<>();
+      try (Stream<String> keys = listSnapshotInputObjectKeys(snapshot)) {
+        for (String key : (Iterable<String>) keys::iterator) {
+          hashesByKey.put(
+              key,
+              storeInputBlob(
+                  Files.newInputStream(getSnapshotInputObjectPath(networkId, snapshotId, key)),
+                  networkId));
+        }
+      }
+      writeInputManifest(manifestPath, InputObjectManifest.toContents(hashesByKey));
+    } finally {
+      lock.unlock();
+    }
+    // The manifest is now read instead of the input directory.
+    Path inputObjectsDir = getSnapshotInputObjectsDir(networkId, snapshotId);
+    try {
+      deleteDirectory(inputObjectsDir);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to delete migrated input directory {}", inputObjectsDir, e);
+    }
+  }
+
+  /**
+   * Deletes the input blobs of the given network that are not referenced by any snapshot's {@link
+   * InputObjectManifest manifest} and were last modified before the given date.
+   */
+  private void expungeUnreferencedInputBlobs(NetworkId networkId, Instant expungeBeforeDate) {
+    Path blobsDir = getInputBlobsDir(networkId);
+    if (!Files.exists(blobsDir) || !Files.exists(getSnapshotsDir(networkId))) {
+      return;
+    }
+    Set<String> referencedHashes = new HashSet<>();
+    try (Stream<Path> snapshotDirs = list(getSnapshotsDir(networkId))) {
+      for (Path snapshotDir : (Iterable<Path>) snapshotDirs::iterator) {
+        Path manifestPath = snapshotDir.resolve(RELPATH_INPUT_MANIFEST);
+        if (Files.exists(manifestPath)) {
+          referencedHashes.addAll(
+              InputObjectManifest.read(manifestPath).getHashesByKey().values());
+        }
+      }
+    } catch (IOException e) {
+      // without every manifest, nothing is known to be unreferenced
+      LOGGER.error("Failed to read input manifests of networkId '{}'", networkId, e);
+      return;
+    }
+    try (Stream<Path> blobs = Files.walk(blobsDir)) {
+      blobs
+          .filter(Files::isRegularFile)
+          .filter(path -> !referencedHashes.contains(path.getFileName().toString()))
+          .forEach(
+              path -> {
+                try {
+                  if (getLastModifiedTime(path).isBefore(expungeBeforeDate)) {
+                    Files.delete(path);
+                  }
+                } catch (IOException e) {
+                  LOGGER.error(
+                      "Failed to expunge input blob '{}' of networkId '{}'",
+                      path.getFileName(),
+                      networkId,
+                      e);
+                }
+              });
+    } catch (IOException e) {
+      LOGGER.error("Failed to expunge input blobs from networkId '{}'", networkId, e);
+    }
+  }
+
   @Override
   public @Nonnull String loadPojoTopology(NetworkId networkId, SnapshotId snapshotId)
       throws IOException {
@@ -1506,18 +2003,40 @@ public class FileBasedStorage implements StorageProvider {
     return new FileInputStream(getUploadSnapshotZipPath(key, network).toFile());
   }
 
+  /**
+   * Stores the input object in the network's content-addressed blob store and records it in the
+   * snapshot's {@link InputObjectManifest manifest}, unless the snapshot already keeps its input
+   * objects in its own input directory.
+   */
   @Override
   public void storeSnapshotInputObject(
       InputStream inputStream, String key, NetworkSnapshot snapshot) throws IOException {
-    writeStreamToFile(
-        inputStream,
-        getSnapshotInputObjectPath(snapshot.getNetwork(), snapshot.getSnapshot(), key));
+    NetworkId networkId = snapshot.getNetwork();
+    SnapshotId snapshotId = snapshot.getSnapshot();
+    Path inputObjectPath = getSnapshotInputObjectPath(networkId, snapshotId, key);
+    if (isDirectory(getSnapshotInputObjectsDir(networkId, snapshotId))
+        && !Files.exists(getSnapshotInputManifestPath(networkId, snapshotId))) {
+      // snapshot was stored before input objects were content-addressed
+      writeStreamToFile(inputStream, inputObjectPath);
+      return;
+    }
+    String hash = storeInputBlob(inputStream, networkId);
+    appendToInputManifest(networkId, snapshotId, InputObjectManifest.toLine(key, hash));
   }
 
   @MustBeClosed
   @Override
   public @Nonnull Stream<String> listSnapshotInputObjectKeys(NetworkSnapshot snapshot)
       throws IOException {
+    InputObjectManifest manifest = loadInputManifest(snapshot.getNetwork(), snapshot.getSnapshot());
+    if (manifest != null) {
+      return manifest.getHashesByKey().keySet().stream()
+          // ignore hidden files and folders
+          .filter(
+              key ->
+                  stream(objectKeyToRelativePath(key))
+                      .noneMatch(pathElement -> pathElement.toString().startsWith(".")));
+    }
     Path inputObjectsPath =
         getSnapshotInputObjectsDir(snapshot.getNetwork(), snapshot.getSnapshot());
     if (!isDirectory(inputObjectsPath)) {
@@ -1536,8 +2055,25 @@ public class FileBasedStorage implements StorageProvider {
         .map(Object::toString);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Loads the index and the data plane of each host only when first accessed; see {@link
+   * LazyDataPlane}. Data planes stored without an index are loaded eagerly.
+   */
   @Override
   public @Nonnull DataPlane loadDataPlane(NetworkSnapshot snapshot) throws IOException {
+    ForwardingAnalysis forwardingAnalysis =
+        deserializeObjectUnchecked(getDataPlaneForwardingAnalysisPath(snapshot));
+    Path indexPath = getDataPlaneIndexPath(snapshot);
+    if (Files.exists(indexPath)) {
+      return new LazyDataPlane(
+          () -> deserializeObject(indexPath, DataPlaneIndex.class),
+          hostname ->
+              deserializeObject(
+                  getDataPlaneHostPath(snapshot, hostname), PerHostDataPlane.class),
+          forwardingAnalysis);
+    }
     Map<Path, String> namesByPath = new TreeMap<>();
     Path dataplanePath = getDataPlanePath(snapshot);
     try (DirectoryStream<Path> hostDataPlanes = Files.newDirectoryStream(dataplanePath)) {
@@ -1553,31 +2089,41 @@ public class FileBasedStorage implements StorageProvider {
     }
     Map<String, PerHostDataPlane> perNodeDataPlanes =
         deserializeObjects(namesByPath, PerHostDataPlane.class);
-    ForwardingAnalysis forwardingAnalysis =
-        deserializeObjectUnchecked(getDataPlaneForwardingAnalysisPath(snapshot));
-    return new SimpleFieldsDataPlane(perNodeDataPlanes, forwardingAnalysis);
+    // stored without FIBs; share the ones just loaded
+    return new SimpleFieldsDataPlane(
+        perNodeDataPlanes,
+        LazyDataPlane.withFibs(
+            forwardingAnalysis,
+            toImmutableMap(perNodeDataPlanes, Entry::getKey, e -> e.getValue().getFibs())));
   }
 
   @Override
   public void storeDataPlane(DataPlane dataPlane, NetworkSnapshot snapshot) throws IOException {
-    dataPlane.getFibs().keySet().parallelStream()
-        .forEach(
-            hostname -> {
-              PerHostDataPlane dp =
-                  new PerHostDataPlane(
-                      dataPlane.getBgpRoutes().row(hostname),
-                      dataPlane.getBgpBackupRoutes().row(hostname),
-                      dataPlane.getEvpnRoutes().row(hostname),
-                      dataPlane.getEvpnBackupRoutes().row(hostname),
-                      dataPlane.getFibs().get(hostname),
-                      dataPlane.getLayer2Vnis().row(hostname),
-                      dataPlane.getLayer3Vnis().row(hostname),
-                      dataPlane.getPrefixTracingInfoSummary().get(hostname),
-                      dataPlane.getRibs().row(hostname));
-              serializeObject(dp, getDataPlaneHostPath(snapshot, hostname));
-            });
-    serializeObject(
-        dataPlane.getForwardingAnalysis(), getDataPlaneForwardingAnalysisPath(snapshot));
+    Map<String, PerHostDataPlane> perHostDataPlanes =
+        toImmutableMap(
+            dataPlane.getFibs().keySet(),
+            hostname -> hostname,
+            hostname ->
+                new PerHostDataPlane(
+                    dataPlane.getBgpRoutes().row(hostname),
+                    dataPlane.getBgpBackupRoutes().row(hostname),
+                    dataPlane.getEvpnRoutes().row(hostname),
+                    dataPlane.getEvpnBackupRoutes().row(hostname),
+                    dataPlane.getFibs().get(hostname),
+                    dataPlane.getLayer2Vnis().row(hostname),
+                    dataPlane.getLayer3Vnis().row(hostname),
+                    dataPlane.getPrefixTracingInfoSummary().get(hostname),
+                    dataPlane.getRibs().row(hostname)));
+    perHostDataPlanes.entrySet().parallelStream()
+        .forEach(e -> serializeObject(e.getValue(), getDataPlaneHostPath(snapshot, e.getKey())));
+    ForwardingAnalysis forwardingAnalysis = dataPlane.getForwardingAnalysis();
+    if (forwardingAnalysis instanceof ForwardingAnalysisImpl) {
+      // FIBs are already stored per host
+      forwardingAnalysis = ((ForwardingAnalysisImpl) forwardingAnalysis).withoutFibs();
+    }
+    serializeObject(forwardingAnalysis, getDataPlaneForwardingAnalysisPath(snapshot));
+    // written last, so that a data plane with an index is complete
+    serializeObject(DataPlaneIndex.create(perHostDataPlanes), getDataPlaneIndexPath(snapshot));
   }
 
   @Override
@@ -1679,11 +2225,11 @@ public class FileBasedStorage implements StorageProvider {
   public @Nonnull Optional<String> loadExternalBgpAnnouncementsFile(NetworkSnapshot snapshot)
       throws IOException {
     Path path =
-        getSnapshotInputObjectPath(
+        findSnapshotInputObjectFile(
             snapshot.getNetwork(),
             snapshot.getSnapshot(),
             BfConsts.RELPATH_EXTERNAL_BGP_ANNOUNCEMENTS);
-    if (!Files.exists(path)) {
+    if (path == null) {
       return Optional.empty();
     }
     return Optional.of(readFileToString(path, UTF_8));
@@ -1707,6 +2253,10 @@ public class FileBasedStorage implements StorageProvider {
     return getDataPlanePath(snapshot).resolve(RELPATH_DATA_PLANE_FORWARDING_ANALYSIS);
   }
 
+  private @Nonnull Path getDataPlaneIndexPath(NetworkSnapshot snapshot) {
+    return getDataPlanePath(snapshot).resolve(RELPATH_DATA_PLANE_INDEX);
+  }
+
   private @Nonnull Path getReferenceLibraryPath(NetworkId network) {
     return getNetworkDir(network).resolve(BfConsts.RELPATH_REFERENCE_LIBRARY_PATH);
   }
@@ -1759,6 +2309,22 @@ public class FileBasedStorage implements StorageProvider {
     return getOldAnswersDir().resolve(answerId.getId());
   }
 
+  @VisibleForTesting
+  @Nonnull
+  Path getParseResultCacheDir() {
+    return _baseDir.resolve(RELPATH_PARSE_RESULT_CACHE_DIR);
+  }
+
+  @VisibleForTesting
+  @Nonnull
+  Path getCachedParseResultPath(String key) {
+    checkArgument(
+        key.length() > 2 && key.chars().allMatch(Character::isLetterOrDigit),
+        "Invalid parse result cache key: %s",
+        key);
+    return getParseResultCacheDir().resolve(key.substring(0, 2)).resolve(key);
+  }
+
   private @Nonnull Path getNetworksDir() {
     return _baseDir.resolve("networks");
   }
@@ -1829,6 +2395,22 @@ public class FileBasedStorage implements StorageProvider {
     return getSnapshotDir(networkId, snapshotId).resolve(RELPATH_INPUT);
   }
 
+  @VisibleForTesting
+  @Nonnull
+  Path getSnapshotInputManifestPath(NetworkId networkId, SnapshotId snapshotId) {
+    return getSnapshotDir(networkId, snapshotId).resolve(RELPATH_INPUT_MANIFEST);
+  }
+
+  @VisibleForTesting
+  @Nonnull
+  Path getInputBlobsDir(NetworkId networkId) {
+    return getNetworkDir(networkId).resolve(RELPATH_INPUT_BLOBS);
+  }
+
+  private @Nonnull Path getInputBlobPath(NetworkId networkId, String hash) {
+    return getInputBlobsDir(networkId).resolve(hash.substring(0, 2)).resolve(hash);
+  }
+
   @VisibleForTesting
   Path getSnapshotOutputDir(NetworkId networkId, SnapshotId snapshotId) {
     return getSnapshotDir(networkId, snapshotId).resolve(RELPATH_OUTPUT);
@@ -1837,31 +2419,92 @@ public class FileBasedStorage implements StorageProvider {
   @Override
   public @Nonnull ParseVendorConfigurationAnswerElement loadParseVendorConfigurationAnswerElement(
       NetworkSnapshot snapshot) throws IOException {
+    ParseVendorConfigurationAnswerElement pvcae = loadParseVendorConfigurationSummary(snapshot);
+    readParseWarnings(
+        snapshot,
+        (filename, warnings, parseTree) -> {
+          if (warnings != null) {
+            pvcae.getWarnings().put(filename, warnings);
+          }
+          if (parseTree != null) {
+            pvcae.getParseTrees().put(filename, parseTree);
+          }
+        });
+    return pvcae;
+  }
+
+  @Override
+  public @Nonnull ParseVendorConfigurationAnswerElement loadParseVendorConfigurationSummary(
+      NetworkSnapshot snapshot) throws IOException {
     return deserializeObject(
         getParseVendorConfigurationAnswerElementPath(snapshot),
         ParseVendorConfigurationAnswerElement.class);
   }
 
+  @Override
+  public void forEachParseWarnings(
+      NetworkSnapshot snapshot, BiConsumer<String, Warnings> consumer) throws IOException {
+    readParseWarnings(
+        snapshot,
+        (filename, warnings, parseTree) -> {
+          if (warnings != null) {
+            consumer.accept(filename, warnings);
+          }
+        });
+  }
+
+  private void readParseWarnings(NetworkSnapshot snapshot, FileRecordConsumer consumer)
+      throws IOException {
+    Path path = validatePath(getParseWarningsPath(snapshot));
+    try (InputStream in =
+        new LZ4FrameInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      ParseWarningsFormat.read(in, consumer);
+    }
+  }
+
+  /**
+   * Stores the answer element without its per-file warnings and parse trees, which are stored
+   * separately in {@link ParseWarningsFormat}. The warnings are stored first, since the answer
+   * element is what marks the snapshot as parsed.
+   */
   @Override
   public void storeParseVendorConfigurationAnswerElement(
       ParseVendorConfigurationAnswerElement parseVendorConfigurationAnswerElement,
       NetworkSnapshot snapshot)
       throws IOException {
+    Path warningsPath = validatePath(getParseWarningsPath(snapshot));
+    mkdirs(warningsPath.getParent());
+    Path tmpFile = tempOutputFilePath(warningsPath);
+    try {
+      try (OutputStream out =
+          new LZ4FrameOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+        ParseWarningsFormat.write(
+            parseVendorConfigurationAnswerElement.getWarnings(),
+            parseVendorConfigurationAnswerElement.getParseTrees(),
+            out);
+      }
+      Files.move(tmpFile, warningsPath, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tmpFile);
+    }
     serializeObject(
-        parseVendorConfigurationAnswerElement,
+        parseVendorConfigurationAnswerElement.withoutWarningsAndParseTrees(),
         getParseVendorConfigurationAnswerElementPath(snapshot));
   }
 
   @Override
   public boolean hasParseVendorConfigurationAnswerElement(NetworkSnapshot snapshot)
       throws IOException {
-    return Files.exists(getParseVendorConfigurationAnswerElementPath(snapshot));
+    // Snapshots parsed before warnings were stored separately lack the warnings, so are reparsed.
+    return Files.exists(getParseVendorConfigurationAnswerElementPath(snapshot))
+        && Files.exists(getParseWarningsPath(snapshot));
   }
 
   @Override
   public void deleteParseVendorConfigurationAnswerElement(NetworkSnapshot snapshot)
       throws IOException {
     Files.deleteIfExists(getParseVendorConfigurationAnswerElementPath(snapshot));
+    Files.deleteIfExists(getParseWarningsPath(snapshot));
   }
 
   @Override
@@ -1974,6 +2617,11 @@ public class FileBasedStorage implements StorageProvider {
         .resolve(RELPATH_PARSE_ANSWER_PATH);
   }
 
+  private @Nonnull Path getParseWarningsPath(NetworkSnapshot snapshot) {
+    return getSnapshotOutputDir(snapshot.getNetwork(), snapshot.getSnapshot())
+        .resolve(RELPATH_PARSE_WARNINGS_PATH);
+  }
+
   /**
    * Collects garbage inside the given network.
    *
@@ -1991,6 +2639,7 @@ public class FileBasedStorage implements StorageProvider {
         LOGGER.error("Failed to expunge snapshot directory {}", dir, e);
       }
     }
+    expungeUnreferencedInputBlobs(networkId, expungeBeforeDate);
     Optional<Instant> maybeOldestExtantSnapshotFileModifiedDate =
         getOldestSnapshotCreationTime(networkId);
     if (maybeOldestExtantSnapshotFileModifiedDate.isPresent()) {
@@ -2193,6 +2842,7 @@ public class FileBasedStorage implements StorageProvider {
         Stream.of(
             getSnapshotDir(networkId, snapshotId),
             getSnapshotInputObjectsDir(networkId, snapshotId),
+            getSnapshotInputManifestPath(networkId, snapshotId),
             getSnapshotOutputDir(networkId, snapshotId),
             getAnswersDir(networkId, snapshotId)));
   }
@@ -0,0 +1,104 @@
+package org.batfish.storage;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSortedMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * The input objects of a snapshot whose content is kept in a network's content-addressed blob
+ * store: a map from input object key to the SHA-256 hash of the object's content.
+ *
+ * <p>A manifest file holds one {@code <hash> <key>} line per stored object. A manifest is created
+ * whole by an atomic move, and afterwards only appended to; a later line for a key replaces earlier
+ * ones. An incomplete last line, e.g. from a write in progress, is ignored.
+ */
+@ParametersAreNonnullByDefault
+final class InputObjectManifest {
+
+  /** Length of a hex-encoded SHA-256 hash. */
+  @VisibleForTesting static final int HASH_LENGTH = 64;
+
+  /** Reads the manifest at the given path. */
+  static @Nonnull InputObjectManifest read(Path path) throws IOException {
+    // Read the file key first, so a manifest replaced while being read looks out of date.
+    Object fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+    byte[] bytes = Files.readAllBytes(path);
+    SortedMap<String, String> hashesByKey = new TreeMap<>();
+    String[] lines = new String(bytes, UTF_8).split("\n", -1);
+    // the last element follows the last newline, so it is empty or incomplete
+    for (int i = 0; i < lines.length - 1; i++) {
+      String line = lines[i];
+      if (line.length() < HASH_LENGTH + 2 || line.charAt(HASH_LENGTH) != ' ') {
+        continue;
+      }
+      hashesByKey.put(line.substring(HASH_LENGTH + 1), line.substring(0, HASH_LENGTH));
+    }
+    return new InputObjectManifest(
+        ImmutableSortedMap.copyOfSorted(hashesByKey), bytes.length, fileKey);
+  }
+
+  /** Returns the manifest line recording that the object with the given key has the given hash. */
+  static @Nonnull String toLine(String key, String hash) {
+    checkArgument(hash.length() == HASH_LENGTH, "Invalid hash: %s", hash);
+    checkArgument(key.indexOf('\n') < 0, "Input object keys may not contain newlines: %s", key);
+    return hash + ' ' + key + '\n';
+  }
+
+  /** Returns the contents of a manifest file recording the given hashes, keyed by object key. */
+  static @Nonnull String toContents(Map<String, String> hashesByKey) {
+    StringBuilder contents = new StringBuilder();
+    hashesByKey.forEach((key, hash) -> contents.append(toLine(key, hash)));
+    return contents.toString();
+  }
+
+  private final @Nonnull SortedMap<String, String> _hashesByKey;
+  private final long _size;
+  private final @Nullable Object _fileKey;
+
+  private InputObjectManifest(
+      SortedMap<String, String> hashesByKey, long size, @Nullable Object fileKey) {
+    _hashesByKey = hashesByKey;
+    _size = size;
+    _fileKey = fileKey;
+  }
+
+  /** Returns the hash of the object with the given key, or {@code null} if there is none. */
+  @Nullable
+  String getHash(String key) {
+    return _hashesByKey.get(key);
+  }
+
+  /** Returns the hashes of all objects, keyed by object key. */
+  @Nonnull
+  SortedMap<String, String> getHashesByKey() {
+    return _hashesByKey;
+  }
+
+  /** Returns the hashes of all objects whose keys are inside the given directory key. */
+  @Nonnull
+  SortedMap<String, String> getHashesInDir(String dirKey) {
+    // '0' is the character after '/'
+    return _hashesByKey.subMap(dirKey + '/', dirKey + '0');
+  }
+
+  /**
+   * Returns whether this is the current contents of the manifest file with the given attributes,
+   * i.e. the file this was read from, with nothing appended since.
+   */
+  boolean isCurrent(BasicFileAttributes attributes) {
+    return _size == attributes.size() && Objects.equals(_fileKey, attributes.fileKey());
+  }
+}
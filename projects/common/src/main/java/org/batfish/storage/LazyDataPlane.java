@@ -0,0 +1,271 @@
+package org.batfish.storage;
+
+import static org.batfish.common.util.CollectionUtil.toImmutableMap;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ForwardingMap;
+import com.google.common.collect.ForwardingSortedMap;
+import com.google.common.collect.ForwardingTable;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.datamodel.Bgpv4Route;
+import org.batfish.datamodel.DataPlane;
+import org.batfish.datamodel.EvpnRoute;
+import org.batfish.datamodel.Fib;
+import org.batfish.datamodel.FinalMainRib;
+import org.batfish.datamodel.ForwardingAnalysis;
+import org.batfish.datamodel.ForwardingAnalysisImpl;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.vxlan.Layer2Vni;
+import org.batfish.datamodel.vxlan.Layer3Vni;
+import org.batfish.storage.DataPlaneIndex.HostKeys;
+
+/**
+ * A {@link DataPlane} backed by stored {@link PerHostDataPlane}s, each loaded only when a value of
+ * its host is accessed. The hosts and VRFs of every table and map come from a {@link
+ * DataPlaneIndex}, so iterating over keys loads nothing. The index itself is loaded on first use of
+ * the data plane, not when it is created. Loaded hosts are held softly: they are evicted under
+ * memory pressure, and loaded again when next needed.
+ *
+ * <p>Serializes as a fully loaded {@link SimpleFieldsDataPlane}.
+ */
+@ParametersAreNonnullByDefault
+final class LazyDataPlane implements DataPlane {
+
+  /**
+   * Returns {@code forwardingAnalysis}, which was stored without FIBs, with {@code fibs} provided
+   * again.
+   */
+  static @Nonnull ForwardingAnalysis withFibs(
+      ForwardingAnalysis forwardingAnalysis, Map<String, Map<String, Fib>> fibs) {
+    return forwardingAnalysis instanceof ForwardingAnalysisImpl
+        ? ((ForwardingAnalysisImpl) forwardingAnalysis).withFibs(fibs)
+        : forwardingAnalysis;
+  }
+
+  private final transient @Nonnull Supplier<DataPlaneIndex> _index;
+  private transient volatile boolean _indexLoaded;
+  private final transient @Nonnull LoadingCache<String, PerHostDataPlane> _hosts;
+  private final transient @Nonnull ForwardingAnalysis _storedForwardingAnalysis;
+
+  private final transient @Nonnull Table<String, String, Set<Bgpv4Route>> _bgpRoutes;
+  private final transient @Nonnull Table<String, String, Set<Bgpv4Route>> _bgpBackupRoutes;
+  private final transient @Nonnull Table<String, String, Set<EvpnRoute<?, ?>>> _evpnRoutes;
+  private final transient @Nonnull Table<String, String, Set<EvpnRoute<?, ?>>> _evpnBackupRoutes;
+  private final transient @Nonnull Map<String, Map<String, Fib>> _fibs;
+  private final transient @Nonnull Supplier<ForwardingAnalysis> _forwardingAnalysis;
+  private final transient @Nonnull Table<String, String, Set<Layer2Vni>> _layer2Vnis;
+  private final transient @Nonnull Table<String, String, Set<Layer3Vni>> _layer3Vnis;
+  private final transient @Nonnull SortedMap<
+          String, SortedMap<String, Map<Prefix, Map<String, Set<String>>>>>
+      _prefixTracingInfoSummary;
+  private final transient @Nonnull Table<String, String, FinalMainRib> _ribs;
+
+  /**
+   * @param indexLoader loads the index of the stored data plane
+   * @param loader loads the stored {@link PerHostDataPlane} of a host in the index
+   * @param storedForwardingAnalysis the forwarding analysis, as stored without FIBs
+   */
+  LazyDataPlane(
+      Supplier<DataPlaneIndex> indexLoader,
+      Function<String, PerHostDataPlane> loader,
+      ForwardingAnalysis storedForwardingAnalysis) {
+    _index =
+        Suppliers.memoize(
+            () -> {
+              DataPlaneIndex index = indexLoader.get();
+              _indexLoaded = true;
+              return index;
+            });
+    _hosts = CacheBuilder.newBuilder().softValues().build(CacheLoader.from(loader::apply));
+    _storedForwardingAnalysis = storedForwardingAnalysis;
+    _bgpRoutes = tableView(HostKeys::getBgpRoutes, PerHostDataPlane::getBgpRoutes);
+    _bgpBackupRoutes =
+        tableView(HostKeys::getBgpBackupRoutes, PerHostDataPlane::getBgpBackupRoutes);
+    _evpnRoutes = tableView(HostKeys::getEvpnRoutes, PerHostDataPlane::getEvpnRoutes);
+    _evpnBackupRoutes =
+        tableView(HostKeys::getEvpnBackupRoutes, PerHostDataPlane::getEvpnBackupRoutes);
+    _fibs =
+        lazyMap(
+            () -> {
+              DataPlaneIndex index = _index.get();
+              return Maps.asMap(
+                  index.getHostnames(),
+                  hostname ->
+                      Maps.asMap(
+                          index.getHostKeys(hostname).getFibs(),
+                          vrf -> getHost(hostname).getFibs().get(vrf)));
+            });
+    _forwardingAnalysis = Suppliers.memoize(() -> withFibs(storedForwardingAnalysis, _fibs));
+    _layer2Vnis = tableView(HostKeys::getLayer2Vnis, PerHostDataPlane::getLayer2Vnis);
+    _layer3Vnis = tableView(HostKeys::getLayer3Vnis, PerHostDataPlane::getLayer3Vnis);
+    _prefixTracingInfoSummary =
+        lazySortedMap(
+            () ->
+                Maps.asMap(
+                    ImmutableSortedSet.copyOf(_index.get().getHostnames()),
+                    hostname -> getHost(hostname).getPrefixTracingInfoSummary()));
+    _ribs = tableView(HostKeys::getRibs, PerHostDataPlane::getRibs);
+  }
+
+  /**
+   * A view of the values of one per-VRF map of every host, whose cells are known from the index
+   * and whose values are loaded on access. The cells are built on first access.
+   */
+  private @Nonnull <T> Table<String, String, T> tableView(
+      Function<HostKeys, Set<String>> keys, Function<PerHostDataPlane, Map<String, T>> getter) {
+    Supplier<Table<String, String, T>> table =
+        Suppliers.memoize(
+            () -> {
+              DataPlaneIndex index = _index.get();
+              ImmutableTable.Builder<String, String, Entry<String, String>> cells =
+                  ImmutableTable.builder();
+              for (String hostname : index.getHostnames()) {
+                for (String key : keys.apply(index.getHostKeys(hostname))) {
+                  cells.put(hostname, key, Maps.immutableEntry(hostname, key));
+                }
+              }
+              return Tables.transformValues(
+                  cells.build(),
+                  cell -> getter.apply(getHost(cell.getKey())).get(cell.getValue()));
+            });
+    return new ForwardingTable<>() {
+      @Override
+      protected Table<String, String, T> delegate() {
+        return table.get();
+      }
+    };
+  }
+
+  /** A view of the sorted map supplied by {@code map}, which is called on first access. */
+  private static @Nonnull <K, V> SortedMap<K, V> lazySortedMap(Supplier<SortedMap<K, V>> map) {
+    Supplier<SortedMap<K, V>> memoized = Suppliers.memoize(map::get);
+    return new ForwardingSortedMap<>() {
+      @Override
+      protected SortedMap<K, V> delegate() {
+        return memoized.get();
+      }
+    };
+  }
+
+  /** A view of the map supplied by {@code map}, which is called on first access. */
+  private static @Nonnull <K, V> Map<K, V> lazyMap(Supplier<Map<K, V>> map) {
+    Supplier<Map<K, V>> memoized = Suppliers.memoize(map::get);
+    return new ForwardingMap<>() {
+      @Override
+      protected Map<K, V> delegate() {
+        return memoized.get();
+      }
+    };
+  }
+
+  private @Nonnull PerHostDataPlane getHost(String hostname) {
+    try {
+      return _hosts.getUnchecked(hostname);
+    } catch (UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  /** Whether the index has been loaded. */
+  @VisibleForTesting
+  boolean isIndexLoaded() {
+    return _indexLoaded;
+  }
+
+  /** The number of hosts currently loaded. */
+  @VisibleForTesting
+  long getLoadedHostCount() {
+    _hosts.cleanUp();
+    return _hosts.size();
+  }
+
+  private Object writeReplace() {
+    Map<String, PerHostDataPlane> perHostDataPlanes =
+        Maps.toMap(_index.get().getHostnames(), this::getHost);
+    return new SimpleFieldsDataPlane(
+        perHostDataPlanes,
+        withFibs(
+            _storedForwardingAnalysis,
+            toImmutableMap(perHostDataPlanes, Entry::getKey, e -> e.getValue().getFibs())));
+  }
+
+  @Override
+  public @Nonnull Table<String, String, Set<Bgpv4Route>> getBgpRoutes() {
+    return _bgpRoutes;
+  }
+
+  @Override
+  public @Nonnull Table<String, String, Set<Bgpv4Route>> getBgpBackupRoutes() {
+    return _bgpBackupRoutes;
+  }
+
+  @Override
+  public @Nonnull Table<String, String, Set<EvpnRoute<?, ?>>> getEvpnRoutes() {
+    return _evpnRoutes;
+  }
+
+  @Override
+  public @Nonnull Table<String, String, Set<EvpnRoute<?, ?>>> getEvpnBackupRoutes() {
+    return _evpnBackupRoutes;
+  }
+
+  @Override
+  public @Nonnull Map<String, Map<String, Fib>> getFibs() {
+    return _fibs;
+  }
+
+  @Override
+  public @Nonnull ForwardingAnalysis getForwardingAnalysis() {
+    return _forwardingAnalysis.get();
+  }
+
+  @Override
+  public @Nonnull Set<String> getHostsWithRoutesOverlapping(Prefix network) {
+    return _index.get().getHostsWithRoutesOverlapping(network);
+  }
+
+  @Override
+  public @Nonnull Set<String> getHostsWithRoutesWithin(Prefix network) {
+    return _index.get().getHostsWithRoutesWithin(network);
+  }
+
+  @Override
+  public @Nonnull Table<String, String, Set<Layer2Vni>> getLayer2Vnis() {
+    return _layer2Vnis;
+  }
+
+  @Override
+  public @Nonnull Table<String, String, Set<Layer3Vni>> getLayer3Vnis() {
+    return _layer3Vnis;
+  }
+
+  @Override
+  public @Nonnull SortedMap<String, SortedMap<String, Map<Prefix, Map<String, Set<String>>>>>
+      getPrefixTracingInfoSummary() {
+    return _prefixTracingInfoSummary;
+  }
+
+  @Override
+  public @Nonnull Table<String, String, FinalMainRib> getRibs() {
+    return _ribs;
+  }
+}
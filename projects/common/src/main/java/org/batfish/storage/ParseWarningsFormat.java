@@ -0,0 +1,259 @@
+package org.batfish.storage;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.io.CountingInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.common.ErrorDetails;
+import org.batfish.common.ParseTreeSentences;
+import org.batfish.common.Warning;
+import org.batfish.common.Warnings;
+import org.batfish.common.Warnings.ParseWarning;
+
+/**
+ * Stored form of the per-file {@link Warnings} and {@link ParseTreeSentences} of a {@link
+ * org.batfish.datamodel.answers.ParseVendorConfigurationAnswerElement}.
+ *
+ * <p>Similar files produce the same warning texts, parser contexts and comments, so each distinct
+ * string is written once, in a dictionary at the start of the file, and referred to by its index.
+ * The dictionary is followed by an index of the files, giving the offset and length of each file's
+ * record, and then by the records. Readers load the dictionary and the index, and then decode one
+ * record at a time, so only one file's warnings are in memory at once.
+ *
+ * <pre>
+ *   int version
+ *   int strings, then per string: int length, UTF-8 bytes
+ *   int files, then per file: int filename, long offset, int length
+ *   records
+ * </pre>
+ */
+@ParametersAreNonnullByDefault
+final class ParseWarningsFormat {
+
+  /** Receives the stored warnings and parse tree of each file. */
+  @FunctionalInterface
+  interface FileRecordConsumer {
+    void accept(
+        String filename, @Nullable Warnings warnings, @Nullable ParseTreeSentences parseTree);
+  }
+
+  private static final int VERSION = 1;
+
+  /** Index of an absent string, warnings or parse tree. */
+  private static final int ABSENT = -1;
+
+  /** Writes the warnings and parse trees of every file to {@code out}. */
+  static void write(
+      Map<String, Warnings> warnings,
+      Map<String, ParseTreeSentences> parseTrees,
+      OutputStream out)
+      throws IOException {
+    Dictionary dictionary = new Dictionary();
+    ByteArrayOutputStream records = new ByteArrayOutputStream();
+    DataOutputStream recordsOut = new DataOutputStream(records);
+    SortedSet<String> filenames =
+        ImmutableSortedSet.<String>naturalOrder()
+            .addAll(warnings.keySet())
+            .addAll(parseTrees.keySet())
+            .build();
+    ByteArrayOutputStream index = new ByteArrayOutputStream();
+    DataOutputStream indexOut = new DataOutputStream(index);
+    for (String filename : filenames) {
+      int offset = recordsOut.size();
+      writeRecord(warnings.get(filename), parseTrees.get(filename), dictionary, recordsOut);
+      indexOut.writeInt(dictionary.id(filename));
+      indexOut.writeLong(offset);
+      indexOut.writeInt(recordsOut.size() - offset);
+    }
+
+    DataOutputStream dataOut = new DataOutputStream(out);
+    dataOut.writeInt(VERSION);
+    dataOut.writeInt(dictionary._strings.size());
+    for (String str : dictionary._strings) {
+      byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+      dataOut.writeInt(bytes.length);
+      dataOut.write(bytes);
+    }
+    dataOut.writeInt(filenames.size());
+    index.writeTo(dataOut);
+    records.writeTo(dataOut);
+    dataOut.flush();
+  }
+
+  /** Reads the records written by {@link #write}, passing each to {@code consumer} in turn. */
+  static void read(InputStream in, FileRecordConsumer consumer) throws IOException {
+    CountingInputStream counting = new CountingInputStream(in);
+    DataInputStream dataIn = new DataInputStream(counting);
+    int version = dataIn.readInt();
+    checkState(version == VERSION, "Unsupported parse warnings version: %s", version);
+    int numStrings = dataIn.readInt();
+    List<String> strings = new ArrayList<>(numStrings);
+    for (int i = 0; i < numStrings; i++) {
+      byte[] bytes = new byte[dataIn.readInt()];
+      dataIn.readFully(bytes);
+      strings.add(new String(bytes, StandardCharsets.UTF_8));
+    }
+    int numFiles = dataIn.readInt();
+    int[] filenames = new int[numFiles];
+    long[] offsets = new long[numFiles];
+    int[] lengths = new int[numFiles];
+    for (int i = 0; i < numFiles; i++) {
+      filenames[i] = dataIn.readInt();
+      offsets[i] = dataIn.readLong();
+      lengths[i] = dataIn.readInt();
+    }
+    long recordsStart = counting.getCount();
+    for (int i = 0; i < numFiles; i++) {
+      dataIn.skipNBytes(recordsStart + offsets[i] - counting.getCount());
+      byte[] record = new byte[lengths[i]];
+      dataIn.readFully(record);
+      readRecord(strings.get(filenames[i]), record, strings, consumer);
+    }
+  }
+
+  private static void writeRecord(
+      @Nullable Warnings warnings,
+      @Nullable ParseTreeSentences parseTree,
+      Dictionary dictionary,
+      DataOutputStream out)
+      throws IOException {
+    if (warnings == null) {
+      out.writeInt(ABSENT);
+    } else {
+      out.writeInt(warnings.getParseWarnings().size());
+      for (ParseWarning w : warnings.getParseWarnings()) {
+        out.writeInt(w.getLine());
+        out.writeInt(dictionary.id(w.getText()));
+        out.writeInt(dictionary.id(w.getParserContext()));
+        out.writeInt(dictionary.id(w.getComment()));
+      }
+      writeWarnings(warnings.getPedanticWarnings(), dictionary, out);
+      writeWarnings(warnings.getRedFlagWarnings(), dictionary, out);
+      writeWarnings(warnings.getUnimplementedWarnings(), dictionary, out);
+      ErrorDetails errorDetails = warnings.getErrorDetails();
+      if (errorDetails == null) {
+        out.writeInt(ABSENT);
+      } else {
+        // rare, and not worth a format of its own
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+          oos.writeObject(errorDetails);
+        }
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+      }
+    }
+    if (parseTree == null) {
+      out.writeInt(ABSENT);
+    } else {
+      List<String> sentences = parseTree.getSentences();
+      out.writeInt(sentences.size());
+      for (String sentence : sentences) {
+        out.writeInt(dictionary.id(sentence));
+      }
+    }
+  }
+
+  private static void writeWarnings(
+      Set<Warning> warnings, Dictionary dictionary, DataOutputStream out) throws IOException {
+    out.writeInt(warnings.size());
+    for (Warning w : warnings) {
+      out.writeInt(dictionary.id(w.getText()));
+      String tag = w.getTag();
+      out.writeInt(tag == null ? ABSENT : dictionary.id(tag));
+    }
+  }
+
+  private static void readRecord(
+      String filename, byte[] record, List<String> strings, FileRecordConsumer consumer)
+      throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+    Warnings warnings = null;
+    int numParseWarnings = in.readInt();
+    if (numParseWarnings != ABSENT) {
+      warnings = new Warnings();
+      for (int i = 0; i < numParseWarnings; i++) {
+        int line = in.readInt();
+        warnings
+            .getParseWarnings()
+            .add(
+                new ParseWarning(
+                    line,
+                    strings.get(in.readInt()),
+                    strings.get(in.readInt()),
+                    strings.get(in.readInt())));
+      }
+      readWarnings(warnings.getPedanticWarnings(), strings, in);
+      readWarnings(warnings.getRedFlagWarnings(), strings, in);
+      readWarnings(warnings.getUnimplementedWarnings(), strings, in);
+      int errorDetailsLength = in.readInt();
+      if (errorDetailsLength != ABSENT) {
+        byte[] bytes = new byte[errorDetailsLength];
+        in.readFully(bytes);
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+          warnings.setErrorDetails((ErrorDetails) ois.readObject());
+        } catch (ClassNotFoundException e) {
+          throw new IOException("Failed to read error details of " + filename, e);
+        }
+      }
+    }
+    ParseTreeSentences parseTree = null;
+    int numSentences = in.readInt();
+    if (numSentences != ABSENT) {
+      ImmutableList.Builder<String> sentences = ImmutableList.builder();
+      for (int i = 0; i < numSentences; i++) {
+        sentences.add(strings.get(in.readInt()));
+      }
+      parseTree = new ParseTreeSentences();
+      parseTree.setSentences(sentences.build());
+    }
+    consumer.accept(filename, warnings, parseTree);
+  }
+
+  private static void readWarnings(Set<Warning> warnings, List<String> strings, DataInputStream in)
+      throws IOException {
+    int numWarnings = in.readInt();
+    for (int i = 0; i < numWarnings; i++) {
+      String text = strings.get(in.readInt());
+      int tag = in.readInt();
+      warnings.add(new Warning(text, tag == ABSENT ? null : strings.get(tag)));
+    }
+  }
+
+  /** Assigns each distinct string an index, in order of first use. */
+  private static final class Dictionary {
+    private final @Nonnull Map<String, Integer> _ids = new HashMap<>();
+    private final @Nonnull List<String> _strings = new ArrayList<>();
+
+    int id(String str) {
+      return _ids.computeIfAbsent(
+          str,
+          s -> {
+            _strings.add(s);
+            return _strings.size() - 1;
+          });
+    }
+  }
+
+  private ParseWarningsFormat() {} // prevent instantiation
+}
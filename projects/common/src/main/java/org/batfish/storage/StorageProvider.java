@@ -10,12 +10,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.batfish.common.CompletionMetadata;
 import org.batfish.common.NetworkSnapshot;
+import org.batfish.common.Warnings;
 import org.batfish.common.runtime.SnapshotRuntimeData;
 import org.batfish.common.topology.L3Adjacencies;
 import org.batfish.common.topology.Layer1Topology;
@@ -57,6 +59,18 @@ public interface StorageProvider {
   @Nullable
   SortedMap<String, Configuration> loadConfigurations(NetworkId network, SnapshotId snapshot);
 
+  /**
+   * Returns the {@link ConfigurationFingerprints fingerprint} of each stored configuration of the
+   * given snapshot, keyed by hostname, or {@code null} if the configurations were stored without
+   * fingerprints.
+   *
+   * @param network The name of the network
+   * @param snapshot The name of the snapshot
+   */
+  @Nullable
+  SortedMap<String, String> loadConfigurationFingerprints(NetworkId network, SnapshotId snapshot)
+      throws IOException;
+
   /**
    * Returns the {@link ConvertConfigurationAnswerElement} that is the result of the phase that
    * converts vendor-specific configurations to vendor-independent configurations.
@@ -349,6 +363,28 @@ public interface StorageProvider {
   void storeNetworkBlob(InputStream inputStream, NetworkId networkId, String key)
       throws IOException;
 
+  /**
+   * Provide a stream from which the serialized parse result cached for the given key may be read.
+   * The parse result cache is shared by all networks, and reading an entry marks it as recently
+   * used.
+   *
+   * @throws FileNotFoundException if no parse result is cached for the given key
+   * @throws IOException if there is an error reading the parse result
+   */
+  @MustBeClosed
+  @Nonnull
+  InputStream loadCachedParseResult(String key) throws FileNotFoundException, IOException;
+
+  /**
+   * Caches the serialized parse result read from the provided input stream for the given key, then
+   * evicts least recently used parse results until the cache holds at most {@code maxBytes} bytes.
+   *
+   * @return the number of parse results evicted
+   * @throws IOException if there is an error writing the parse result
+   */
+  int storeCachedParseResult(InputStream inputStream, String key, long maxBytes)
+      throws IOException;
+
   /**
    * Provide a stream from which a snapshot-wide extended object for the given key may be read
    *
@@ -693,6 +729,17 @@ public interface StorageProvider {
   @Nonnull
   Stream<String> listSnapshotInputObjectKeys(NetworkSnapshot snapshot) throws IOException;
 
+  /**
+   * Gives the new snapshot {@code fork} all input objects of {@code base}, in the same network,
+   * except those whose keys are in {@code excludedKeys}. Input objects stored to {@code fork}
+   * afterwards replace the ones from {@code base}. Data is shared with {@code base} rather than
+   * copied where possible.
+   *
+   * @throws IOException if there is an error
+   */
+  void forkSnapshotInputObjects(
+      NetworkSnapshot base, NetworkSnapshot fork, Set<String> excludedKeys) throws IOException;
+
   /**
    * Loads the stored data plane for the given snapshot.
    *
@@ -822,6 +869,25 @@ public interface StorageProvider {
   ParseVendorConfigurationAnswerElement loadParseVendorConfigurationAnswerElement(
       NetworkSnapshot snapshot) throws IOException;
 
+  /**
+   * Loads the answer element that is the result of parsing vendor configurations for the given
+   * snapshot, without its per-file warnings and parse trees.
+   *
+   * @throws IOException if there is an error
+   */
+  @Nonnull
+  ParseVendorConfigurationAnswerElement loadParseVendorConfigurationSummary(
+      NetworkSnapshot snapshot) throws IOException;
+
+  /**
+   * Passes the warnings of each file parsed for the given snapshot to {@code consumer}, one file at
+   * a time, without loading the rest of the answer element.
+   *
+   * @throws IOException if there is an error
+   */
+  void forEachParseWarnings(NetworkSnapshot snapshot, BiConsumer<String, Warnings> consumer)
+      throws IOException;
+
   /**
    * Stores the answer element that is the result of parsing vendor configurations for the given
    * snapshot.
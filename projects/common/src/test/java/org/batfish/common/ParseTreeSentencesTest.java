@@ -0,0 +1,40 @@
+package org.batfish.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+/** Tests of {@link ParseTreeSentences}. */
+public final class ParseTreeSentencesTest {
+
+  /** Returns an equal string that is not the same instance as {@code s}. */
+  private static String copy(String s) {
+    return new StringBuilder(s).toString();
+  }
+
+  @Test
+  public void testJavaSerialization() {
+    ParseTreeSentences pts = new ParseTreeSentences();
+    pts.addSentence("a");
+    pts.appendToLastSentence("b");
+    pts.addSentence("a");
+    ParseTreeSentences clone = SerializationUtils.clone(pts);
+    assertThat(clone.getSentences(), contains("ab", "a"));
+
+    // still appendable after deserialization
+    clone.appendToLastSentence("c");
+    assertThat(clone.getSentences(), contains("ab", "ac"));
+  }
+
+  @Test
+  public void testJavaSerializationSharesRepeatedSentences() {
+    ParseTreeSentences pts = new ParseTreeSentences();
+    pts.setSentences(ImmutableList.of(copy("s"), copy("s")));
+    ParseTreeSentences clone = SerializationUtils.clone(pts);
+    assertThat(clone.getSentences().get(0), sameInstance(clone.getSentences().get(1)));
+  }
+}
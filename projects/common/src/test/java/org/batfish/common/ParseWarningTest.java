@@ -2,6 +2,7 @@ package org.batfish.common;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 
 import com.google.common.testing.EqualsTester;
 import org.apache.commons.lang3.SerializationUtils;
@@ -37,6 +38,16 @@ public class ParseWarningTest {
     assertThat(SerializationUtils.clone(pw), equalTo(pw));
   }
 
+  @Test
+  public void testParseWarningsShareStrings() {
+    ParseWarning pw1 = new ParseWarning(1, "t", new StringBuilder("ctx").toString(), "com");
+    ParseWarning pw2 = new ParseWarning(2, "t", new StringBuilder("ctx").toString(), "com");
+    assertThat(pw1.getParserContext(), sameInstance(pw2.getParserContext()));
+    // also once deserialized
+    assertThat(
+        SerializationUtils.clone(pw1).getParserContext(), sameInstance(pw2.getParserContext()));
+  }
+
   @Test
   public void testParseWarningsJsonSerialization() {
     ParseWarning pw = new ParseWarning(1, "t", "ctx", "com");
@@ -64,6 +64,29 @@ public class BDDPacketTest {
     assertThat(var.value(0).var(), lessThan(pkt.getDstIp().value(0).var()));
   }
 
+  @Test
+  public void testSetDynamicReordering() {
+    BDDPacket pkt = new BDDPacket();
+    pkt.setDynamicReordering(true);
+    BDD dstIp = pkt.getDstIp().value(Ip.parse("1.2.3.4").asLong());
+    BDD srcPort = pkt.getSrcPort().value(80);
+    BDD flows = dstIp.and(srcPort);
+    BDD swapped = pkt.swapSourceAndDestinationFields(flows);
+
+    pkt.getFactory().reorder();
+
+    // primed variables stay adjacent to their unprimed counterparts
+    PrimedBDDInteger primed = pkt.getDstIpPrimedBDDInteger();
+    for (int i = 0; i < primed.getVar()._bitvec.length; i++) {
+      int level = primed.getVar()._bitvec[i].level();
+      assertEquals(level + 1, primed.getPrimeVar()._bitvec[i].level());
+    }
+    // existing BDDs and pairings are still valid
+    assertEquals(swapped, pkt.swapSourceAndDestinationFields(flows));
+    assertEquals(flows, pkt.getDstIp().value(Ip.parse("1.2.3.4").asLong()).and(srcPort));
+    assertEquals(1, pkt.getReorderStats().num);
+  }
+
   @Test
   public void testGetFlow_empty() {
     BDDPacket pkt = new BDDPacket();
@@ -8,6 +8,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -15,6 +16,7 @@ import org.apache.commons.configuration2.ImmutableConfiguration;
 import org.batfish.common.Answerer;
 import org.batfish.common.BatfishLogger;
 import org.batfish.common.NetworkSnapshot;
+import org.batfish.common.Warnings;
 import org.batfish.common.bdd.BDDPacket;
 import org.batfish.common.topology.IpOwners;
 import org.batfish.common.topology.IpOwnersBaseImpl;
@@ -55,6 +57,7 @@ import org.batfish.referencelibrary.ReferenceLibrary;
 import org.batfish.role.NodeRoleDimension;
 import org.batfish.role.NodeRolesData;
 import org.batfish.specifier.Location;
+import org.batfish.specifier.LocationIndex;
 import org.batfish.specifier.LocationInfo;
 import org.batfish.specifier.SpecifierContext;
 import org.batfish.specifier.SpecifierContextImpl;
@@ -192,6 +195,11 @@ public class IBatfishTestAdapter implements IBatfish {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public LocationIndex getLocationIndex(NetworkSnapshot snapshot) {
+    return new LocationIndex(loadConfigurations(snapshot));
+  }
+
   @Override
   public ReferenceLibrary getReferenceLibraryData() {
     throw new UnsupportedOperationException();
@@ -317,6 +325,18 @@ public class IBatfishTestAdapter implements IBatfish {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public ParseVendorConfigurationAnswerElement loadParseVendorConfigurationSummary(
+      NetworkSnapshot snapshot) {
+    return loadParseVendorConfigurationAnswerElement(snapshot).withoutWarningsAndParseTrees();
+  }
+
+  @Override
+  public void forEachFileParseWarnings(
+      NetworkSnapshot snapshot, BiConsumer<String, Warnings> consumer) {
+    loadParseVendorConfigurationAnswerElement(snapshot).getWarnings().forEach(consumer);
+  }
+
   @Override
   public AtomicInteger newBatch(String description, int jobs) {
     throw new UnsupportedOperationException();
@@ -372,6 +392,11 @@ public class IBatfishTestAdapter implements IBatfish {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public Set<Flow> bddLoopDetection(NetworkSnapshot snapshot, int sourcePartitions) {
+    throw new UnsupportedOperationException();
+  }
+
   @Override
   public Set<Flow> bddMultipathConsistency(
       NetworkSnapshot snapshot, MultipathConsistencyParameters parameters) {
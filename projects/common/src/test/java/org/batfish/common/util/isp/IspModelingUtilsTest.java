@@ -39,6 +39,7 @@ import static org.batfish.common.util.isp.IspModelingUtils.ispNameConflicts;
 import static org.batfish.common.util.isp.IspModelingUtils.ispPeeringInterfaceName;
 import static org.batfish.common.util.isp.IspModelingUtils.ispToSnapshotInterfaceName;
 import static org.batfish.common.util.isp.IspModelingUtils.makeBgpProcess;
+import static org.batfish.common.util.isp.IspModelingUtils.summarizeAnnouncements;
 import static org.batfish.common.util.isp.IspModelingUtils.toIspModel;
 import static org.batfish.common.util.isp.IspModelingUtils.validateOrExplainProblemCreatingIspConfig;
 import static org.batfish.datamodel.BgpPeerConfig.ALL_AS_NUMBERS;
@@ -1247,6 +1248,82 @@ public class IspModelingUtilsTest {
                 Prefix.parse("3.3.3.3/32"))));
   }
 
+  @Test
+  public void testSummarizeAnnouncements() {
+    Prefix p1 = Prefix.parse("1.1.0.0/24");
+    Prefix p2 = Prefix.parse("1.1.1.0/24");
+    Prefix p3 = Prefix.parse("1.1.2.0/24");
+    Prefix p4 = Prefix.parse("1.1.3.0/24");
+    Prefix p5 = Prefix.parse("1.1.4.0/24");
+    Set<Prefix> prefixes = ImmutableSet.of(p1, p2, p3, p4, p5);
+
+    // siblings merge repeatedly; a prefix without its sibling is kept
+    assertThat(
+        summarizeAnnouncements(prefixes, ImmutableSet.of()),
+        equalTo(ImmutableSet.of(Prefix.parse("1.1.0.0/22"), p5)));
+
+    // non-siblings are never merged
+    assertThat(
+        summarizeAnnouncements(ImmutableSet.of(p2, p3), ImmutableSet.of()),
+        equalTo(ImmutableSet.of(p2, p3)));
+
+    // prefixes announced by other ISPs block merges they take part in, at any level
+    assertThat(
+        summarizeAnnouncements(prefixes, ImmutableSet.of(p4)),
+        equalTo(ImmutableSet.of(Prefix.parse("1.1.0.0/23"), p3, p4, p5)));
+    assertThat(
+        summarizeAnnouncements(prefixes, ImmutableSet.of(Prefix.parse("1.1.0.0/22"))),
+        equalTo(ImmutableSet.of(Prefix.parse("1.1.0.0/23"), Prefix.parse("1.1.2.0/23"), p5)));
+    // but not merges of prefixes that contain or are contained in theirs
+    assertThat(
+        summarizeAnnouncements(
+            prefixes, ImmutableSet.of(Prefix.parse("1.0.0.0/8"), Prefix.parse("1.1.0.0/25"))),
+        equalTo(ImmutableSet.of(Prefix.parse("1.1.0.0/22"), p5)));
+  }
+
+  @Test
+  public void testSummarizeAnnouncements_fullTable() {
+    // every /24 of 10.0.0.0/8, like the many adjacent prefixes of a full Internet table
+    ImmutableSet.Builder<Prefix> table = ImmutableSet.builder();
+    for (long i = 0; i < 1 << 16; i++) {
+      table.add(Prefix.create(Ip.create(Ip.parse("10.0.0.0").asLong() + (i << 8)), 24));
+    }
+    assertThat(
+        summarizeAnnouncements(table.build(), ImmutableSet.of()),
+        equalTo(ImmutableSet.of(Prefix.parse("10.0.0.0/8"))));
+  }
+
+  @Test
+  public void testCombineIspConfigurations_summarizeAnnouncements() {
+    IspNodeInfo ispNodeInfo =
+        new IspNodeInfo(
+            _ispAsn,
+            "myisp",
+            Role.TRANSIT,
+            ImmutableList.of(
+                new IspAnnouncement(Prefix.parse("1.1.0.0/24")),
+                new IspAnnouncement(Prefix.parse("1.1.1.0/24"))),
+            null,
+            true);
+    Map<Long, IspModel> combinedMap =
+        IspModelingUtils.combineIspConfigurations(
+            ImmutableMap.of(_snapshotHostname, _snapshotHost),
+            ImmutableList.of(
+                new IspConfiguration(
+                    ImmutableList.of(
+                        new BorderInterfaceInfo(
+                            NodeInterfacePair.of(_snapshotHostname, _snapshotInterfaceName))),
+                    ImmutableList.of(),
+                    IspFilter.ALLOW_ALL,
+                    ImmutableList.of(ispNodeInfo),
+                    ImmutableList.of())),
+            new Warnings());
+
+    assertThat(
+        combinedMap.get(_ispAsn).getAdditionalPrefixesToInternet(),
+        equalTo(ImmutableSet.of(Prefix.parse("1.1.0.0/23"))));
+  }
+
   @Test
   public void testGetAsnOfIspNode() {
     assertThat(getAsnOfIspNode(_snapshotHost), equalTo(2L));
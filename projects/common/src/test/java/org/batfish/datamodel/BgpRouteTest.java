@@ -4,9 +4,11 @@ import static org.batfish.datamodel.OriginMechanism.GENERATED;
 import static org.batfish.datamodel.OriginMechanism.LEARNED;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.EqualsTester;
+import java.util.HashSet;
 import org.apache.commons.lang3.SerializationUtils;
 import org.batfish.common.util.BatfishObjectMapper;
 import org.batfish.datamodel.bgp.TunnelEncapsulationAttribute;
@@ -97,4 +99,29 @@ public class BgpRouteTest {
         .addEqualityGroup(brb.setWeight(2).build())
         .testEquals();
   }
+
+  @Test
+  public void testBgpRouteAttributesShared() {
+    Bgpv4Route.Builder brb =
+        Bgpv4Route.testBuilder()
+            .setNetwork(Prefix.parse("1.1.1.0/24"))
+            .setAsPath(AsPath.ofSingletonAsSets(1L, 2L))
+            .setClusterList(new HashSet<>(ImmutableSet.of(1L)))
+            .setCommunities(ImmutableSet.of(StandardCommunity.of(1L)))
+            .setOriginatorIp(Ip.parse("1.1.1.1"))
+            .setOriginType(OriginType.IGP)
+            .setProtocol(RoutingProtocol.BGP);
+    Bgpv4Route route1 = brb.build();
+    // same attributes, different network and next hop
+    Bgpv4Route route2 =
+        brb.setNetwork(Prefix.parse("2.2.2.0/24")).setNextHopIp(Ip.parse("3.3.3.3")).build();
+    assertThat(route2._attributes, sameInstance(route1._attributes));
+    assertThat(route2.getClusterList(), sameInstance(route1.getClusterList()));
+
+    // routes deserialized separately share attributes too
+    Bgpv4Route clone1 = SerializationUtils.clone(route1);
+    Bgpv4Route clone2 = SerializationUtils.clone(route2);
+    assertThat(clone1._attributes, sameInstance(route1._attributes));
+    assertThat(clone2._attributes, sameInstance(route1._attributes));
+  }
 }
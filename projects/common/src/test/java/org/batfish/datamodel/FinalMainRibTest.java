@@ -1,11 +1,14 @@
 package org.batfish.datamodel;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.EqualsTester;
+import java.util.Map;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -44,4 +47,25 @@ public class FinalMainRibTest {
     assertThat(someRoutes.getRoutes(Prefix.parse("1.2.3.0/24")), hasSize(2));
     assertThat(someRoutes, equalTo(SerializationUtils.clone(someRoutes)));
   }
+
+  @Test
+  public void testGetRoutesByNetwork() {
+    StaticRoute sr1 = StaticRoute.testBuilder().setNetwork(Prefix.parse("1.2.3.0/24")).build();
+    StaticRoute sr2 =
+        StaticRoute.testBuilder()
+            .setNetwork(Prefix.parse("1.2.3.0/24"))
+            .setAdministrativeCost(5)
+            .build();
+    StaticRoute sr3 = StaticRoute.testBuilder().setNetwork(Prefix.parse("1.2.3.0/25")).build();
+    StaticRoute sr4 = StaticRoute.testBuilder().setNetwork(Prefix.ZERO).build();
+    FinalMainRib rib = FinalMainRib.of(sr3, sr1, sr2, sr4);
+
+    assertThat(
+        rib.getRoutesByNetwork(),
+        contains(
+            Map.entry(Prefix.ZERO, ImmutableSet.of(sr4)),
+            Map.entry(Prefix.parse("1.2.3.0/24"), ImmutableSet.of(sr1, sr2)),
+            Map.entry(Prefix.parse("1.2.3.0/25"), ImmutableSet.of(sr3))));
+    assertThat(FinalMainRib.of().getRoutesByNetwork(), empty());
+  }
 }
@@ -38,6 +38,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -52,13 +53,16 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.commons.lang3.SerializationUtils;
 import org.batfish.common.topology.GlobalBroadcastNoPointToPoint;
 import org.batfish.common.topology.IpOwners;
 import org.batfish.common.topology.IpOwnersBaseImpl;
 import org.batfish.datamodel.tracking.PreDataPlaneTrackMethodEvaluator;
 import org.batfish.datamodel.visitors.GenericIpSpaceVisitor;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 /** Tests of {@link ForwardingAnalysisImpl}. */
 public class ForwardingAnalysisImplTest {
@@ -85,6 +89,8 @@ public class ForwardingAnalysisImplTest {
 
   private Vrf.Builder _vb;
 
+  @Rule public ExpectedException _thrown = ExpectedException.none();
+
   private static Map<String, Map<String, Map<Prefix, IpSpace>>> computeMatchingIps(
       Map<String, Map<String, Fib>> fibs) {
     return ForwardingAnalysisImpl.computeMatchingIps(fibs, ForwardingAnalysisImpl.sparseKeys(fibs));
@@ -1535,6 +1541,130 @@ public class ForwardingAnalysisImplTest {
     assertFalse(i1ForwardingBehavior.getInsufficientInfo().containsIp(ip2, c1.getIpSpaces()));
   }
 
+  private ForwardingAnalysisImpl twoVrfAnalysis() {
+    Configuration n1 = _cb.setHostname("n1").build();
+    Vrf v1 = _vb.setOwner(n1).setName("v1").build();
+    Vrf v2 = _vb.setOwner(n1).setName("v2").build();
+    Interface i1 =
+        _ib.setOwner(n1)
+            .setVrf(v1)
+            .setName("i1")
+            .setAddress(ConcreteInterfaceAddress.parse("10.0.1.0/31"))
+            .build();
+    _ib.setOwner(n1)
+        .setVrf(v2)
+        .setName("i2")
+        .setAddress(ConcreteInterfaceAddress.parse("10.0.2.0/31"))
+        .build();
+    StaticRoute route =
+        StaticRoute.testBuilder()
+            .setNetwork(P1)
+            .setNextHopInterface(i1.getName())
+            .setAdmin(1)
+            .build();
+    MockFib fib1 =
+        MockFib.builder()
+            .setMatchingIps(ImmutableMap.of(P1, P1.toIpSpace()))
+            .setFibEntries(
+                ImmutableMap.of(
+                    P1.getStartIp(),
+                    ImmutableSet.of(
+                        new FibEntry(FibForward.of(null, i1.getName()), ImmutableList.of(route)))))
+            .build();
+    Map<String, Configuration> configs = ImmutableMap.of(n1.getHostname(), n1);
+    Map<String, Map<String, Fib>> fibs =
+        ImmutableMap.of(
+            n1.getHostname(),
+            ImmutableMap.of(v1.getName(), fib1, v2.getName(), MockFib.builder().build()));
+    IpOwners ipOwners = new TestIpOwners(configs);
+    return new ForwardingAnalysisImpl(
+        configs, fibs, Topology.EMPTY, computeLocationInfo(ipOwners, configs), ipOwners);
+  }
+
+  @Test
+  public void testVrfForwardingBehaviorComputedOnDemand() {
+    ForwardingAnalysisImpl fa = twoVrfAnalysis();
+    assertThat(fa.getVrfForwardingBehavior().get("n1").keySet(), containsInAnyOrder("v1", "v2"));
+    assertThat(fa.getCachedVrfForwardingBehaviorCount(), equalTo(0L));
+
+    VrfForwardingBehavior v1 = fa.getVrfForwardingBehavior().get("n1").get("v1");
+    assertThat(v1.getRoutableIps(), containsIp(P1.getStartIp()));
+    assertThat(fa.getCachedVrfForwardingBehaviorCount(), equalTo(1L));
+
+    // cached
+    assertThat(fa.getVrfForwardingBehavior().get("n1").get("v1"), sameInstance(v1));
+    assertThat(fa.getCachedVrfForwardingBehaviorCount(), equalTo(1L));
+  }
+
+  @Test
+  public void testWithoutFibs() {
+    ForwardingAnalysisImpl withoutFibs = twoVrfAnalysis().withoutFibs();
+    assertThat(withoutFibs.getArpReplies(), hasKey("n1"));
+    _thrown.expect(IllegalStateException.class);
+    withoutFibs.getVrfForwardingBehavior();
+  }
+
+  @Test
+  public void testWithFibs() {
+    ForwardingAnalysisImpl fa = twoVrfAnalysis();
+    Map<String, Map<String, Fib>> fibs =
+        ImmutableMap.of(
+            "n1",
+            ImmutableMap.of(
+                "v1",
+                MockFib.builder()
+                    .setMatchingIps(ImmutableMap.of(P1, P1.toIpSpace()))
+                    .setFibEntries(
+                        ImmutableMap.of(
+                            P1.getStartIp(),
+                            ImmutableSet.of(
+                                new FibEntry(
+                                    FibForward.of(null, "i1"),
+                                    ImmutableList.of(
+                                        StaticRoute.testBuilder()
+                                            .setNetwork(P1)
+                                            .setNextHopInterface("i1")
+                                            .setAdmin(1)
+                                            .build())))))
+                    .build(),
+                "v2",
+                MockFib.builder().build()));
+    ForwardingAnalysisImpl rebound = fa.withoutFibs().withFibs(fibs);
+    assertThat(rebound.getArpReplies(), equalTo(fa.getArpReplies()));
+    assertSameVrfForwardingBehavior(rebound, fa);
+  }
+
+  @Test
+  public void testSerialization() {
+    ForwardingAnalysisImpl fa = twoVrfAnalysis();
+    ForwardingAnalysisImpl clone = SerializationUtils.clone(fa);
+    assertThat(clone.getCachedVrfForwardingBehaviorCount(), equalTo(0L));
+    assertSameVrfForwardingBehavior(clone, fa);
+  }
+
+  private static void assertSameVrfForwardingBehavior(
+      ForwardingAnalysis actual, ForwardingAnalysis expected) {
+    assertThat(
+        actual.getVrfForwardingBehavior().keySet(),
+        equalTo(expected.getVrfForwardingBehavior().keySet()));
+    expected
+        .getVrfForwardingBehavior()
+        .forEach(
+            (node, vrfs) ->
+                vrfs.forEach(
+                    (vrf, expectedVfb) -> {
+                      VrfForwardingBehavior actualVfb =
+                          actual.getVrfForwardingBehavior().get(node).get(vrf);
+                      assertThat(actualVfb.getRoutableIps(), equalTo(expectedVfb.getRoutableIps()));
+                      assertThat(
+                          actualVfb.getNullRoutedIps(), equalTo(expectedVfb.getNullRoutedIps()));
+                      assertThat(actualVfb.getNextVrfIps(), equalTo(expectedVfb.getNextVrfIps()));
+                      assertThat(
+                          actualVfb.getInterfaceForwardingBehavior().keySet(),
+                          equalTo(expectedVfb.getInterfaceForwardingBehavior().keySet()));
+                    }));
+  }
+
   private static class MockIpSpace extends IpSpace {
 
     private final int _num;
@@ -0,0 +1,23 @@
+package org.batfish.datamodel;
+
+import com.google.common.testing.EqualsTester;
+import org.junit.Test;
+
+/** Tests of {@link InterfaceForwardingBehavior}. */
+public class InterfaceForwardingBehaviorTest {
+
+  @Test
+  public void testEquals() {
+    IpSpace ips = Prefix.parse("1.0.0.0/8").toIpSpace();
+    new EqualsTester()
+        .addEqualityGroup(
+            InterfaceForwardingBehavior.builder().build(),
+            InterfaceForwardingBehavior.builder().build())
+        .addEqualityGroup(InterfaceForwardingBehavior.withAcceptedIps(ips))
+        .addEqualityGroup(InterfaceForwardingBehavior.withDeliveredToSubnet(ips))
+        .addEqualityGroup(InterfaceForwardingBehavior.builder().setExitsNetwork(ips).build())
+        .addEqualityGroup(InterfaceForwardingBehavior.builder().setNeighborUnreachable(ips).build())
+        .addEqualityGroup(InterfaceForwardingBehavior.builder().setInsufficientInfo(ips).build())
+        .testEquals();
+  }
+}
@@ -0,0 +1,88 @@
+package org.batfish.datamodel;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Map;
+import org.batfish.common.bdd.BDDPacket;
+import org.batfish.common.bdd.IpSpaceToBDD;
+import org.junit.Test;
+
+/** Tests of {@link IpSpaceInterner}. */
+public class IpSpaceInternerTest {
+  private static final IpSpace P1 = Prefix.parse("1.0.0.0/8").toIpSpace();
+  private static final IpSpace P2 = Prefix.parse("2.0.0.0/8").toIpSpace();
+  private static final IpSpace IP3 = Ip.parse("3.3.3.3").toIpSpace();
+
+  @Test
+  public void testInternSharesEqualSpaces() {
+    IpSpaceInterner interner = new IpSpaceInterner();
+    IpSpace difference1 = AclIpSpace.difference(P1, P2);
+    IpSpace difference2 = AclIpSpace.difference(P1, P2);
+    assertThat(difference1, not(sameInstance(difference2)));
+
+    IpSpace interned = interner.intern(difference1);
+    assertThat(interned, sameInstance(difference1));
+    assertThat(interner.intern(difference2), sameInstance(interned));
+    assertThat(interner.getRequests(), equalTo(2));
+    assertThat(interner.getDistinct(), equalTo(1));
+  }
+
+  @Test
+  public void testDisabledInternerReturnsSpacesUnchanged() {
+    IpSpaceInterner interner = new IpSpaceInterner(false);
+    IpSpace union1 = AclIpSpace.union(P1, P2);
+    IpSpace union2 = AclIpSpace.union(P1, P2);
+
+    assertThat(interner.intern(union1), sameInstance(union1));
+    assertThat(interner.intern(union2), sameInstance(union2));
+    assertThat(interner.getDistinct(), equalTo(2));
+  }
+
+  @Test
+  public void testInternNormalizesUnions() {
+    IpSpaceInterner interner = new IpSpaceInterner();
+    IpSpace union1 = interner.intern(AclIpSpace.union(P1, P2, IP3));
+    IpSpace union2 = interner.intern(AclIpSpace.union(IP3, P2, P1));
+
+    assertThat(union1, sameInstance(union2));
+    assertThat(
+        union1,
+        equalTo(
+            IpWildcardSetIpSpace.create(
+                ImmutableSet.of(),
+                ImmutableSet.of(
+                    IpWildcard.parse("1.0.0.0/8"),
+                    IpWildcard.parse("2.0.0.0/8"),
+                    IpWildcard.parse("3.3.3.3")))));
+
+    // same IPs as before normalizing
+    IpSpaceToBDD toBdd = new BDDPacket().getDstIpSpaceToBDD();
+    assertThat(toBdd.visit(union1), equalTo(toBdd.visit(AclIpSpace.union(P1, P2, IP3))));
+  }
+
+  @Test
+  public void testInternKeepsNonUnions() {
+    IpSpaceInterner interner = new IpSpaceInterner();
+    IpSpace difference = AclIpSpace.difference(P1, P2);
+    assertThat(interner.intern(difference), sameInstance(difference));
+
+    // a union including a non-union is not normalized
+    IpSpace union = AclIpSpace.union(P1, difference.complement());
+    assertThat(interner.intern(union), sameInstance(union));
+  }
+
+  @Test
+  public void testInternValues() {
+    IpSpaceInterner interner = new IpSpaceInterner();
+    Map<String, IpSpace> interned =
+        interner.internValues(
+            ImmutableMap.of(
+                "a", AclIpSpace.difference(P1, P2), "b", AclIpSpace.difference(P1, P2)));
+    assertThat(interned.get("a"), sameInstance(interned.get("b")));
+  }
+}
@@ -0,0 +1,28 @@
+package org.batfish.datamodel;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.testing.EqualsTester;
+import org.junit.Test;
+
+/** Tests of {@link VrfForwardingBehavior}. */
+public class VrfForwardingBehaviorTest {
+
+  @Test
+  public void testEquals() {
+    IpSpace ips = Prefix.parse("1.0.0.0/8").toIpSpace();
+    VrfForwardingBehavior.Builder builder = VrfForwardingBehavior.builder();
+    new EqualsTester()
+        .addEqualityGroup(builder.build(), builder.build())
+        .addEqualityGroup(
+            builder.setArpTrueEdge(ImmutableMap.of(Edge.of("n1", "i1", "n2", "i2"), ips)).build())
+        .addEqualityGroup(
+            builder
+                .setInterfaceForwardingBehavior(
+                    ImmutableMap.of("i1", InterfaceForwardingBehavior.withAcceptedIps(ips)))
+                .build())
+        .addEqualityGroup(builder.setNextVrf(ImmutableMap.of("v2", ips)).build())
+        .addEqualityGroup(builder.setNullRoutedIps(ips).build())
+        .addEqualityGroup(builder.setRoutableIps(ips).build())
+        .testEquals();
+  }
+}
@@ -0,0 +1,41 @@
+package org.batfish.datamodel.answers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.google.common.testing.EqualsTester;
+import org.batfish.common.util.BatfishObjectMapper;
+import org.junit.Test;
+
+/** Tests of {@link ParseResultCacheStats}. */
+public class ParseResultCacheStatsTest {
+
+  @Test
+  public void testEquals() {
+    new EqualsTester()
+        .addEqualityGroup(
+            new ParseResultCacheStats(1, 2, 3, 4), new ParseResultCacheStats(1, 2, 3, 4))
+        .addEqualityGroup(new ParseResultCacheStats(9, 2, 3, 4))
+        .addEqualityGroup(new ParseResultCacheStats(1, 9, 3, 4))
+        .addEqualityGroup(new ParseResultCacheStats(1, 2, 9, 4))
+        .addEqualityGroup(new ParseResultCacheStats(1, 2, 3, 9))
+        .testEquals();
+  }
+
+  @Test
+  public void testJsonSerialization() {
+    ParseResultCacheStats stats = new ParseResultCacheStats(1, 2, 3, 4);
+    assertThat(BatfishObjectMapper.clone(stats, ParseResultCacheStats.class), equalTo(stats));
+  }
+
+  @Test
+  public void testParseVendorConfigurationAnswerElementJsonSerialization() {
+    ParseVendorConfigurationAnswerElement pvcae = new ParseVendorConfigurationAnswerElement();
+    ParseResultCacheStats stats = new ParseResultCacheStats(1, 2, 3, 4);
+    pvcae.setParseResultCacheStats(stats);
+    assertThat(
+        BatfishObjectMapper.clone(pvcae, ParseVendorConfigurationAnswerElement.class)
+            .getParseResultCacheStats(),
+        equalTo(stats));
+  }
+}
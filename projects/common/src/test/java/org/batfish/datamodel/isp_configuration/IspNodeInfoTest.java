@@ -35,6 +35,7 @@ public class IspNodeInfoTest {
                 null))
         .addEqualityGroup(
             new IspNodeInfo(42, "n1", Role.TRANSIT, prefixList, IspTrafficFiltering.none()))
+        .addEqualityGroup(new IspNodeInfo(42, "n1", Role.TRANSIT, prefixList, null, true))
         .testEquals();
   }
 
@@ -46,7 +47,8 @@ public class IspNodeInfoTest {
             "n1",
             Role.TRANSIT,
             ImmutableList.of(new IspAnnouncement(Prefix.parse("1.1.1.1/32"))),
-            IspTrafficFiltering.none());
+            IspTrafficFiltering.none(),
+            true);
 
     assertThat(BatfishObjectMapper.clone(ispNodeInfo, IspNodeInfo.class), equalTo(ispNodeInfo));
   }
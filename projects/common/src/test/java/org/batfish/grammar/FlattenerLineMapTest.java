@@ -34,4 +34,41 @@ public class FlattenerLineMapTest {
     assertThat(lineMap.getOriginalLine(0, 10), equalTo(FlattenerLineMap.UNMAPPED_LINE_NUMBER));
     assertThat(lineMap.getOriginalLine(3, 10), equalTo(FlattenerLineMap.UNMAPPED_LINE_NUMBER));
   }
+
+  @Test
+  public void testFlattenerLineMapOutOfOrder() {
+    FlattenerLineMap lineMap = new FlattenerLineMap();
+    lineMap.setOriginalLine(1, 8, 3);
+    lineMap.setOriginalLine(1, 0, 1);
+    lineMap.setOriginalLine(1, 4, 2);
+
+    assertThat(lineMap.getOriginalLine(1, 0), equalTo(1));
+    assertThat(lineMap.getOriginalLine(1, 5), equalTo(2));
+    assertThat(lineMap.getOriginalLine(1, 9), equalTo(3));
+
+    /* Confirm setting a position again replaces its original line */
+    lineMap.setOriginalLine(1, 4, 5);
+    assertThat(lineMap.getOriginalLine(1, 5), equalTo(5));
+    assertThat(lineMap.getOriginalLine(1, 9), equalTo(3));
+  }
+
+  @Test
+  public void testFlattenerLineMapManyWords() {
+    FlattenerLineMap lineMap = new FlattenerLineMap();
+    for (int word = 0; word < 100; word++) {
+      lineMap.setOriginalLine(1, 2 * word, word);
+    }
+    lineMap.trimToSize();
+
+    assertThat(lineMap.getOriginalLine(1, 0), equalTo(0));
+    assertThat(lineMap.getOriginalLine(1, 51), equalTo(25));
+    assertThat(lineMap.getOriginalLine(1, 1000), equalTo(99));
+
+    /* Confirm words can still be set after trimming */
+    lineMap.setOriginalLine(1, 1, 200);
+    lineMap.setOriginalLine(1, 300, 300);
+    assertThat(lineMap.getOriginalLine(1, 1), equalTo(200));
+    assertThat(lineMap.getOriginalLine(1, 2), equalTo(1));
+    assertThat(lineMap.getOriginalLine(1, 1000), equalTo(300));
+  }
 }
@@ -0,0 +1,125 @@
+package org.batfish.specifier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.Map;
+import org.batfish.datamodel.ConcreteInterfaceAddress;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.ConfigurationFormat;
+import org.batfish.datamodel.Interface;
+import org.batfish.datamodel.NetworkFactory;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.Vrf;
+import org.batfish.datamodel.collections.NodeInterfacePair;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests of {@link LocationIndex}. */
+public class LocationIndexTest {
+  private Configuration _n1;
+  private Configuration _n2;
+  private Interface _n1i1;
+  private Interface _n1i2;
+  private Interface _n2i1;
+  private LocationIndex _index;
+
+  @Before
+  public void setup() {
+    NetworkFactory nf = new NetworkFactory();
+    Configuration.Builder cb =
+        nf.configurationBuilder().setConfigurationFormat(ConfigurationFormat.CISCO_IOS);
+    _n1 = cb.setHostname("n1").build();
+    _n2 = cb.setHostname("n2").build();
+    Vrf n1v1 = nf.vrfBuilder().setOwner(_n1).setName("v1").build();
+    Vrf n2v1 = nf.vrfBuilder().setOwner(_n2).setName("v1").build();
+    nf.vrfBuilder().setOwner(_n2).setName("v2").build();
+    Interface.Builder ib = nf.interfaceBuilder();
+    _n1i1 =
+        ib.setOwner(_n1)
+            .setVrf(n1v1)
+            .setName("eth0")
+            .setDescription("uplink")
+            .setAddress(ConcreteInterfaceAddress.parse("10.0.0.0/31"))
+            .build();
+    _n1i2 =
+        ib.setOwner(_n1)
+            .setVrf(n1v1)
+            .setName("eth1")
+            .setDescription(null)
+            .setAddress(ConcreteInterfaceAddress.parse("10.0.1.1/24"))
+            .setAdminUp(false)
+            .build();
+    _n2i1 =
+        ib.setOwner(_n2)
+            .setVrf(n2v1)
+            .setName("eth0")
+            .setDescription("uplink")
+            .setAddress(ConcreteInterfaceAddress.parse("10.0.0.1/31"))
+            .setAdminUp(true)
+            .build();
+    Map<String, Configuration> configs = ImmutableMap.of("n1", _n1, "n2", _n2);
+    _index = new LocationIndex(configs);
+  }
+
+  @Test
+  public void testInterfaceLocations() {
+    assertThat(
+        _index.getInterfaceLocations(),
+        containsInAnyOrder(
+            new InterfaceLocation("n1", "eth0"),
+            new InterfaceLocation("n1", "eth1"),
+            new InterfaceLocation("n2", "eth0")));
+    assertThat(
+        _index.getInterfaceLinkLocations(),
+        containsInAnyOrder(
+            new InterfaceLinkLocation("n1", "eth0"),
+            new InterfaceLinkLocation("n1", "eth1"),
+            new InterfaceLinkLocation("n2", "eth0")));
+    assertThat(_index.getInterfaceLocations("n2"), contains(new InterfaceLocation("n2", "eth0")));
+    assertThat(_index.getInterfaceLocations("n3"), empty());
+  }
+
+  @Test
+  public void testInterfacesByName() {
+    assertThat(_index.getInterfacesByName().keySet(), containsInAnyOrder("eth0", "eth1"));
+    assertThat(_index.getInterfacesByName().get("eth0"), containsInAnyOrder(_n1i1, _n2i1));
+    assertThat(_index.getInterfacesByName().get("eth1"), contains(_n1i2));
+  }
+
+  @Test
+  public void testInterfacesByDescription() {
+    // interfaces without a description are omitted
+    assertThat(_index.getInterfacesByDescription().keySet(), contains("uplink"));
+    assertThat(
+        _index.getInterfacesByDescription().get("uplink"), containsInAnyOrder(_n1i1, _n2i1));
+  }
+
+  @Test
+  public void testNodesByVrfName() {
+    assertThat(_index.getNodesByVrfName().keySet(), containsInAnyOrder("v1", "v2"));
+    assertThat(_index.getNodesByVrfName().get("v1"), containsInAnyOrder(_n1, _n2));
+    assertThat(_index.getNodesByVrfName().get("v2"), contains(_n2));
+  }
+
+  @Test
+  public void testActiveInterfacesByPrefix() {
+    // inactive interfaces are omitted
+    assertThat(
+        _index.getActiveInterfacesByPrefix("n1").asMap(),
+        equalTo(
+            ImmutableMap.of(
+                Prefix.parse("10.0.0.0/31"), ImmutableSet.of(NodeInterfacePair.of(_n1i1)))));
+    assertThat(
+        _index.getActiveInterfacesByPrefix("n2").asMap(),
+        equalTo(
+            ImmutableMap.of(
+                Prefix.parse("10.0.0.0/31"), ImmutableSet.of(NodeInterfacePair.of(_n2i1)))));
+    assertThat(_index.getActiveInterfacesByPrefix("n3").asMap(), equalTo(ImmutableMap.of()));
+  }
+}
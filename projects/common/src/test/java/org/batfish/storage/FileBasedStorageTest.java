@@ -56,6 +56,9 @@ import org.batfish.common.BatfishException;
 import org.batfish.common.BatfishLogger;
 import org.batfish.common.CompletionMetadata;
 import org.batfish.common.NetworkSnapshot;
+import org.batfish.common.ParseTreeSentences;
+import org.batfish.common.Warnings;
+import org.batfish.common.Warnings.ParseWarning;
 import org.batfish.common.autocomplete.IpCompletionMetadata;
 import org.batfish.common.autocomplete.LocationCompletionMetadata;
 import org.batfish.common.autocomplete.NodeCompletionMetadata;
@@ -86,6 +89,8 @@ import org.batfish.datamodel.UniverseIpSpace;
 import org.batfish.datamodel.answers.AnswerMetadata;
 import org.batfish.datamodel.answers.AnswerStatus;
 import org.batfish.datamodel.answers.ConvertConfigurationAnswerElement;
+import org.batfish.datamodel.answers.ParseStatus;
+import org.batfish.datamodel.answers.ParseVendorConfigurationAnswerElement;
 import org.batfish.datamodel.bgp.RouteDistinguisher;
 import org.batfish.datamodel.collections.NodeInterfacePair;
 import org.batfish.datamodel.isp_configuration.BorderInterfaceInfo;
@@ -140,6 +145,24 @@ public final class FileBasedStorageTest {
     assertThat(deserialized.keySet(), equalTo(Sets.newHashSet("node1")));
   }
 
+  @Test
+  public void testStoreConfigurationsStoresFingerprints() throws IOException {
+    NetworkId network = new NetworkId("network");
+    SnapshotId snapshot = new SnapshotId("snapshot");
+    assertThat(_storage.loadConfigurationFingerprints(network, snapshot), nullValue());
+
+    Configuration node1 = new Configuration("node1", ConfigurationFormat.CISCO_IOS);
+    _storage.storeConfigurations(
+        ImmutableMap.of("node1", node1),
+        new ConvertConfigurationAnswerElement(),
+        Layer1Topology.EMPTY,
+        network,
+        snapshot);
+    assertThat(
+        _storage.loadConfigurationFingerprints(network, snapshot),
+        equalTo(ImmutableMap.of("node1", ConfigurationFingerprints.fingerprint(node1))));
+  }
+
   @Test
   public void loadMissingConfigurationsReturnsNull() {
     assertThat(
@@ -997,6 +1020,169 @@ public final class FileBasedStorageTest {
     }
   }
 
+  private void storeInputObject(String key, String contents, NetworkSnapshot snapshot)
+      throws IOException {
+    _storage.storeSnapshotInputObject(
+        new ByteArrayInputStream(contents.getBytes(UTF_8)), key, snapshot);
+  }
+
+  private String loadInputObject(String key, NetworkSnapshot snapshot) throws IOException {
+    try (InputStream inputStream =
+        _storage.loadSnapshotInputObject(snapshot.getNetwork(), snapshot.getSnapshot(), key)) {
+      return IOUtils.toString(inputStream, UTF_8);
+    }
+  }
+
+  private long countInputBlobs(NetworkId networkId) throws IOException {
+    try (Stream<Path> paths = Files.walk(_storage.getInputBlobsDir(networkId))) {
+      return paths.filter(Files::isRegularFile).count();
+    }
+  }
+
+  @Test
+  public void testStoreSnapshotInputObjectDeduplicates() throws IOException {
+    NetworkId networkId = new NetworkId("n1");
+    NetworkSnapshot snapshot = new NetworkSnapshot(networkId, new SnapshotId("s1"));
+    storeInputObject("configs/r1.cfg", "same", snapshot);
+    storeInputObject("configs/r2.cfg", "same", snapshot);
+    storeInputObject("configs/r3.cfg", "different", snapshot);
+
+    assertThat(countInputBlobs(networkId), equalTo(2L));
+    assertThat(loadInputObject("configs/r2.cfg", snapshot), equalTo("same"));
+    assertThat(loadInputObject("configs/r3.cfg", snapshot), equalTo("different"));
+    assertTrue(_storage.hasSnapshotInputObject("configs", snapshot));
+    assertFalse(_storage.hasSnapshotInputObject("configs/r4.cfg", snapshot));
+    assertThat(
+        ImmutableSet.copyOf(
+            _storage.getSnapshotInputObjectsMetadata(networkId, snapshot.getSnapshot())),
+        equalTo(
+            ImmutableSet.of(
+                new StoredObjectMetadata("configs/r1.cfg", 4),
+                new StoredObjectMetadata("configs/r2.cfg", 4),
+                new StoredObjectMetadata("configs/r3.cfg", 9))));
+  }
+
+  @Test
+  public void testLoadSnapshotInputObjectDirectoryFromManifest() throws IOException {
+    NetworkSnapshot snapshot = new NetworkSnapshot(new NetworkId("n1"), new SnapshotId("s1"));
+    storeInputObject("configs/r1.cfg", "r1", snapshot);
+    storeInputObject("configs/sub/r2.cfg", "r2", snapshot);
+    storeInputObject("other.cfg", "other", snapshot);
+
+    Path tmpzip = _folder.getRoot().toPath().resolve("tmp.zip");
+    try (InputStream inputStream =
+        _storage.loadSnapshotInputObject(
+            snapshot.getNetwork(), snapshot.getSnapshot(), "configs")) {
+      FileUtils.copyInputStreamToFile(inputStream, tmpzip.toFile());
+    }
+    Path unzipDir = _folder.getRoot().toPath().resolve("tmp");
+    unzipDir.toFile().mkdirs();
+    UnzipUtility.unzip(tmpzip, unzipDir);
+
+    // same layout as a zipped input directory
+    assertThat(unzipDir.toFile().list(), equalTo(new String[] {"configs"}));
+    assertThat(
+        CommonUtil.readFile(unzipDir.resolve("configs").resolve("r1.cfg")), equalTo("r1"));
+    assertThat(
+        CommonUtil.readFile(unzipDir.resolve("configs").resolve("sub").resolve("r2.cfg")),
+        equalTo("r2"));
+  }
+
+  @Test
+  public void testForkSnapshotInputObjects() throws IOException {
+    NetworkId networkId = new NetworkId("n1");
+    NetworkSnapshot base = new NetworkSnapshot(networkId, new SnapshotId("base"));
+    NetworkSnapshot fork = new NetworkSnapshot(networkId, new SnapshotId("fork"));
+    storeInputObject("configs/r1.cfg", "r1", base);
+    storeInputObject("configs/r2.cfg", "r2", base);
+
+    _storage.forkSnapshotInputObjects(base, fork, ImmutableSet.of());
+    storeInputObject("configs/r2.cfg", "r2 changed", fork);
+    storeInputObject("configs/r3.cfg", "r3", fork);
+
+    // only the changed and new objects were stored again
+    assertThat(countInputBlobs(networkId), equalTo(4L));
+    try (Stream<String> keys = _storage.listSnapshotInputObjectKeys(fork)) {
+      assertThat(
+          keys.collect(ImmutableSet.toImmutableSet()),
+          equalTo(ImmutableSet.of("configs/r1.cfg", "configs/r2.cfg", "configs/r3.cfg")));
+    }
+    assertThat(loadInputObject("configs/r1.cfg", fork), equalTo("r1"));
+    assertThat(loadInputObject("configs/r2.cfg", fork), equalTo("r2 changed"));
+
+    // base is unchanged
+    assertThat(loadInputObject("configs/r2.cfg", base), equalTo("r2"));
+    assertFalse(_storage.hasSnapshotInputObject("configs/r3.cfg", base));
+  }
+
+  @Test
+  public void testForkSnapshotInputObjectsLegacyBase() throws IOException {
+    NetworkId networkId = new NetworkId("n1");
+    NetworkSnapshot base = new NetworkSnapshot(networkId, new SnapshotId("base"));
+    NetworkSnapshot fork = new NetworkSnapshot(networkId, new SnapshotId("fork"));
+    // base snapshot stored in the input directory layout
+    Path legacyPath =
+        _storage.getSnapshotInputObjectPath(networkId, base.getSnapshot(), "configs/r1.cfg");
+    Files.createDirectories(legacyPath.getParent());
+    CommonUtil.writeFile(legacyPath, "r1");
+    storeInputObject("configs/r2.cfg", "r2", base);
+    assertFalse(Files.exists(_storage.getSnapshotInputManifestPath(networkId, base.getSnapshot())));
+
+    _storage.forkSnapshotInputObjects(base, fork, ImmutableSet.of());
+    storeInputObject("configs/r2.cfg", "r2 changed", fork);
+
+    assertThat(loadInputObject("configs/r1.cfg", fork), equalTo("r1"));
+    assertThat(loadInputObject("configs/r2.cfg", fork), equalTo("r2 changed"));
+    assertThat(loadInputObject("configs/r2.cfg", base), equalTo("r2"));
+
+    // base was migrated to the manifest layout
+    assertFalse(Files.exists(_storage.getSnapshotInputObjectsDir(networkId, base.getSnapshot())));
+    assertThat(loadInputObject("configs/r1.cfg", base), equalTo("r1"));
+  }
+
+  @Test
+  public void testForkSnapshotInputObjectsExcludedKeys() throws IOException {
+    NetworkId networkId = new NetworkId("n1");
+    NetworkSnapshot base = new NetworkSnapshot(networkId, new SnapshotId("base"));
+    NetworkSnapshot fork = new NetworkSnapshot(networkId, new SnapshotId("fork"));
+    storeInputObject("configs/r1.cfg", "r1", base);
+    storeInputObject("runtime_data.json", "{}", base);
+
+    // the fork deleted runtime_data.json
+    _storage.forkSnapshotInputObjects(base, fork, ImmutableSet.of("runtime_data.json"));
+
+    assertFalse(_storage.hasSnapshotInputObject("runtime_data.json", fork));
+    try (Stream<String> keys = _storage.listSnapshotInputObjectKeys(fork)) {
+      assertThat(
+          keys.collect(ImmutableSet.toImmutableSet()), equalTo(ImmutableSet.of("configs/r1.cfg")));
+    }
+    assertThat(loadInputObject("runtime_data.json", base), equalTo("{}"));
+  }
+
+  @Test
+  public void testRunGarbageCollectionUnreferencedInputBlobs() throws IOException {
+    NetworkId networkId = new NetworkId("n1");
+    SnapshotId snapshotId = new SnapshotId("s1");
+    _storage.writeId(networkId, "network"); // make the network extant
+    _storage.writeId(snapshotId, "snapshot", networkId); // make the snapshot extant
+    NetworkSnapshot snapshot = new NetworkSnapshot(networkId, snapshotId);
+    storeInputObject("configs/r1.cfg", "r1", snapshot);
+    storeInputObject("configs/r1.cfg", "r1 changed", snapshot);
+    FileTime oldFileTime =
+        FileTime.from(Instant.now().minus(GC_SKEW_ALLOWANCE).minus(1, ChronoUnit.MINUTES));
+    try (Stream<Path> paths = Files.walk(_storage.getInputBlobsDir(networkId))) {
+      for (Path path : (Iterable<Path>) paths::iterator) {
+        Files.setLastModifiedTime(path, oldFileTime);
+      }
+    }
+
+    _storage.runGarbageCollection();
+
+    // the replaced version of r1.cfg is no longer referenced
+    assertThat(countInputBlobs(networkId), equalTo(1L));
+    assertThat(loadInputObject("configs/r1.cfg", snapshot), equalTo("r1 changed"));
+  }
+
   @Test
   public void testKeyInDir() {
     assertTrue(keyInDir("configs/rtr.cfg", "configs"));
@@ -1065,4 +1251,171 @@ public final class FileBasedStorageTest {
     assertThat(dp2.getPrefixTracingInfoSummary(), hasEntry(equalTo("n"), hasKey("vp")));
     assertThat(dp2.getRibs().rowMap(), hasEntry(equalTo("n"), hasKey("vr")));
   }
+
+  @Test
+  public void testLoadDataPlaneLoadsNothing() throws IOException {
+    NetworkSnapshot snapshot =
+        new NetworkSnapshot(new NetworkId("network"), new SnapshotId("snapshot"));
+    DataPlane dp =
+        MockDataPlane.builder()
+            .setFibs(ImmutableMap.of("n", ImmutableMap.of("v", MockFib.builder().build())))
+            .setPrefixTracingInfoSummary(ImmutableSortedMap.of("n", ImmutableSortedMap.of()))
+            .build();
+    _storage.storeDataPlane(dp, snapshot);
+
+    DataPlane loaded = _storage.loadDataPlane(snapshot);
+    assertThat(loaded, instanceOf(LazyDataPlane.class));
+    LazyDataPlane lazy = (LazyDataPlane) loaded;
+    // neither the index nor any host is deserialized until used
+    assertFalse(lazy.isIndexLoaded());
+    assertThat(lazy.getLoadedHostCount(), equalTo(0L));
+    assertThat(lazy.getFibs().keySet(), contains("n"));
+    assertTrue(lazy.isIndexLoaded());
+    assertThat(lazy.getLoadedHostCount(), equalTo(0L));
+  }
+
+  private int storeCachedParseResult(String key, int size, long maxBytes) throws IOException {
+    return _storage.storeCachedParseResult(new ByteArrayInputStream(new byte[size]), key, maxBytes);
+  }
+
+  private void setLastUsed(String key, Instant lastUsed) throws IOException {
+    Files.setLastModifiedTime(_storage.getCachedParseResultPath(key), FileTime.from(lastUsed));
+  }
+
+  @Test
+  public void testStoreAndLoadCachedParseResult() throws IOException {
+    byte[] bytes = "parse result".getBytes(UTF_8);
+    assertThat(
+        _storage.storeCachedParseResult(new ByteArrayInputStream(bytes), "ab12", 1000L),
+        equalTo(0));
+    try (InputStream in = _storage.loadCachedParseResult("ab12")) {
+      assertThat(ByteStreams.toByteArray(in), equalTo(bytes));
+    }
+  }
+
+  @Test
+  public void testLoadCachedParseResultMissing() throws IOException {
+    _thrown.expect(FileNotFoundException.class);
+    _storage.loadCachedParseResult("ab12").close();
+  }
+
+  @Test
+  public void testLoadCachedParseResultMarksRecentlyUsed() throws IOException {
+    storeCachedParseResult("ab12", 10, 1000L);
+    Instant old = Instant.now().minus(1, ChronoUnit.DAYS);
+    setLastUsed("ab12", old);
+    _storage.loadCachedParseResult("ab12").close();
+    assertTrue(
+        _storage.getLastModifiedTime(_storage.getCachedParseResultPath("ab12")).isAfter(old));
+  }
+
+  @Test
+  public void testStoreCachedParseResultEvictsLeastRecentlyUsed() throws IOException {
+    Instant now = Instant.now();
+    storeCachedParseResult("aa01", 10, 1000L);
+    storeCachedParseResult("bb02", 10, 1000L);
+    storeCachedParseResult("cc03", 10, 1000L);
+    setLastUsed("aa01", now.minus(3, ChronoUnit.HOURS));
+    setLastUsed("bb02", now.minus(2, ChronoUnit.HOURS));
+    setLastUsed("cc03", now.minus(1, ChronoUnit.HOURS));
+    // Using the oldest entry protects it from eviction.
+    _storage.loadCachedParseResult("aa01").close();
+
+    // 40 bytes exceed the budget, so evict down to 90% of it: only bb02 needs to go.
+    assertThat(storeCachedParseResult("dd04", 10, 35L), equalTo(1));
+    assertFalse(Files.exists(_storage.getCachedParseResultPath("bb02")));
+    assertTrue(Files.exists(_storage.getCachedParseResultPath("aa01")));
+    assertTrue(Files.exists(_storage.getCachedParseResultPath("cc03")));
+    assertTrue(Files.exists(_storage.getCachedParseResultPath("dd04")));
+
+    // Within budget again: nothing more is evicted.
+    assertThat(storeCachedParseResult("ee05", 1, 35L), equalTo(0));
+  }
+
+  @Test
+  public void testCachedParseResultsSharedAcrossInstances() throws IOException {
+    storeCachedParseResult("aa01", 20, 1000L);
+    FileBasedStorage other = new FileBasedStorage(_containerDir.getParent(), _logger);
+    try (InputStream in = other.loadCachedParseResult("aa01")) {
+      assertThat(ByteStreams.toByteArray(in).length, equalTo(20));
+    }
+    setLastUsed("aa01", Instant.now().minus(1, ChronoUnit.HOURS));
+    // The other instance accounts for entries it did not store when enforcing the budget.
+    assertThat(
+        other.storeCachedParseResult(new ByteArrayInputStream(new byte[20]), "bb02", 30L),
+        equalTo(1));
+  }
+
+  @Test
+  public void testCachedParseResultsFirstStoreWithinBudget() throws IOException {
+    storeCachedParseResult("aa01", 20, 1000L);
+    FileBasedStorage other = new FileBasedStorage(_containerDir.getParent(), _logger);
+    // The other instance measures the cache once, and finds it within budget.
+    assertThat(
+        other.storeCachedParseResult(new ByteArrayInputStream(new byte[20]), "bb02", 40L),
+        equalTo(0));
+    assertTrue(Files.exists(_storage.getCachedParseResultPath("aa01")));
+    setLastUsed("aa01", Instant.now().minus(1, ChronoUnit.HOURS));
+    // Later stores add to the measured size: 45 bytes exceed the budget.
+    assertThat(
+        other.storeCachedParseResult(new ByteArrayInputStream(new byte[5]), "cc03", 40L),
+        equalTo(1));
+  }
+
+  @Test
+  public void testParseVendorConfigurationAnswerElementRoundTrip() throws IOException {
+    NetworkSnapshot snapshot =
+        new NetworkSnapshot(new NetworkId("network"), new SnapshotId("snapshot"));
+    Warnings warnings = new Warnings(true, true, true);
+    warnings.getParseWarnings().add(new ParseWarning(3, "foo bar", "[s_foo]", "This is foo"));
+    warnings.redFlag("red");
+    warnings.unimplemented("unimplemented");
+    ParseTreeSentences parseTree = new ParseTreeSentences();
+    parseTree.addSentence("(s_foo foo)");
+    ParseVendorConfigurationAnswerElement pvcae = new ParseVendorConfigurationAnswerElement();
+    pvcae.getParseStatus().put("configs/a", ParseStatus.PASSED);
+    pvcae.getParseStatus().put("configs/b", ParseStatus.PASSED);
+    pvcae.getWarnings().put("configs/a", warnings);
+    pvcae.getParseTrees().put("configs/a", parseTree);
+    pvcae.getParseTrees().put("configs/b", new ParseTreeSentences());
+
+    assertFalse(_storage.hasParseVendorConfigurationAnswerElement(snapshot));
+    _storage.storeParseVendorConfigurationAnswerElement(pvcae, snapshot);
+    assertTrue(_storage.hasParseVendorConfigurationAnswerElement(snapshot));
+
+    // the summary leaves out the warnings and parse trees
+    ParseVendorConfigurationAnswerElement summary =
+        _storage.loadParseVendorConfigurationSummary(snapshot);
+    assertThat(summary.getParseStatus(), equalTo(pvcae.getParseStatus()));
+    assertTrue(summary.getWarnings().isEmpty());
+    assertTrue(summary.getParseTrees().isEmpty());
+
+    ParseVendorConfigurationAnswerElement loaded =
+        _storage.loadParseVendorConfigurationAnswerElement(snapshot);
+    assertThat(loaded.getParseStatus(), equalTo(pvcae.getParseStatus()));
+    assertThat(loaded.getWarnings().keySet(), contains("configs/a"));
+    Warnings loadedWarnings = loaded.getWarnings().get("configs/a");
+    assertThat(loadedWarnings.getParseWarnings(), equalTo(warnings.getParseWarnings()));
+    assertThat(loadedWarnings.getRedFlagWarnings(), equalTo(warnings.getRedFlagWarnings()));
+    assertThat(
+        loadedWarnings.getUnimplementedWarnings(), equalTo(warnings.getUnimplementedWarnings()));
+    assertThat(loaded.getParseTrees().keySet(), contains("configs/a", "configs/b"));
+    assertThat(loaded.getParseTrees().get("configs/a").getSentences(), contains("(s_foo foo)"));
+    assertTrue(loaded.getParseTrees().get("configs/b").isEmpty());
+
+    Map<String, Warnings> streamed = new HashMap<>();
+    _storage.forEachParseWarnings(snapshot, streamed::put);
+    assertThat(streamed.keySet(), contains("configs/a"));
+    assertThat(
+        streamed.get("configs/a").getParseWarnings(), equalTo(warnings.getParseWarnings()));
+
+    _storage.deleteParseVendorConfigurationAnswerElement(snapshot);
+    assertFalse(_storage.hasParseVendorConfigurationAnswerElement(snapshot));
+  }
+
+  @Test
+  public void testCachedParseResultKeyValidated() {
+    _thrown.expect(IllegalArgumentException.class);
+    _storage.getCachedParseResultPath("../ab12");
+  }
 }
@@ -0,0 +1,111 @@
+package org.batfish.storage;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.batfish.storage.InputObjectManifest.HASH_LENGTH;
+import static org.batfish.storage.InputObjectManifest.toLine;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests of {@link InputObjectManifest}. */
+public final class InputObjectManifestTest {
+
+  @Rule public TemporaryFolder _folder = new TemporaryFolder();
+
+  private static final String HASH_A = Strings.repeat("a", HASH_LENGTH);
+  private static final String HASH_B = Strings.repeat("b", HASH_LENGTH);
+
+  private InputObjectManifest read(String contents) throws IOException {
+    Path path = _folder.newFile().toPath();
+    Files.write(path, contents.getBytes(UTF_8));
+    return InputObjectManifest.read(path);
+  }
+
+  @Test
+  public void testRead_laterLinesOverride() throws IOException {
+    InputObjectManifest manifest =
+        read(toLine("configs/r1.cfg", HASH_A) + toLine("configs/r1.cfg", HASH_B));
+    assertThat(manifest.getHash("configs/r1.cfg"), equalTo(HASH_B));
+    assertThat(manifest.getHash("configs/r2.cfg"), nullValue());
+  }
+
+  @Test
+  public void testRead_ignoresIncompleteLines() throws IOException {
+    String contents = toLine("configs/r1.cfg", HASH_A) + HASH_B.substring(0, 10);
+    InputObjectManifest manifest = read(contents);
+    assertThat(manifest.getHashesByKey(), equalTo(ImmutableMap.of("configs/r1.cfg", HASH_A)));
+  }
+
+  @Test
+  public void testRead_ignoresIncompleteLastLine() throws IOException {
+    // the write of the last line is in progress, and so far only part of its key is written
+    String lastLine = toLine("configs/r2.cfg", HASH_B);
+    InputObjectManifest manifest =
+        read(toLine("configs/r1.cfg", HASH_A) + lastLine.substring(0, lastLine.length() - 3));
+    assertThat(manifest.getHashesByKey(), equalTo(ImmutableMap.of("configs/r1.cfg", HASH_A)));
+  }
+
+  @Test
+  public void testIsCurrent() throws IOException {
+    Path path = _folder.newFile().toPath();
+    Files.write(path, toLine("configs/r1.cfg", HASH_A).getBytes(UTF_8));
+    InputObjectManifest manifest = InputObjectManifest.read(path);
+    assertTrue(manifest.isCurrent(Files.readAttributes(path, BasicFileAttributes.class)));
+
+    Files.write(
+        path, toLine("configs/r2.cfg", HASH_B).getBytes(UTF_8), StandardOpenOption.APPEND);
+    assertFalse(manifest.isCurrent(Files.readAttributes(path, BasicFileAttributes.class)));
+  }
+
+  @Test
+  public void testToContents() throws IOException {
+    ImmutableMap<String, String> hashesByKey =
+        ImmutableMap.of("configs/r1.cfg", HASH_A, "hosts/h1.json", HASH_B);
+    assertThat(
+        read(InputObjectManifest.toContents(hashesByKey)).getHashesByKey(),
+        equalTo(hashesByKey));
+  }
+
+  @Test
+  public void testRead_keysWithSpaces() throws IOException {
+    InputObjectManifest manifest = read(toLine("configs/my router.cfg", HASH_A));
+    assertThat(manifest.getHash("configs/my router.cfg"), equalTo(HASH_A));
+  }
+
+  @Test
+  public void testGetHashesInDir() throws IOException {
+    InputObjectManifest manifest =
+        read(
+            toLine("configs/r1.cfg", HASH_A)
+                + toLine("configs/sub/r2.cfg", HASH_B)
+                + toLine("configs.txt", HASH_A)
+                + toLine("configs0/r3.cfg", HASH_A)
+                + toLine("hosts/h1.json", HASH_B));
+    assertThat(
+        manifest.getHashesInDir("configs"),
+        equalTo(ImmutableMap.of("configs/r1.cfg", HASH_A, "configs/sub/r2.cfg", HASH_B)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testToLine_rejectsNewlines() {
+    toLine("configs/r1\n.cfg", HASH_A);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testToLine_rejectsInvalidHash() {
+    toLine("configs/r1.cfg", "abc");
+  }
+}
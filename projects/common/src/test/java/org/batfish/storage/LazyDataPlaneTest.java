@@ -0,0 +1,145 @@
+package org.batfish.storage;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.SerializationUtils;
+import org.batfish.datamodel.ConnectedRoute;
+import org.batfish.datamodel.DataPlane;
+import org.batfish.datamodel.FinalMainRib;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.MockFib;
+import org.batfish.datamodel.MockForwardingAnalysis;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.StaticRoute;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests of {@link LazyDataPlane} and {@link DataPlaneIndex}. */
+public final class LazyDataPlaneTest {
+  private static final ConnectedRoute N1_ROUTE =
+      new ConnectedRoute(Prefix.parse("10.0.0.0/24"), "eth0");
+  private static final StaticRoute N2_ROUTE =
+      StaticRoute.testBuilder()
+          .setNetwork(Prefix.parse("10.0.0.0/8"))
+          .setNextHopIp(Ip.parse("1.1.1.1"))
+          .setAdministrativeCost(1)
+          .build();
+  private static final StaticRoute N4_ROUTE =
+      StaticRoute.testBuilder()
+          .setNetwork(Prefix.ZERO)
+          .setNextHopIp(Ip.parse("1.1.1.1"))
+          .setAdministrativeCost(1)
+          .build();
+
+  private Map<String, PerHostDataPlane> _stored;
+  private List<String> _loads;
+  private LazyDataPlane _dp;
+
+  private static PerHostDataPlane perHostDataPlane(FinalMainRib rib) {
+    return new PerHostDataPlane(
+        ImmutableMap.of("v", ImmutableSet.of()),
+        ImmutableMap.of(),
+        ImmutableMap.of(),
+        ImmutableMap.of(),
+        ImmutableMap.of("v", MockFib.builder().build()),
+        ImmutableMap.of(),
+        ImmutableMap.of(),
+        ImmutableSortedMap.of("v", ImmutableMap.of()),
+        ImmutableMap.of("v", rib));
+  }
+
+  @Before
+  public void setup() {
+    _stored =
+        ImmutableMap.of(
+            "n1", perHostDataPlane(FinalMainRib.of(N1_ROUTE)),
+            "n2", perHostDataPlane(FinalMainRib.of(N2_ROUTE)),
+            "n3", perHostDataPlane(FinalMainRib.of()),
+            "n4", perHostDataPlane(FinalMainRib.of(N4_ROUTE)));
+    _loads = new ArrayList<>();
+    _dp =
+        new LazyDataPlane(
+            () -> DataPlaneIndex.create(_stored),
+            hostname -> {
+              _loads.add(hostname);
+              return _stored.get(hostname);
+            },
+            MockForwardingAnalysis.builder().build());
+  }
+
+  @Test
+  public void testCreateLoadsNothing() {
+    assertFalse(_dp.isIndexLoaded());
+    assertThat(_dp.getLoadedHostCount(), equalTo(0L));
+    assertThat(_dp.getRibs().rowKeySet(), hasSize(4));
+    assertTrue(_dp.isIndexLoaded());
+  }
+
+  @Test
+  public void testKeysLoadNothing() {
+    assertThat(_dp.getRibs().rowKeySet(), containsInAnyOrder("n1", "n2", "n3", "n4"));
+    assertThat(_dp.getRibs().row("n1").keySet(), contains("v"));
+    assertThat(_dp.getBgpRoutes().size(), equalTo(4));
+    assertThat(_dp.getFibs().get("n2").keySet(), contains("v"));
+    assertThat(_dp.getPrefixTracingInfoSummary().keySet(), contains("n1", "n2", "n3", "n4"));
+    assertThat(_loads, empty());
+  }
+
+  @Test
+  public void testValuesLoadOnlyTheirHost() {
+    assertThat(_dp.getRibs().get("n1", "v").getRoutes(), contains(N1_ROUTE));
+    assertThat(_dp.getRibs().row("n1").get("v").getRoutes(), contains(N1_ROUTE));
+    assertThat(_dp.getFibs().get("n1").get("v"), equalTo(_stored.get("n1").getFibs().get("v")));
+    // loaded once, then cached
+    assertThat(_loads, contains("n1"));
+    assertThat(_dp.getLoadedHostCount(), equalTo(1L));
+  }
+
+  @Test
+  public void testHostsWithRoutesOverlapping() {
+    // longer and shorter networks, including the default route, both overlap
+    assertThat(
+        _dp.getHostsWithRoutesOverlapping(Prefix.parse("10.0.0.0/16")),
+        containsInAnyOrder("n1", "n2", "n4"));
+    assertThat(
+        _dp.getHostsWithRoutesOverlapping(Prefix.parse("10.0.0.1/32")),
+        containsInAnyOrder("n1", "n2", "n4"));
+    assertThat(
+        _dp.getHostsWithRoutesOverlapping(Prefix.parse("10.1.0.0/16")),
+        containsInAnyOrder("n2", "n4"));
+    assertThat(_dp.getHostsWithRoutesOverlapping(Prefix.parse("11.0.0.0/8")), contains("n4"));
+    assertThat(_loads, empty());
+  }
+
+  @Test
+  public void testHostsWithRoutesWithin() {
+    // the default route is not within any other network
+    assertThat(
+        _dp.getHostsWithRoutesWithin(Prefix.parse("10.0.0.0/8")), containsInAnyOrder("n1", "n2"));
+    assertThat(_dp.getHostsWithRoutesWithin(Prefix.parse("11.0.0.0/8")), empty());
+    assertThat(_dp.getHostsWithRoutesWithin(Prefix.ZERO), containsInAnyOrder("n1", "n2", "n4"));
+    assertThat(_loads, empty());
+  }
+
+  @Test
+  public void testSerializesLoaded() {
+    DataPlane clone = SerializationUtils.clone(_dp);
+    assertThat(clone, instanceOf(SimpleFieldsDataPlane.class));
+    assertThat(clone.getRibs().get("n2", "v").getRoutes(), contains(N2_ROUTE));
+    assertThat(clone.getRibs().rowKeySet(), containsInAnyOrder("n1", "n2", "n3", "n4"));
+  }
+}
@@ -9,11 +9,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.batfish.common.CompletionMetadata;
 import org.batfish.common.NetworkSnapshot;
+import org.batfish.common.Warnings;
 import org.batfish.common.runtime.SnapshotRuntimeData;
 import org.batfish.common.topology.L3Adjacencies;
 import org.batfish.common.topology.Layer1Topology;
@@ -52,6 +54,12 @@ public class TestStorageProvider implements StorageProvider {
     throw new UnsupportedOperationException("no implementation for generated method");
   }
 
+  @Override
+  public SortedMap<String, String> loadConfigurationFingerprints(
+      NetworkId network, SnapshotId snapshot) throws IOException {
+    throw new UnsupportedOperationException("no implementation for generated method");
+  }
+
   @Override
   public @Nullable ConversionContext loadConversionContext(NetworkSnapshot snapshot)
       throws FileNotFoundException, IOException {
@@ -230,6 +238,17 @@ public class TestStorageProvider implements StorageProvider {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public InputStream loadCachedParseResult(String key) throws FileNotFoundException, IOException {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public int storeCachedParseResult(InputStream inputStream, String key, long maxBytes)
+      throws IOException {
+    throw new UnsupportedOperationException();
+  }
+
   @Override
   public InputStream loadNetworkObject(NetworkId networkId, String key)
       throws FileNotFoundException, IOException {
@@ -481,6 +500,12 @@ public class TestStorageProvider implements StorageProvider {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public void forkSnapshotInputObjects(
+      NetworkSnapshot base, NetworkSnapshot fork, Set<String> excludedKeys) throws IOException {
+    throw new UnsupportedOperationException();
+  }
+
   @Override
   public @Nonnull DataPlane loadDataPlane(NetworkSnapshot snapshot) throws IOException {
     throw new UnsupportedOperationException();
@@ -558,6 +583,18 @@ public class TestStorageProvider implements StorageProvider {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public @Nonnull ParseVendorConfigurationAnswerElement loadParseVendorConfigurationSummary(
+      NetworkSnapshot snapshot) throws IOException {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void forEachParseWarnings(
+      NetworkSnapshot snapshot, BiConsumer<String, Warnings> consumer) throws IOException {
+    throw new UnsupportedOperationException();
+  }
+
   @Override
   public void storeParseVendorConfigurationAnswerElement(
       ParseVendorConfigurationAnswerElement parseVendorConfigurationAnswerElement,
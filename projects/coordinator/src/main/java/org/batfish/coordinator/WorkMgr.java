@@ -829,22 +829,60 @@ public class WorkMgr extends AbstractCoordinator {
         ifaceBlacklist,
         ImmutableList.of());
 
-    SortedSet<Path> subFileList = getEntries(subDir);
-
     Optional<NetworkId> networkIdOpt = _idManager.getNetworkId(networkName);
     checkArgument(networkIdOpt.isPresent(), "Missing network '%s'", networkName);
     NetworkId networkId = networkIdOpt.get();
     SnapshotId snapshotId = _idManager.generateSnapshotId();
 
     // Now that the directory exists, we must also create the metadata.
+    writeSnapshotMetadata(creationTime, parentSnapshotId, networkId, snapshotId);
+
+    // things look ok, now make the move
+    storeSnapshotInputs(
+        networkName, snapshotName, new NetworkSnapshot(networkId, snapshotId), subDir);
+    _idManager.assignSnapshot(snapshotName, networkId, snapshotId);
+  }
+
+  /**
+   * Creates a snapshot that shares the input objects of the given base snapshot, except for the
+   * ones with keys in {@code excludedKeys}, and adds the ones in {@code changedInputsDir}.
+   */
+  private void initForkedSnapshot(
+      String networkName,
+      String snapshotName,
+      Path changedInputsDir,
+      Set<String> excludedKeys,
+      Instant creationTime,
+      NetworkSnapshot baseSnapshot)
+      throws IOException {
+    validateForkedSnapshotInputs(baseSnapshot, excludedKeys, changedInputsDir);
+    NetworkId networkId = baseSnapshot.getNetwork();
+    SnapshotId snapshotId = _idManager.generateSnapshotId();
+    writeSnapshotMetadata(creationTime, baseSnapshot.getSnapshot(), networkId, snapshotId);
+    NetworkSnapshot snapshot = new NetworkSnapshot(networkId, snapshotId);
+    _storage.forkSnapshotInputObjects(baseSnapshot, snapshot, excludedKeys);
+    storeSnapshotInputs(networkName, snapshotName, snapshot, changedInputsDir);
+    _idManager.assignSnapshot(snapshotName, networkId, snapshotId);
+  }
+
+  private void writeSnapshotMetadata(
+      Instant creationTime,
+      @Nullable SnapshotId parentSnapshotId,
+      NetworkId networkId,
+      SnapshotId snapshotId) {
     try {
       _snapshotMetadataManager.writeMetadata(
           new SnapshotMetadata(creationTime, parentSnapshotId), networkId, snapshotId);
     } catch (Exception e) {
       throw new BatfishException("Could not write testrigMetadata", e);
     }
+  }
 
-    // things look ok, now make the move
+  /** Stores every file under {@code subDir} as an input object of the given snapshot. */
+  private void storeSnapshotInputs(
+      String networkName, String snapshotName, NetworkSnapshot snapshot, Path subDir) {
+    NetworkId networkId = snapshot.getNetwork();
+    SortedSet<Path> subFileList = getEntries(subDir);
     boolean bgpTables = false;
     boolean roleData = false;
     boolean referenceLibraryData = false;
@@ -879,9 +917,7 @@ public class WorkMgr extends AbstractCoordinator {
                   deepFile -> {
                     try (InputStream srcFileStream = Files.newInputStream(deepFile)) {
                       _storage.storeSnapshotInputObject(
-                          srcFileStream,
-                          subDir.relativize(deepFile).toString(),
-                          new NetworkSnapshot(networkId, snapshotId));
+                          srcFileStream, subDir.relativize(deepFile).toString(), snapshot);
                     } catch (IOException e) {
                       throw new UncheckedIOException(
                           String.format("Failed to copy: '%s'", subFile), e);
@@ -890,9 +926,7 @@ public class WorkMgr extends AbstractCoordinator {
         } else {
           try (InputStream srcFileStream = Files.newInputStream(subFile)) {
             _storage.storeSnapshotInputObject(
-                srcFileStream,
-                subFile.getFileName().toString(),
-                new NetworkSnapshot(networkId, snapshotId));
+                srcFileStream, subFile.getFileName().toString(), snapshot);
           }
         }
       } catch (IOException e) {
@@ -902,7 +936,6 @@ public class WorkMgr extends AbstractCoordinator {
     _logger.infof(
         "Environment data for snapshot:%s; bgpTables:%s, nodeRoles:%s referenceBooks:%s\n",
         snapshotName, bgpTables, roleData, referenceLibraryData);
-    _idManager.assignSnapshot(snapshotName, networkId, snapshotId);
   }
 
   /**
@@ -914,23 +947,53 @@ public class WorkMgr extends AbstractCoordinator {
   private static void validateSnapshotDir(Path subDir) {
     // Confirm that at least one of the config subfolders is present
     List<Path> configPaths =
-        ImmutableList.of(
-            subDir.resolve(BfConsts.RELPATH_HOST_CONFIGS_DIR),
-            subDir.resolve(BfConsts.RELPATH_CONFIGURATIONS_DIR),
-            subDir.resolve(BfConsts.RELPATH_AWS_CONFIGS_DIR),
-            subDir.resolve(BfConsts.RELPATH_SONIC_CONFIGS_DIR),
-            subDir.resolve(BfConsts.RELPATH_AZURE_CONFIGS_DIR));
+        SNAPSHOT_CONFIG_DIRS.stream()
+            .map(subDir::resolve)
+            .collect(ImmutableList.toImmutableList());
     if (configPaths.stream().noneMatch(Files::exists)) {
       Path srcDir = subDir.getParent();
-      throw new BatfishException(
-          String.format(
-              "Unexpected packaging of snapshot. At least one of these directories must exist: %s. "
-                  + "See %s for instructions on how to package your snapshot for analysis.",
-              configPaths.stream().map(srcDir::relativize).collect(ImmutableList.toImmutableList()),
-              SNAPSHOT_PACKAGING_INSTRUCTIONS_URL));
+      throw unexpectedPackaging(
+          configPaths.stream().map(srcDir::relativize).collect(ImmutableList.toImmutableList()));
     }
   }
 
+  /**
+   * Like {@link #validateSnapshotDir}, but for a fork of {@code baseSnapshot} that will have its
+   * input objects except for {@code excludedKeys}, plus the ones in {@code changedInputsDir}.
+   */
+  private void validateForkedSnapshotInputs(
+      NetworkSnapshot baseSnapshot, Set<String> excludedKeys, Path changedInputsDir)
+      throws IOException {
+    for (String configDir : SNAPSHOT_CONFIG_DIRS) {
+      if (Files.exists(changedInputsDir.resolve(configDir))) {
+        return;
+      }
+      if (!excludedKeys.contains(configDir)
+          && _storage.hasSnapshotInputObject(configDir, baseSnapshot)) {
+        return;
+      }
+    }
+    throw unexpectedPackaging(
+        SNAPSHOT_CONFIG_DIRS.stream().map(Paths::get).collect(ImmutableList.toImmutableList()));
+  }
+
+  private static @Nonnull BatfishException unexpectedPackaging(List<Path> configPaths) {
+    return new BatfishException(
+        String.format(
+            "Unexpected packaging of snapshot. At least one of these directories must exist: %s. "
+                + "See %s for instructions on how to package your snapshot for analysis.",
+            configPaths, SNAPSHOT_PACKAGING_INSTRUCTIONS_URL));
+  }
+
+  /** Directories of a snapshot's input at least one of which must exist. */
+  private static final List<String> SNAPSHOT_CONFIG_DIRS =
+      ImmutableList.of(
+          BfConsts.RELPATH_HOST_CONFIGS_DIR,
+          BfConsts.RELPATH_CONFIGURATIONS_DIR,
+          BfConsts.RELPATH_AWS_CONFIGS_DIR,
+          BfConsts.RELPATH_SONIC_CONFIGS_DIR,
+          BfConsts.RELPATH_AZURE_CONFIGS_DIR);
+
   /**
    * Helper function to assert there is only one subdir in the specified snapshot dir and return
    * that subdir
@@ -968,6 +1031,15 @@ public class WorkMgr extends AbstractCoordinator {
     }
   }
 
+  /** Keys of the base snapshot input objects that {@link #forkSnapshot} may update. */
+  private static final List<String> FORK_UPDATED_INPUT_KEYS =
+      ImmutableList.of(
+          Paths.get(BfConsts.RELPATH_BATFISH, BfConsts.RELPATH_RUNTIME_DATA_FILE).toString(),
+          BfConsts.RELPATH_RUNTIME_DATA_FILE,
+          BfConsts.RELPATH_INTERFACE_BLACKLIST_FILE,
+          BfConsts.RELPATH_EDGE_BLACKLIST_FILE,
+          BfConsts.RELPATH_NODE_BLACKLIST_FILE);
+
   /**
    * Copy a snapshot and make modifications to the copy.
    *
@@ -1006,28 +1078,25 @@ public class WorkMgr extends AbstractCoordinator {
     _storage.storeForkSnapshotRequest(
         BatfishObjectMapper.writeString(forkSnapshotBean), forkSnapshotKey, networkId);
 
-    // Copy baseSnapshot so initSnapshot will see a properly formatted upload
+    // The fork shares the base snapshot's input objects. Only the files it changes are written
+    // here: the runtime data and blacklists the fork request may update, and the uploaded files.
+    // The base's versions of the former are not shared, so ones deleted here stay deleted.
     Path newSnapshotInputsDir =
         createTempDirectory("files_to_add").resolve(Paths.get(BfConsts.RELPATH_INPUT));
     if (!newSnapshotInputsDir.toFile().mkdirs()) {
       throw new BatfishException("Failed to create directory: '" + newSnapshotInputsDir + "'");
     }
 
-    try (Stream<String> baseInputObjectKeys =
-        _storage.listSnapshotInputObjectKeys(new NetworkSnapshot(networkId, baseSnapshotId))) {
-      List<String> allKeys = baseInputObjectKeys.collect(Collectors.toList());
-      allKeys.parallelStream()
-          .forEach(
-              key -> {
-                try (InputStream baseObjectStream =
-                    _storage.loadSnapshotInputObject(networkId, baseSnapshotId, key)) {
-                  writeStreamToFile(baseObjectStream, newSnapshotInputsDir.resolve(key));
-                } catch (IOException e) {
-                  throw new UncheckedIOException(
-                      String.format("Unable to copy base snapshot input object with key: %s", key),
-                      e);
-                }
-              });
+    NetworkSnapshot baseSnapshot = new NetworkSnapshot(networkId, baseSnapshotId);
+    Set<String> unsharedKeys = new HashSet<>();
+    for (String key : FORK_UPDATED_INPUT_KEYS) {
+      if (_storage.hasSnapshotInputObject(key, baseSnapshot)) {
+        try (InputStream baseObjectStream =
+            _storage.loadSnapshotInputObject(networkId, baseSnapshotId, key)) {
+          writeStreamToFile(baseObjectStream, newSnapshotInputsDir.resolve(key));
+        }
+        unsharedKeys.add(key);
+      }
     }
     // Write user-specified files to the forked snapshot input dir, overwriting existing ones
     if (forkSnapshotBean.zipFile != null) {
@@ -1082,14 +1151,14 @@ public class WorkMgr extends AbstractCoordinator {
         forkSnapshotBean.restoreNodes,
         new TypeReference<List<String>>() {});
 
-    // Use initSnapshot to handle creating metadata, etc.
     try {
-      initSnapshot(
+      initForkedSnapshot(
           networkName,
           snapshotName,
-          newSnapshotInputsDir.getParent(),
+          newSnapshotInputsDir,
+          unsharedKeys,
           creationTime,
-          baseSnapshotId);
+          baseSnapshot);
     } finally {
       FileUtils.deleteDirectory(newSnapshotInputsDir.toFile());
     }
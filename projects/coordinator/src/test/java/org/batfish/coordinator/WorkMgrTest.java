@@ -66,6 +66,7 @@ import org.batfish.common.BfConsts;
 import org.batfish.common.ColumnFilter;
 import org.batfish.common.ColumnSortOption;
 import org.batfish.common.Container;
+import org.batfish.common.NetworkSnapshot;
 import org.batfish.common.WorkItem;
 import org.batfish.common.runtime.RuntimeData;
 import org.batfish.common.runtime.SnapshotRuntimeData;
@@ -959,6 +960,13 @@ public final class WorkMgrTest {
 
     // Interface blacklist should not exist in fork
     assertNull(_storage.loadInterfaceBlacklist(networkId, forkId));
+    // The base's top-level runtime data was moved to batfish/ and must not be shared
+    NetworkSnapshot fork = new NetworkSnapshot(networkId, forkId);
+    assertFalse(_storage.hasSnapshotInputObject(BfConsts.RELPATH_RUNTIME_DATA_FILE, fork));
+    assertTrue(
+        _storage.hasSnapshotInputObject(
+            Paths.get(BfConsts.RELPATH_BATFISH, BfConsts.RELPATH_RUNTIME_DATA_FILE).toString(),
+            fork));
     assertThat(
         _storage.loadRuntimeData(networkId, forkId),
         equalTo(
@@ -1039,6 +1047,10 @@ public final class WorkMgrTest {
 
     // Interface blacklist should not exist in fork
     assertNull(_storage.loadInterfaceBlacklist(networkId, forkId));
+    // The base's blacklist was folded into runtime data and must not be shared
+    assertFalse(
+        _storage.hasSnapshotInputObject(
+            BfConsts.RELPATH_INTERFACE_BLACKLIST_FILE, new NetworkSnapshot(networkId, forkId)));
     assertThat(
         _storage.loadRuntimeData(networkId, forkId),
         equalTo(
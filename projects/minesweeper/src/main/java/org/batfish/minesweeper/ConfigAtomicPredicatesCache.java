@@ -0,0 +1,123 @@
+package org.batfish.minesweeper;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.common.BatfishException;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.routing_policy.RoutingPolicy;
+
+/**
+ * A process-wide memo of {@link ConfigAtomicPredicates} for a single configuration. Computing the
+ * atomic predicates requires refining an automaton for every pair of community and AS-path regexes,
+ * so repeated symbolic route analyses of the same snapshot benefit greatly from reusing them.
+ *
+ * <p>Entries are keyed on the identity of the {@link Configuration} (which is itself cached per
+ * snapshot), the names of the analyzed policies, and the extra community and AS-path regexes. The
+ * configurations are held weakly, so entries disappear along with the snapshot's configurations.
+ */
+@ParametersAreNonnullByDefault
+public final class ConfigAtomicPredicatesCache {
+
+  private static final int MAX_ENTRIES_PER_CONFIGURATION = 16;
+
+  private static final LoadingCache<Configuration, Cache<Key, ConfigAtomicPredicates>> CACHE =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(CacheLoader.from(ConfigAtomicPredicatesCache::newPerConfigurationCache));
+
+  private static Cache<Key, ConfigAtomicPredicates> newPerConfigurationCache() {
+    return CacheBuilder.newBuilder()
+        .softValues()
+        .maximumSize(MAX_ENTRIES_PER_CONFIGURATION)
+        .build();
+  }
+
+  /**
+   * Returns the {@link ConfigAtomicPredicates} for the given policies of the given configuration,
+   * computing them if they are not already cached.
+   *
+   * <p>The result is a fresh copy that the caller may modify without affecting the cached value.
+   */
+  public static @Nonnull ConfigAtomicPredicates get(
+      Configuration config,
+      Collection<RoutingPolicy> policies,
+      Set<CommunityVar> extraCommunities,
+      Set<String> extraAsPathRegexes) {
+    Key key =
+        new Key(
+            policies.stream()
+                .map(RoutingPolicy::getName)
+                .collect(ImmutableSortedSet.toImmutableSortedSet(Comparator.naturalOrder())),
+            ImmutableSet.copyOf(extraCommunities),
+            ImmutableSet.copyOf(extraAsPathRegexes));
+    try {
+      ConfigAtomicPredicates cached =
+          CACHE
+              .getUnchecked(config)
+              .get(
+                  key,
+                  () ->
+                      new ConfigAtomicPredicates(
+                          ImmutableList.of(new SimpleImmutableEntry<>(config, policies)),
+                          key._extraCommunities,
+                          key._extraAsPathRegexes));
+      return new ConfigAtomicPredicates(cached);
+    } catch (ExecutionException e) {
+      throw new BatfishException(
+          "Unexpected error computing atomic predicates for node " + config.getHostname(),
+          e.getCause());
+    }
+  }
+
+  @VisibleForTesting
+  static void clear() {
+    CACHE.invalidateAll();
+  }
+
+  private static final class Key {
+    private final @Nonnull Set<String> _policyNames;
+    private final @Nonnull Set<CommunityVar> _extraCommunities;
+    private final @Nonnull Set<String> _extraAsPathRegexes;
+
+    private Key(
+        Set<String> policyNames, Set<CommunityVar> extraCommunities, Set<String> extraAsPathRegexes) {
+      _policyNames = policyNames;
+      _extraCommunities = extraCommunities;
+      _extraAsPathRegexes = extraAsPathRegexes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      } else if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return _policyNames.equals(other._policyNames)
+          && _extraCommunities.equals(other._extraCommunities)
+          && _extraAsPathRegexes.equals(other._extraAsPathRegexes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(_policyNames, _extraCommunities, _extraAsPathRegexes);
+    }
+  }
+
+  private ConfigAtomicPredicatesCache() {}
+}
@@ -12,12 +12,15 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Range;
 import dk.brics.automaton.Automaton;
-import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -25,6 +28,8 @@ import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import net.sf.javabdd.BDD;
 import net.sf.javabdd.BDDFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.batfish.common.Answerer;
 import org.batfish.common.BatfishException;
 import org.batfish.common.NetworkSnapshot;
@@ -51,6 +56,7 @@ import org.batfish.datamodel.table.TableAnswerElement;
 import org.batfish.minesweeper.AsPathRegexAtomicPredicates;
 import org.batfish.minesweeper.CommunityVar;
 import org.batfish.minesweeper.ConfigAtomicPredicates;
+import org.batfish.minesweeper.ConfigAtomicPredicatesCache;
 import org.batfish.minesweeper.SymbolicAsPathRegex;
 import org.batfish.minesweeper.bdd.BDDDomain;
 import org.batfish.minesweeper.bdd.BDDRoute;
@@ -75,6 +81,8 @@ import org.batfish.specifier.SpecifierFactories;
 @ParametersAreNonnullByDefault
 public final class SearchRoutePoliciesAnswerer extends Answerer {
 
+  private static final Logger LOGGER = LogManager.getLogger(SearchRoutePoliciesAnswerer.class);
+
   private final @Nonnull Environment.Direction _direction;
   private final @Nonnull BgpRouteConstraints _inputConstraints;
   private final @Nonnull BgpRouteConstraints _outputConstraints;
@@ -87,6 +95,9 @@ public final class SearchRoutePoliciesAnswerer extends Answerer {
   private final @Nonnull Set<RegexConstraint> _communityRegexes;
   private final @Nonnull Set<RegexConstraint> _asPathRegexes;
 
+  /** The number of slowest nodes whose analysis time is logged. */
+  private static final int MAX_NODE_TIMES_LOGGED = 10;
+
   /** Helper class that contains both a row and and Bgpv4Route for a result */
   private static class RowAndRoute {
     public final Bgpv4Route _route;
@@ -576,14 +587,18 @@ public final class SearchRoutePoliciesAnswerer extends Answerer {
   /**
    * Search all of the route policies of a particular node for behaviors of interest.
    *
+   * <p>The atomic predicates for the node are obtained from {@link ConfigAtomicPredicatesCache}, so
+   * repeated questions over the same snapshot do not recompute them.
+   *
    * @param config the node's configuration
    * @param policies all route policies in that node
    * @return all results from analyzing those route policies
    */
-  private Stream<Row> searchPoliciesForNode(Configuration config, Set<RoutingPolicy> policies) {
+  private List<Row> searchPoliciesForNode(Configuration config, Set<RoutingPolicy> policies) {
     ConfigAtomicPredicates configAPs =
-        new ConfigAtomicPredicates(
-            ImmutableList.of(new SimpleImmutableEntry<>(config, policies)),
+        ConfigAtomicPredicatesCache.get(
+            config,
+            policies,
             _communityRegexes.stream()
                 .flatMap(
                     rc -> {
@@ -603,7 +618,30 @@ public final class SearchRoutePoliciesAnswerer extends Answerer {
                 .map(RegexConstraint::getRegex)
                 .collect(ImmutableSet.toImmutableSet()));
 
-    return policies.stream().flatMap(policy -> searchPolicy(policy, configAPs).stream());
+    return policies.stream()
+        .flatMap(policy -> searchPolicy(policy, configAPs).stream())
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * Produce a summary of the per-node analysis times for the log, listing the slowest nodes first.
+   *
+   * @param nodeTimes the wall-clock analysis time of each node, in milliseconds
+   */
+  @VisibleForTesting
+  static String nodeTimingSummary(Map<String, Long> nodeTimes) {
+    return String.format(
+        "Analyzed %d nodes in %d ms total; slowest nodes: %s",
+        nodeTimes.size(),
+        nodeTimes.values().stream().mapToLong(Long::longValue).sum(),
+        nodeTimes.entrySet().stream()
+            .sorted(
+                Comparator.<Entry<String, Long>, Long>comparing(Entry::getValue)
+                    .reversed()
+                    .thenComparing(Entry::getKey))
+            .limit(MAX_NODE_TIMES_LOGGED)
+            .map(e -> String.format("%s (%d ms)", e.getKey(), e.getValue()))
+            .collect(Collectors.joining(", ")));
   }
 
   /**
@@ -638,14 +676,27 @@ public final class SearchRoutePoliciesAnswerer extends Answerer {
     SpecifierContext context = _batfish.specifierContext(snapshot);
     Set<String> nodes = _nodeSpecifier.resolve(context);
     validateCommunityConstraints(_nodeSpecifier.resolve(context), context);
+    // Nodes are analyzed independently of one another, each with its own BDD factories, so they
+    // can be analyzed in parallel.
+    Map<String, Long> nodeTimes = new ConcurrentHashMap<>();
     List<Row> rows =
-        nodes.stream()
+        nodes.parallelStream()
             .flatMap(
-                node ->
-                    searchPoliciesForNode(
-                        context.getConfigs().get(node), _policySpecifier.resolve(node, context)))
+                node -> {
+                  long start = System.nanoTime();
+                  List<Row> nodeRows =
+                      searchPoliciesForNode(
+                          context.getConfigs().get(node), _policySpecifier.resolve(node, context));
+                  nodeTimes.put(node, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                  return nodeRows.stream();
+                })
             .collect(ImmutableList.toImmutableList());
 
+    // Timings differ from run to run, so they are logged rather than put in the answer.
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("searchRoutePolicies: {}", nodeTimingSummary(nodeTimes));
+    }
+
     TableAnswerElement answerElement = new TableAnswerElement(TestRoutePoliciesAnswerer.metadata());
     answerElement.postProcessAnswer(_question, rows);
     return answerElement;
@@ -0,0 +1,84 @@
+package org.batfish.minesweeper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.ConfigurationFormat;
+import org.batfish.datamodel.NetworkFactory;
+import org.batfish.datamodel.bgp.community.StandardCommunity;
+import org.batfish.datamodel.routing_policy.RoutingPolicy;
+import org.batfish.datamodel.routing_policy.statement.Statements;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link ConfigAtomicPredicatesCache}. */
+public class ConfigAtomicPredicatesCacheTest {
+  private Configuration _config;
+  private RoutingPolicy _policy;
+
+  @Before
+  public void setup() {
+    NetworkFactory nf = new NetworkFactory();
+    _config =
+        nf.configurationBuilder()
+            .setHostname("hostname")
+            .setConfigurationFormat(ConfigurationFormat.CISCO_IOS)
+            .build();
+    _policy =
+        nf.routingPolicyBuilder()
+            .setOwner(_config)
+            .setName("policy")
+            .setStatements(ImmutableList.of(Statements.ExitAccept.toStaticStatement()))
+            .build();
+  }
+
+  @After
+  public void tearDown() {
+    ConfigAtomicPredicatesCache.clear();
+  }
+
+  @Test
+  public void testGetReturnsEquivalentCopies() {
+    CommunityVar community = CommunityVar.from(StandardCommunity.parse("30:40"));
+    ConfigAtomicPredicates first =
+        ConfigAtomicPredicatesCache.get(
+            _config, ImmutableList.of(_policy), ImmutableSet.of(community), ImmutableSet.of("^$"));
+    ConfigAtomicPredicates second =
+        ConfigAtomicPredicatesCache.get(
+            _config, ImmutableList.of(_policy), ImmutableSet.of(community), ImmutableSet.of("^$"));
+
+    // callers may modify the result, so each call returns its own copy
+    assertNotSame(first, second);
+    assertNotSame(
+        first.getStandardCommunityAtomicPredicates(),
+        second.getStandardCommunityAtomicPredicates());
+    assertEquals(
+        first.getStandardCommunityAtomicPredicates().getAtomicPredicateAutomata(),
+        second.getStandardCommunityAtomicPredicates().getAtomicPredicateAutomata());
+    assertEquals(
+        first.getAsPathRegexAtomicPredicates().getAtomicPredicateAutomata(),
+        second.getAsPathRegexAtomicPredicates().getAtomicPredicateAutomata());
+  }
+
+  @Test
+  public void testGetDistinguishesRegexes() {
+    ConfigAtomicPredicates noExtras =
+        ConfigAtomicPredicatesCache.get(
+            _config, ImmutableList.of(_policy), ImmutableSet.of(), ImmutableSet.of());
+    ConfigAtomicPredicates withExtras =
+        ConfigAtomicPredicatesCache.get(
+            _config,
+            ImmutableList.of(_policy),
+            ImmutableSet.of(CommunityVar.from(StandardCommunity.parse("30:40"))),
+            ImmutableSet.of("^$"));
+
+    assertEquals(1, noExtras.getStandardCommunityAtomicPredicates().getNumAtomicPredicates());
+    assertEquals(2, withExtras.getStandardCommunityAtomicPredicates().getNumAtomicPredicates());
+    assertEquals(1, noExtras.getAsPathRegexAtomicPredicates().getNumAtomicPredicates());
+    assertEquals(2, withExtras.getAsPathRegexAtomicPredicates().getNumAtomicPredicates());
+  }
+}
@@ -3890,4 +3890,12 @@ public class SearchRoutePoliciesAnswererTest {
                 hasColumn(COL_OUTPUT_ROUTE, equalTo(inputRoute), Schema.BGP_ROUTE),
                 hasColumn(COL_DIFF, equalTo(diff), Schema.BGP_ROUTE_DIFFS))));
   }
+
+  @Test
+  public void testNodeTimingSummary() {
+    assertEquals(
+        "Analyzed 3 nodes in 60 ms total; slowest nodes: b (30 ms), c (20 ms), a (10 ms)",
+        SearchRoutePoliciesAnswerer.nodeTimingSummary(
+            ImmutableMap.of("a", 10L, "b", 30L, "c", 20L)));
+  }
 }
@@ -31,8 +31,9 @@ import org.batfish.datamodel.table.TableMetadata;
 class FileParseStatusAnswerer extends Answerer {
   @Override
   public TableAnswerElement answer(NetworkSnapshot snapshot) {
+    // Only needs the status of each file, not its warnings
     ParseVendorConfigurationAnswerElement pvcae =
-        _batfish.loadParseVendorConfigurationAnswerElement(snapshot);
+        _batfish.loadParseVendorConfigurationSummary(snapshot);
     ConvertConfigurationAnswerElement ccae =
         _batfish.loadConvertConfigurationAnswerElementOrReparse(snapshot);
 
@@ -1,25 +1,30 @@
 package org.batfish.question.initialization;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
+import static org.batfish.question.initialization.IssueAggregation.addParseWarnings;
+import static org.batfish.question.initialization.IssueAggregation.addWarnings;
 import static org.batfish.question.initialization.IssueAggregation.aggregateDuplicateErrors;
-import static org.batfish.question.initialization.IssueAggregation.aggregateDuplicateParseWarnings;
 import static org.batfish.question.initialization.IssueAggregation.aggregateDuplicateWarnings;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Multimap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.TreeMap;
 import javax.annotation.Nullable;
 import org.batfish.common.Answerer;
 import org.batfish.common.ErrorDetails;
 import org.batfish.common.ErrorDetails.ParseExceptionContext;
 import org.batfish.common.NetworkSnapshot;
+import org.batfish.common.Warning;
 import org.batfish.common.Warnings;
 import org.batfish.common.plugin.IBatfish;
 import org.batfish.datamodel.answers.ConvertConfigurationAnswerElement;
@@ -32,6 +37,7 @@ import org.batfish.datamodel.table.Row;
 import org.batfish.datamodel.table.Rows;
 import org.batfish.datamodel.table.TableAnswerElement;
 import org.batfish.datamodel.table.TableMetadata;
+import org.batfish.question.initialization.IssueAggregation.ParseWarningTriplet;
 
 /** Implements {@link InitIssuesQuestion}. */
 public class InitIssuesAnswerer extends Answerer {
@@ -46,8 +52,9 @@ public class InitIssuesAnswerer extends Answerer {
   public TableAnswerElement answer(NetworkSnapshot snapshot) {
     ConvertConfigurationAnswerElement ccae =
         _batfish.loadConvertConfigurationAnswerElementOrReparse(snapshot);
+    // The parse warnings are read one file at a time below, rather than all at once here.
     ParseVendorConfigurationAnswerElement pvcae =
-        _batfish.loadParseVendorConfigurationAnswerElement(snapshot);
+        _batfish.loadParseVendorConfigurationSummary(snapshot);
 
     Rows rows = new Rows();
 
@@ -62,42 +69,48 @@ public class InitIssuesAnswerer extends Answerer {
                 rows.add(
                     getRow(nodes, null, IssueType.ConvertWarningUnimplemented, warning.getText())));
 
-    Map<String, Warnings> fileWarnings = pvcae.getWarnings();
-    aggregateDuplicateParseWarnings(fileWarnings)
-        .forEach(
-            (triplet, fileLines) ->
-                rows.add(
-                    getRow(
-                        null,
-                        fileLines.asMap().entrySet().stream()
-                            .sorted(Entry.comparingByKey())
-                            .map(
-                                e ->
-                                    new FileLines(
-                                        e.getKey(), ImmutableSortedSet.copyOf(e.getValue())))
-                            .collect(ImmutableList.toImmutableList()),
-                        IssueType.ParseWarning,
-                        firstNonNull(triplet._comment, "(details not provided)"),
-                        triplet._text,
-                        triplet._parserContext)));
-    aggregateDuplicateWarnings(fileWarnings, Warnings::getRedFlagWarnings)
-        .forEach(
-            (warning, filenames) ->
-                rows.add(
-                    getRow(
-                        null,
-                        filenamesToFileLines(filenames),
-                        IssueType.ParseWarningRedFlag,
-                        warning.getText())));
-    aggregateDuplicateWarnings(fileWarnings, Warnings::getUnimplementedWarnings)
-        .forEach(
-            (warning, filenames) ->
-                rows.add(
-                    getRow(
-                        null,
-                        filenamesToFileLines(filenames),
-                        IssueType.ParseWarningUnimplemented,
-                        warning.getText())));
+    Map<ParseWarningTriplet, Multimap<String, Integer>> parseWarnings = new HashMap<>();
+    Map<Warning, SortedSet<String>> redFlagWarnings = new HashMap<>();
+    Map<Warning, SortedSet<String>> unimplementedWarnings = new HashMap<>();
+    _batfish.forEachFileParseWarnings(
+        snapshot,
+        (filename, warnings) -> {
+          addParseWarnings(parseWarnings, filename, warnings);
+          addWarnings(redFlagWarnings, filename, warnings.getRedFlagWarnings());
+          addWarnings(unimplementedWarnings, filename, warnings.getUnimplementedWarnings());
+        });
+    parseWarnings.forEach(
+        (triplet, fileLines) ->
+            rows.add(
+                getRow(
+                    null,
+                    fileLines.asMap().entrySet().stream()
+                        .sorted(Entry.comparingByKey())
+                        .map(
+                            e ->
+                                new FileLines(
+                                    e.getKey(), ImmutableSortedSet.copyOf(e.getValue())))
+                        .collect(ImmutableList.toImmutableList()),
+                    IssueType.ParseWarning,
+                    firstNonNull(triplet._comment, "(details not provided)"),
+                    triplet._text,
+                    triplet._parserContext)));
+    redFlagWarnings.forEach(
+        (warning, filenames) ->
+            rows.add(
+                getRow(
+                    null,
+                    filenamesToFileLines(filenames),
+                    IssueType.ParseWarningRedFlag,
+                    warning.getText())));
+    unimplementedWarnings.forEach(
+        (warning, filenames) ->
+            rows.add(
+                getRow(
+                    null,
+                    filenamesToFileLines(filenames),
+                    IssueType.ParseWarningUnimplemented,
+                    warning.getText())));
 
     for (Entry<ParseStatus, Set<String>> entry :
         aggregateParseStatuses(pvcae.getParseStatus()).entrySet()) {
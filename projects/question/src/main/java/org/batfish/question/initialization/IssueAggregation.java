@@ -122,16 +122,22 @@ final class IssueAggregation {
   static @Nonnull Map<ParseWarningTriplet, Multimap<String, Integer>>
       aggregateDuplicateParseWarnings(Map<String, Warnings> fileWarnings) {
     Map<ParseWarningTriplet, Multimap<String, Integer>> map = new HashMap<>();
-    fileWarnings.forEach(
-        (filename, warnings) -> {
-          for (ParseWarning w : warnings.getParseWarnings()) {
-            ParseWarningTriplet triplet = new ParseWarningTriplet(w);
-            map.computeIfAbsent(triplet, k -> HashMultimap.create()).put(filename, w.getLine());
-          }
-        });
+    fileWarnings.forEach((filename, warnings) -> addParseWarnings(map, filename, warnings));
     return map;
   }
 
+  /**
+   * Adds the parse warnings of one file to {@code map}, as built by {@link
+   * #aggregateDuplicateParseWarnings(Map)}.
+   */
+  static void addParseWarnings(
+      Map<ParseWarningTriplet, Multimap<String, Integer>> map, String filename, Warnings warnings) {
+    for (ParseWarning w : warnings.getParseWarnings()) {
+      ParseWarningTriplet triplet = new ParseWarningTriplet(w);
+      map.computeIfAbsent(triplet, k -> HashMultimap.create()).put(filename, w.getLine());
+    }
+  }
+
   /**
    * Aggregate same warnings across multiple nodes. The specified warningFunc determines what {@link
    * List} of {@link Warning} within the supplied {@link Warnings} are evaluated.
@@ -142,15 +148,20 @@ final class IssueAggregation {
   static @Nonnull Map<Warning, SortedSet<String>> aggregateDuplicateWarnings(
       Map<String, Warnings> nodeToWarnings, Function<Warnings, Set<Warning>> warningFunc) {
     Map<Warning, SortedSet<String>> map = new HashMap<>();
-    nodeToWarnings.forEach(
-        (node, warnings) -> {
-          for (Warning warning : warningFunc.apply(warnings)) {
-            map.computeIfAbsent(warning, w -> new TreeSet<>()).add(node);
-          }
-        });
+    nodeToWarnings.forEach((node, warnings) -> addWarnings(map, node, warningFunc.apply(warnings)));
     return map;
   }
 
+  /**
+   * Adds the warnings of one node (or file) to {@code map}, as built by {@link
+   * #aggregateDuplicateWarnings(Map, Function)}.
+   */
+  static void addWarnings(Map<Warning, SortedSet<String>> map, String node, Set<Warning> warnings) {
+    for (Warning warning : warnings) {
+      map.computeIfAbsent(warning, w -> new TreeSet<>()).add(node);
+    }
+  }
+
   /**
    * Aggregate same {@link ErrorDetails} across multiple nodes (or alternatively files).
    *
@@ -1,21 +1,20 @@
 package org.batfish.question.initialization;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
-import static org.batfish.question.initialization.IssueAggregation.aggregateDuplicateParseWarnings;
+import static org.batfish.question.initialization.IssueAggregation.addParseWarnings;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Multimap;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import org.batfish.common.Answerer;
 import org.batfish.common.NetworkSnapshot;
-import org.batfish.common.Warnings;
 import org.batfish.common.Warnings.ParseWarning;
 import org.batfish.common.plugin.IBatfish;
-import org.batfish.datamodel.answers.ParseVendorConfigurationAnswerElement;
 import org.batfish.datamodel.answers.Schema;
 import org.batfish.datamodel.collections.FileLines;
 import org.batfish.datamodel.table.ColumnMetadata;
@@ -33,21 +32,19 @@ class ParseWarningAnswerer extends Answerer {
     TableMetadata metadata = createMetadata(question);
     Map<String, ColumnMetadata> columnMetadataMap = metadata.toColumnMap();
 
-    ParseVendorConfigurationAnswerElement pvcae =
-        _batfish.loadParseVendorConfigurationAnswerElement(snapshot);
-
-    Map<String, Warnings> fileWarnings = pvcae.getWarnings();
-
     ImmutableList.Builder<Row> rows = ImmutableList.builder();
 
+    // Read one file's warnings at a time, rather than the whole parse answer element
     if (question.getAggregateDuplicates()) {
-      aggregateDuplicateParseWarnings(fileWarnings)
-          .forEach(
-              (triplet, fileLines) ->
-                  rows.add(getAggregateRow(triplet, fileLines, columnMetadataMap)));
+      Map<ParseWarningTriplet, Multimap<String, Integer>> parseWarnings = new HashMap<>();
+      _batfish.forEachFileParseWarnings(
+          snapshot, (filename, warnings) -> addParseWarnings(parseWarnings, filename, warnings));
+      parseWarnings.forEach(
+          (triplet, fileLines) -> rows.add(getAggregateRow(triplet, fileLines, columnMetadataMap)));
 
     } else {
-      fileWarnings.forEach(
+      _batfish.forEachFileParseWarnings(
+          snapshot,
           (filename, warnings) -> {
             for (ParseWarning w : warnings.getParseWarnings()) {
               rows.add(getRow(filename, w, columnMetadataMap));
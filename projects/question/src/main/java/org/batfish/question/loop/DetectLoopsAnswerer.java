@@ -26,7 +26,7 @@ public final class DetectLoopsAnswerer extends Answerer {
   @Override
   public AnswerElement answer(NetworkSnapshot snapshot) {
     DetectLoopsQuestion question = (DetectLoopsQuestion) _question;
-    Set<Flow> flows = _batfish.bddLoopDetection(snapshot);
+    Set<Flow> flows = _batfish.bddLoopDetection(snapshot, question.getSourcePartitions());
 
     /*
      * There can be many flows exercising the same loop, so let's pick one per dstIp.
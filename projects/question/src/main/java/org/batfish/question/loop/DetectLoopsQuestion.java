@@ -1,5 +1,6 @@
 package org.batfish.question.loop;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.apache.commons.lang3.ObjectUtils.firstNonNull;
 import static org.batfish.common.util.TracePruner.DEFAULT_MAX_TRACES;
 
@@ -11,13 +12,17 @@ import org.batfish.datamodel.questions.Question;
 /** A zero-input question to check for forwarding loops. */
 public class DetectLoopsQuestion extends Question {
   private static final String PROP_MAX_TRACES = "maxTraces";
+  private static final String PROP_SOURCE_PARTITIONS = "sourcePartitions";
 
   private final int _maxTraces;
+  private final int _sourcePartitions;
 
   @JsonCreator
   private static DetectLoopsQuestion create(
-      @JsonProperty(PROP_MAX_TRACES) @Nullable Integer maxTraces) {
-    return new DetectLoopsQuestion(firstNonNull(maxTraces, DEFAULT_MAX_TRACES));
+      @JsonProperty(PROP_MAX_TRACES) @Nullable Integer maxTraces,
+      @JsonProperty(PROP_SOURCE_PARTITIONS) @Nullable Integer sourcePartitions) {
+    return new DetectLoopsQuestion(
+        firstNonNull(maxTraces, DEFAULT_MAX_TRACES), firstNonNull(sourcePartitions, 1));
   }
 
   /**
@@ -26,7 +31,20 @@ public class DetectLoopsQuestion extends Question {
    * @param maxTraces max number of traces displayed for flows in the answer
    */
   public DetectLoopsQuestion(int maxTraces) {
+    this(maxTraces, 1);
+  }
+
+  /**
+   * Creates a new DetectLoops question
+   *
+   * @param maxTraces max number of traces displayed for flows in the answer
+   * @param sourcePartitions number of groups to split the sources into, to search them for loops
+   *     in parallel
+   */
+  public DetectLoopsQuestion(int maxTraces, int sourcePartitions) {
+    checkArgument(sourcePartitions > 0, "%s must be positive", PROP_SOURCE_PARTITIONS);
     _maxTraces = maxTraces;
+    _sourcePartitions = sourcePartitions;
   }
 
   @Override
@@ -38,6 +56,10 @@ public class DetectLoopsQuestion extends Question {
     return _maxTraces;
   }
 
+  public int getSourcePartitions() {
+    return _sourcePartitions;
+  }
+
   @Override
   public String getName() {
     return "detectLoops";
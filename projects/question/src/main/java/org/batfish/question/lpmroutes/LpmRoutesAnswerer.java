@@ -16,6 +16,7 @@ import org.batfish.common.Answerer;
 import org.batfish.common.NetworkSnapshot;
 import org.batfish.common.plugin.IBatfish;
 import org.batfish.datamodel.AbstractRouteDecorator;
+import org.batfish.datamodel.DataPlane;
 import org.batfish.datamodel.FinalMainRib;
 import org.batfish.datamodel.Ip;
 import org.batfish.datamodel.Prefix;
@@ -49,14 +50,15 @@ public class LpmRoutesAnswerer extends Answerer {
   public AnswerElement answer(NetworkSnapshot snapshot) {
     LpmRoutesQuestion q = (LpmRoutesQuestion) _question;
     TableAnswerElement answer = new TableAnswerElement(getMetadata());
+    DataPlane dp = _batfish.loadDataPlane(snapshot);
+    // only hosts with a route containing the IP can have a match
+    Set<String> nodes =
+        Sets.intersection(
+            q.getNodeSpecifier().resolve(_batfish.specifierContext(snapshot)),
+            dp.getHostsWithRoutesOverlapping(Prefix.create(q.getIp(), Prefix.MAX_PREFIX_LENGTH)));
     answer.postProcessAnswer(
         _question,
-        getRows(
-            _batfish.loadDataPlane(snapshot).getRibs(),
-            q.getIp(),
-            q.getNodeSpecifier().resolve(_batfish.specifierContext(snapshot)),
-            Pattern.compile(q.getVrfs()),
-            _columnMap));
+        getRows(dp.getRibs(), q.getIp(), nodes, Pattern.compile(q.getVrfs()), _columnMap));
     return answer;
   }
 
@@ -10,16 +10,18 @@ import static org.batfish.question.routes.RoutesAnswererUtil.getBgpRouteRowsDiff
 import static org.batfish.question.routes.RoutesAnswererUtil.getEvpnRouteRowsDiff;
 import static org.batfish.question.routes.RoutesAnswererUtil.getEvpnRoutes;
 import static org.batfish.question.routes.RoutesAnswererUtil.getMainRibRoutes;
+import static org.batfish.question.routes.RoutesAnswererUtil.getMainRibRoutesDiff;
 import static org.batfish.question.routes.RoutesAnswererUtil.getRoutesDiff;
 import static org.batfish.question.routes.RoutesAnswererUtil.groupBgpRoutes;
 import static org.batfish.question.routes.RoutesAnswererUtil.groupEvpnRoutes;
-import static org.batfish.question.routes.RoutesAnswererUtil.groupRoutes;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -28,6 +30,7 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.batfish.common.Answerer;
 import org.batfish.common.NetworkSnapshot;
@@ -124,6 +127,17 @@ public class RoutesAnswerer extends Answerer {
     } else if (matchingVrfsByNode.isEmpty()) {
       answer.addWarning(WARNING_NO_MATCHING_VRFS);
     }
+    if (network != null) {
+      // only hosts with a route within (or, for shorter matches, overlapping) the network can have
+      // a match
+      Set<String> relevantNodes =
+          switch (question.getPrefixMatchType()) {
+            case EXACT, LONGER_PREFIXES -> dp.getHostsWithRoutesWithin(network);
+            case LONGEST_PREFIX_MATCH, SHORTER_PREFIXES ->
+                dp.getHostsWithRoutesOverlapping(network);
+          };
+      matchingVrfsByNode = Multimaps.filterKeys(matchingVrfsByNode, relevantNodes::contains);
+    }
 
     List<Row> rows = new ArrayList<>();
 
@@ -201,7 +215,7 @@ public class RoutesAnswerer extends Answerer {
                 groupBgpRoutes(
                     expandedBgpRouteStatuses.contains(BEST) ? dp.getBgpRoutes() : null,
                     expandedBgpRouteStatuses.contains(BACKUP) ? dp.getBgpBackupRoutes() : null,
-                    matchingNodes,
+                    relevantNodes(dp, matchingNodes, network),
                     vrfRegex,
                     network,
                     protocolSpec);
@@ -211,7 +225,7 @@ public class RoutesAnswerer extends Answerer {
                 groupBgpRoutes(
                     expandedBgpRouteStatuses.contains(BEST) ? dp.getBgpRoutes() : null,
                     expandedBgpRouteStatuses.contains(BACKUP) ? dp.getBgpBackupRoutes() : null,
-                    matchingNodes,
+                    relevantNodes(dp, matchingNodes, network),
                     vrfRegex,
                     network,
                     protocolSpec);
@@ -224,7 +238,7 @@ public class RoutesAnswerer extends Answerer {
                 groupEvpnRoutes(
                     expandedBgpRouteStatuses.contains(BEST) ? dp.getEvpnRoutes() : null,
                     expandedBgpRouteStatuses.contains(BACKUP) ? dp.getEvpnBackupRoutes() : null,
-                    matchingNodes,
+                    relevantNodes(dp, matchingNodes, network),
                     vrfRegex,
                     network,
                     protocolSpec);
@@ -234,7 +248,7 @@ public class RoutesAnswerer extends Answerer {
                 groupEvpnRoutes(
                     expandedBgpRouteStatuses.contains(BEST) ? dp.getEvpnRoutes() : null,
                     expandedBgpRouteStatuses.contains(BACKUP) ? dp.getEvpnBackupRoutes() : null,
-                    matchingNodes,
+                    relevantNodes(dp, matchingNodes, network),
                     vrfRegex,
                     network,
                     protocolSpec);
@@ -242,15 +256,18 @@ public class RoutesAnswerer extends Answerer {
             yield new ArrayList<>(getEvpnRouteRowsDiff(routesDiffRaw));
           }
           case MAIN -> {
+            // merges the RIBs of both snapshots rather than grouping all their routes first
             dp = _batfish.loadDataPlane(snapshot);
-            routesGroupedByKeyInBase =
-                groupRoutes(dp.getRibs(), matchingNodes, network, vrfRegex, protocolSpec);
-
-            dp = _batfish.loadDataPlane(reference);
-            routesGroupedByKeyInDelta =
-                groupRoutes(dp.getRibs(), matchingNodes, network, vrfRegex, protocolSpec);
-
-            routesDiffRaw = getRoutesDiff(routesGroupedByKeyInBase, routesGroupedByKeyInDelta);
+            DataPlane refDp = _batfish.loadDataPlane(reference);
+            routesDiffRaw =
+                getMainRibRoutesDiff(
+                    dp.getRibs(),
+                    relevantNodes(dp, matchingNodes, network),
+                    refDp.getRibs(),
+                    relevantNodes(refDp, matchingNodes, network),
+                    network,
+                    vrfRegex,
+                    protocolSpec);
             yield new ArrayList<>(getAbstractRouteRowsDiff(routesDiffRaw));
           }
         };
@@ -260,6 +277,15 @@ public class RoutesAnswerer extends Answerer {
     return diffAnswer;
   }
 
+  /**
+   * Returns the nodes in {@code nodes} that may have routes for exactly {@code network}, or all of
+   * {@code nodes} if there is no network filter.
+   */
+  private static Set<String> relevantNodes(
+      DataPlane dp, Set<String> nodes, @Nullable Prefix network) {
+    return network == null ? nodes : Sets.intersection(nodes, dp.getHostsWithRoutesWithin(network));
+  }
+
   @VisibleForTesting
   static final Comparator<Row> MAIN_RIB_COMPARATOR =
       Comparator.<Row, String>comparing(row -> row.getNode(COL_NODE).getName())
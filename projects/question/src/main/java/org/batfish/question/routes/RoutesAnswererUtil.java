@@ -42,10 +42,12 @@ import com.google.common.collect.HashMultiset;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multiset;
+import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
 import java.util.ArrayList;
 import java.util.EnumMap;
@@ -53,6 +55,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
@@ -873,26 +876,126 @@ public class RoutesAnswererUtil {
                         && protocolSpec.getProtocols().contains(route.getProtocol()))
             .forEach(
                 route ->
-                    routesGroups
-                        .computeIfAbsent(
+                    addMainRibRoute(
+                        route,
+                        routesGroups.computeIfAbsent(
                             new RouteRowKey(node, vrfName, route.getNetwork()),
-                            k -> new HashMap<>())
-                        .computeIfAbsent(
-                            new MainRibRouteRowSecondaryKey(
-                                route.getNextHop(), route.getProtocol().protocolName()),
-                            k -> new TreeSet<>())
-                        .add(
-                            RouteRowAttribute.builder()
-                                .setNextHopInterface(route.getNextHopInterface())
-                                .setAdminDistance(route.getAdministrativeCost())
-                                .setMetric(route.getMetric())
-                                .setTag(route.getTag())
-                                .build()));
+                            k -> new HashMap<>())));
       }
     }
     return routesGroups;
   }
 
+  /** Adds a main RIB route to the group of routes for its {@link RouteRowKey}. */
+  private static void addMainRibRoute(
+      AbstractRoute route, Map<RouteRowSecondaryKey, SortedSet<RouteRowAttribute>> group) {
+    group
+        .computeIfAbsent(
+            new MainRibRouteRowSecondaryKey(route.getNextHop(), route.getProtocol().protocolName()),
+            k -> new TreeSet<>())
+        .add(
+            RouteRowAttribute.builder()
+                .setNextHopInterface(route.getNextHopInterface())
+                .setAdminDistance(route.getAdministrativeCost())
+                .setMetric(route.getMetric())
+                .setTag(route.getTag())
+                .build());
+  }
+
+  /**
+   * Diffs the main RIBs of two snapshots, producing the same diff as {@link #getRoutesDiff} of the
+   * {@link #groupRoutes groups} of both snapshots' routes.
+   *
+   * <p>Rather than grouping every route of both snapshots up front, walks the RIBs one node and VRF
+   * at a time, merging the routes of both RIBs in order of network. Only the routes of the current
+   * network are grouped, and only networks whose routes differ are kept, so the memory needed
+   * beyond the RIBs themselves is proportional to the diff rather than to the size of the RIBs.
+   *
+   * @param baseRibs main RIBs of the base snapshot, by node and VRF
+   * @param baseNodes nodes of the base snapshot to be matched
+   * @param refRibs main RIBs of the reference snapshot, by node and VRF
+   * @param refNodes nodes of the reference snapshot to be matched
+   * @param network {@link Prefix} to filter the routes, or {@code null} for all routes
+   * @param vrfRegex Regex to filter the VRF
+   * @param protocolSpec {@link RoutingProtocolSpecifier} to filter the protocols of the routes
+   * @return {@link List} of {@link DiffRoutesOutput}
+   */
+  public static List<DiffRoutesOutput> getMainRibRoutesDiff(
+      Table<String, String, FinalMainRib> baseRibs,
+      Set<String> baseNodes,
+      Table<String, String, FinalMainRib> refRibs,
+      Set<String> refNodes,
+      @Nullable Prefix network,
+      String vrfRegex,
+      RoutingProtocolSpecifier protocolSpec) {
+    Pattern compiledVrfRegex = Pattern.compile(vrfRegex);
+    Set<String> nodes =
+        ImmutableSortedSet.copyOf(
+            Sets.union(
+                Sets.intersection(baseRibs.rowKeySet(), baseNodes),
+                Sets.intersection(refRibs.rowKeySet(), refNodes)));
+    List<DiffRoutesOutput> diffs = new ArrayList<>();
+    for (String node : nodes) {
+      Map<String, FinalMainRib> baseVrfs =
+          baseNodes.contains(node) ? baseRibs.row(node) : ImmutableMap.of();
+      Map<String, FinalMainRib> refVrfs =
+          refNodes.contains(node) ? refRibs.row(node) : ImmutableMap.of();
+      Set<String> vrfs =
+          ImmutableSortedSet.copyOf(Sets.union(baseVrfs.keySet(), refVrfs.keySet()));
+      for (String vrf : vrfs) {
+        if (!compiledVrfRegex.matcher(vrf).matches()) {
+          continue;
+        }
+        List<Entry<Prefix, Set<AbstractRoute>>> base =
+            getRoutesByNetwork(baseVrfs.get(vrf), network);
+        List<Entry<Prefix, Set<AbstractRoute>>> ref = getRoutesByNetwork(refVrfs.get(vrf), network);
+        int i = 0;
+        int j = 0;
+        while (i < base.size() || j < ref.size()) {
+          int cmp =
+              i == base.size()
+                  ? 1
+                  : j == ref.size() ? -1 : base.get(i).getKey().compareTo(ref.get(j).getKey());
+          Prefix current = cmp <= 0 ? base.get(i).getKey() : ref.get(j).getKey();
+          Map<RouteRowSecondaryKey, SortedSet<RouteRowAttribute>> baseGroup =
+              cmp <= 0 ? groupMainRibRoutes(base.get(i++).getValue(), protocolSpec) : null;
+          Map<RouteRowSecondaryKey, SortedSet<RouteRowAttribute>> refGroup =
+              cmp >= 0 ? groupMainRibRoutes(ref.get(j++).getValue(), protocolSpec) : null;
+          addRouteRowKeyDiff(new RouteRowKey(node, vrf, current), baseGroup, refGroup, diffs);
+        }
+      }
+    }
+    return diffs;
+  }
+
+  /**
+   * Returns the routes of {@code rib} grouped by network in increasing order of network, restricted
+   * to {@code network} if it is not {@code null}.
+   */
+  private static List<Entry<Prefix, Set<AbstractRoute>>> getRoutesByNetwork(
+      @Nullable FinalMainRib rib, @Nullable Prefix network) {
+    if (rib == null) {
+      return ImmutableList.of();
+    } else if (network == null) {
+      return rib.getRoutesByNetwork();
+    }
+    Set<AbstractRoute> routes = rib.getRoutes(network);
+    return routes.isEmpty() ? ImmutableList.of() : ImmutableList.of(Map.entry(network, routes));
+  }
+
+  /**
+   * Groups routes for the same network like {@link #groupRoutes}, returning {@code null} if no
+   * route matches {@code protocolSpec}.
+   */
+  private static @Nullable Map<RouteRowSecondaryKey, SortedSet<RouteRowAttribute>>
+      groupMainRibRoutes(Set<AbstractRoute> routes, RoutingProtocolSpecifier protocolSpec) {
+    Map<RouteRowSecondaryKey, SortedSet<RouteRowAttribute>> group = new HashMap<>();
+    routes.stream()
+        .filter(route -> protocolSpec.getProtocols().contains(route.getProtocol()))
+        .forEach(route -> addMainRibRoute(route, group));
+    return group.isEmpty() ? null : group;
+  }
+
   /**
    * Given a {@link Table} of {@link Bgpv4Route}s indexed by Node name and VRF name, applies given
    * filters and groups the routes by {@link RouteRowKey} and sub-groups them further by {@link
@@ -1149,57 +1252,65 @@ public class RoutesAnswererUtil {
 
     List<DiffRoutesOutput> listDiffs = new ArrayList<>();
     for (RouteRowKey routeRowKey : allRouteKeys) {
-      Map<RouteRowSecondaryKey, SortedSet<RouteRowAttribute>> baseAttrsForRowKey =
-          routesInBase.get(routeRowKey);
-      Map<RouteRowSecondaryKey, SortedSet<RouteRowAttribute>> refAttrsForRowKey =
-          routesInRef.get(routeRowKey);
-
-      if (baseAttrsForRowKey != null && refAttrsForRowKey != null) {
-        // this network is present in routesInBase and routesInRef. check if values are different
-        if (!baseAttrsForRowKey.equals(refAttrsForRowKey)) {
-          listDiffs.addAll(getDiffPerKey(routeRowKey, baseAttrsForRowKey, refAttrsForRowKey));
-        }
-      } else if (baseAttrsForRowKey != null) {
-        baseAttrsForRowKey.forEach(
-            (key, value) -> {
-              // the nested list contains list of pairs of RouteRowAttributes with fist element and
-              // second element of the pair from base and reference snapshots respectively, second
-              // element is null to account for absence of this network in the reference snapshot
-              List<List<RouteRowAttribute>> diffMatrix =
-                  value.stream()
-                      .map(routeRowAttribute -> Lists.newArrayList(routeRowAttribute, null))
-                      .collect(Collectors.toList());
-              listDiffs.add(
-                  new DiffRoutesOutput(
-                      routeRowKey,
-                      key,
-                      KeyPresenceStatus.ONLY_IN_SNAPSHOT,
-                      diffMatrix,
-                      KeyPresenceStatus.ONLY_IN_SNAPSHOT));
-            });
-      } else {
-        refAttrsForRowKey.forEach(
-            (key, value) -> {
-              // the nested list contains list of pairs of RouteRowAttributes with fist element and
-              // second element of the pair from base and reference snapshots respectively, first
-              // element is null to account for absence of this network in the base snapshot
-              List<List<RouteRowAttribute>> diffMatrix =
-                  value.stream()
-                      .map(routeRowAttribute -> Lists.newArrayList(null, routeRowAttribute))
-                      .collect(Collectors.toList());
-              listDiffs.add(
-                  new DiffRoutesOutput(
-                      routeRowKey,
-                      key,
-                      KeyPresenceStatus.ONLY_IN_REFERENCE,
-                      diffMatrix,
-                      KeyPresenceStatus.ONLY_IN_REFERENCE));
-            });
-      }
+      addRouteRowKeyDiff(
+          routeRowKey, routesInBase.get(routeRowKey), routesInRef.get(routeRowKey), listDiffs);
     }
     return listDiffs;
   }
 
+  /**
+   * Adds the diff for one {@link RouteRowKey} to {@code listDiffs}, given its routes in the base
+   * and ref snapshots. At least one of them must be non-null.
+   */
+  private static void addRouteRowKeyDiff(
+      RouteRowKey routeRowKey,
+      @Nullable Map<RouteRowSecondaryKey, SortedSet<RouteRowAttribute>> baseAttrsForRowKey,
+      @Nullable Map<RouteRowSecondaryKey, SortedSet<RouteRowAttribute>> refAttrsForRowKey,
+      List<DiffRoutesOutput> listDiffs) {
+    if (baseAttrsForRowKey != null && refAttrsForRowKey != null) {
+      // this network is present in routesInBase and routesInRef. check if values are different
+      if (!baseAttrsForRowKey.equals(refAttrsForRowKey)) {
+        listDiffs.addAll(getDiffPerKey(routeRowKey, baseAttrsForRowKey, refAttrsForRowKey));
+      }
+    } else if (baseAttrsForRowKey != null) {
+      baseAttrsForRowKey.forEach(
+          (key, value) -> {
+            // the nested list contains list of pairs of RouteRowAttributes with fist element and
+            // second element of the pair from base and reference snapshots respectively, second
+            // element is null to account for absence of this network in the reference snapshot
+            List<List<RouteRowAttribute>> diffMatrix =
+                value.stream()
+                    .map(routeRowAttribute -> Lists.newArrayList(routeRowAttribute, null))
+                    .collect(Collectors.toList());
+            listDiffs.add(
+                new DiffRoutesOutput(
+                    routeRowKey,
+                    key,
+                    KeyPresenceStatus.ONLY_IN_SNAPSHOT,
+                    diffMatrix,
+                    KeyPresenceStatus.ONLY_IN_SNAPSHOT));
+          });
+    } else if (refAttrsForRowKey != null) {
+      refAttrsForRowKey.forEach(
+          (key, value) -> {
+            // the nested list contains list of pairs of RouteRowAttributes with fist element and
+            // second element of the pair from base and reference snapshots respectively, first
+            // element is null to account for absence of this network in the base snapshot
+            List<List<RouteRowAttribute>> diffMatrix =
+                value.stream()
+                    .map(routeRowAttribute -> Lists.newArrayList(null, routeRowAttribute))
+                    .collect(Collectors.toList());
+            listDiffs.add(
+                new DiffRoutesOutput(
+                    routeRowKey,
+                    key,
+                    KeyPresenceStatus.ONLY_IN_REFERENCE,
+                    diffMatrix,
+                    KeyPresenceStatus.ONLY_IN_REFERENCE));
+          });
+    }
+  }
+
   /**
    * Gets the diff in the form of {@link List} of {@link DiffRoutesOutput} for {@link
    * RouteRowAttribute}s for a given {@link RouteRowKey}
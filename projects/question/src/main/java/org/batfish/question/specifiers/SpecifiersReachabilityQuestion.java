@@ -1,6 +1,7 @@
 package org.batfish.question.specifiers;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.batfish.question.specifiers.PathConstraintsUtil.createPathConstraints;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -35,6 +36,7 @@ public final class SpecifiersReachabilityQuestion extends Question {
   private static final String PROP_INVERT_SEARCH = "invertSearch";
   private static final String PROP_MAX_TRACES = "maxTraces";
   private static final String PROP_PATH_CONSTRAINT = "pathConstraints";
+  private static final String PROP_SOURCE_PARTITIONS = "sourcePartitions";
 
   private final @Nonnull DispositionSpecifier _actions;
   private final @Nonnull PacketHeaderConstraints _headerConstraints;
@@ -42,6 +44,7 @@ public final class SpecifiersReachabilityQuestion extends Question {
   private final boolean _invertSearch;
   private final int _maxTraces;
   private final @Nonnull PathConstraintsInput _pathConstraints;
+  private final int _sourcePartitions;
 
   /**
    * Create a new reachability question. {@code null} values result in default parameter values.
@@ -52,6 +55,8 @@ public final class SpecifiersReachabilityQuestion extends Question {
    * @param ignoreFilters whether to ignore ingress and egress ACLs.
    * @param pathConstraints path constraints dictating where a flow can originate/terminate/transit.
    *     Default is unconstrained.
+   * @param sourcePartitions number of groups to split the sources into, to be analyzed in
+   *     parallel. Default is 1.
    */
   @JsonCreator
   public SpecifiersReachabilityQuestion(
@@ -60,17 +65,20 @@ public final class SpecifiersReachabilityQuestion extends Question {
       @JsonProperty(PROP_IGNORE_FILTERS) @Nullable Boolean ignoreFilters,
       @JsonProperty(PROP_INVERT_SEARCH) @Nullable Boolean invertSearch,
       @JsonProperty(PROP_MAX_TRACES) @Nullable Integer maxTraces,
-      @JsonProperty(PROP_PATH_CONSTRAINT) @Nullable PathConstraintsInput pathConstraints) {
+      @JsonProperty(PROP_PATH_CONSTRAINT) @Nullable PathConstraintsInput pathConstraints,
+      @JsonProperty(PROP_SOURCE_PARTITIONS) @Nullable Integer sourcePartitions) {
     _actions = firstNonNull(actions, DispositionSpecifier.SUCCESS_SPECIFIER);
     _headerConstraints = firstNonNull(headerConstraints, PacketHeaderConstraints.unconstrained());
     _ignoreFilters = firstNonNull(ignoreFilters, false);
     _invertSearch = firstNonNull(invertSearch, false);
     _maxTraces = firstNonNull(maxTraces, TracePruner.DEFAULT_MAX_TRACES);
     _pathConstraints = firstNonNull(pathConstraints, PathConstraintsInput.unconstrained());
+    _sourcePartitions = firstNonNull(sourcePartitions, 1);
+    checkArgument(_sourcePartitions > 0, "%s must be positive", PROP_SOURCE_PARTITIONS);
   }
 
   SpecifiersReachabilityQuestion() {
-    this(null, null, null, null, null, null);
+    this(null, null, null, null, null, null, null);
   }
 
   @JsonProperty(PROP_ACTIONS)
@@ -103,6 +111,11 @@ public final class SpecifiersReachabilityQuestion extends Question {
     return _pathConstraints;
   }
 
+  @JsonProperty(PROP_SOURCE_PARTITIONS)
+  public int getSourcePartitions() {
+    return _sourcePartitions;
+  }
+
   @Override
   public boolean getDataPlane() {
     return true;
@@ -150,6 +163,7 @@ public final class SpecifiersReachabilityQuestion extends Question {
         .setRequiredTransitNodesSpecifier(pathConstraints.getTransitLocations())
         .setSourceLocationSpecifier(pathConstraints.getStartLocation())
         .setSourceIpSpaceSpecifier(getSourceIpSpaceSpecifier())
+        .setSourcePartitions(_sourcePartitions)
         .build();
   }
 
@@ -166,6 +180,7 @@ public final class SpecifiersReachabilityQuestion extends Question {
     private Boolean _invertSearch;
     private Integer _maxTraces;
     private PathConstraintsInput _pathConstraints;
+    private Integer _sourcePartitions;
 
     private Builder() {}
 
@@ -199,6 +214,11 @@ public final class SpecifiersReachabilityQuestion extends Question {
       return this;
     }
 
+    public Builder setSourcePartitions(Integer sourcePartitions) {
+      _sourcePartitions = sourcePartitions;
+      return this;
+    }
+
     public SpecifiersReachabilityQuestion build() {
       return new SpecifiersReachabilityQuestion(
           _actions,
@@ -206,7 +226,8 @@ public final class SpecifiersReachabilityQuestion extends Question {
           _ignoreFilters,
           _invertSearch,
           _maxTraces,
-          _pathConstraints);
+          _pathConstraints,
+          _sourcePartitions);
     }
   }
 }
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.batfish.common.Answerer;
 import org.batfish.common.NetworkSnapshot;
 import org.batfish.common.plugin.IBatfish;
@@ -54,8 +55,21 @@ public final class TracerouteAnswerer extends Answerer {
   @Override
   public AnswerElement answer(NetworkSnapshot snapshot) {
     TracerouteQuestion q = (TracerouteQuestion) _question;
-    SortedMap<Flow, List<Trace>> flowTraces = getTraces(snapshot, q);
-    Multiset<Row> rows = flowTracesToRows(flowTraces, q.getMaxTraces());
+    TracerouteAnswererHelper helper =
+        new TracerouteAnswererHelper(
+            q.getHeaderConstraints(),
+            q.getSourceLocationStr(),
+            _batfish.specifierContext(snapshot));
+    // Stream the traces, keeping only the pruned traces of each flow rather than all of them.
+    int maxTraces = q.getMaxTraces();
+    SortedMap<Flow, Row> rowsByFlow = new ConcurrentSkipListMap<>();
+    _batfish
+        .getTracerouteEngine(snapshot)
+        .computeTraces(
+            helper.getFlows().iterator(),
+            q.getIgnoreFilters(),
+            (flow, traces) -> rowsByFlow.put(flow, flowTracesToRow(flow, traces, maxTraces)));
+    Multiset<Row> rows = LinkedHashMultiset.create(rowsByFlow.values());
 
     TableAnswerElement table = new TableAnswerElement(metadata(false));
     table.postProcessAnswer(_question, rows);
@@ -126,20 +140,21 @@ public final class TracerouteAnswerer extends Answerer {
       SortedMap<Flow, List<Trace>> flowTraces, int maxTraces) {
     Multiset<Row> rows = LinkedHashMultiset.create();
     for (Map.Entry<Flow, List<Trace>> flowTrace : flowTraces.entrySet()) {
-      List<Trace> traces = flowTrace.getValue();
-      List<Trace> prunedTraces = TracePruner.prune(traces, maxTraces);
-      rows.add(
-          Row.of(
-              COL_FLOW,
-              flowTrace.getKey(),
-              COL_TRACES,
-              prunedTraces,
-              COL_TRACE_COUNT,
-              traces.size()));
+      rows.add(flowTracesToRow(flowTrace.getKey(), flowTrace.getValue(), maxTraces));
     }
     return rows;
   }
 
+  private static Row flowTracesToRow(Flow flow, List<Trace> traces, int maxTraces) {
+    return Row.of(
+        COL_FLOW,
+        flow,
+        COL_TRACES,
+        TracePruner.prune(traces, maxTraces),
+        COL_TRACE_COUNT,
+        traces.size());
+  }
+
   public static Multiset<Row> diffFlowTracesToRows(
       Map<Flow, List<Trace>> baseFlowTraces,
       Map<Flow, List<Trace>> deltaFlowTraces,
@@ -37,6 +37,7 @@ import static org.batfish.question.routes.RoutesAnswererUtil.getBgpRouteRowsDiff
 import static org.batfish.question.routes.RoutesAnswererUtil.getEvpnRouteRowsDiff;
 import static org.batfish.question.routes.RoutesAnswererUtil.getEvpnRoutes;
 import static org.batfish.question.routes.RoutesAnswererUtil.getMainRibRoutes;
+import static org.batfish.question.routes.RoutesAnswererUtil.getMainRibRoutesDiff;
 import static org.batfish.question.routes.RoutesAnswererUtil.getMatchingPrefixRoutes;
 import static org.batfish.question.routes.RoutesAnswererUtil.getMatchingRoutes;
 import static org.batfish.question.routes.RoutesAnswererUtil.getRoutesDiff;
@@ -94,6 +95,7 @@ import org.batfish.datamodel.OspfExternalType2Route;
 import org.batfish.datamodel.Prefix;
 import org.batfish.datamodel.ReceivedFromIp;
 import org.batfish.datamodel.RoutingProtocol;
+import org.batfish.datamodel.StaticRoute;
 import org.batfish.datamodel.answers.Schema;
 import org.batfish.datamodel.bgp.RouteDistinguisher;
 import org.batfish.datamodel.bgp.TunnelEncapsulationAttribute;
@@ -1154,6 +1156,49 @@ public class RoutesAnswererUtilTest {
                 KeyPresenceStatus.IN_BOTH)));
   }
 
+  @Test
+  public void testGetMainRibRoutesDiff() {
+    String vrf = Configuration.DEFAULT_VRF_NAME;
+    StaticRoute changedBase =
+        StaticRoute.testBuilder()
+            .setNetwork(Prefix.parse("1.0.0.0/24"))
+            .setNextHopIp(Ip.parse("10.0.0.1"))
+            .setAdministrativeCost(1)
+            .build();
+    StaticRoute changedRef = changedBase.toBuilder().setAdministrativeCost(2).build();
+    AbstractRoute unchanged = new ConnectedRoute(Prefix.parse("2.0.0.0/24"), "e0");
+    AbstractRoute onlyRef = new ConnectedRoute(Prefix.parse("3.0.0.0/24"), "e1");
+    AbstractRoute otherNode = new ConnectedRoute(Prefix.parse("4.0.0.0/24"), "e2");
+    Table<String, String, FinalMainRib> baseRibs =
+        ImmutableTable.<String, String, FinalMainRib>builder()
+            .put("n1", vrf, FinalMainRib.of(changedBase, unchanged))
+            .put("n2", vrf, FinalMainRib.of(otherNode))
+            .build();
+    Table<String, String, FinalMainRib> refRibs =
+        ImmutableTable.of("n1", vrf, FinalMainRib.of(changedRef, unchanged, onlyRef));
+    Set<String> nodes = ImmutableSet.of("n1", "n2");
+    RoutingProtocolSpecifier all = RoutingProtocolSpecifier.ALL_PROTOCOLS_SPECIFIER;
+
+    for (Prefix network : Lists.newArrayList(null, Prefix.parse("1.0.0.0/24"))) {
+      List<DiffRoutesOutput> expected =
+          getRoutesDiff(
+              groupRoutes(baseRibs, nodes, network, ".*", all),
+              groupRoutes(refRibs, nodes, network, ".*", all));
+      assertThat(
+          getMainRibRoutesDiff(baseRibs, nodes, refRibs, nodes, network, ".*", all),
+          containsInAnyOrder(expected.toArray()));
+    }
+
+    // unchanged networks are skipped
+    assertThat(
+        getMainRibRoutesDiff(baseRibs, nodes, refRibs, nodes, null, ".*", all)
+            .stream()
+            .map(diff -> diff.getRouteRowKey().getPrefix())
+            .collect(ImmutableSet.toImmutableSet()),
+        containsInAnyOrder(
+            Prefix.parse("1.0.0.0/24"), Prefix.parse("3.0.0.0/24"), Prefix.parse("4.0.0.0/24")));
+  }
+
   @Test
   public void testGetRoutesDiffNonCommonKey() {
     RouteRowKey routeRowKey1 = new RouteRowKey("node1", "vrf", Prefix.parse("1.1.1.1/24"));
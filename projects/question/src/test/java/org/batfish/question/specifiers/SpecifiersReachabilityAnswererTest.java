@@ -13,7 +13,7 @@ public class SpecifiersReachabilityAnswererTest {
   @Test
   public void answerDiffCrashes() {
     SpecifiersReachabilityQuestion defaultQ =
-        new SpecifiersReachabilityQuestion(null, null, null, null, null, null);
+        new SpecifiersReachabilityQuestion(null, null, null, null, null, null, null);
     IBatfish batfish = new IBatfishTestAdapter();
     SpecifiersReachabilityAnswerer answerer = new SpecifiersReachabilityAnswerer(defaultQ, batfish);
     _expected.expectMessage("This question should not be run in differential mode.");
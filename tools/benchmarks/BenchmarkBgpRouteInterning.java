@@ -0,0 +1,168 @@
+package tools.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.batfish.datamodel.AsPath;
+import org.batfish.datamodel.BgpRoute;
+import org.batfish.datamodel.Bgpv4Route;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.OriginMechanism;
+import org.batfish.datamodel.OriginType;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.ReceivedFromIp;
+import org.batfish.datamodel.RoutingProtocol;
+import org.batfish.datamodel.bgp.community.StandardCommunity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the memory retained by {@link Bgpv4Route}s when their attribute sets are interned
+ * weakly, as they are now, and through the size-bounded caches used before (see {@link
+ * BgpRoute#BOUNDED_INTERNING_PROPERTY}). Each benchmark runs in its own JVM, since the interners
+ * are chosen when {@link BgpRoute} is loaded.
+ *
+ * <p>The routes are those of a router peering with {@code reflectors} route reflectors, each
+ * reflecting a full table of {@code prefixes} prefixes from its own client. A route's attributes
+ * depend on the origin AS of its prefix, one of {@code originAses}, and on the cluster list and
+ * originator of its reflector, so there are {@code originAses * reflectors} distinct attribute
+ * sets. With the default parameters that is below the old bound of 2^20 for 4 reflectors and
+ * above it for 32.
+ *
+ * <p>The benchmarks measure building the routes. After each iteration, the heap retained while the
+ * routes are live and the heap still retained once they are dropped are printed, both relative to
+ * the heap in use before any route was built. For example:
+ *
+ * <pre>
+ *   bazel run //tools/benchmarks:bgpRouteInterning -- -p reflectors=32 -jvmArgs -Xmx8g
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BenchmarkBgpRouteInterning {
+  @Param({"4", "32"})
+  public int reflectors;
+
+  @Param({"131072"})
+  public int prefixes;
+
+  @Param({"65536"})
+  public int originAses;
+
+  private List<Prefix> _prefixes;
+  private List<AsPath> _asPaths;
+  private List<Ip> _reflectorIps;
+  private List<Ip> _clientIps;
+  private List<Set<Long>> _clusterLists;
+  private List<Set<StandardCommunity>> _communities;
+  private long _baselineHeap;
+  private List<Bgpv4Route> _routes;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ImmutableList.Builder<Prefix> prefixList = ImmutableList.builder();
+    for (int i = 0; i < prefixes; i++) {
+      prefixList.add(Prefix.create(Ip.create(0x01000000L + ((long) i << 8)), 24));
+    }
+    _prefixes = prefixList.build();
+    ImmutableList.Builder<AsPath> asPaths = ImmutableList.builder();
+    for (int i = 0; i < originAses; i++) {
+      asPaths.add(AsPath.ofSingletonAsSets(174L, 3356L, 100000L + i));
+    }
+    _asPaths = asPaths.build();
+    ImmutableList.Builder<Ip> reflectorIps = ImmutableList.builder();
+    ImmutableList.Builder<Ip> clientIps = ImmutableList.builder();
+    ImmutableList.Builder<Set<Long>> clusterLists = ImmutableList.builder();
+    ImmutableList.Builder<Set<StandardCommunity>> communities = ImmutableList.builder();
+    for (int r = 0; r < reflectors; r++) {
+      reflectorIps.add(Ip.create(0x0A000001L + r));
+      clientIps.add(Ip.create(0x0A010001L + r));
+      clusterLists.add(ImmutableSet.of(r + 1L));
+      communities.add(ImmutableSet.of(StandardCommunity.of(65000, r)));
+    }
+    _reflectorIps = reflectorIps.build();
+    _clientIps = clientIps.build();
+    _clusterLists = clusterLists.build();
+    _communities = communities.build();
+    _baselineHeap = usedHeap();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownIteration() {
+    long live = usedHeap() - _baselineHeap;
+    int routes = _routes.size();
+    _routes = null;
+    long dropped = usedHeap() - _baselineHeap;
+    System.out.printf(
+        "%nbounded=%s reflectors=%d: %d routes, %d bytes retained (%d per route),"
+            + " %d bytes retained after dropping them%n",
+        Boolean.getBoolean(BgpRoute.BOUNDED_INTERNING_PROPERTY),
+        reflectors,
+        routes,
+        live,
+        live / routes,
+        dropped);
+  }
+
+  /** Heap in use after collecting garbage, as far as {@link System#gc()} manages to. */
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  /** Builds the routes from every reflector, keeping them live until the end of the iteration. */
+  private int buildRoutes() {
+    List<Bgpv4Route> routes = new ArrayList<>(prefixes * reflectors);
+    for (int r = 0; r < reflectors; r++) {
+      Bgpv4Route.Builder rb =
+          Bgpv4Route.builder()
+              .setClusterList(_clusterLists.get(r))
+              .setCommunities(_communities.get(r))
+              .setLocalPreference(100)
+              .setOriginatorIp(_clientIps.get(r))
+              .setOriginMechanism(OriginMechanism.LEARNED)
+              .setOriginType(OriginType.IGP)
+              .setProtocol(RoutingProtocol.IBGP)
+              .setReceivedFrom(ReceivedFromIp.of(_reflectorIps.get(r)))
+              .setNextHopIp(_clientIps.get(r));
+      for (int i = 0; i < prefixes; i++) {
+        routes.add(
+            rb.setNetwork(_prefixes.get(i)).setAsPath(_asPaths.get(i % originAses)).build());
+      }
+    }
+    _routes = routes;
+    return routes.size();
+  }
+
+  @Benchmark
+  public int weakInterning() {
+    return buildRoutes();
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-D" + BgpRoute.BOUNDED_INTERNING_PROPERTY + "=true")
+  public int boundedInterning() {
+    return buildRoutes();
+  }
+}
@@ -0,0 +1,174 @@
+package tools.benchmarks;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.batfish.specifier.LocationInfoUtils.computeLocationInfo;
+
+import com.google.common.collect.Sets;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import org.batfish.common.NetworkSnapshot;
+import org.batfish.common.bdd.BDDPacket;
+import org.batfish.common.bdd.IpSpaceToBDD;
+import org.batfish.common.topology.IpOwners;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.Fib;
+import org.batfish.datamodel.ForwardingAnalysisImpl;
+import org.batfish.datamodel.InterfaceForwardingBehavior;
+import org.batfish.datamodel.IpSpace;
+import org.batfish.datamodel.VrfForwardingBehavior;
+import org.batfish.main.Batfish;
+import org.batfish.specifier.Location;
+import org.batfish.specifier.LocationInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tools.benchmarks.SyntheticNetworks.SyntheticNetwork;
+import tools.benchmarks.SyntheticNetworks.Topology;
+import tools.benchmarks.SyntheticNetworks.Vendor;
+
+/**
+ * Compares {@link ForwardingAnalysisImpl} with and without interning the IpSpaces it builds, on
+ * {@link SyntheticNetworks synthetic networks}.
+ *
+ * <p>The benchmarks measure computing the analysis, including the forwarding behavior of every
+ * VRF, and converting all of its IpSpaces to BDDs with a fresh {@link IpSpaceToBDD}, whose cache
+ * is keyed by identity. The size retained by each analysis is printed once per trial: the number
+ * of distinct IpSpace objects it holds and the size of its serialized form, which writes each
+ * object once. For example:
+ *
+ * <pre>
+ *   bazel run //tools/benchmarks:forwardingAnalysisInterning -- -p size=64,256
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BenchmarkForwardingAnalysisInterning {
+  @Param({"LEAF_SPINE", "ISP_CORE", "FIREWALL"})
+  public Topology topology;
+
+  @Param({"64"})
+  public int size;
+
+  @Param({"true", "false"})
+  public boolean intern;
+
+  private Path _tmp;
+  private Map<String, Configuration> _configs;
+  private Map<String, Map<String, Fib>> _fibs;
+  private org.batfish.datamodel.Topology _layer3Topology;
+  private Map<Location, LocationInfo> _locationInfo;
+  private IpOwners _ipOwners;
+  private List<IpSpace> _ipSpaces;
+  private BDDPacket _pkt;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    SyntheticNetwork network = SyntheticNetworks.generate(topology, Vendor.ARISTA, size);
+    _tmp = Files.createTempDirectory(BenchmarkForwardingAnalysisInterning.class.getSimpleName());
+    Batfish batfish = SyntheticNetworks.newBatfish(network, _tmp);
+    NetworkSnapshot snapshot = batfish.getSnapshot();
+    SortedMap<String, Configuration> configs = batfish.loadConfigurations(snapshot);
+    checkState(!configs.isEmpty(), "No configs were parsed");
+    batfish.computeDataPlane(snapshot);
+
+    _configs = configs;
+    _fibs = batfish.loadDataPlane(snapshot).getFibs();
+    _layer3Topology = batfish.getTopologyProvider().getLayer3Topology(snapshot);
+    _ipOwners = batfish.getTopologyProvider().getInitialIpOwners(snapshot);
+    _locationInfo = computeLocationInfo(_ipOwners, _configs);
+
+    ForwardingAnalysisImpl analysis = computeAnalysis();
+    _ipSpaces = ipSpaces(analysis);
+
+    Set<IpSpace> distinct = Sets.newIdentityHashSet();
+    distinct.addAll(_ipSpaces);
+    CountingOutputStream counter = new CountingOutputStream(ByteStreams.nullOutputStream());
+    try (ObjectOutputStream out = new ObjectOutputStream(counter)) {
+      // The VRF forwarding behavior is not serialized with the analysis, so write the spaces too.
+      out.writeObject(analysis.withoutFibs());
+      out.writeObject(_ipSpaces);
+    }
+    System.out.printf(
+        "%n%s size=%d intern=%s: %d IpSpaces, %d distinct objects, %d bytes serialized%n",
+        topology, size, intern, _ipSpaces.size(), distinct.size(), counter.getCount());
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpInvocation() {
+    // A fresh BDD factory, so BDDs from earlier invocations do not accumulate.
+    _pkt = new BDDPacket();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    MoreFiles.deleteRecursively(_tmp, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  private ForwardingAnalysisImpl computeAnalysis() {
+    return new ForwardingAnalysisImpl(
+        _configs, _fibs, _layer3Topology, _locationInfo, _ipOwners, intern);
+  }
+
+  /**
+   * All IpSpaces held by {@code analysis}, with repeats. Computes the forwarding behavior of every
+   * VRF, which is otherwise computed on demand.
+   */
+  private static List<IpSpace> ipSpaces(ForwardingAnalysisImpl analysis) {
+    List<IpSpace> ipSpaces = new ArrayList<>();
+    analysis.getArpReplies().values().forEach(ifaces -> ipSpaces.addAll(ifaces.values()));
+    for (Map<String, VrfForwardingBehavior> vrfs :
+        analysis.getVrfForwardingBehavior().values()) {
+      for (VrfForwardingBehavior vrf : vrfs.values()) {
+        ipSpaces.addAll(vrf.getArpTrueEdge().values());
+        ipSpaces.addAll(vrf.getNextVrfIps().values());
+        ipSpaces.add(vrf.getNullRoutedIps());
+        ipSpaces.add(vrf.getRoutableIps());
+        for (InterfaceForwardingBehavior iface : vrf.getInterfaceForwardingBehavior().values()) {
+          ipSpaces.add(iface.getAcceptedIps());
+          ipSpaces.add(iface.getDeliveredToSubnet());
+          ipSpaces.add(iface.getExitsNetwork());
+          ipSpaces.add(iface.getInsufficientInfo());
+          ipSpaces.add(iface.getNeighborUnreachable());
+        }
+      }
+    }
+    return ipSpaces;
+  }
+
+  /** Computes the analysis and the forwarding behavior of every VRF. */
+  @Benchmark
+  public int computeForwardingAnalysis() {
+    return ipSpaces(computeAnalysis()).size();
+  }
+
+  /** Converts every IpSpace of the analysis to a BDD, as BDD reachability does. */
+  @Benchmark
+  public int ipSpacesToBdd() {
+    IpSpaceToBDD ipSpaceToBdd = new IpSpaceToBDD(_pkt.getDstIp());
+    int nodes = 0;
+    for (IpSpace ipSpace : _ipSpaces) {
+      nodes += ipSpaceToBdd.visit(ipSpace).nodeCount();
+    }
+    return nodes;
+  }
+}
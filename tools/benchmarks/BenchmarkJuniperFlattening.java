@@ -0,0 +1,132 @@
+package tools.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.batfish.common.BatfishLogger;
+import org.batfish.common.Warnings;
+import org.batfish.config.Settings;
+import org.batfish.datamodel.ConfigurationFormat;
+import org.batfish.grammar.VendorConfigurationFormatDetector;
+import org.batfish.grammar.flatjuniper.FlatJuniperCombinedParser;
+import org.batfish.grammar.flattener.Flattener;
+import org.batfish.main.Batfish;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks flattening and parsing of large hierarchical Junos configurations, as done for each
+ * {@link ConfigurationFormat#JUNIPER} file by {@code ParseVendorConfigurationJob}.
+ *
+ * <p>Flattening dominates memory use for large configurations; run with the GC profiler to see
+ * allocation per operation:
+ *
+ * <pre>
+ *   bazel run //tools/benchmarks:juniperFlattening -- -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BenchmarkJuniperFlattening {
+
+  /** Number of interface units, firewall filter terms, and policy statements. */
+  @Param({"1000", "10000"})
+  public int size;
+
+  private BatfishLogger _logger;
+  private Settings _settings;
+  private String _text;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    _logger = new BatfishLogger(BatfishLogger.LEVELSTR_WARN, false);
+    _settings = new Settings();
+    _text = hierarchicalConfig(size);
+  }
+
+  /** Returns a hierarchical Junos configuration resembling a large MX edge router. */
+  private static String hierarchicalConfig(int size) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("system {\n  host-name mx1;\n}\n");
+    sb.append("interfaces {\n  xe-0/0/0 {\n    vlan-tagging;\n");
+    for (int i = 0; i < size; i++) {
+      int vlan = i + 1;
+      sb.append("    unit ").append(vlan).append(" {\n");
+      sb.append("      description \"customer ").append(vlan).append("\";\n");
+      sb.append("      vlan-id ").append(vlan).append(";\n");
+      sb.append("      family inet {\n");
+      sb.append("        filter {\n          input CUSTOMER-IN;\n        }\n");
+      sb.append("        address 10.")
+          .append(i / 64 % 256)
+          .append('.')
+          .append(i % 64 * 4)
+          .append(".1/30;\n");
+      sb.append("      }\n    }\n");
+    }
+    sb.append("  }\n}\n");
+    sb.append("firewall {\n  family inet {\n    filter CUSTOMER-IN {\n");
+    for (int i = 0; i < size; i++) {
+      sb.append("      term t").append(i).append(" {\n        from {\n");
+      sb.append("          source-address {\n            172.")
+          .append(16 + i / 65536 % 16)
+          .append('.')
+          .append(i / 256 % 256)
+          .append('.')
+          .append(i % 256)
+          .append("/32;\n          }\n");
+      sb.append("          protocol [ tcp udp ];\n");
+      sb.append("          destination-port [ 53 80 443 ];\n        }\n");
+      sb.append("        then {\n          count c").append(i).append(";\n");
+      sb.append("          accept;\n        }\n      }\n");
+    }
+    sb.append("    }\n  }\n}\n");
+    sb.append("policy-options {\n");
+    for (int i = 0; i < size; i++) {
+      sb.append("  policy-statement CUSTOMER-").append(i).append(" {\n");
+      sb.append("    term accept {\n      from {\n");
+      sb.append("        route-filter 10.")
+          .append(i / 64 % 256)
+          .append('.')
+          .append(i % 64 * 4)
+          .append(".0/30 orlonger;\n      }\n");
+      sb.append("      then {\n        community add CUSTOMERS;\n        accept;\n      }\n");
+      sb.append("    }\n    then reject;\n  }\n");
+    }
+    sb.append("  community CUSTOMERS members 65000:100;\n}\n");
+    return sb.toString();
+  }
+
+  private Flattener newFlattener() {
+    return Batfish.flatten(
+        _text,
+        _logger,
+        _settings,
+        new Warnings(),
+        ConfigurationFormat.JUNIPER,
+        VendorConfigurationFormatDetector.BATFISH_FLATTENED_JUNIPER_HEADER);
+  }
+
+  /** Parses the hierarchical configuration and flattens it to set lines. */
+  @Benchmark
+  public int flatten() {
+    return newFlattener().getFlattenedConfigurationText().length();
+  }
+
+  /** Flattens the configuration and parses the flattened text, as for a JUNIPER file. */
+  @Benchmark
+  public int flattenAndParse() {
+    Flattener flattener = newFlattener();
+    FlatJuniperCombinedParser parser =
+        new FlatJuniperCombinedParser(
+            flattener.getFlattenedConfigurationText(),
+            _settings,
+            flattener.getOriginalLineMap());
+    return Batfish.parse(parser, _logger, _settings).getChildCount();
+  }
+}
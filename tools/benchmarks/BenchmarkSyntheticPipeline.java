@@ -0,0 +1,372 @@
+package tools.benchmarks;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import org.batfish.common.BatfishLogger;
+import org.batfish.common.NetworkSnapshot;
+import org.batfish.common.plugin.TracerouteEngine;
+import org.batfish.common.util.BatfishObjectMapper;
+import org.batfish.datamodel.Configuration;
+import org.batfish.datamodel.Flow;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.IpProtocol;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.answers.ConvertConfigurationAnswerElement;
+import org.batfish.datamodel.answers.DataPlaneAnswerElement;
+import org.batfish.datamodel.collections.NodeInterfacePair;
+import org.batfish.datamodel.isp_configuration.BorderInterfaceInfo;
+import org.batfish.datamodel.isp_configuration.IspAnnouncement;
+import org.batfish.datamodel.isp_configuration.IspConfiguration;
+import org.batfish.datamodel.isp_configuration.IspFilter;
+import org.batfish.datamodel.isp_configuration.IspNodeInfo;
+import org.batfish.datamodel.isp_configuration.IspNodeInfo.Role;
+import org.batfish.identifiers.NetworkId;
+import org.batfish.identifiers.SnapshotId;
+import org.batfish.main.Batfish;
+import org.batfish.main.BatfishTestUtils;
+import org.batfish.main.TestrigText;
+import org.batfish.storage.FileBasedStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tools.benchmarks.SyntheticNetworks.SyntheticNetwork;
+import tools.benchmarks.SyntheticNetworks.Topology;
+import tools.benchmarks.SyntheticNetworks.Vendor;
+
+/**
+ * Benchmarks each stage of the Batfish pipeline on {@link SyntheticNetworks synthetic networks}:
+ * parsing and conversion, data plane computation, traceroute, and storage of converted
+ * configurations.
+ *
+ * <p>Each stage starts from the output of the previous stages, computed outside the measured
+ * region. For example, to benchmark only the leaf-spine networks:
+ *
+ * <pre>
+ *   bazel run //tools/benchmarks:syntheticPipeline -- -p topology=LEAF_SPINE -p size=8,64
+ * </pre>
+ *
+ * <p>Data plane computation is also measured for a border router whose ISP announces a full table
+ * to the Internet, with the announcements {@link IspNodeInfo#getSummarizeAnnouncements()
+ * summarized} and not. For example, for a table the size of today's Internet:
+ *
+ * <pre>
+ *   bazel run //tools/benchmarks:syntheticPipeline -- computeDataPlaneWithIsp \
+ *       -p announcements=1000000
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BenchmarkSyntheticPipeline {
+  private static final int MAX_FLOWS = 1000;
+  private static final long ISP_ASN = 64999L;
+
+  private static final String BORDER_CONFIG =
+      String.join(
+          "\n",
+          "hostname border",
+          "!",
+          "interface Loopback0",
+          " ip address 192.168.255.1 255.255.255.255",
+          "!",
+          "interface GigabitEthernet0/0",
+          " ip address 240.0.0.0 255.255.255.254",
+          "!",
+          "router bgp 65000",
+          " bgp router-id 192.168.255.1",
+          " neighbor 240.0.0.1 remote-as " + ISP_ASN,
+          " !",
+          " address-family ipv4",
+          "  neighbor 240.0.0.1 activate",
+          " exit-address-family",
+          "!",
+          "end",
+          "");
+
+  /** The network under test. Every other state depends on this one. */
+  @State(Scope.Benchmark)
+  public static class Network {
+    @Param({"LEAF_SPINE", "ISP_CORE", "FIREWALL"})
+    public Topology topology;
+
+    @Param({"ARISTA", "CISCO_IOS", "JUNIPER"})
+    public Vendor vendor;
+
+    @Param({"8", "64"})
+    public int size;
+
+    private SyntheticNetwork _network;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+      _network = SyntheticNetworks.generate(topology, vendor, size);
+      // The benchmarks do not halt on parse errors, so make sure they measure a clean network.
+      Path tmp = Files.createTempDirectory(BenchmarkSyntheticPipeline.class.getSimpleName());
+      try {
+        SyntheticNetworks.checkParsesCleanly(_network, tmp);
+      } finally {
+        MoreFiles.deleteRecursively(tmp, RecursiveDeleteOption.ALLOW_INSECURE);
+      }
+    }
+  }
+
+  /** A fresh {@link Batfish} instance with the network's configurations, not yet parsed. */
+  @State(Scope.Thread)
+  public static class Unparsed {
+    private Path _tmp;
+    private Batfish _batfish;
+
+    @Setup(Level.Invocation)
+    public void setUp(Network network) throws IOException {
+      _tmp = Files.createTempDirectory(BenchmarkSyntheticPipeline.class.getSimpleName());
+      _batfish = SyntheticNetworks.newBatfish(network._network, _tmp);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+      MoreFiles.deleteRecursively(_tmp, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+  }
+
+  /** A fresh {@link Batfish} instance whose configurations are parsed and converted. */
+  @State(Scope.Thread)
+  public static class Parsed {
+    private Path _tmp;
+    private Batfish _batfish;
+
+    @Setup(Level.Invocation)
+    public void setUp(Network network) throws IOException {
+      _tmp = Files.createTempDirectory(BenchmarkSyntheticPipeline.class.getSimpleName());
+      _batfish = SyntheticNetworks.newBatfish(network._network, _tmp);
+      loadConfigurations(_batfish);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+      MoreFiles.deleteRecursively(_tmp, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+  }
+
+  /**
+   * A fresh {@link Batfish} instance whose configurations are parsed and converted: a single border
+   * router peering with an ISP that announces {@code announcements} prefixes to the Internet.
+   */
+  @State(Scope.Thread)
+  public static class ParsedWithIsp {
+    @Param({"100000"})
+    public int announcements;
+
+    @Param({"true", "false"})
+    public boolean summarizeAnnouncements;
+
+    private byte[] _ispConfig;
+    private Path _tmp;
+    private Batfish _batfish;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException {
+      IspConfiguration ispConfiguration =
+          new IspConfiguration(
+              ImmutableList.of(
+                  new BorderInterfaceInfo(NodeInterfacePair.of("border", "GigabitEthernet0/0"))),
+              ImmutableList.of(),
+              IspFilter.ALLOW_ALL,
+              ImmutableList.of(
+                  new IspNodeInfo(
+                      ISP_ASN,
+                      "isp",
+                      Role.TRANSIT,
+                      fullTable(announcements),
+                      null,
+                      summarizeAnnouncements)),
+              ImmutableList.of());
+      _ispConfig =
+          BatfishObjectMapper.writeString(ispConfiguration).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+      _tmp = Files.createTempDirectory(BenchmarkSyntheticPipeline.class.getSimpleName());
+      _batfish =
+          BatfishTestUtils.getBatfishFromTestrigText(
+              TestrigText.builder()
+                  .setConfigurationText(ImmutableMap.of("border", BORDER_CONFIG))
+                  .setIspConfigBytes(_ispConfig)
+                  .build(),
+              _tmp);
+      loadConfigurations(_batfish);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+      MoreFiles.deleteRecursively(_tmp, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+  }
+
+  /**
+   * A computed data plane, and flows from every device to (up to {@link #MAX_FLOWS}) destinations
+   * on other devices.
+   */
+  @State(Scope.Benchmark)
+  public static class Computed {
+    private Path _tmp;
+    private TracerouteEngine _tracerouteEngine;
+    private Set<Flow> _flows;
+
+    @Setup(Level.Trial)
+    public void setUp(Network network) throws IOException {
+      _tmp = Files.createTempDirectory(BenchmarkSyntheticPipeline.class.getSimpleName());
+      Batfish batfish = SyntheticNetworks.newBatfish(network._network, _tmp);
+      loadConfigurations(batfish);
+      NetworkSnapshot snapshot = batfish.getSnapshot();
+      batfish.computeDataPlane(snapshot);
+      _tracerouteEngine = batfish.getTracerouteEngine(snapshot);
+      _flows = flows(network._network);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      MoreFiles.deleteRecursively(_tmp, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+  }
+
+  /** Converted configurations and an empty {@link FileBasedStorage} to store them in. */
+  @State(Scope.Thread)
+  public static class Converted {
+    private Path _tmp;
+    private SortedMap<String, Configuration> _configs;
+    private FileBasedStorage _storage;
+    private int _snapshots;
+
+    @Setup(Level.Trial)
+    public void setUp(Network network) throws IOException {
+      _tmp = Files.createTempDirectory(BenchmarkSyntheticPipeline.class.getSimpleName());
+      _configs =
+          loadConfigurations(
+              SyntheticNetworks.newBatfish(network._network, _tmp.resolve("batfish")));
+      _storage =
+          new FileBasedStorage(
+              _tmp.resolve("storage"), new BatfishLogger(BatfishLogger.LEVELSTR_WARN, false));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      MoreFiles.deleteRecursively(_tmp, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+  }
+
+  private static SortedMap<String, Configuration> loadConfigurations(Batfish batfish) {
+    SortedMap<String, Configuration> configs = batfish.loadConfigurations(batfish.getSnapshot());
+    checkState(!configs.isEmpty(), "No configs were parsed");
+    return configs;
+  }
+
+  private static Set<Flow> flows(SyntheticNetwork network) {
+    ImmutableSet.Builder<Flow> flows = ImmutableSet.builder();
+    int numFlows = 0;
+    for (Entry<String, Ip> src : network.getDestinations().entrySet()) {
+      for (Entry<String, Ip> dst : network.getDestinations().entrySet()) {
+        if (src.getKey().equals(dst.getKey())) {
+          continue;
+        }
+        if (numFlows++ == MAX_FLOWS) {
+          return flows.build();
+        }
+        flows.add(
+            Flow.builder()
+                .setIngressNode(src.getKey())
+                .setSrcIp(src.getValue())
+                .setDstIp(dst.getValue())
+                .setIpProtocol(IpProtocol.TCP)
+                .setSrcPort(49152)
+                .setDstPort(443)
+                .build());
+      }
+    }
+    return flows.build();
+  }
+
+  /**
+   * {@code size} announcements shaped like a full Internet table: runs of mostly adjacent prefixes,
+   * mostly /24s, with occasional holes. Generation is deterministic.
+   */
+  private static List<IspAnnouncement> fullTable(int size) {
+    Random random = new Random(size);
+    ImmutableList.Builder<IspAnnouncement> table = ImmutableList.builder();
+    long next = Ip.parse("1.0.0.0").asLong();
+    for (int i = 0; i < size; i++) {
+      int r = random.nextInt(100);
+      int length = r < 60 ? 24 : r < 70 ? 23 : r < 85 ? 22 : r < 95 ? 20 : 16;
+      long blockSize = 1L << (Prefix.MAX_PREFIX_LENGTH - length);
+      // align to the prefix length, and leave a hole every so often
+      long start = (next + blockSize - 1) / blockSize * blockSize;
+      if (random.nextInt(5) == 0) {
+        start += blockSize;
+      }
+      checkState(start + blockSize <= Ip.parse("224.0.0.0").asLong(), "Too many announcements");
+      table.add(new IspAnnouncement(Prefix.create(Ip.create(start), length)));
+      next = start + blockSize;
+    }
+    return table.build();
+  }
+
+  /** Parses the vendor configurations and converts them to the vendor-independent model. */
+  @Benchmark
+  public int parseAndConvert(Unparsed state) {
+    return loadConfigurations(state._batfish).size();
+  }
+
+  /** Computes the data plane, exercising {@code IncrementalBdpEngine}. */
+  @Benchmark
+  public DataPlaneAnswerElement computeDataPlane(Parsed state) {
+    return state._batfish.computeDataPlane(state._batfish.getSnapshot());
+  }
+
+  /**
+   * Computes the data plane of a border router and its ISP, where the ISP's announcements make up
+   * most of the routes on the ISP and Internet nodes.
+   */
+  @Benchmark
+  public DataPlaneAnswerElement computeDataPlaneWithIsp(ParsedWithIsp state) {
+    return state._batfish.computeDataPlane(state._batfish.getSnapshot());
+  }
+
+  /** Traces a fixed set of flows through the data plane, exercising {@code FlowTracer}. */
+  @Benchmark
+  public int traceroute(Computed state) {
+    return state._tracerouteEngine.computeTraces(state._flows, false).size();
+  }
+
+  /** Serializes the converted configurations to a new snapshot and reads them back. */
+  @Benchmark
+  public int storeAndLoadConfigurations(Converted state) throws IOException {
+    NetworkId network = new NetworkId("network");
+    SnapshotId snapshot = new SnapshotId("snapshot" + state._snapshots++);
+    state._storage.storeConfigurations(
+        state._configs, new ConvertConfigurationAnswerElement(), null, network, snapshot);
+    SortedMap<String, Configuration> loaded = state._storage.loadConfigurations(network, snapshot);
+    checkState(loaded != null, "Failed to load stored configurations");
+    return loaded.size();
+  }
+}
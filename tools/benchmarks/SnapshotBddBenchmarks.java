@@ -20,7 +20,9 @@ import org.batfish.common.bdd.IpAccessListToBddImpl;
 import org.batfish.config.Settings;
 import org.batfish.datamodel.Configuration;
 import org.batfish.datamodel.DataPlane;
+import org.batfish.datamodel.Fib;
 import org.batfish.datamodel.ForwardingAnalysis;
+import org.batfish.datamodel.ForwardingAnalysisImpl;
 import org.batfish.main.Batfish;
 import org.batfish.main.BatfishTestUtils;
 import org.batfish.specifier.InferFromLocationIpSpaceAssignmentSpecifier;
@@ -48,6 +50,8 @@ public class SnapshotBddBenchmarks {
   private BDDPacket _pkt;
   private SortedMap<String, Configuration> _configs;
   private ForwardingAnalysis _forwardingAnalysis;
+  private Map<String, Map<String, Fib>> _fibs;
+  private ForwardingAnalysisImpl _coldForwardingAnalysis;
   private IpsRoutedOutInterfacesFactory _ipsRoutedOutInterfacesFactory;
   private IpSpaceAssignment _ipSpaceAssignment;
 
@@ -71,6 +75,7 @@ public class SnapshotBddBenchmarks {
     _batfish.computeDataPlane(snapshot);
     DataPlane dataPlane = _batfish.loadDataPlane(snapshot);
     _forwardingAnalysis = dataPlane.getForwardingAnalysis();
+    _fibs = dataPlane.getFibs();
     _ipsRoutedOutInterfacesFactory = new IpsRoutedOutInterfacesFactory(dataPlane.getFibs());
     SpecifierContext ctx = _batfish.specifierContext(snapshot);
     _ipSpaceAssignment =
@@ -81,6 +86,11 @@ public class SnapshotBddBenchmarks {
   @Setup(Level.Invocation)
   public void setupInvocation() {
     _pkt = new BDDPacket();
+    // Like a freshly loaded data plane, whose VRF forwarding behavior is not yet computed.
+    _coldForwardingAnalysis =
+        ((ForwardingAnalysisImpl) _forwardingAnalysis)
+            .withoutFibs()
+            .withFibs(_fibs);
   }
 
   @Benchmark
@@ -92,6 +102,24 @@ public class SnapshotBddBenchmarks {
         .size();
   }
 
+  /**
+   * Like {@link #bddReachabilityAnalysisFactory()}, but also computes the forwarding behavior of
+   * every VRF, as the first question on a snapshot does. Run it on a snapshot with many VRFs.
+   */
+  @Benchmark
+  public int bddReachabilityAnalysisFactoryColdForwardingAnalysis() {
+    return new BDDReachabilityAnalysisFactory(
+            _pkt,
+            _configs,
+            _coldForwardingAnalysis,
+            _ipsRoutedOutInterfacesFactory,
+            false,
+            false)
+        .bddReachabilityAnalysis(_ipSpaceAssignment, true)
+        .getForwardEdgeTable()
+        .size();
+  }
+
   @Benchmark
   public long ipAccessListToBdd() {
     Map<String, BDDSourceManager> srcMgrs = BDDSourceManager.forNetwork(_pkt, _configs);
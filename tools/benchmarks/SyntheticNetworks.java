@@ -0,0 +1,700 @@
+package tools.benchmarks;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.batfish.common.NetworkSnapshot;
+import org.batfish.config.Settings;
+import org.batfish.datamodel.Ip;
+import org.batfish.datamodel.Prefix;
+import org.batfish.datamodel.answers.ParseStatus;
+import org.batfish.datamodel.answers.ParseVendorConfigurationAnswerElement;
+import org.batfish.main.Batfish;
+import org.batfish.main.BatfishTestUtils;
+import org.batfish.main.TestrigText;
+
+/**
+ * Generates synthetic networks of configurable size for benchmarking the whole Batfish pipeline.
+ *
+ * <p>Each network is first built as a small vendor-neutral model of devices, links, routing
+ * protocols, static routes, and ACLs, and then rendered as configuration text for a single {@link
+ * Vendor}. Generation is deterministic: the same topology, vendor, and size always produce the same
+ * configurations.
+ */
+@ParametersAreNonnullByDefault
+public final class SyntheticNetworks {
+
+  /** The shape of the generated network. */
+  public enum Topology {
+    /**
+     * A two-tier Clos fabric of {@code size} leaves and {@code max(2, size / 8)} spines running
+     * eBGP, with a server subnet behind each leaf.
+     */
+    LEAF_SPINE,
+    /**
+     * A ring of {@code max(4, size)} core routers with chords, running OSPF and iBGP with two route
+     * reflectors, each originating a customer prefix.
+     */
+    ISP_CORE,
+    /**
+     * A core router in front of {@code max(2, size / 8)} firewalls, each protecting a subnet with a
+     * {@code 64 * size}-line inbound ACL.
+     */
+    FIREWALL,
+  }
+
+  /** The configuration format of the generated network. */
+  public enum Vendor {
+    ARISTA,
+    CISCO_IOS,
+    JUNIPER,
+  }
+
+  /** A generated network: device configurations and a destination IP for traffic to each device. */
+  public static final class SyntheticNetwork {
+    private final @Nonnull SortedMap<String, String> _configs;
+    private final @Nonnull SortedMap<String, Ip> _destinations;
+
+    private SyntheticNetwork(
+        SortedMap<String, String> configs, SortedMap<String, Ip> destinations) {
+      _configs = configs;
+      _destinations = destinations;
+    }
+
+    /** Configuration text, keyed by hostname. */
+    public @Nonnull SortedMap<String, String> getConfigs() {
+      return _configs;
+    }
+
+    /**
+     * An IP address each device should deliver traffic to when permitted, keyed by hostname: a host
+     * in the subnet behind the device if there is one, and the device's loopback otherwise.
+     */
+    public @Nonnull SortedMap<String, Ip> getDestinations() {
+      return _destinations;
+    }
+  }
+
+  /** Generates a network with the given topology, vendor, and size. */
+  public static @Nonnull SyntheticNetwork generate(Topology topology, Vendor vendor, int size) {
+    checkArgument(size > 0, "size must be positive: %s", size);
+    List<Device> devices;
+    switch (topology) {
+      case LEAF_SPINE:
+        devices = new Generator().leafSpine(size);
+        break;
+      case ISP_CORE:
+        devices = new Generator().ispCore(size);
+        break;
+      case FIREWALL:
+        devices = new Generator().firewall(size);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported topology: " + topology);
+    }
+    ImmutableSortedMap.Builder<String, String> configs = ImmutableSortedMap.naturalOrder();
+    ImmutableSortedMap.Builder<String, Ip> destinations = ImmutableSortedMap.naturalOrder();
+    for (Device device : devices) {
+      configs.put(device._hostname, render(device, vendor));
+      destinations.put(device._hostname, device._destination);
+    }
+    return new SyntheticNetwork(configs.build(), destinations.build());
+  }
+
+  /**
+   * Returns a {@link Batfish} instance with the configurations of {@code network}, not yet parsed,
+   * that stores its data in {@code tmp}. It does not halt on parse or conversion errors; use {@link
+   * #checkParsesCleanly} to make sure there are none.
+   */
+  public static @Nonnull Batfish newBatfish(SyntheticNetwork network, Path tmp)
+      throws IOException {
+    Batfish batfish =
+        BatfishTestUtils.getBatfishFromTestrigText(
+            TestrigText.builder().setConfigurationText(network.getConfigs()).build(), tmp);
+    Settings settings = batfish.getSettings();
+    settings.setDisableUnrecognized(false);
+    settings.setHaltOnConvertError(false);
+    settings.setHaltOnParseError(false);
+    settings.setThrowOnLexerError(false);
+    settings.setThrowOnParserError(false);
+    return batfish;
+  }
+
+  /**
+   * Parses {@code network}, storing data in {@code tmp}, and throws {@link IllegalStateException}
+   * listing the problems if any file did not pass parsing or has parse warnings.
+   */
+  public static void checkParsesCleanly(SyntheticNetwork network, Path tmp) throws IOException {
+    Batfish batfish = newBatfish(network, tmp);
+    NetworkSnapshot snapshot = batfish.getSnapshot();
+    batfish.loadConfigurations(snapshot);
+    ParseVendorConfigurationAnswerElement pvcae =
+        batfish.loadParseVendorConfigurationAnswerElement(snapshot);
+    List<String> problems = new ArrayList<>();
+    pvcae
+        .getParseStatus()
+        .forEach(
+            (file, status) -> {
+              if (status != ParseStatus.PASSED) {
+                problems.add(file + ": " + status);
+              }
+            });
+    pvcae
+        .getWarnings()
+        .forEach(
+            (file, warnings) ->
+                warnings
+                    .getParseWarnings()
+                    .forEach(w -> problems.add(file + ":" + w.getLine() + ": " + w.getText())));
+    checkState(
+        problems.isEmpty(),
+        "Synthetic configurations did not parse cleanly:\n%s",
+        String.join("\n", problems));
+  }
+
+  /* Vendor-neutral model */
+
+  private static final class Interface {
+    private final int _index;
+    private final @Nonnull Ip _ip;
+    private final int _prefixLength;
+    private final boolean _ospf;
+    private @Nullable String _inboundAcl;
+
+    private Interface(int index, Ip ip, int prefixLength, boolean ospf) {
+      _index = index;
+      _ip = ip;
+      _prefixLength = prefixLength;
+      _ospf = ospf;
+    }
+
+    private Prefix getPrefix() {
+      return Prefix.create(_ip, _prefixLength);
+    }
+  }
+
+  private static final class BgpPeer {
+    private final @Nonnull Ip _ip;
+    private final long _remoteAs;
+    private final boolean _routeReflectorClient;
+
+    private BgpPeer(Ip ip, long remoteAs, boolean routeReflectorClient) {
+      _ip = ip;
+      _remoteAs = remoteAs;
+      _routeReflectorClient = routeReflectorClient;
+    }
+  }
+
+  private static final class StaticRoute {
+    private final @Nonnull Prefix _prefix;
+    /** {@code null} for a discard route. */
+    private final @Nullable Ip _nextHop;
+
+    private StaticRoute(Prefix prefix, @Nullable Ip nextHop) {
+      _prefix = prefix;
+      _nextHop = nextHop;
+    }
+  }
+
+  private static final class AclRule {
+    private final boolean _permit;
+    /** One of {@code ip}, {@code tcp}, or {@code udp}. */
+    private final @Nonnull String _protocol;
+
+    private final @Nonnull Prefix _src;
+    private final @Nonnull Prefix _dst;
+    private final @Nullable Integer _dstPort;
+
+    private AclRule(
+        boolean permit, String protocol, Prefix src, Prefix dst, @Nullable Integer dstPort) {
+      _permit = permit;
+      _protocol = protocol;
+      _src = src;
+      _dst = dst;
+      _dstPort = dstPort;
+    }
+  }
+
+  private static final class Device {
+    private final @Nonnull String _hostname;
+    private final long _asn;
+    private final @Nonnull Ip _loopback;
+    private final boolean _ospf;
+    private final List<Interface> _interfaces = new ArrayList<>();
+    private final List<BgpPeer> _bgpPeers = new ArrayList<>();
+    private final List<Prefix> _advertised = new ArrayList<>();
+    private final List<StaticRoute> _staticRoutes = new ArrayList<>();
+    private final Map<String, List<AclRule>> _acls = new LinkedHashMap<>();
+    private @Nonnull Ip _destination;
+
+    private Device(String hostname, long asn, Ip loopback, boolean ospf) {
+      _hostname = hostname;
+      _asn = asn;
+      _loopback = loopback;
+      _ospf = ospf;
+      _destination = loopback;
+    }
+
+    private Interface addInterface(Ip ip, int prefixLength, boolean ospf) {
+      Interface iface = new Interface(_interfaces.size(), ip, prefixLength, ospf);
+      _interfaces.add(iface);
+      return iface;
+    }
+
+    private boolean isIbgp() {
+      return _bgpPeers.stream().anyMatch(peer -> peer._remoteAs == _asn);
+    }
+  }
+
+  private static final long LINK_BASE = Ip.parse("10.0.0.0").asLong();
+  private static final long LOOPBACK_BASE = Ip.parse("192.168.0.0").asLong();
+  private static final long SUBNET_BASE = Ip.parse("172.16.0.0").asLong();
+  private static final long CUSTOMER_BASE = Ip.parse("100.64.0.0").asLong();
+  private static final long EXTERNAL_BASE = Ip.parse("10.128.0.0").asLong();
+
+  private static final long SPINE_ASN = 64512L;
+  private static final long CORE_ASN = 65000L;
+
+  private static final int MAX_LINKS = 1 << 22; // /31s in 10.0.0.0/9
+  private static final int MAX_SUBNETS = 1 << 12; // /24s in 172.16.0.0/12
+  private static final int MAX_LEAVES = 1000; // private 2-byte ASNs after SPINE_ASN
+  private static final int MAX_PATHS = 8;
+  private static final int[] PORTS = {22, 25, 53, 80, 123, 443, 3306, 5432, 8080, 8443};
+
+  private static final class Generator {
+    private int _numLinks;
+    private int _numLoopbacks;
+
+    private Ip nextLoopback() {
+      return Ip.create(LOOPBACK_BASE + ++_numLoopbacks);
+    }
+
+    /** Connects the two devices with a fresh /31 and returns the interfaces on {@code a} and b. */
+    private Interface[] link(Device a, Device b, boolean ospf) {
+      checkArgument(_numLinks < MAX_LINKS, "Too many links");
+      long base = LINK_BASE + 2L * _numLinks++;
+      return new Interface[] {
+        a.addInterface(Ip.create(base), 31, ospf), b.addInterface(Ip.create(base + 1), 31, ospf)
+      };
+    }
+
+    private static Prefix subnet(int index) {
+      checkArgument(index < MAX_SUBNETS, "Too many subnets");
+      return Prefix.create(Ip.create(SUBNET_BASE + 256L * index), 24);
+    }
+
+    private List<Device> leafSpine(int size) {
+      checkArgument(size <= MAX_LEAVES, "At most %s leaves are supported", MAX_LEAVES);
+      List<Device> spines = new ArrayList<>();
+      for (int i = 0; i < Math.max(2, size / 8); i++) {
+        Device spine = new Device(String.format("spine%d", i), SPINE_ASN, nextLoopback(), false);
+        spine._advertised.add(spine._loopback.toPrefix());
+        spines.add(spine);
+      }
+      List<Device> leaves = new ArrayList<>();
+      for (int i = 0; i < size; i++) {
+        Device leaf =
+            new Device(String.format("leaf%d", i), SPINE_ASN + 1 + i, nextLoopback(), false);
+        Prefix servers = subnet(i);
+        Interface serverIface = leaf.addInterface(servers.getFirstHostIp(), 24, false);
+        serverIface._inboundAcl = "SERVERS_IN";
+        leaf._acls.put("SERVERS_IN", serverAcl(servers));
+        leaf._advertised.add(leaf._loopback.toPrefix());
+        leaf._advertised.add(servers);
+        leaf._destination = Ip.create(servers.getStartIp().asLong() + 10);
+        for (Device spine : spines) {
+          Interface[] ifaces = link(leaf, spine, false);
+          leaf._bgpPeers.add(new BgpPeer(ifaces[1]._ip, spine._asn, false));
+          spine._bgpPeers.add(new BgpPeer(ifaces[0]._ip, leaf._asn, false));
+        }
+        leaves.add(leaf);
+      }
+      return ImmutableList.<Device>builder().addAll(spines).addAll(leaves).build();
+    }
+
+    /** A short ACL permitting common services from the servers behind a leaf. */
+    private static List<AclRule> serverAcl(Prefix servers) {
+      ImmutableList.Builder<AclRule> rules = ImmutableList.builder();
+      for (int port : PORTS) {
+        rules.add(new AclRule(true, "tcp", servers, Prefix.ZERO, port));
+      }
+      rules.add(new AclRule(true, "udp", servers, Prefix.ZERO, 53));
+      rules.add(new AclRule(false, "ip", Prefix.ZERO, Prefix.ZERO, null));
+      return rules.build();
+    }
+
+    private List<Device> ispCore(int size) {
+      int n = Math.max(4, size);
+      List<Device> routers = new ArrayList<>();
+      for (int i = 0; i < n; i++) {
+        Device router = new Device(String.format("core%d", i), CORE_ASN, nextLoopback(), true);
+        Prefix customer = Prefix.create(Ip.create(CUSTOMER_BASE + 256L * i), 24);
+        router._staticRoutes.add(new StaticRoute(customer, null));
+        router._advertised.add(customer);
+        routers.add(router);
+      }
+      // ring
+      for (int i = 0; i < n; i++) {
+        link(routers.get(i), routers.get((i + 1) % n), true);
+      }
+      // chords across the ring
+      for (int i = 0; i < n / 2; i += 2) {
+        link(routers.get(i), routers.get(i + n / 2), true);
+      }
+      // iBGP: the first two routers reflect routes for everyone else
+      Device rr1 = routers.get(0);
+      Device rr2 = routers.get(1);
+      rr1._bgpPeers.add(new BgpPeer(rr2._loopback, CORE_ASN, false));
+      rr2._bgpPeers.add(new BgpPeer(rr1._loopback, CORE_ASN, false));
+      for (Device client : routers.subList(2, n)) {
+        for (Device rr : ImmutableList.of(rr1, rr2)) {
+          rr._bgpPeers.add(new BgpPeer(client._loopback, CORE_ASN, true));
+          client._bgpPeers.add(new BgpPeer(rr._loopback, CORE_ASN, false));
+        }
+      }
+      return routers;
+    }
+
+    private List<Device> firewall(int size) {
+      Device core = new Device("core", CORE_ASN, nextLoopback(), false);
+      ImmutableList.Builder<Device> devices = ImmutableList.builder();
+      devices.add(core);
+      Random random = new Random(size);
+      for (int i = 0; i < Math.max(2, size / 8); i++) {
+        Device fw = new Device(String.format("fw%d", i), CORE_ASN, nextLoopback(), false);
+        Prefix inside = subnet(i);
+        fw.addInterface(inside.getFirstHostIp(), 24, false);
+        Interface[] ifaces = link(fw, core, false);
+        ifaces[0]._inboundAcl = "OUTSIDE_IN";
+        fw._acls.put("OUTSIDE_IN", firewallAcl(inside, 64 * size, random));
+        fw._staticRoutes.add(new StaticRoute(Prefix.ZERO, ifaces[1]._ip));
+        fw._destination = Ip.create(inside.getStartIp().asLong() + 10);
+        core._staticRoutes.add(new StaticRoute(inside, ifaces[0]._ip));
+        devices.add(fw);
+      }
+      return devices.build();
+    }
+
+    /**
+     * A large ACL of random rules, permitting and denying traffic from external /16s to /24s to
+     * hosts and ports in the protected subnet.
+     */
+    private static List<AclRule> firewallAcl(Prefix inside, int numLines, Random random) {
+      ImmutableList.Builder<AclRule> rules = ImmutableList.builder();
+      for (int i = 0; i < numLines - 1; i++) {
+        int srcLength = 16 + random.nextInt(9);
+        Prefix src =
+            Prefix.create(Ip.create(EXTERNAL_BASE + random.nextInt(1 << 23)), srcLength);
+        boolean host = random.nextBoolean();
+        Prefix dst =
+            host
+                ? Ip.create(inside.getStartIp().asLong() + 1 + random.nextInt(254)).toPrefix()
+                : inside;
+        int protocol = random.nextInt(8);
+        rules.add(
+            protocol == 0
+                ? new AclRule(random.nextInt(4) != 0, "ip", src, dst, null)
+                : new AclRule(
+                    random.nextInt(4) != 0,
+                    protocol == 1 ? "udp" : "tcp",
+                    src,
+                    dst,
+                    PORTS[random.nextInt(PORTS.length)]));
+      }
+      rules.add(new AclRule(false, "ip", Prefix.ZERO, Prefix.ZERO, null));
+      return rules.build();
+    }
+  }
+
+  /* Rendering */
+
+  private static String render(Device device, Vendor vendor) {
+    switch (vendor) {
+      case ARISTA:
+        return renderArista(device);
+      case CISCO_IOS:
+        return renderCiscoIos(device);
+      case JUNIPER:
+        return renderJuniper(device);
+      default:
+        throw new IllegalArgumentException("Unsupported vendor: " + vendor);
+    }
+  }
+
+  private static String maxPaths(Device device) {
+    return device.isIbgp() ? "maximum-paths ibgp " + MAX_PATHS : "maximum-paths " + MAX_PATHS;
+  }
+
+  private static String ciscoAddress(Prefix prefix) {
+    if (prefix.equals(Prefix.ZERO)) {
+      return "any";
+    } else if (prefix.getPrefixLength() == Prefix.MAX_PREFIX_LENGTH) {
+      return "host " + prefix.getStartIp();
+    }
+    return prefix.getStartIp() + " " + prefix.getPrefixWildcard();
+  }
+
+  private static String aristaAddress(Prefix prefix) {
+    if (prefix.equals(Prefix.ZERO)) {
+      return "any";
+    } else if (prefix.getPrefixLength() == Prefix.MAX_PREFIX_LENGTH) {
+      return "host " + prefix.getStartIp();
+    }
+    return prefix.toString();
+  }
+
+  private static String aclLine(AclRule rule, boolean arista) {
+    StringBuilder sb = new StringBuilder(rule._permit ? "permit " : "deny ");
+    sb.append(rule._protocol)
+        .append(' ')
+        .append(arista ? aristaAddress(rule._src) : ciscoAddress(rule._src))
+        .append(' ')
+        .append(arista ? aristaAddress(rule._dst) : ciscoAddress(rule._dst));
+    if (rule._dstPort != null) {
+      sb.append(" eq ").append(rule._dstPort);
+    }
+    return sb.toString();
+  }
+
+  private static String renderCiscoIos(Device device) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("!BATFISH_FORMAT: cisco_ios\n");
+    sb.append("hostname ").append(device._hostname).append("\n!\n");
+    sb.append("interface Loopback0\n");
+    sb.append(" ip address ").append(device._loopback).append(" 255.255.255.255\n!\n");
+    for (Interface iface : device._interfaces) {
+      sb.append("interface GigabitEthernet0/").append(iface._index).append('\n');
+      sb.append(" ip address ")
+          .append(iface._ip)
+          .append(' ')
+          .append(Ip.numSubnetBitsToSubnetMask(iface._prefixLength))
+          .append('\n');
+      if (iface._inboundAcl != null) {
+        sb.append(" ip access-group ").append(iface._inboundAcl).append(" in\n");
+      }
+      sb.append(" no shutdown\n!\n");
+    }
+    device._acls.forEach(
+        (name, rules) -> {
+          sb.append("ip access-list extended ").append(name).append('\n');
+          rules.forEach(rule -> sb.append(' ').append(aclLine(rule, false)).append('\n'));
+          sb.append("!\n");
+        });
+    for (StaticRoute route : device._staticRoutes) {
+      sb.append("ip route ")
+          .append(route._prefix.getStartIp())
+          .append(' ')
+          .append(Ip.numSubnetBitsToSubnetMask(route._prefix.getPrefixLength()))
+          .append(' ')
+          .append(route._nextHop == null ? "Null0" : route._nextHop.toString())
+          .append('\n');
+    }
+    if (device._ospf) {
+      sb.append("!\nrouter ospf 1\n");
+      sb.append(" router-id ").append(device._loopback).append('\n');
+      sb.append(" passive-interface Loopback0\n");
+      sb.append(" network ").append(device._loopback).append(" 0.0.0.0 area 0\n");
+      for (Interface iface : device._interfaces) {
+        if (iface._ospf) {
+          Prefix prefix = iface.getPrefix();
+          sb.append(" network ")
+              .append(prefix.getStartIp())
+              .append(' ')
+              .append(prefix.getPrefixWildcard())
+              .append(" area 0\n");
+        }
+      }
+    }
+    if (!device._bgpPeers.isEmpty()) {
+      sb.append("!\nrouter bgp ").append(device._asn).append('\n');
+      sb.append(" bgp router-id ").append(device._loopback).append('\n');
+      sb.append(' ').append(maxPaths(device)).append('\n');
+      for (BgpPeer peer : device._bgpPeers) {
+        sb.append(" neighbor ").append(peer._ip).append(" remote-as ");
+        sb.append(peer._remoteAs).append('\n');
+        if (peer._remoteAs == device._asn) {
+          sb.append(" neighbor ").append(peer._ip).append(" update-source Loopback0\n");
+        }
+        if (peer._routeReflectorClient) {
+          sb.append(" neighbor ").append(peer._ip).append(" route-reflector-client\n");
+        }
+      }
+      for (Prefix prefix : device._advertised) {
+        sb.append(" network ")
+            .append(prefix.getStartIp())
+            .append(" mask ")
+            .append(Ip.numSubnetBitsToSubnetMask(prefix.getPrefixLength()))
+            .append('\n');
+      }
+    }
+    sb.append("!\nend\n");
+    return sb.toString();
+  }
+
+  private static String renderArista(Device device) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("!BATFISH_FORMAT: arista\n");
+    sb.append("hostname ").append(device._hostname).append("\n!\n");
+    sb.append("ip routing\n!\n");
+    sb.append("interface Loopback0\n");
+    sb.append("   ip address ").append(device._loopback.toPrefix()).append("\n!\n");
+    for (Interface iface : device._interfaces) {
+      sb.append("interface Ethernet").append(iface._index + 1).append('\n');
+      sb.append("   no switchport\n");
+      sb.append("   ip address ").append(iface._ip).append('/').append(iface._prefixLength);
+      sb.append('\n');
+      if (iface._inboundAcl != null) {
+        sb.append("   ip access-group ").append(iface._inboundAcl).append(" in\n");
+      }
+      sb.append("!\n");
+    }
+    device._acls.forEach(
+        (name, rules) -> {
+          sb.append("ip access-list ").append(name).append('\n');
+          for (int i = 0; i < rules.size(); i++) {
+            sb.append("   ").append(10 * (i + 1)).append(' ');
+            sb.append(aclLine(rules.get(i), true)).append('\n');
+          }
+          sb.append("!\n");
+        });
+    for (StaticRoute route : device._staticRoutes) {
+      sb.append("ip route ")
+          .append(route._prefix)
+          .append(' ')
+          .append(route._nextHop == null ? "Null0" : route._nextHop.toString())
+          .append('\n');
+    }
+    if (device._ospf) {
+      sb.append("!\nrouter ospf 1\n");
+      sb.append("   router-id ").append(device._loopback).append('\n');
+      sb.append("   passive-interface Loopback0\n");
+      sb.append("   network ").append(device._loopback.toPrefix()).append(" area 0.0.0.0\n");
+      for (Interface iface : device._interfaces) {
+        if (iface._ospf) {
+          sb.append("   network ").append(iface.getPrefix()).append(" area 0.0.0.0\n");
+        }
+      }
+    }
+    if (!device._bgpPeers.isEmpty()) {
+      sb.append("!\nrouter bgp ").append(device._asn).append('\n');
+      sb.append("   router-id ").append(device._loopback).append('\n');
+      sb.append("   maximum-paths ").append(MAX_PATHS).append('\n');
+      for (BgpPeer peer : device._bgpPeers) {
+        sb.append("   neighbor ").append(peer._ip).append(" remote-as ");
+        sb.append(peer._remoteAs).append('\n');
+        if (peer._remoteAs == device._asn) {
+          sb.append("   neighbor ").append(peer._ip).append(" update-source Loopback0\n");
+        }
+        if (peer._routeReflectorClient) {
+          sb.append("   neighbor ").append(peer._ip).append(" route-reflector-client\n");
+        }
+      }
+      for (Prefix prefix : device._advertised) {
+        sb.append("   network ").append(prefix).append('\n');
+      }
+    }
+    sb.append("!\nend\n");
+    return sb.toString();
+  }
+
+  private static String renderJuniper(Device device) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("set system host-name ").append(device._hostname).append('\n');
+    sb.append("set interfaces lo0 unit 0 family inet address ");
+    sb.append(device._loopback.toPrefix()).append('\n');
+    for (Interface iface : device._interfaces) {
+      String prefix = String.format("set interfaces ge-0/0/%d unit 0 family inet ", iface._index);
+      sb.append(prefix).append("address ").append(iface._ip).append('/');
+      sb.append(iface._prefixLength).append('\n');
+      if (iface._inboundAcl != null) {
+        sb.append(prefix).append("filter input ").append(iface._inboundAcl).append('\n');
+      }
+    }
+    device._acls.forEach(
+        (name, rules) -> {
+          for (int i = 0; i < rules.size(); i++) {
+            AclRule rule = rules.get(i);
+            String term = String.format("set firewall family inet filter %s term t%d ", name, i);
+            if (!rule._src.equals(Prefix.ZERO)) {
+              sb.append(term).append("from source-address ").append(rule._src).append('\n');
+            }
+            if (!rule._dst.equals(Prefix.ZERO)) {
+              sb.append(term).append("from destination-address ").append(rule._dst);
+              sb.append('\n');
+            }
+            if (!rule._protocol.equals("ip")) {
+              sb.append(term).append("from protocol ").append(rule._protocol).append('\n');
+            }
+            if (rule._dstPort != null) {
+              sb.append(term).append("from destination-port ").append(rule._dstPort);
+              sb.append('\n');
+            }
+            sb.append(term).append(rule._permit ? "then accept\n" : "then discard\n");
+          }
+        });
+    sb.append("set routing-options router-id ").append(device._loopback).append('\n');
+    sb.append("set routing-options autonomous-system ").append(device._asn).append('\n');
+    for (StaticRoute route : device._staticRoutes) {
+      sb.append("set routing-options static route ").append(route._prefix);
+      sb.append(route._nextHop == null ? " discard" : " next-hop " + route._nextHop);
+      sb.append('\n');
+    }
+    if (device._ospf) {
+      String area = "set protocols ospf area 0.0.0.0 interface ";
+      sb.append(area).append("lo0.0 passive\n");
+      for (Interface iface : device._interfaces) {
+        if (iface._ospf) {
+          sb.append(area).append(String.format("ge-0/0/%d.0", iface._index));
+          sb.append(" interface-type p2p\n");
+        }
+      }
+    }
+    if (!device._bgpPeers.isEmpty()) {
+      // Routes not matched by the export policy fall through to the default BGP export policy, so
+      // learned BGP routes are still readvertised.
+      for (Prefix prefix : device._advertised) {
+        sb.append("set policy-options policy-statement EXPORT term originate from route-filter ");
+        sb.append(prefix).append(" exact\n");
+      }
+      sb.append("set policy-options policy-statement EXPORT term originate then accept\n");
+      Set<String> groups = new HashSet<>();
+      for (BgpPeer peer : device._bgpPeers) {
+        boolean ibgp = peer._remoteAs == device._asn;
+        String group = ibgp ? (peer._routeReflectorClient ? "RR_CLIENTS" : "IBGP") : "EBGP";
+        String groupPrefix = "set protocols bgp group " + group + " ";
+        if (groups.add(group)) {
+          sb.append(groupPrefix).append("type ").append(ibgp ? "internal" : "external");
+          sb.append('\n');
+          sb.append(groupPrefix).append("export EXPORT\n");
+          sb.append(groupPrefix).append("multipath\n");
+          if (ibgp) {
+            sb.append(groupPrefix).append("local-address ").append(device._loopback).append('\n');
+          }
+          if (peer._routeReflectorClient) {
+            sb.append(groupPrefix).append("cluster ").append(device._loopback).append('\n');
+          }
+        }
+        sb.append(groupPrefix).append("neighbor ").append(peer._ip);
+        sb.append(ibgp ? "\n" : " peer-as " + peer._remoteAs + "\n");
+      }
+    }
+    return sb.toString();
+  }
+
+  private SyntheticNetworks() {}
+}
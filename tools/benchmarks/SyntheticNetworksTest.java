@@ -0,0 +1,23 @@
+package tools.benchmarks;
+
+import java.io.IOException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import tools.benchmarks.SyntheticNetworks.Topology;
+import tools.benchmarks.SyntheticNetworks.Vendor;
+
+/** Tests of {@link SyntheticNetworks}. */
+public final class SyntheticNetworksTest {
+  @Rule public TemporaryFolder _folder = new TemporaryFolder();
+
+  @Test
+  public void testGeneratedConfigurationsParseCleanly() throws IOException {
+    for (Topology topology : Topology.values()) {
+      for (Vendor vendor : Vendor.values()) {
+        SyntheticNetworks.checkParsesCleanly(
+            SyntheticNetworks.generate(topology, vendor, 8), _folder.newFolder().toPath());
+      }
+    }
+  }
+}
@@ -73,7 +73,7 @@ public class SnapshotBddStressTests {
     }
   }
 
-  void bddReachabilityAnalysisFactory() {
+  void bddReachabilityAnalysisFactory(boolean dynamicReordering) {
     NetworkSnapshot snapshot = _batfish.getSnapshot();
     _batfish.computeDataPlane(snapshot);
     DataPlane dataPlane = _batfish.loadDataPlane(snapshot);
@@ -87,6 +87,7 @@ public class SnapshotBddStressTests {
 
     while (true) {
       BDDPacket pkt = new BDDPacket();
+      pkt.setDynamicReordering(dynamicReordering);
       long t = System.currentTimeMillis();
       int size =
           new BDDReachabilityAnalysisFactory(
@@ -96,6 +97,10 @@ public class SnapshotBddStressTests {
               .size();
       assert size > 0;
       System.out.println(System.currentTimeMillis() - t);
+      if (dynamicReordering) {
+        System.out.printf(
+            "nodes: %d, reorder stats: %s%n", pkt.getFactory().getNodeNum(), pkt.getReorderStats());
+      }
     }
   }
 
@@ -110,7 +115,10 @@ public class SnapshotBddStressTests {
         stressTest.ipAccessListToBdd();
         break;
       case "bddReachabilityAnalysisFactory":
-        stressTest.bddReachabilityAnalysisFactory();
+        stressTest.bddReachabilityAnalysisFactory(false);
+        break;
+      case "bddReachabilityAnalysisFactoryWithReordering":
+        stressTest.bddReachabilityAnalysisFactory(true);
         break;
       default:
         throw new IllegalArgumentException("Unrecognized stress test: " + test);